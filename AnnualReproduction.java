@@ -7,11 +7,26 @@ import java.util.Random;
 
 // Einjährige Pflanzen - bilden Samen, reifen ab, sterben (vigor=0), Nachwuchs aus der Seedbank
 public class AnnualReproduction implements Reproduction {
+
+    private static final ReproductionRates RATES = ReproductionRates.ANNUAL;
 
     private int flowers;
     private int pollinated;
     private int fruits;
     private int seeds;
+    private final boolean stochastic;
+    private Random rng;
+
+    public AnnualReproduction() {
+        this(false);
+    }
+
+    // stochastic = true: Tageszählungen als Poisson/Binomial-Ziehungen (DiscreteSampler) statt gerundeter Anteile,
+    // gezogen aus dem Saison-RNG aus startOfSeason. Erwartungswert je Ziehung = der ungerundete Anteil (Füllrate auf 1
+    // begrenzt); deterministisch wird er gerundet → im Mittel mehr Samen als dort (siehe DiscreteSampler).
+    public AnnualReproduction(boolean stochastic) {
+        this.stochastic = stochastic;
+    }
 
     @Override
     // CONTRACT: Preconditions: plant, weather, bees != null; food >= 0. Postconditions: Invarianten bleiben erhalten.
@@ -21,25 +36,29 @@ public class AnnualReproduction implements Reproduction {
         if (b <= 0) return;
 
         // Blütenöffnung proportional Blühanteil und vigor
-        int openedToday = (int) Math.round(plant.vigor()*b*0.1);
+        int openedToday = stochastic ? DiscreteSampler.poisson(rng(), RATES.openedMean(plant.vigor(), b))
+                : RATES.opened(plant.vigor(), b);
         this.flowers += openedToday;
 
         // Bestäubung in Abhängigkeit zu Bienenlimit
-        double pollinationEfficieny = (food <= 0) ? 0 : Math.min(1, bees.population() / food);
-        int pollinatedToday = (int) Math.round(openedToday * (0.2 + 0.6*pollinationEfficieny));
+        double pollinationEfficieny = ReproductionRates.efficiency(bees.population(), food);
+        int pollinatedToday = stochastic ? DiscreteSampler.binomial(rng, openedToday, RATES.pollinatedShare(pollinationEfficieny))
+                : RATES.pollinated(openedToday, pollinationEfficieny);
         this.pollinated += pollinatedToday;
 
         // Fruchtbarkeit ist abhängig von Sonne
-        int fill = (int) Math.round(pollinatedToday * (weather.sunHoursToday()/16));
+        int fill = stochastic ? DiscreteSampler.binomial(rng, pollinatedToday, RATES.fillShare(weather.sunHoursToday()))
+                : RATES.filled(pollinatedToday, weather.sunHoursToday());
         this.fruits += fill;
 
         // ein Teil wird täglich reif
-        int ripen = (int) Math.round(this.fruits*0.1);
+        int ripen = stochastic ? DiscreteSampler.binomial(rng, this.fruits, RATES.ripenRate)
+                : RATES.ripened(this.fruits);
         this.seeds += ripen;
         this.fruits -= ripen;
 
         // Durch Reproduktion geht ein wenig vigor verloren
-        plant.mulVigor(0.999);
+        plant.mulVigor(RATES.vigorCost);
     }
 
     @Override
@@ -47,7 +66,7 @@ public class AnnualReproduction implements Reproduction {
     // BAD: Direkter Zugriff auf PlantSpecies-Setter koppelt eng an konkrete Mutatoren; Events/Observer wären flexibler.
     public void endOfSeason(PlantSpecies plant, SeedBank seeds, Random rng) {
         // Qualität aus Wetter und Bees berechnen
-        double q = Math.min(1,0.5+0.5*plant.seedSet());
+        double q = RATES.seedQuality(plant.seedSet());
         seeds.add(new SeedOutput(this.seeds, q));
         plant.setVigor(0);
         this.flowers = this.pollinated = this.fruits = this.seeds = 0;
@@ -58,10 +77,18 @@ public class AnnualReproduction implements Reproduction {
     // CONTRACT: Preconditions: plant, seeds, rng != null. Postconditions: counters reset, vigor erhöht um keimende Saat.
     public void startOfSeason(PlantSpecies plant, SeedBank seeds, Random rng) {
         this.flowers = this.pollinated = this.fruits = this.seeds = 0;
+        this.rng = rng;
         int germ = seeds.germinate(rng);
 
         // neue Keimlinge erhöhen vigor
-        plant.addVigor(germ*0.5*Math.max(0.2, seeds.getQualityAvg()));
+        plant.addVigor(RATES.seedlingGain(germ, seeds.getQualityAvg()));
     }
 
+    // Saison-RNG aus startOfSeason. Ein eigener ungeseedeter RNG würde den stochastischen Modus unreproduzierbar machen.
+    // CONTRACT: IllegalStateException, wenn updateDaily im stochastischen Modus vor dem ersten startOfSeason läuft.
+    private Random rng() {
+        if (rng == null) throw new IllegalStateException("stochastic reproduction needs startOfSeason before updateDaily");
+        return rng;
+    }
+
 }
@@ -17,6 +17,12 @@ public class BeePopulation implements Pollinator, Seasonal {
         this.population = Math.max(0, initialPopulation);
     }
 
+    // Population neu setzen (Wiederverwendung/Flyweight), negativ → 0
+    // CONTRACT: Postconditions: Invariant erfüllt, Zustand wie nach new BeePopulation(population).
+    public void reset(double population) {
+        this.population = Math.max(0, population);
+    }
+
     // Getter für die aktuelle Population
     // CONTRACT: Postcondition: Rückgabewert >= 0.
     public double population() {
@@ -28,21 +34,35 @@ public class BeePopulation implements Pollinator, Seasonal {
     // CONTRACT: Preconditions: totalFood >= 0. Postconditions: population >= 0.
     // GOOD: Nutzung von Pollinator-Interface trennt Datenhaltung vom Konsum in Ecosystem.
     public void updateDailyFromFood(double totalFood) {
+        population = dailyGrowth(population, totalFood);
+    }
+
+    static final double GROWTH = 1.03;  // Tagesfaktor, solange die Nahrung reicht (F >= x)
+    static final double DECLINE = 0.97; // Mangel (F < x): x' = DECLINE·x + 0.06·F → Fixpunkt 2F (Umformung von dailyGrowth)
+
+    // Wachstumsregel als reine Funktion, damit Gilden (PollinatorGuilds) dieselbe Regel auf Arrays anwenden.
+    // CONTRACT: Preconditions: population, totalFood >= 0. Postconditions: Rückgabe >= 0, keine Seiteneffekte.
+    static double dailyGrowth(double population, double totalFood) {
         if (totalFood >= population) {
-            population *= 1.03;
+            population *= GROWTH;
         } else {
             double base = population;
             population *= ((6 * totalFood / base) - 3) / 100.0 + 1.0;
         }
         if (population < 0) population = 0;
+        return population;
     }
 
     // Ruhephase: Reduziert Population auf 10%-30%
     // CONTRACT: Preconditions: random != null. Postconditions: population >= 0.
     public void applyWinterMortality(Random random) {
-        double u = 0.1 + random.nextDouble() * 0.2;  // [0.1, 0.3]
-        population *= u;
-        if (population < 0) population = 0;
+        population = survivingWinter(population, random.nextDouble());
+    }
+
+    // Winterregel als reine Funktion (u = Uniform aus dem Modell-RNG), wie dailyGrowth für die Array-Kerne.
+    static double survivingWinter(double population, double u) {
+        population *= 0.1 + u * 0.2;  // [0.1, 0.3]
+        return (population < 0) ? 0 : population;
     }
 
 
@@ -0,0 +1,123 @@
+// BulkWeather.java
+
+/*
+  Teil vom module environment. Alternative Weather-Implementierung für wetterlastige Läufe:
+  erzeugt beim Saisonstart die ganze Saison (240 Tage) auf einmal in primitiven Arrays
+  (Gauss-Block → AR(1)-Wolken → Sonne → Regen/Verdunstung) und liefert danach nur noch Arrayzugriffe.
+  STYLE: OO-Entität nach außen (Weather-Subtyp), prozedurale Array-Schleifen innen.
+
+  CONTRACT (Statistische Äquivalenz zu Weather, NICHT bitgleich):
+  - gleiche AR(1)-Parameter: cloud' = clamp(0.5 + RHO*(cloud-0.5) + SIGMA*N(0,1), 0, 1), RHO=0.93, SIGMA=0.10;
+  - N(0,1) aus ZigguratGaussian (exakte Normalverteilung) statt Random.nextGaussian (Polar-Methode);
+  - Startwerte soilMoisture, cloud ~ U[0,1) wie in Weather.startSeason;
+  - Regenregel identisch: P(Regen) = max(0, cloud-0.55), Menge = chance*(0.02+0.04u); hier wird u jeden Tag
+    gezogen (Weather zieht es nur an Regentagen) → gleiche Verteilung, andere Zufallsfolge;
+  - Verdunstung, Clamps [0.05,1] und Tageslängen identisch (Tageslänge einmal pro Tag-des-Jahres gecacht).
+  Invarianten wie Weather: 0 ≤ soilMoisture ≤ 1, 0 ≤ cloud ≤ 1, cumSunHours wächst monoton.
+  GOOD: Kein synchronized RNG, keine Trigonometrie im Tagespfad, Schleifen über double[] statt Objektzustand.
+  BAD: Pro Saison ~5 Arrays à 240 doubles pro Instanz (werden wiederverwendet, nicht neu alloziert).
+*/
+public class BulkWeather extends Weather {
+    private static final int BLOCK = SEASON_DAYS;
+
+    private final ZigguratGaussian gauss;
+    private final double[] dayLenByDoy = new double[366]; // Index 1..365, auf [0,24] geclampt; NaN = noch nicht berechnet
+    private final DayLengthModel dayLength;
+    private final double latitude;
+    private final int dayOfYearStart;
+
+    // Saisonpuffer (ein Block = eine Saison)
+    private final double[] noise = new double[BLOCK];
+    private final double[] rainU = new double[BLOCK];
+    private final double[] amountU = new double[BLOCK];
+    private final double[] sun = new double[BLOCK];
+    private final double[] cum = new double[BLOCK];
+    private final double[] moisture = new double[BLOCK];
+
+    private int index;       // nächster zu liefernder Tag im Block
+    private int filled;      // gültige Tage im Block
+    private double cloud;
+    private double soilMoisture;
+    private double cumSunHours;
+    private int dayOfYear;
+
+    // CONTRACT: Preconditions: dayLength != null. Postconditions: Tageslängen werden lazy pro Tag-des-Jahres gecacht.
+    public BulkWeather(long seed, DayLengthModel dayLength, double latitude, int dayOfYearStart) {
+        super(seed, dayLength, latitude, dayOfYearStart);
+        this.gauss = new ZigguratGaussian(seed);
+        this.dayLength = dayLength;
+        this.latitude = latitude;
+        this.dayOfYearStart = dayOfYearStart;
+        java.util.Arrays.fill(dayLenByDoy, Double.NaN);
+    }
+
+    @Override
+    // CONTRACT: Postcondition: gleiche Folge wie new BulkWeather(seed, ...); Tageslängen-Cache bleibt (hängt nicht vom seed ab).
+    public void reset(long seed) {
+        super.reset(seed);
+        gauss.reseed(seed);
+        index = 0;
+        filled = 0;
+        cloud = 0.0;
+        soilMoisture = 0.0;
+        cumSunHours = 0.0;
+        dayOfYear = 0;
+    }
+
+    @Override
+    // CONTRACT: Postcondition: Startwerte gezogen, erste Saison komplett vorberechnet.
+    public void startSeason() {
+        soilMoisture = gauss.nextUniform();
+        cloud = gauss.nextUniform();
+        cumSunHours = 0.0;
+        dayOfYear = (dayOfYearStart < 1 || dayOfYearStart > 365) ? 1 : dayOfYearStart;
+        fillBlock();
+    }
+
+    @Override
+    // CONTRACT: Preconditions: startSeason() wurde aufgerufen. Postconditions: Snapshot des nächsten Tages.
+    // Über 240 Tage hinaus wird nahtlos ein weiterer Block aus dem aktuellen Zustand erzeugt.
+    public DayWeather nextDay() {
+        if (index == filled) fillBlock();
+        int i = index++;
+        return new DayWeather(sun[i], cum[i], moisture[i]);
+    }
+
+    // Einen Block erzeugen. Drei getrennte Schleifen: Zufall (bulk), AR(1)+Sonne (sequenziell), Boden (sequenziell).
+    private void fillBlock() {
+        gauss.fill(noise, 0, BLOCK);
+        gauss.fillUniform(rainU, 0, BLOCK);
+        gauss.fillUniform(amountU, 0, BLOCK);
+
+        double c = cloud;
+        double acc = cumSunHours;
+        int doy = dayOfYear;
+        for (int i = 0; i < BLOCK; i++) {
+            c = clamp(0.5 + RHO * (c - 0.5) + SIGMA * noise[i], 0.0, 1.0);
+            noise[i] = c; // Puffer wiederverwenden: ab hier Wolkenanteil des Tages
+            double len = dayLenByDoy[doy];
+            if (len != len) len = dayLenByDoy[doy] = Math.max(0, Math.min(24, dayLength.lightHours(doy, latitude)));
+            double s = Math.max(0.0, len * (1.0 - c));
+            acc += s;
+            sun[i] = s;
+            cum[i] = acc;
+            doy = (doy == 365) ? 1 : doy + 1;
+        }
+
+        double m = soilMoisture;
+        for (int i = 0; i < BLOCK; i++) {
+            double chance = Math.max(0.0, noise[i] - 0.55);
+            double rain = (rainU[i] < chance) ? chance * (0.02 + 0.04 * amountU[i]) : 0.0;
+            double evap = 0.01 + 0.04 * (sun[i] / MAX_DAYLEN);
+            m = clamp(m + rain - evap, 0.05, 1.0);
+            moisture[i] = m;
+        }
+
+        cloud = c;
+        cumSunHours = acc;
+        soilMoisture = m;
+        dayOfYear = doy;
+        index = 0;
+        filled = BLOCK;
+    }
+}
@@ -0,0 +1,229 @@
+// Calibration.java
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * STYLE: Kalibrier-Schleife (ask → parallel bewerten → tell → Checkpoint) über einem Optimizer.
+ * Ein Kandidat ist ein Punkt im Einheitswürfel von ParameterSpace; sein Verlust ist der mittlere
+ * quadratische log-Fehler der über replicates Seeds gemittelten Jahreswerte (Bienen, mittlere Vigor) gegen das
+ * CalibrationTarget (gemeinsame Zufallszahlen: alle Kandidaten sehen dieselben Seeds → weniger Rauschen im Vergleich).
+ *
+ * CONTRACT:
+ * - Kandidaten außerhalb [0,1] werden geclamped bewertet, plus Strafterm PENALTY · Abstand².
+ * - Cache: Verlust je geclamptem Vektor (exakte Bits); wiederholte Kandidaten (GA-Eliten, Resume) kosten nichts.
+ * - Checkpoint nach jeder Generation (atomar ersetzt): Zeile 1 = Optimizer-Zustand, danach Cache-Einträge.
+ *   run() mit vorhandenem Checkpoint setzt dort fort.
+ * GOOD: Bewertung parallel über (Kandidat, Replikat)-Paare → auch kleine Populationen lasten alle Kerne aus.
+ */
+public final class Calibration implements AutoCloseable {
+    private static final double PENALTY = 10.0;
+
+    private final ParameterSpace space;
+    private final CalibrationTarget target;
+    private final int replicates;
+    private final long seedBase;
+    private final ExecutorService pool;
+    private final Map<String, Double> cache = new ConcurrentHashMap<>();
+    private final AtomicInteger simulations = new AtomicInteger();
+    private final AtomicInteger cacheHits = new AtomicInteger();
+
+    // CONTRACT: Preconditions: replicates >= 1, threads >= 1.
+    public Calibration(ParameterSpace space, CalibrationTarget target, int replicates, long seedBase, int threads) {
+        this.space = space;
+        this.target = target;
+        this.replicates = replicates;
+        this.seedBase = seedBase;
+        AtomicInteger ids = new AtomicInteger();
+        this.pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "calibration-" + ids.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    // Jahresendwerte [0] = Bienen, [1] = mittlere Vigor für years Jahre.
+    static double[][] trajectory(Species[] defs, int group, double latitude, int dayStart, double initialBees,
+                                 int years, long seed) {
+        Simulation sim = new Simulation(Test.listWithReproduction(defs, group),
+                new Weather(seed, new AstroDayLength(), latitude, dayStart), seed, initialBees, years);
+        double[][] out = new double[2][years];
+        for (int y = 0; y < years; y++) {
+            sim.stepYear();
+            out[0][y] = sim.bees().population();
+            double sum = 0;
+            for (PlantSpecies s : sim.ecosystem().species()) sum += s.vigor();
+            out[1][y] = sum / sim.ecosystem().species().size();
+        }
+        return out;
+    }
+
+    // Verlust der über die Replikate gemittelten Trajektorie (wie das Ziel selbst ein Mittel ist) → Seed-Rauschen mittelt sich raus.
+    private double loss(double[][] mean) {
+        int years = target.years();
+        double loss = 0;
+        for (int y = 0; y < years; y++) {
+            double db = Math.log1p(mean[0][y]) - Math.log1p(target.bees(y));
+            double dv = Math.log1p(mean[1][y]) - Math.log1p(target.vigor(y));
+            loss += db * db + dv * dv;
+        }
+        return loss / years;
+    }
+
+    // Alle Kandidaten einer Generation bewerten; nicht gecachte (Kandidat, Replikat)-Paare laufen parallel.
+    // CONTRACT: Postcondition: losses[k] gehört zu candidates[k]; RuntimeException, wenn eine Simulation scheitert.
+    public double[] evaluate(double[][] candidates) {
+        double[] losses = new double[candidates.length];
+        String[] keys = new String[candidates.length];
+        double[] penalty = new double[candidates.length];
+        List<Integer> open = new ArrayList<>();
+        List<Future<double[][]>> futures = new ArrayList<>();
+        Set<String> pending = new HashSet<>();
+        for (int k = 0; k < candidates.length; k++) {
+            double[] unit = new double[candidates[k].length];
+            for (int i = 0; i < unit.length; i++) {
+                double x = candidates[k][i];
+                unit[i] = Math.max(0, Math.min(1, x));
+                penalty[k] += (x - unit[i]) * (x - unit[i]);
+            }
+            keys[k] = JsonLines.doubles(unit);
+            if (cache.containsKey(keys[k]) || !pending.add(keys[k])) {
+                cacheHits.incrementAndGet();
+                continue;
+            }
+            open.add(k);
+            Species[] defs = space.decode(unit);
+            for (int r = 0; r < replicates; r++) {
+                long seed = seedBase + r;
+                futures.add(pool.submit((Callable<double[][]>) () -> {
+                    simulations.incrementAndGet();
+                    return trajectory(defs, target.group, target.latitude, target.dayStart, target.initialBees, target.years(), seed);
+                }));
+            }
+        }
+        try {
+            for (int o = 0; o < open.size(); o++) {
+                double[][] mean = new double[2][target.years()];
+                for (int r = 0; r < replicates; r++) {
+                    double[][] t = futures.get(o * replicates + r).get();
+                    for (int y = 0; y < t[0].length; y++) {
+                        mean[0][y] += t[0][y] / replicates;
+                        mean[1][y] += t[1][y] / replicates;
+                    }
+                }
+                cache.put(keys[open.get(o)], loss(mean));
+            }
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            futures.forEach(f -> f.cancel(true));
+            throw new IllegalStateException("calibration interrupted", interrupted);
+        } catch (ExecutionException ex) {
+            futures.forEach(f -> f.cancel(true));
+            throw new IllegalStateException("simulation failed", ex.getCause());
+        }
+        for (int k = 0; k < candidates.length; k++) losses[k] = cache.get(keys[k]) + PENALTY * penalty[k];
+        return losses;
+    }
+
+    // generations weitere Generationen (bzw. bis generations erreicht ist, wenn fortgesetzt wird).
+    // CONTRACT: Preconditions: optimizer frisch oder passend zum Checkpoint. checkpoint darf null sein.
+    // Postconditions: optimizer.generation() >= generations; Checkpoint aktuell. IOException bei Checkpoint-Fehlern.
+    public void run(Optimizer optimizer, int generations, Path checkpoint) throws IOException {
+        if (checkpoint != null && Files.exists(checkpoint)) {
+            loadCheckpoint(optimizer, checkpoint);
+            System.out.printf("resumed %s at generation %d (cache %d)%n", optimizer.name(), optimizer.generation(), cache.size());
+        }
+        while (optimizer.generation() < generations) {
+            double[][] candidates = optimizer.ask();
+            double[] losses = evaluate(candidates);
+            optimizer.tell(candidates, losses);
+            System.out.printf("%s gen %3d | best loss %.6f | simulations %d | cache hits %d%n",
+                    optimizer.name(), optimizer.generation(), optimizer.bestLoss(), simulations.get(), cacheHits.get());
+            if (checkpoint != null) saveCheckpoint(optimizer, checkpoint);
+        }
+    }
+
+    private void saveCheckpoint(Optimizer optimizer, Path checkpoint) throws IOException {
+        Path tmp = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+        try (BufferedWriter out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            List<Object> kv = new ArrayList<>();
+            for (Map.Entry<String, String> e : optimizer.state().entrySet()) {
+                kv.add(e.getKey());
+                kv.add(e.getValue());
+            }
+            out.write(JsonLines.object(kv.toArray()));
+            out.newLine();
+            for (Map.Entry<String, Double> e : cache.entrySet()) {
+                out.write(JsonLines.object("x", e.getKey(), "loss", e.getValue()));
+                out.newLine();
+            }
+        }
+        Files.move(tmp, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void loadCheckpoint(Optimizer optimizer, Path checkpoint) throws IOException {
+        List<String> lines = Files.readAllLines(checkpoint, StandardCharsets.UTF_8);
+        if (lines.isEmpty()) throw new IllegalArgumentException("empty checkpoint " + checkpoint);
+        optimizer.restore(JsonLines.parse(lines.get(0)));
+        for (int i = 1; i < lines.size(); i++) {
+            Map<String, String> e = JsonLines.parse(lines.get(i));
+            cache.put(e.get("x"), JsonLines.getDouble(e, "loss", Double.NaN));
+        }
+    }
+
+    public int simulations() {
+        return simulations.get();
+    }
+
+    public int cacheHits() {
+        return cacheHits.get();
+    }
+
+    @Override
+    public void close() {
+        pool.shutdownNow();
+    }
+
+    // Demo: Parameter von Test.build(45) aus einer synthetischen Zielreihe wiederfinden.
+    // Aufruf: java Calibration [cmaes|ga] [generations] [replicates] [threads] [checkpoint]
+    public static void main(String[] args) throws IOException {
+        String kind = args.length > 0 ? args[0] : "cmaes";
+        int generations = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        int replicates = args.length > 2 ? Integer.parseInt(args[2]) : 8;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        Path checkpoint = args.length > 4 ? Path.of(args[4]) : null;
+
+        ParameterSpace space = ParameterSpace.standard(45);
+        double[] truth = space.toUnit(new double[]{0.05, 0.001, 1.02, 1.12, 60, 660});
+        // Ziel mit denselben Seeds wie die Bewertung (gemeinsame Zufallszahlen): die Wahrheit hat dann Verlust 0 und
+        // ist wiederfindbar. Mit fremden Seeds bliebe bei 8 Replikaten ein Rauschboden, der die Parameter überdeckt.
+        long seedBase = 1;
+        CalibrationTarget target = CalibrationTarget.synthetic(space.decode(truth), 1, 48.2, 91, 120, 10, replicates, seedBase);
+        Optimizer optimizer = "ga".equals(kind)
+                ? new GeneticOptimizer(space.dimension(), 24, 2, 7)
+                : new CmaEs(new double[]{0.5, 0.5, 0.5, 0.5, 0.5, 0.5}, 0.3, 0, 7);
+        double truthLoss;
+        try (Calibration calibration = new Calibration(space, target, replicates, seedBase, threads)) {
+            calibration.run(optimizer, generations, checkpoint);
+            truthLoss = calibration.evaluate(new double[][]{truth})[0];
+        }
+        System.out.println("truth: " + space.describe(truth) + String.format(" | loss %.6f (reference)", truthLoss));
+        System.out.println("best:  " + space.describe(optimizer.best()) + String.format(" | loss %.6f", optimizer.bestLoss()));
+    }
+}
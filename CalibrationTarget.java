@@ -0,0 +1,87 @@
+// CalibrationTarget.java
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+  Teil vom module calibration. Beobachtete Jahresendwerte (Bienen, mittlere Vigor) eines Standorts plus
+  das Szenario, unter dem simuliert wird (Gruppe, Breite, Saisonstart, Startbienen).
+  STYLE: immutable Datencontainer mit zwei Fabriken (CSV, synthetisch).
+
+  CONTRACT: bees.length == vigor.length == years() >= 1, alle Werte >= 0.
+  Jahr y (1-basiert) entspricht dem Zustand nach Simulation.stepYear() Nummer y.
+*/
+public final class CalibrationTarget {
+    final int group;
+    final double latitude;
+    final int dayStart;
+    final double initialBees;
+    private final double[] bees;
+    private final double[] vigor;
+
+    public CalibrationTarget(int group, double latitude, int dayStart, double initialBees, double[] bees, double[] vigor) {
+        if (bees.length == 0 || bees.length != vigor.length) throw new IllegalArgumentException("need matching, non-empty series");
+        this.group = group;
+        this.latitude = latitude;
+        this.dayStart = dayStart;
+        this.initialBees = initialBees;
+        this.bees = bees.clone();
+        this.vigor = vigor.clone();
+    }
+
+    // CSV mit Spalten year,bees,avgVigor (Kopfzeile und '#'-Zeilen werden übersprungen), Jahre aufsteigend ab 1.
+    // CONTRACT: IllegalArgumentException bei Lücken oder kaputten Zeilen.
+    public static CalibrationTarget fromCsv(Path csv, int group, double latitude, int dayStart, double initialBees)
+            throws IOException {
+        List<double[]> rows = new ArrayList<>();
+        for (String line : Files.readAllLines(csv, StandardCharsets.UTF_8)) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#") || Character.isLetter(line.charAt(0))) continue;
+            String[] f = line.split(",");
+            if (f.length < 3) throw new IllegalArgumentException("expected year,bees,avgVigor: " + line);
+            try {
+                int year = Integer.parseInt(f[0].trim());
+                if (year != rows.size() + 1) throw new IllegalArgumentException("years must be 1,2,3,...: " + line);
+                rows.add(new double[]{Double.parseDouble(f[1].trim()), Double.parseDouble(f[2].trim())});
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("bad number: " + line);
+            }
+        }
+        double[] b = new double[rows.size()], v = new double[rows.size()];
+        for (int y = 0; y < b.length; y++) {
+            b[y] = rows.get(y)[0];
+            v[y] = rows.get(y)[1];
+        }
+        return new CalibrationTarget(group, latitude, dayStart, initialBees, b, v);
+    }
+
+    // Zielreihe aus bekannten Parametern (Mittel über replicates Seeds ab seedBase) → Wiederfinden testen.
+    public static CalibrationTarget synthetic(Species[] truth, int group, double latitude, int dayStart,
+                                              double initialBees, int years, int replicates, long seedBase) {
+        double[] b = new double[years], v = new double[years];
+        for (int r = 0; r < replicates; r++) {
+            double[][] traj = Calibration.trajectory(truth, group, latitude, dayStart, initialBees, years, seedBase + r);
+            for (int y = 0; y < years; y++) {
+                b[y] += traj[0][y] / replicates;
+                v[y] += traj[1][y] / replicates;
+            }
+        }
+        return new CalibrationTarget(group, latitude, dayStart, initialBees, b, v);
+    }
+
+    public int years() {
+        return bees.length;
+    }
+
+    public double bees(int yearIndex) {
+        return bees[yearIndex];
+    }
+
+    public double vigor(int yearIndex) {
+        return vigor[yearIndex];
+    }
+}
@@ -0,0 +1,250 @@
+// CmaEs.java
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+/*
+  Teil vom module calibration. CMA-ES (Hansen, "The CMA Evolution Strategy: A Tutorial") mit
+  Standardparametern: λ = 4 + ⌊3 ln d⌋, μ = λ/2, log-Gewichte, kumulative Schrittweitenanpassung, rank-1 + rank-μ Update.
+  STYLE: prozedurale Numerik auf double[]/double[][]; Eigenzerlegung der Kovarianz per Jacobi (d ist klein).
+
+  CONTRACT: Zufall pro Generation aus new Random(mix(seed, generation)) → restore() + ask() reproduziert die
+  Kandidaten exakt. Zustand: mean, sigma, C, pc, ps, generation, best.
+  GOOD: Invariant gegenüber Skalierung/Rotation des Parameterraums; wenige Hyperparameter.
+  BAD: O(d^3) pro Generation für die Eigenzerlegung – für d ~ 6 egal, für große d ungeeignet.
+*/
+public final class CmaEs implements Optimizer {
+    private final int n;
+    private final long seed;
+    private final int lambda, mu;
+    private final double[] weights;
+    private final double mueff, cc, cs, c1, cmu, damps, chiN;
+
+    private double[] mean;
+    private double sigma;
+    private double[][] cov;
+    private double[] pc, ps;
+    private double[][] eigVectors; // B (Spalten = Eigenvektoren)
+    private double[] eigSqrt;      // D (Wurzeln der Eigenwerte)
+    private int generation;
+    private double[] best;
+    private double bestLoss = Double.POSITIVE_INFINITY;
+
+    // CONTRACT: Preconditions: start.length >= 1, sigma0 > 0, lambda >= 4 oder 0 (= Standard).
+    public CmaEs(double[] start, double sigma0, int lambda, long seed) {
+        this.n = start.length;
+        this.seed = seed;
+        this.lambda = (lambda > 0) ? Math.max(4, lambda) : 4 + (int) Math.floor(3 * Math.log(n));
+        this.mu = this.lambda / 2;
+        double[] w = new double[mu];
+        double sum = 0, sumSq = 0;
+        for (int i = 0; i < mu; i++) {
+            w[i] = Math.log(mu + 0.5) - Math.log(i + 1);
+            sum += w[i];
+        }
+        for (int i = 0; i < mu; i++) {
+            w[i] /= sum;
+            sumSq += w[i] * w[i];
+        }
+        this.weights = w;
+        this.mueff = 1.0 / sumSq;
+        this.cc = (4 + mueff / n) / (n + 4 + 2 * mueff / n);
+        this.cs = (mueff + 2) / (n + mueff + 5);
+        this.c1 = 2 / ((n + 1.3) * (n + 1.3) + mueff);
+        this.cmu = Math.min(1 - c1, 2 * (mueff - 2 + 1 / mueff) / ((n + 2) * (n + 2) + mueff));
+        this.damps = 1 + 2 * Math.max(0, Math.sqrt((mueff - 1) / (n + 1)) - 1) + cs;
+        this.chiN = Math.sqrt(n) * (1 - 1.0 / (4 * n) + 1.0 / (21.0 * n * n));
+        this.mean = start.clone();
+        this.sigma = sigma0;
+        this.cov = identity(n);
+        this.pc = new double[n];
+        this.ps = new double[n];
+        decompose();
+    }
+
+    @Override
+    public String name() {
+        return "cmaes";
+    }
+
+    // x_k = m + σ B D z_k, z_k ~ N(0, I)
+    @Override
+    public double[][] ask() {
+        Random rng = new Random(Numerics.mix(seed, -2, generation));
+        double[][] x = new double[lambda][n];
+        double[] z = new double[n];
+        for (int k = 0; k < lambda; k++) {
+            for (int i = 0; i < n; i++) z[i] = eigSqrt[i] * rng.nextGaussian();
+            for (int i = 0; i < n; i++) {
+                double s = 0;
+                for (int j = 0; j < n; j++) s += eigVectors[i][j] * z[j];
+                x[k][i] = mean[i] + sigma * s;
+            }
+        }
+        return x;
+    }
+
+    @Override
+    public void tell(double[][] candidates, double[] losses) {
+        if (candidates.length != lambda || losses.length != lambda) throw new IllegalArgumentException("expected " + lambda + " candidates");
+        Integer[] order = new Integer[lambda];
+        for (int k = 0; k < lambda; k++) order[k] = k;
+        Arrays.sort(order, Comparator.comparingDouble(k -> losses[k]));
+        if (losses[order[0]] < bestLoss) {
+            bestLoss = losses[order[0]];
+            best = candidates[order[0]].clone();
+        }
+
+        double[] old = mean;
+        mean = new double[n];
+        for (int r = 0; r < mu; r++) {
+            double[] x = candidates[order[r]];
+            for (int i = 0; i < n; i++) mean[i] += weights[r] * x[i];
+        }
+        double[] yw = new double[n];
+        for (int i = 0; i < n; i++) yw[i] = (mean[i] - old[i]) / sigma;
+
+        // ps ← (1 - cs) ps + sqrt(cs (2 - cs) μeff) C^{-1/2} yw, C^{-1/2} = B D^{-1} B^T
+        double[] t = new double[n];
+        for (int j = 0; j < n; j++) {
+            double s = 0;
+            for (int i = 0; i < n; i++) s += eigVectors[i][j] * yw[i];
+            t[j] = s / eigSqrt[j];
+        }
+        double csFactor = Math.sqrt(cs * (2 - cs) * mueff);
+        double psNorm = 0;
+        for (int i = 0; i < n; i++) {
+            double s = 0;
+            for (int j = 0; j < n; j++) s += eigVectors[i][j] * t[j];
+            ps[i] = (1 - cs) * ps[i] + csFactor * s;
+            psNorm += ps[i] * ps[i];
+        }
+        psNorm = Math.sqrt(psNorm);
+        boolean hsig = psNorm / Math.sqrt(1 - Math.pow(1 - cs, 2.0 * (generation + 1))) / chiN < 1.4 + 2.0 / (n + 1);
+        double ccFactor = Math.sqrt(cc * (2 - cc) * mueff);
+        for (int i = 0; i < n; i++) pc[i] = (1 - cc) * pc[i] + (hsig ? ccFactor * yw[i] : 0);
+
+        double delta = hsig ? 0 : cc * (2 - cc);
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j <= i; j++) {
+                double rankMu = 0;
+                for (int r = 0; r < mu; r++) {
+                    double[] x = candidates[order[r]];
+                    rankMu += weights[r] * (x[i] - old[i]) * (x[j] - old[j]);
+                }
+                rankMu /= sigma * sigma;
+                double c = (1 - c1 - cmu) * cov[i][j] + c1 * (pc[i] * pc[j] + delta * cov[i][j]) + cmu * rankMu;
+                cov[i][j] = c;
+                cov[j][i] = c;
+            }
+        }
+        sigma *= Math.exp((cs / damps) * (psNorm / chiN - 1));
+        generation++;
+        decompose();
+    }
+
+    // C = B D² B^T (Jacobi-Rotationen), numerisch stabil für kleine symmetrische Matrizen.
+    private void decompose() {
+        double[][] a = new double[n][];
+        for (int i = 0; i < n; i++) a[i] = cov[i].clone();
+        double[][] v = identity(n);
+        for (int sweep = 0; sweep < 100; sweep++) {
+            double off = 0;
+            for (int i = 0; i < n; i++) for (int j = i + 1; j < n; j++) off += a[i][j] * a[i][j];
+            if (off < 1e-30) break;
+            for (int p = 0; p < n; p++) {
+                for (int q = p + 1; q < n; q++) {
+                    if (Math.abs(a[p][q]) < 1e-300) continue;
+                    double theta = (a[q][q] - a[p][p]) / (2 * a[p][q]);
+                    double tt = Math.signum(theta) / (Math.abs(theta) + Math.sqrt(theta * theta + 1));
+                    if (theta == 0) tt = 1;
+                    double c = 1 / Math.sqrt(tt * tt + 1), s = tt * c;
+                    for (int k = 0; k < n; k++) {
+                        double akp = a[k][p], akq = a[k][q];
+                        a[k][p] = c * akp - s * akq;
+                        a[k][q] = s * akp + c * akq;
+                    }
+                    for (int k = 0; k < n; k++) {
+                        double apk = a[p][k], aqk = a[q][k];
+                        a[p][k] = c * apk - s * aqk;
+                        a[q][k] = s * apk + c * aqk;
+                    }
+                    for (int k = 0; k < n; k++) {
+                        double vkp = v[k][p], vkq = v[k][q];
+                        v[k][p] = c * vkp - s * vkq;
+                        v[k][q] = s * vkp + c * vkq;
+                    }
+                }
+            }
+        }
+        eigVectors = v;
+        eigSqrt = new double[n];
+        for (int i = 0; i < n; i++) eigSqrt[i] = Math.sqrt(Math.max(1e-20, a[i][i]));
+    }
+
+    private static double[][] identity(int n) {
+        double[][] m = new double[n][n];
+        for (int i = 0; i < n; i++) m[i][i] = 1;
+        return m;
+    }
+
+    @Override
+    public int generation() {
+        return generation;
+    }
+
+    @Override
+    public double[] best() {
+        return (best == null) ? null : best.clone();
+    }
+
+    @Override
+    public double bestLoss() {
+        return bestLoss;
+    }
+
+    public double sigma() {
+        return sigma;
+    }
+
+    @Override
+    public Map<String, String> state() {
+        Map<String, String> s = new LinkedHashMap<>();
+        s.put("optimizer", name());
+        s.put("generation", String.valueOf(generation));
+        s.put("mean", JsonLines.doubles(mean));
+        s.put("sigma", String.valueOf(sigma));
+        double[] flat = new double[n * n];
+        for (int i = 0; i < n; i++) System.arraycopy(cov[i], 0, flat, i * n, n);
+        s.put("cov", JsonLines.doubles(flat));
+        s.put("pc", JsonLines.doubles(pc));
+        s.put("ps", JsonLines.doubles(ps));
+        if (best != null) {
+            s.put("best", JsonLines.doubles(best));
+            s.put("bestLoss", String.valueOf(bestLoss));
+        }
+        return s;
+    }
+
+    @Override
+    public void restore(Map<String, String> s) {
+        if (!name().equals(s.get("optimizer"))) throw new IllegalArgumentException("checkpoint is not " + name());
+        double[] m = JsonLines.getDoubles(s, "mean");
+        double[] flat = JsonLines.getDoubles(s, "cov");
+        if (m == null || m.length != n || flat == null || flat.length != n * n) {
+            throw new IllegalArgumentException("checkpoint dimension mismatch");
+        }
+        generation = JsonLines.getInt(s, "generation", 0);
+        mean = m;
+        sigma = JsonLines.getDouble(s, "sigma", sigma);
+        for (int i = 0; i < n; i++) System.arraycopy(flat, i * n, cov[i], 0, n);
+        pc = JsonLines.getDoubles(s, "pc");
+        ps = JsonLines.getDoubles(s, "ps");
+        best = JsonLines.getDoubles(s, "best");
+        bestLoss = JsonLines.getDouble(s, "bestLoss", Double.POSITIVE_INFINITY);
+        decompose();
+    }
+}
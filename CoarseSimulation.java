@@ -0,0 +1,489 @@
+// CoarseSimulation.java
+
+import java.util.Random;
+
+/*
+  Teil vom module simulation. Opt-in Näherungsmodus für sehr lange Läufe (Jahrhunderte × viele Seeds):
+  statt 240 Tagesschritten wird eine Saison in Schritten von k Tagen gerechnet (WEEKLY: k = 7; PHASES: k = 21,
+  solange sich keine Blüte ändert und keine Fenstergrenze naht, sonst 7).
+  STYLE: prozeduraler Array-Kern wie EnsembleBatch/CompactEnsemble, ein Replikat je Instanz.
+
+  Aggregation je Schritt (k Tage):
+  - Wetter: AR(1)-Wolken exakt über k Tage (Mittel und Endwert bivariat normal, Koeffizienten aus RHO/SIGMA),
+    Sonne = Summe der Tageslängen × (1 − mittlere Wolke), Regen je Tag gezogen, Verdunstung aufsummiert.
+  - Feuchtestress: Feuchte linear zwischen Schrittanfang und -ende, Tage je Band (PlantSpecies.stressBand) gezählt
+    → SEVERE_STRESS^n2 · MILD_STRESS^n1.
+  - Blüte: innerhalb des Schritts tageweise mit konstanter Sonne (billig, Blüte ist die schnellste Größe).
+  - Bienen: bei konstanter Nahrung F geschlossen: GROWTH^d solange F ≥ x, danach x → 2F + (x − 2F)·DECLINE^r
+    (Konstanten aus BeePopulation).
+  - Samenansatz: Tagesformel mit Schrittmitteln. Reproduktion: ganzzahlige Fruchtkette tageweise (die Rundung im
+    Tagesmodell hält kleine Fruchtbestände fest; eine kontinuierliche Reihe überschätzt die SeedBank um 40-250%).
+  Saisonstart (Keimung) und Winter sind exakt wie in Simulation (eigener RNG, gleiche Reihenfolge).
+  Alle Artregeln (Keimung, Blüte, Samenansatz, Fruchtkette, Winter) und Faktoren kommen aus PlantSpecies, SeedBank,
+  BeePopulation und ReproductionRates – dieselben reinen Funktionen wie in CompactEnsemble/EnsembleBatch/ScenarioCompiler.
+
+  CONTRACT: NICHT bitgleich und nicht pfadgleich zu Simulation (anderer Wetterstrom) – nur statistisch ähnlich;
+  wie gut, zeigt errorReport(). Invarianten wie PlantSpecies: vigor >= 0, bloom/seedSet in [0,1], SeedBank >= 0.
+  GOOD: Pro Saison ~12–35 statt 240 Schritte für Wetter/Bienen, kein DayWeather-Objekt, keine Trigonometrie im Schritt.
+  BAD: Die Aggregation selbst (Bänder zählen, geschlossene Bienenformel) ist eine Umformung der Tagesregeln; ändert
+  sich die Form von stressedVigor oder dailyGrowth (nicht nur ein Faktor), muss sie hier nachgezogen werden.
+*/
+public final class CoarseSimulation {
+    public enum Stepping { WEEKLY, PHASES }
+
+    private static final int DAYS = Simulation.seasonDays();
+    private static final int SHORT = 7, LONG = 21;
+
+    // AR(1)-Koeffizienten für k = 1..LONG Tage
+    private static final double[] G_MEAN = new double[LONG + 1], G_END = new double[LONG + 1];
+    private static final double[] SD_MEAN = new double[LONG + 1], SD_END = new double[LONG + 1], CORR = new double[LONG + 1];
+    // Tagesfaktoren hoch n (n = 0..LONG): Math.pow je Art und Schritt kostete mehr als der gesparte Tagesschritt
+    private static final double[] POW_SEVERE = powers(PlantSpecies.SEVERE_STRESS), POW_MILD = powers(PlantSpecies.MILD_STRESS);
+    private static final double[] POW_GROWTH = powers(BeePopulation.GROWTH), POW_DECLINE = powers(BeePopulation.DECLINE);
+    private static final double[] DECAY_ANNUAL = powers(ReproductionRates.ANNUAL.vigorCost);
+    private static final double[] DECAY_PERENNIAL = powers(ReproductionRates.PERENNIAL.vigorCost);
+
+    static {
+        double rho = Weather.RHO, s2 = Weather.SIGMA * Weather.SIGMA;
+        for (int k = 1; k <= LONG; k++) {
+            G_END[k] = Math.pow(rho, k);
+            G_MEAN[k] = rho * (1 - Math.pow(rho, k)) / (k * (1 - rho));
+            double vEnd = 0, vMean = 0, cov = 0;
+            for (int i = 1; i <= k; i++) {
+                double e = Math.pow(rho, k - i);
+                double m = (1 - Math.pow(rho, k - i + 1)) / (k * (1 - rho));
+                vEnd += e * e;
+                vMean += m * m;
+                cov += e * m;
+            }
+            SD_END[k] = Math.sqrt(s2 * vEnd);
+            SD_MEAN[k] = Math.sqrt(s2 * vMean);
+            CORR[k] = cov / Math.sqrt(vEnd * vMean);
+        }
+    }
+
+    private static double[] powers(double base) {
+        double[] t = new double[LONG + 1];
+        t[0] = 1.0;
+        for (int n = 1; n <= LONG; n++) t[n] = t[n - 1] * base;
+        return t;
+    }
+
+    private final Stepping stepping;
+    private final int speciesCount;
+    private final double[] cMin, cMax, fMin, fMax, hStart, hEnd, q, p;
+    private final ReproductionRates[] rates;
+
+    // Wetter
+    private final Random weatherRng;
+    private final double[] lightPrefix = new double[2 * 365 + 1]; // Präfixsummen der Tageslänge über zwei Jahre
+    private final int dayOfYearStart;
+    private double cloud, moisture, cumSun;
+    private int dayOfYear;
+
+    // Modell
+    private final Random random;
+    private double bees;
+    private final double[] vigor, bloom, seedSet, bankQuality;
+    private final int[] fruits, seeds;
+    private final int[] bankStored;
+    private final double[] dayMoisture = new double[LONG + 1];
+    private double[] drivenSun, drivenMoisture; // null → synthetisches Wetter
+    private int drivenDay;
+    private final double[][] dayBloom;
+    private final double[] bloomSum;
+    private final int[] bloomDays;
+    private int steps;
+
+    // CONTRACT: Preconditions: defs, dayLength, stepping != null.
+    // Postconditions: Startzustand wie new Simulation(Test.listWithReproduction(defs, group), new Weather(weatherSeed, ..), randomSeed, initialBees, ..).
+    public CoarseSimulation(Species[] defs, int groupIndex, DayLengthModel dayLength, double latitude, int dayStart,
+                            long weatherSeed, long randomSeed, double initialBees, Stepping stepping) {
+        this.stepping = stepping;
+        this.speciesCount = defs.length;
+        cMin = new double[speciesCount];
+        cMax = new double[speciesCount];
+        fMin = new double[speciesCount];
+        fMax = new double[speciesCount];
+        hStart = new double[speciesCount];
+        hEnd = new double[speciesCount];
+        q = new double[speciesCount];
+        p = new double[speciesCount];
+        rates = new ReproductionRates[speciesCount];
+        vigor = new double[speciesCount];
+        bloom = new double[speciesCount];
+        seedSet = new double[speciesCount];
+        fruits = new int[speciesCount];
+        seeds = new int[speciesCount];
+        bankQuality = new double[speciesCount];
+        bankStored = new int[speciesCount];
+        dayBloom = new double[speciesCount][LONG + 1];
+        bloomSum = new double[speciesCount];
+        bloomDays = new int[speciesCount];
+        for (int i = 0; i < speciesCount; i++) {
+            Species s = defs[i];
+            cMin[i] = s.cMin;
+            cMax[i] = s.cMax;
+            fMin[i] = s.fMin;
+            fMax[i] = s.fMax;
+            hStart[i] = s.hStart;
+            hEnd[i] = s.hEnd;
+            q[i] = s.q;
+            p[i] = s.p;
+            rates[i] = ReproductionRates.of(Test.pickReproduction(groupIndex, i) instanceof AnnualReproduction);
+            vigor[i] = Math.max(0, s.y0);
+        }
+        for (int d = 1; d <= 2 * 365; d++) {
+            int doy = (d - 1) % 365 + 1;
+            double len = Math.max(0, Math.min(24, dayLength.lightHours(doy, latitude)));
+            lightPrefix[d] = lightPrefix[d - 1] + len;
+        }
+        this.dayOfYearStart = (dayStart < 1 || dayStart > 365) ? 1 : dayStart;
+        this.weatherRng = new Random(weatherSeed);
+        this.random = new Random(randomSeed);
+        this.bees = Math.max(0, initialBees);
+    }
+
+    public void run(int years) {
+        for (int y = 0; y < years; y++) stepYear();
+    }
+
+    // Ein Jahr: Saisonstart (exakt) → aggregierte Schritte → Winter (exakt).
+    public void stepYear() {
+        season(null, null);
+    }
+
+    // Ein Jahr mit vorgegebenem Tageswetter (Parareal: dasselbe Wetter wie der Feinpropagator);
+    // nur die Modellschritte werden aggregiert, Feuchtestress zählt die echten Tageswerte.
+    // CONTRACT: Preconditions: sun.length, moisture.length >= Simulation.seasonDays(). Weather-RNG bleibt unberührt.
+    void stepYear(double[] sun, double[] moisture) {
+        season(sun, moisture);
+    }
+
+    private void season(double[] sun, double[] moisture) {
+        for (int i = 0; i < speciesCount; i++) startSeason(i);
+        drivenSun = sun;
+        drivenMoisture = moisture;
+        drivenDay = 0;
+        if (sun == null) {
+            this.moisture = weatherRng.nextDouble();
+            cloud = weatherRng.nextDouble();
+        }
+        cumSun = 0;
+        dayOfYear = dayOfYearStart;
+        steps = 0;
+        for (int day = 0; day < DAYS; ) {
+            int k = Math.min(DAYS - day, nextStep());
+            step(k);
+            day += k;
+            steps++;
+        }
+        bees = BeePopulation.survivingWinter(bees, random.nextDouble());
+        for (int i = 0; i < speciesCount; i++) winter(i);
+        drivenSun = null;
+        drivenMoisture = null;
+    }
+
+    // Jahreszustand für Parareal (Layout: bees, dann je Art vigor, bankQuality, bankStored).
+    // CONTRACT: Preconditions: state.length == 1 + 3 * speciesCount. Postconditions: Werte geclamped wie SeedBank.restore.
+    void load(double[] state) {
+        bees = Math.max(0, state[0]);
+        for (int i = 0; i < speciesCount; i++) {
+            vigor[i] = Math.max(0, state[1 + 3 * i]);
+            bankQuality[i] = Math.max(0, Math.min(1, state[2 + 3 * i]));
+            bankStored[i] = (int) Math.max(0, Math.round(state[3 + 3 * i]));
+        }
+    }
+
+    void store(double[] state) {
+        state[0] = bees;
+        for (int i = 0; i < speciesCount; i++) {
+            state[1 + 3 * i] = vigor[i];
+            state[2 + 3 * i] = bankQuality[i];
+            state[3 + 3 * i] = bankStored[i];
+        }
+    }
+
+    // Neue Zufallsströme für das nächste Jahr (Parareal: Zufall je Jahr statt je Lauf).
+    void reseed(long weatherSeed, long randomSeed) {
+        weatherRng.setSeed(weatherSeed);
+        random.setSeed(randomSeed);
+    }
+
+    // PHASES: langer Schritt nur, wenn jede Blüte auf einem Fixpunkt ist und keine Fenstergrenze erreichbar ist.
+    private int nextStep() {
+        if (stepping == Stepping.WEEKLY) return SHORT;
+        double reach = cumSun + lightSum(LONG); // obere Schranke: wolkenlos
+        for (int i = 0; i < speciesCount; i++) {
+            boolean inWindow = cumSun >= hStart[i] && cumSun < hEnd[i];
+            boolean fixed = inWindow ? bloom[i] == 1.0 : bloom[i] == 0.0;
+            if (!fixed) return SHORT;
+            if ((hStart[i] >= cumSun && hStart[i] < reach) || (hEnd[i] >= cumSun && hEnd[i] < reach)) return SHORT;
+        }
+        return LONG;
+    }
+
+    private double lightSum(int k) {
+        return lightPrefix[dayOfYear - 1 + k] - lightPrefix[dayOfYear - 1];
+    }
+
+    // Wetter über k Tage aus dem eigenen Strom; füllt dayMoisture[1..k], liefert die Sonnensumme.
+    private double syntheticWeather(int k) {
+        double z1 = weatherRng.nextGaussian(), z2 = weatherRng.nextGaussian();
+        double c0 = cloud - 0.5;
+        double meanCloud = Weather.clamp(0.5 + G_MEAN[k] * c0 + SD_MEAN[k] * z1, 0.0, 1.0);
+        cloud = Weather.clamp(0.5 + G_END[k] * c0 + SD_END[k] * (CORR[k] * z1 + Math.sqrt(1 - CORR[k] * CORR[k]) * z2), 0.0, 1.0);
+        double sun = Math.max(0.0, lightSum(k) * (1.0 - meanCloud));
+        double chance = Math.max(0.0, meanCloud - 0.55);
+        double rain = 0;
+        for (int d = 0; d < k; d++) {
+            if (weatherRng.nextDouble() < chance) rain += chance * (0.02 + 0.04 * weatherRng.nextDouble());
+        }
+        double evap = 0.01 * k + 0.04 * (sun / Weather.MAX_DAYLEN);
+        double m0 = moisture;
+        moisture = Weather.clamp(m0 + rain - evap, 0.05, 1.0);
+        for (int d = 1; d <= k; d++) dayMoisture[d] = m0 + (moisture - m0) * d / k;
+        return sun;
+    }
+
+    private void step(int k) {
+        double sun;
+        if (drivenSun != null) {
+            sun = 0;
+            for (int d = 1; d <= k; d++) {
+                sun += drivenSun[drivenDay + d - 1];
+                dayMoisture[d] = drivenMoisture[drivenDay + d - 1];
+            }
+            moisture = dayMoisture[k];
+            drivenDay += k;
+        } else {
+            sun = syntheticWeather(k);
+        }
+        double cum0 = cumSun;
+        double sunPerDay = sun / k;
+        cumSun += sun;
+        dayOfYear = (dayOfYear - 1 + k) % 365 + 1;
+
+        // Feuchtestress (Tage je Band) + Blüte (tageweise bei konstanter Sonne)
+        double food = 0;
+        for (int i = 0; i < speciesCount; i++) {
+            int severe = 0, mild = 0;
+            for (int d = 1; d <= k; d++) {
+                int band = PlantSpecies.stressBand(dayMoisture[d], fMin[i], fMax[i]);
+                if (band == 2) {
+                    severe++;
+                } else if (band == 1) {
+                    mild++;
+                }
+            }
+            if (severe + mild > 0) vigor[i] *= POW_SEVERE[severe] * POW_MILD[mild];
+            double b = bloom[i], sum = 0;
+            if (b == 0 && (cumSun < hStart[i] || cum0 + sunPerDay >= hEnd[i])) { // vor bzw. nach dem Fenster: bleibt 0
+                bloomSum[i] = 0;
+                bloomDays[i] = 0;
+                continue;
+            }
+            int days = 0;
+            for (int d = 1; d <= k; d++) {
+                b = PlantSpecies.advancedBloom(b, sunPerDay, cum0 + sunPerDay * d, q[i], hStart[i], hEnd[i]);
+                dayBloom[i][d] = b;
+                sum += b;
+                if (b > 0) days++;
+            }
+            bloom[i] = b;
+            bloomSum[i] = sum;
+            bloomDays[i] = days;
+            food += vigor[i] * sum / k;
+        }
+
+        // Bienen bei konstanter Nahrung: Wachstumsphase (GROWTH) dann Annäherung an 2F (DECLINE); geometrische Summen
+        final double growth = BeePopulation.GROWTH, decline = BeePopulation.DECLINE;
+        double x = bees, xSum;
+        if (x <= 0) {
+            xSum = 0;
+        } else if (food <= 0) {
+            double r = POW_DECLINE[k];
+            xSum = x * decline * (1 - r) / (1 - decline);
+            x *= r;
+        } else {
+            int grow = (food >= x) ? Math.min(k, (int) Math.floor(Math.log(food / x) / Math.log(growth)) + 1) : 0;
+            double g = POW_GROWTH[grow];
+            xSum = x * growth * (g - 1) / (growth - 1);
+            x *= g;
+            int rest = k - grow;
+            double twoF = 2 * food, r = POW_DECLINE[rest];
+            xSum += twoF * rest + (x - twoF) * decline * (1 - r) / (1 - decline);
+            x = twoF + (x - twoF) * r;
+        }
+        bees = Math.max(0, x);
+        double xMean = xSum / k;
+
+        // Samenansatz + Reproduktion mit Schrittmitteln
+        double efficiency = ReproductionRates.efficiency(xMean, food);
+        for (int i = 0; i < speciesCount; i++) {
+            if (bloomDays[i] == 0) continue;
+            // Samenansatz: Tagesformel mit der Blühsumme des Schritts (Summe der Tagesinkremente bei konstanter Sonne)
+            seedSet[i] = PlantSpecies.increasedSeedSet(seedSet[i], bloomSum[i], xMean, food, sunPerDay, p[i]);
+            // Ganzzahlige Fruchtkette tageweise wie im Tagesmodell (Rundung hält kleine Bestände fest), Vigor je Schritt konstant
+            ReproductionRates rr = rates[i];
+            double v = vigor[i];
+            int f = fruits[i], ripe = 0;
+            for (int d = 1; d <= k; d++) {
+                double b = dayBloom[i][d];
+                if (b <= 0) continue;
+                f += rr.filled(rr.pollinated(rr.opened(v, b), efficiency), sunPerDay);
+                int ripen = rr.ripened(f);
+                ripe += ripen;
+                f -= ripen;
+            }
+            fruits[i] = f;
+            seeds[i] += ripe;
+            vigor[i] *= (rr.annual ? DECAY_ANNUAL : DECAY_PERENNIAL)[bloomDays[i]];
+        }
+    }
+
+    // PlantSpecies.startSeason + Reproduction.startOfSeason + SeedBank.germinate (exakt)
+    private void startSeason(int i) {
+        bloom[i] = 0;
+        seedSet[i] = 0;
+        fruits[i] = 0;
+        seeds[i] = 0;
+        int germ = 0, stored = bankStored[i];
+        if (stored != 0) {
+            int afterWinter = SeedBank.survivingWinter(stored, random.nextDouble());
+            germ = SeedBank.germinating(afterWinter, random.nextDouble());
+            bankStored[i] = afterWinter - germ;
+            germ = Math.max(0, germ);
+        }
+        vigor[i] += rates[i].seedlingGain(rates[i].established(germ), bankQuality[i]);
+    }
+
+    // endOfSeason (SeedBank.add) + winterReproduce (exakt, Samen gerundet)
+    private void winter(int i) {
+        ReproductionRates rr = rates[i];
+        int count = seeds[i];
+        if (count > 0) {
+            bankQuality[i] = SeedBank.pooledQuality(bankStored[i], bankQuality[i], count, rr.seedQuality(seedSet[i]));
+            bankStored[i] += count;
+        }
+        if (rr.annual) vigor[i] = 0;
+        fruits[i] = 0;
+        seeds[i] = 0;
+        double c = cMin[i] + random.nextDouble() * (cMax[i] - cMin[i]);
+        vigor[i] = PlantSpecies.grownVigor(vigor[i], seedSet[i], c);
+    }
+
+    // Read-only-Views
+    public double bees() {
+        return bees;
+    }
+
+    public double vigor(int species) {
+        return vigor[species];
+    }
+
+    public double avgVigor() {
+        double sum = 0;
+        for (double v : vigor) sum += v;
+        return sum / speciesCount;
+    }
+
+    public double seedSet(int species) {
+        return seedSet[species];
+    }
+
+    public int seedBankStored(int species) {
+        return bankStored[species];
+    }
+
+    // CONTRACT: Postcondition: Anzahl aggregierter Schritte der zuletzt gerechneten Saison.
+    public int stepsLastYear() {
+        return steps;
+    }
+
+    /**
+     * Fehlerbericht gegen das Tagesmodell: seeds Läufe × years Jahre einer Test-Gruppe (120 Bienen, Seeds seedBase+1..),
+     * je Modus Mittel ± Streuung von Bienen (Endwert und Mittel über alle Jahre), mittlerer Vigor und SeedBank,
+     * relativer Fehler der Ensemble-Mittel gegen das Tagesmodell und Rechenzeit.
+     * STYLE: prozedurale Report-Routine wie CompactEnsemble.accuracyReport, nur Ausgabe.
+     * CONTRACT: Preconditions: defs != null, seeds >= 2, years >= 1. Postconditions: nur System.out.
+     */
+    public static void errorReport(int groupIndex, Species[] defs, int seedBase, int seeds, int years,
+                                   DayLengthModel dayLength, double lat, int dayStart) {
+        System.out.printf("%nCOARSE STEPPING ERROR - GROUP %d (%d seeds x %d years, vs daily model)%n", groupIndex, seeds, years);
+        ensemble(null, groupIndex, defs, seedBase, 2, years, dayLength, lat, dayStart); // JIT warm-up
+        for (Stepping mode : Stepping.values()) ensemble(mode, groupIndex, defs, seedBase, 2, years, dayLength, lat, dayStart);
+        long t0 = System.nanoTime();
+        double[][] daily = ensemble(null, groupIndex, defs, seedBase, seeds, years, dayLength, lat, dayStart);
+        long dailyNanos = System.nanoTime() - t0;
+        printRow("daily", daily, null, dailyNanos, dailyNanos);
+        for (Stepping mode : Stepping.values()) {
+            long t1 = System.nanoTime();
+            double[][] coarse = ensemble(mode, groupIndex, defs, seedBase, seeds, years, dayLength, lat, dayStart);
+            printRow(mode.name().toLowerCase(java.util.Locale.ROOT), coarse, daily, System.nanoTime() - t1, dailyNanos);
+        }
+    }
+
+    // [0] Endbienen, [1] Bienen gemittelt über Jahre, [2] mittlere Vigor am Ende, [3] SeedBank-Summe am Ende; je Seed.
+    private static double[][] ensemble(Stepping mode, int groupIndex, Species[] defs, int seedBase, int seeds, int years,
+                                       DayLengthModel dayLength, double lat, int dayStart) {
+        double[][] out = new double[4][seeds];
+        for (int r = 0; r < seeds; r++) {
+            long seed = seedBase + r + 1;
+            double beeYears = 0;
+            if (mode == null) {
+                Simulation sim = new Simulation(Test.listWithReproduction(defs, groupIndex),
+                        new Weather(seed, dayLength, lat, dayStart), seed, 120, years);
+                while (!sim.finished()) {
+                    sim.stepYear();
+                    beeYears += sim.bees().population();
+                }
+                YearSnapshot s = sim.snapshot();
+                out[0][r] = s.bees();
+                out[2][r] = s.avgVigor();
+                out[3][r] = s.totalSeedBank();
+            } else {
+                CoarseSimulation sim = new CoarseSimulation(defs, groupIndex, dayLength, lat, dayStart, seed, seed, 120, mode);
+                long bank = 0;
+                for (int y = 0; y < years; y++) {
+                    sim.stepYear();
+                    beeYears += sim.bees();
+                }
+                for (int i = 0; i < defs.length; i++) bank += sim.seedBankStored(i);
+                out[0][r] = sim.bees();
+                out[2][r] = sim.avgVigor();
+                out[3][r] = bank;
+            }
+            out[1][r] = beeYears / years;
+        }
+        return out;
+    }
+
+    private static void printRow(String label, double[][] v, double[][] ref, long nanos, long refNanos) {
+        String[] names = {"bees", "bees(avg yr)", "avgVigor", "seedBank"};
+        StringBuilder sb = new StringBuilder(String.format("%-7s", label));
+        for (int m = 0; m < names.length; m++) {
+            Numerics.Stats s = new Numerics.Stats();
+            for (double x : v[m]) s.add(x);
+            sb.append(String.format(" | %s %8.2f +/- %7.2f", names[m], s.mean, s.stddev()));
+            if (ref != null) {
+                Numerics.Stats r = new Numerics.Stats();
+                for (double x : ref[m]) r.add(x);
+                sb.append(String.format(" (%+.1f%%)", 100 * (s.mean - r.mean) / Math.max(1e-9, Math.abs(r.mean))));
+            }
+        }
+        sb.append(String.format(" | %7.1f ms", nanos / 1e6));
+        if (ref != null) sb.append(String.format(" (%.1fx)", refNanos / (double) nanos));
+        System.out.println(sb);
+    }
+
+    // Aufruf: java CoarseSimulation [seeds] [years] → Fehlerbericht für die drei Test-Gruppen
+    public static void main(String[] args) {
+        int seeds = args.length > 0 ? Integer.parseInt(args[0]) : 40;
+        int years = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        DayLengthModel dayLength = new AstroDayLength();
+        errorReport(1, Test.build(45), 1, seeds, years, dayLength, 48.2, 91);
+        errorReport(2, Test.build(50), 1, seeds, years, dayLength, 48.2, 91);
+        errorReport(3, Test.build(55), 1, seeds, years, dayLength, 48.2, 91);
+    }
+}
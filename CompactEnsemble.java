@@ -0,0 +1,271 @@
+// CompactEnsemble.java
+
+import java.lang.ref.Reference;
+import java.util.List;
+import java.util.Random;
+
+/*
+  Teil vom module simulation. Opt-in kompakter Zustand für riesige Ensembles: viele Replikate
+  derselben Gruppe, Zustand je (Replikat, Art) in geteilten float/int-Arrays statt PlantSpecies-,
+  SeedBank- und Reproduction-Objekten. Parameter (c, f, h, q, p, ein-/mehrjährig) liegen einmal pro Art.
+  STYLE: prozeduraler Array-Kern (structure of arrays). Rechnet intern in double, speichert in float.
+
+  Layout (Index k = replicate * speciesCount + i):
+    vigor, bloom, seedSet, bankQuality : float   → 16 Byte
+    fruits, seeds, bankStored          : int     → 12 Byte
+  = 28 Byte je Art und Replikat (+ 4 Byte Bienen je Replikat). flowers/pollinated der Reproduction-Strategien
+  werden nie gelesen und fehlen daher.
+
+  CONTRACT: Gleiche Formeln, gleiche Reihenfolge und gleicher RNG-Verbrauch wie Simulation mit
+  Test.listWithReproduction → Abweichungen entstehen NUR durch die float-Speicherung (siehe accuracyReport).
+  Invarianten wie PlantSpecies/SeedBank: vigor >= 0, bloom/seedSet in [0,1], Zähler >= 0.
+  GOOD: Ein Replikat kostet ~S*28 Byte statt ~S*170 Byte Objektgraph.
+  Die Formeln kommen als reine Funktionen aus PlantSpecies, SeedBank, BeePopulation und ReproductionRates
+  (dieselben wie in EnsembleBatch); hier stehen nur Schleifen und float-Speicherung.
+  BAD: Reihenfolge der Phasen (Saisonstart → Tage → Winter) ist wie in EnsembleBatch nachgebaut.
+*/
+public final class CompactEnsemble {
+    private static final int DAYS = Simulation.seasonDays();
+
+    // geteilte Parameter je Art
+    private final int speciesCount;
+    private final float[] cMin, cMax, fMin, fMax, hStart, hEnd, q, p;
+    private final ReproductionRates[] rates;
+
+    // Zustand je Replikat
+    private final int replicates;
+    private final float[] bees;
+    private final WeatherSource[] weather;
+    private final Random[] random;
+
+    // Zustand je (Replikat, Art)
+    private final float[] vigor, bloom, seedSet, bankQuality;
+    private final int[] fruits, seeds, bankStored;
+
+    // CONTRACT: Preconditions: defs != null, weathers.length == seeds.length > 0.
+    // Postconditions: Replikat r startet wie new Simulation(listWithReproduction(defs, groupIndex), weathers[r], seeds[r], initialBees, ..).
+    public CompactEnsemble(Species[] defs, int groupIndex, WeatherSource[] weathers, long[] randomSeeds, double initialBees) {
+        this.speciesCount = defs.length;
+        this.replicates = weathers.length;
+        cMin = new float[speciesCount];
+        cMax = new float[speciesCount];
+        fMin = new float[speciesCount];
+        fMax = new float[speciesCount];
+        hStart = new float[speciesCount];
+        hEnd = new float[speciesCount];
+        q = new float[speciesCount];
+        p = new float[speciesCount];
+        rates = new ReproductionRates[speciesCount];
+        for (int i = 0; i < speciesCount; i++) {
+            Species s = defs[i];
+            cMin[i] = (float) s.cMin;
+            cMax[i] = (float) s.cMax;
+            fMin[i] = (float) s.fMin;
+            fMax[i] = (float) s.fMax;
+            hStart[i] = (float) s.hStart;
+            hEnd[i] = (float) s.hEnd;
+            q[i] = (float) s.q;
+            p[i] = (float) s.p;
+            rates[i] = ReproductionRates.of(Test.pickReproduction(groupIndex, i) instanceof AnnualReproduction);
+        }
+        int n = replicates * speciesCount;
+        vigor = new float[n];
+        bloom = new float[n];
+        seedSet = new float[n];
+        bankQuality = new float[n];
+        fruits = new int[n];
+        seeds = new int[n];
+        bankStored = new int[n];
+        bees = new float[replicates];
+        weather = weathers.clone();
+        random = new Random[replicates];
+        for (int r = 0; r < replicates; r++) {
+            bees[r] = (float) Math.max(0, initialBees);
+            random[r] = new Random(randomSeeds[r]);
+            for (int i = 0; i < speciesCount; i++) vigor[r * speciesCount + i] = (float) Math.max(0, defs[i].y0);
+        }
+    }
+
+    // alle Replikate um years Jahre weiterrechnen (Replikat für Replikat, cache-freundlich).
+    public void run(int years) {
+        for (int r = 0; r < replicates; r++) {
+            for (int y = 0; y < years; y++) stepYear(r);
+        }
+    }
+
+    // Ein Jahr eines Replikats: Saisonstart → 240 Tage → Winter (Reihenfolge wie Simulation.stepYear).
+    private void stepYear(int r) {
+        Random rng = random[r];
+        int base = r * speciesCount;
+        for (int i = 0; i < speciesCount; i++) startSeason(base + i, i, rng);
+        WeatherSource w = weather[r];
+        w.startSeason();
+        for (int d = 1; d <= DAYS; d++) dailyUpdate(r, base, w.nextDay());
+        bees[r] = (float) BeePopulation.survivingWinter(bees[r], rng.nextDouble());
+        for (int i = 0; i < speciesCount; i++) winter(base + i, i, rng);
+    }
+
+    // PlantSpecies.startSeason + Annual/PerennialReproduction.startOfSeason + SeedBank.germinate
+    private void startSeason(int k, int i, Random rng) {
+        bloom[k] = 0;
+        seedSet[k] = 0;
+        fruits[k] = 0;
+        seeds[k] = 0;
+        int germ = germinate(k, rng);
+        vigor[k] = (float) (vigor[k] + rates[i].seedlingGain(rates[i].established(germ), bankQuality[k]));
+    }
+
+    private int germinate(int k, Random rng) {
+        int stored = bankStored[k];
+        if (stored == 0) return 0;
+        int afterWinter = SeedBank.survivingWinter(stored, rng.nextDouble());
+        int germinating = SeedBank.germinating(afterWinter, rng.nextDouble());
+        bankStored[k] = afterWinter - germinating;
+        return Math.max(0, germinating);
+    }
+
+    // Ecosystem.dailyUpdate für ein Replikat.
+    private void dailyUpdate(int r, int base, DayWeather w) {
+        double moisture = w.soilMoisture();
+        double sunToday = w.sunHoursToday();
+        double cumSun = w.cumSunHours();
+        double totalFood = 0;
+        for (int i = 0; i < speciesCount; i++) {
+            int k = base + i;
+            vigor[k] = (float) PlantSpecies.stressedVigor(vigor[k], moisture, fMin[i], fMax[i]);
+        }
+        for (int i = 0; i < speciesCount; i++) {
+            int k = base + i;
+            bloom[k] = (float) PlantSpecies.advancedBloom(bloom[k], sunToday, cumSun, q[i], hStart[i], hEnd[i]);
+            totalFood += (double) vigor[k] * bloom[k];
+        }
+        double x = BeePopulation.dailyGrowth(bees[r], totalFood);
+        bees[r] = (float) x;
+        for (int i = 0; i < speciesCount; i++) {
+            int k = base + i;
+            double b = bloom[k];
+            if (b <= 0) continue;
+            seedSet[k] = (float) PlantSpecies.increasedSeedSet(seedSet[k], b, x, totalFood, sunToday, p[i]);
+            reproduceDaily(k, rates[i], b, sunToday, x, totalFood);
+        }
+    }
+
+    // Annual/PerennialReproduction.updateDaily ohne die nie gelesenen flowers/pollinated-Zähler.
+    private void reproduceDaily(int k, ReproductionRates rr, double b, double sunToday, double x, double food) {
+        int opened = rr.opened(vigor[k], b);
+        int pollinated = rr.pollinated(opened, ReproductionRates.efficiency(x, food));
+        int f = fruits[k] + rr.filled(pollinated, sunToday);
+        int ripen = rr.ripened(f);
+        seeds[k] += ripen;
+        fruits[k] = f - ripen;
+        vigor[k] = (float) (vigor[k] * rr.vigorCost);
+    }
+
+    // endOfSeason (SeedBank.add) + PlantSpecies.winterReproduce
+    private void winter(int k, int i, Random rng) {
+        ReproductionRates rr = rates[i];
+        int count = seeds[k];
+        if (count > 0) {
+            bankQuality[k] = (float) SeedBank.pooledQuality(bankStored[k], bankQuality[k], count, rr.seedQuality(seedSet[k]));
+            bankStored[k] += count;
+        }
+        double v = rr.annual ? 0 : vigor[k];
+        fruits[k] = 0;
+        seeds[k] = 0;
+        double c = cMin[i] + rng.nextDouble() * (cMax[i] - cMin[i]);
+        vigor[k] = (float) PlantSpecies.grownVigor(v, seedSet[k], c);
+    }
+
+    // Read-only-Views
+    public double bees(int replicate) {
+        return bees[replicate];
+    }
+
+    public double vigor(int replicate, int species) {
+        return vigor[replicate * speciesCount + species];
+    }
+
+    public double seedSet(int replicate, int species) {
+        return seedSet[replicate * speciesCount + species];
+    }
+
+    public int replicates() {
+        return replicates;
+    }
+
+    public int speciesCount() {
+        return speciesCount;
+    }
+
+    // Bytes Zustand je Replikat in dieser Darstellung (ohne Weather/Random, die beide Modi gleich halten).
+    public int stateBytesPerReplicate() {
+        return speciesCount * (4 * Float.BYTES + 3 * Integer.BYTES) + Float.BYTES;
+    }
+
+    /**
+     * Genauigkeitsbericht: Die Test-Läufe einer Gruppe (seedBase+1..10, 120 Bienen, 25 Jahre wie in Test.runGroup)
+     * einmal als double-Referenz (Simulation) und einmal kompakt; dazu gemessener Heap-Footprint beider Zustände.
+     * STYLE: prozedurale Report-Routine wie Test.runGroup, nur Ausgabe.
+     * CONTRACT: Preconditions: defs != null. Postconditions: keine Änderungen an defs, nur System.out.
+     */
+    public static void accuracyReport(int groupIndex, Species[] defs, int seedBase, DayLengthModel dayLength, double lat, int dayStart) {
+        final int runs = 10, years = 25;
+        final double initialBees = 120;
+        Weather[] weathers = new Weather[runs];
+        long[] seeds = new long[runs];
+        double[] refBees = new double[runs];
+        double[][] refVigor = new double[runs][];
+        for (int run = 1; run <= runs; run++) {
+            long seed = seedBase + run;
+            Simulation sim = new Simulation(Test.listWithReproduction(defs, groupIndex),
+                    new Weather(seed, dayLength, lat, dayStart), seed, initialBees, years);
+            sim.run();
+            refBees[run - 1] = sim.bees().population();
+            refVigor[run - 1] = sim.ecosystem().species().stream().mapToDouble(PlantSpecies::vigor).toArray();
+            weathers[run - 1] = new Weather(seed, dayLength, lat, dayStart);
+            seeds[run - 1] = seed;
+        }
+        CompactEnsemble compact = new CompactEnsemble(defs, groupIndex, weathers, seeds, initialBees);
+        compact.run(years);
+
+        System.out.printf("%nCOMPACT STATE ACCURACY - GROUP %d (float vs double, %d runs x %d years)%n", groupIndex, runs, years);
+        double worstBees = 0, worstVigor = 0;
+        for (int r = 0; r < runs; r++) {
+            double relBees = relErr(compact.bees(r), refBees[r]);
+            double maxVigor = 0;
+            for (int i = 0; i < defs.length; i++) maxVigor = Math.max(maxVigor, relErr(compact.vigor(r, i), refVigor[r][i]));
+            worstBees = Math.max(worstBees, relBees);
+            worstVigor = Math.max(worstVigor, maxVigor);
+            System.out.printf("run %2d | bees ref=%8.3f compact=%8.3f rel=%.2e | max rel vigor err=%.2e%n",
+                    r + 1, refBees[r], compact.bees(r), relBees, maxVigor);
+        }
+        long refBytes = measureReferenceBytes(defs, groupIndex);
+        System.out.printf("worst rel err: bees=%.2e vigor=%.2e%n", worstBees, worstVigor);
+        System.out.printf("state bytes/replicate: reference~%d compact=%d (%.1fx)%n",
+                refBytes, compact.stateBytesPerReplicate(), refBytes / (double) compact.stateBytesPerReplicate());
+    }
+
+    private static double relErr(double a, double ref) {
+        double scale = Math.max(Math.abs(ref), 1e-9);
+        return Math.abs(a - ref) / scale;
+    }
+
+    // Heap-Delta nach GC für viele Referenz-Ökosysteme (PlantSpecies + SeedBank + Reproduction + Liste + Bienen).
+    // BAD: Grobe Messung über Runtime; ausreichend für die Größenordnung, nicht für Byte-Genauigkeit.
+    private static long measureReferenceBytes(Species[] defs, int groupIndex) {
+        final int n = 20_000;
+        Runtime rt = Runtime.getRuntime();
+        System.gc();
+        long before = rt.totalMemory() - rt.freeMemory();
+        Object[] keep = new Object[n];
+        for (int j = 0; j < n; j++) {
+            List<PlantSpecies> spp = Test.listWithReproduction(defs, groupIndex);
+            keep[j] = new Object[]{new Ecosystem(spp), new BeePopulation(120)};
+        }
+        System.gc();
+        long after = rt.totalMemory() - rt.freeMemory();
+        long perReplicate = Math.max(0, (after - before) / n);
+        Reference.reachabilityFence(keep); // keep bis nach der zweiten Messung erreichbar halten
+        return perReplicate;
+    }
+}
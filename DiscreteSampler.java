@@ -0,0 +1,201 @@
+// DiscreteSampler.java
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/*
+  Teil vom module species. Ganzzahlige Zufallszahlen für den stochastischen Modus (demografischer Zufall):
+  Binomial(n, p) und Poisson(mu) in O(1) auch für große Zählungen.
+  - Binomial: BTRS (Hörmann 1993, "transformed rejection with squeeze") für n·min(p,1−p) >= 10, sonst Inversion
+    (1 Uniform, erwartet <= 10 Schritte). p > 0.5 über n − Binomial(n, 1−p).
+  - Poisson: PTRS (Hörmann 1993) für mu >= 10, sonst Inversion (1 Uniform, erwartet <= 11 Schritte).
+  STYLE: prozedurale Utility-Klasse wie ZigguratGaussian; zieht aus dem übergebenen java.util.Random
+  → derselbe Modell-RNG wie im deterministischen Modus, reproduzierbar je Seed.
+  CONTRACT: Ergebnis in [0, n] bzw. >= 0; p und mu werden geclamped (NaN → 0). Keine Allokation.
+  BAD: BTPE (Kachitvichyanukul/Schmeiser) wäre bei sehr großem n etwas schneller, ist aber dreimal so lang;
+  BTRS hat dieselbe O(1)-Eigenschaft.
+  BAD: Die Modi sind im Mittel NICHT gleich (main, 100 Seeds × 50 Jahre; SeedBank gesamt det / stoch Kette / stoch):
+  Gruppe 1: 333 / 465 / 378, Gruppe 2: 10 / 25 / 14, Gruppe 3: 95 / 282 / 235. Zwei gegenläufige Effekte:
+  - Rundung: deterministisch wird jede Tageszählung gerundet, kleine Anteile fallen auf 0 (z.B. reifen bei <= 4 Früchten
+    round(f · 0.1) = 0, der Rest verfällt im Winter). Die Ziehungen sind je Schritt erwartungstreu zum ungerundeten
+    Anteil → stochastisch entstehen 1.4–3× so viele Samen. Der Bias liegt also im deterministischen Modus.
+  - Kohorten: ageStructured() altert mit AGE_DECAY^(Alter−1) und kann leerlaufen; der Topf dagegen hält 1 Samen für
+    immer (round(1 · 0.5..0.8) = 1, Keimung round(1 · 0.1..0.3) = 0; Gruppe 2 det = 10 Arten × 1 Samen) → −20–50 %.
+  Kosten: 1.4–2.5× der deterministische Lauf (Ziehungen plus mehr Früchte/Samen zu zählen).
+*/
+public final class DiscreteSampler {
+    private static final int TABLE = 256;
+    private static final double[] LOG_FACTORIAL = new double[TABLE];
+    private static final double HALF_LOG_2PI = 0.5 * Math.log(2 * Math.PI);
+
+    static {
+        for (int k = 1; k < TABLE; k++) LOG_FACTORIAL[k] = LOG_FACTORIAL[k - 1] + Math.log(k);
+    }
+
+    private DiscreteSampler() {
+    }
+
+    // ln(k!) exakt aus der Tabelle, sonst Stirling-Reihe (Fehler < 1e-15 für k >= 256)
+    static double logFactorial(long k) {
+        if (k < TABLE) return LOG_FACTORIAL[(int) k];
+        double x = k, inv = 1.0 / x, inv2 = inv * inv;
+        return (x + 0.5) * Math.log(x) - x + HALF_LOG_2PI + inv * (1.0 / 12 - inv2 * (1.0 / 360 - inv2 / 1260));
+    }
+
+    // CONTRACT: Preconditions: rng != null, n >= 0. Postconditions: Ergebnis in [0, n].
+    public static int binomial(Random rng, int n, double p) {
+        if (n <= 0 || !(p > 0)) return 0;
+        if (p >= 1) return n;
+        if (p > 0.5) return n - binomial(rng, n, 1 - p);
+        return (n * p < 10) ? binomialInversion(rng, n, p) : binomialBtrs(rng, n, p);
+    }
+
+    private static int binomialInversion(Random rng, int n, double p) {
+        double q = 1 - p, s = p / q, a = (n + 1) * s;
+        double r0 = 1;
+        if (n <= 32) for (int i = 0; i < n; i++) r0 *= q; // billiger als pow für die häufigen kleinen Zählungen
+        else r0 = Math.exp(n * Math.log1p(-p));
+        while (true) {
+            double r = r0, u = rng.nextDouble();
+            int x = 0;
+            while (u > r) {
+                u -= r;
+                x++;
+                if (x > n) break; // Rundungsrest → neu ziehen
+                r *= a / x - s;
+            }
+            if (x <= n) return x;
+        }
+    }
+
+    private static int binomialBtrs(Random rng, int n, double p) {
+        double q = 1 - p, spq = Math.sqrt(n * p * q);
+        double b = 1.15 + 2.53 * spq;
+        double a = -0.0873 + 0.0248 * b + 0.01 * p;
+        double c = n * p + 0.5;
+        double alpha = (2.83 + 5.1 / b) * spq;
+        double vr = 0.92 - 4.2 / b;
+        double lpq = Math.log(p / q);
+        int m = (int) Math.floor((n + 1) * p);
+        double h = logFactorial(m) + logFactorial(n - m);
+        while (true) {
+            double u = rng.nextDouble() - 0.5, v = rng.nextDouble();
+            double us = 0.5 - Math.abs(u);
+            long k = (long) Math.floor((2 * a / us + b) * u + c);
+            if (k < 0 || k > n) continue;
+            if (us >= 0.07 && v <= vr) return (int) k;
+            v = Math.log(v * alpha / (a / (us * us) + b));
+            if (v <= h - logFactorial(k) - logFactorial(n - k) + (k - m) * lpq) return (int) k;
+        }
+    }
+
+    // CONTRACT: Preconditions: rng != null. Postconditions: Ergebnis >= 0 (bei riesigem mu auf Integer.MAX_VALUE begrenzt).
+    public static int poisson(Random rng, double mu) {
+        if (!(mu > 0)) return 0;
+        long k = (mu < 10) ? poissonInversion(rng, mu) : poissonPtrs(rng, mu);
+        return (int) Math.min(Integer.MAX_VALUE, k);
+    }
+
+    private static long poissonInversion(Random rng, double mu) {
+        double p = Math.exp(-mu), cdf = p, u = rng.nextDouble();
+        long x = 0;
+        while (u > cdf) {
+            x++;
+            p *= mu / x;
+            if (p == 0) return x; // Rundungsrest am rechten Rand
+            cdf += p;
+        }
+        return x;
+    }
+
+    private static long poissonPtrs(Random rng, double mu) {
+        double slam = Math.sqrt(mu), loglam = Math.log(mu);
+        double b = 0.931 + 2.53 * slam;
+        double a = -0.059 + 0.02483 * b;
+        double invAlpha = 1.1239 + 1.1328 / (b - 3.4);
+        double vr = 0.9277 - 3.6224 / (b - 2);
+        while (true) {
+            double u = rng.nextDouble() - 0.5, v = rng.nextDouble();
+            double us = 0.5 - Math.abs(u);
+            long k = (long) Math.floor((2 * a / us + b) * u + mu + 0.43);
+            if (us >= 0.07 && v <= vr) return k;
+            if (k < 0 || (us < 0.013 && v > us)) continue;
+            if (Math.log(v) + Math.log(invAlpha) - Math.log(a / (us * us) + b) <= -mu + k * loglam - logFactorial(k)) return k;
+        }
+    }
+
+    // Check + Demo: Mittel/Varianz gegen die Theorie, ns je Ziehung; dann deterministischer vs. stochastischer Modus
+    // (Test-Gruppen, viele Seeds): Mittel, Streuung, Anteil ausgestorbener SeedBanks und Kosten. Die Zwischenzeile
+    // "stoch. chain" (stochastische Reproduktion, deterministischer Topf) trennt Rundungs- und Kohorteneffekt.
+    // Aufruf: java DiscreteSampler [draws] [seeds] [years]
+    private static final String[] MODES = {"deterministic", "stoch. chain", "stochastic"};
+
+    // stochastische Reproduktion mit deterministischem SeedBank-Topf (nur für den Vergleich in main)
+    private static List<PlantSpecies> chainOnly(Species[] defs, int group) {
+        List<PlantSpecies> list = new ArrayList<>(defs.length);
+        for (int i = 0; i < defs.length; i++) {
+            Species s = defs[i];
+            list.add(new PlantSpecies(s.y0, s.cMin, s.cMax, s.fMin, s.fMax, s.hStart, s.hEnd, s.q, s.p,
+                    Test.pickReproduction(group, i, true), new SeedBank()));
+        }
+        return list;
+    }
+
+    public static void main(String[] args) {
+        int draws = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int seeds = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        int years = args.length > 2 ? Integer.parseInt(args[2]) : 50;
+        Random rng = new Random(42);
+        int[][] binomialCases = {{5, 30}, {40, 30}, {1000, 2}, {1000, 30}, {1_000_000, 30}, {1_000_000_000, 70}};
+        for (int[] c : binomialCases) {
+            int n = c[0];
+            double p = c[1] / 100.0;
+            Numerics.Stats s = new Numerics.Stats();
+            long t0 = System.nanoTime();
+            for (int i = 0; i < draws; i++) s.add(binomial(rng, n, p));
+            long t1 = System.nanoTime();
+            double var = s.stddev() * s.stddev();
+            System.out.printf("binomial(n=%d, p=%.2f) | mean %.4g (exp %.4g) | var %.4g (exp %.4g) | %.0f ns/draw%n",
+                    n, p, s.mean, n * p, var, n * p * (1 - p), (t1 - t0) / (double) draws);
+        }
+        for (double mu : new double[]{0.5, 4, 12, 300, 1e6}) {
+            Numerics.Stats s = new Numerics.Stats();
+            long t0 = System.nanoTime();
+            for (int i = 0; i < draws; i++) s.add(poisson(rng, mu));
+            long t1 = System.nanoTime();
+            System.out.printf("poisson(mu=%.4g) | mean %.4g | var %.4g | %.0f ns/draw%n",
+                    mu, s.mean, s.stddev() * s.stddev(), (t1 - t0) / (double) draws);
+        }
+
+        DayLengthModel dayLength = new AstroDayLength();
+        Species[][] groups = {Test.build(45), Test.build(50), Test.build(55)};
+        for (int g = 1; g <= groups.length; g++) {
+            for (int round = 0; round < 2; round++) { // Runde 0 = JIT warm-up
+                for (int mode = 0; mode < 3; mode++) { // 0 deterministisch, 1 nur Reproduktion stochastisch, 2 stochastisch
+                    Numerics.Stats bees = new Numerics.Stats(), bank = new Numerics.Stats();
+                    int extinct = 0;
+                    long t0 = System.nanoTime();
+                    for (int r = 0; r < seeds; r++) {
+                        List<PlantSpecies> species = Test.listWithReproduction(groups[g - 1], g, mode == 2);
+                        if (mode == 1) species = chainOnly(groups[g - 1], g);
+                        Simulation sim = new Simulation(species, new Weather(r + 1, dayLength, 48.2, 91), r + 1, 120, years);
+                        sim.run();
+                        long stored = 0;
+                        for (PlantSpecies ps : sim.ecosystem().species()) {
+                            stored += ps.seedBank().getStored();
+                            if (ps.seedBank().getStored() == 0) extinct++;
+                        }
+                        bees.add(sim.bees().population());
+                        bank.add(stored);
+                    }
+                    long t1 = System.nanoTime();
+                    if (round == 0) continue;
+                    System.out.printf("group %d %-13s | bees %7.2f +/- %6.2f | seedBank %8.1f +/- %7.1f | empty banks %5.1f%% | %6.1f ms%n",
+                            g, MODES[mode], bees.mean, bees.stddev(), bank.mean, bank.stddev(),
+                            100.0 * extinct / (seeds * groups[g - 1].length), (t1 - t0) / 1e6);
+                }
+            }
+        }
+    }
+}
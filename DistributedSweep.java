@@ -0,0 +1,400 @@
+// DistributedSweep.java
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * STYLE: verteilter Sweep über mehrere JVMs. Ein Coordinator verteilt Szenario-Batches (Leases) über
+ * TCP (nur Loopback) oder einen Unix-Socket; Worker-Prozesse rechnen sie mit
+ * ParallelSimulationRunner.simulateScenario und streamen die Ergebnisse zurück. Protokoll: JSON-Zeilen (JsonLines).
+ *
+ * Ablauf (Worker → Coordinator / Antwort):
+ *   {"type":"hello","worker":"w1"}              → {"type":"config","y0":45,"lat":48.2,"dayStart":91}
+ *   {"type":"lease"}                            → {"type":"batch","batch":3,"from":48,"to":64} | {"type":"wait"} | {"type":"done"}
+ *   {"type":"result","batch":3,"id":49,...}     (je Szenario, verlängert die Lease)
+ *   {"type":"complete","batch":3,"n":16,"meanBees":..,"m2Bees":..,"meanVigor":..,"m2Vigor":..}
+ * Szenario i (0-basiert) wie ParallelSimulationRunner.runSweep: seed = 1000 + 37 i, Gruppe (i % 4) + 1.
+ *
+ * CONTRACT:
+ * - Eine Lease läuft nach leaseMillis ohne Lebenszeichen ab oder sofort, wenn die Verbindung abbricht;
+ *   der Batch geht dann zurück in die Warteschlange (re-issue). Szenarien sind deterministisch, doppelte
+ *   Ergebnisse nach einem re-issue sind identisch; pro Batch zählt nur das erste "complete".
+ * - Statistik: Worker schicken pro Batch (n, mean, M2); der Coordinator verschmilzt sie (Chan et al.).
+ * - Ergebnisdatei: eine CSV, nach Szenario sortiert, ohne Duplikate.
+ * GOOD: Läuft komplett auf einer Maschine testbar: --spawn N startet lokale Worker-Prozesse und ersetzt abgestürzte.
+ * BAD: Kein TLS/keine Authentifizierung → TCP bindet nur an 127.0.0.1; für mehrere Hosts bräuchte es einen Tunnel.
+ */
+public final class DistributedSweep {
+
+    private DistributedSweep() {
+    }
+
+    // "unix:/pfad", "tcp:host:port", "host:port" oder "port" (TCP auf Loopback).
+    static SocketAddress address(String spec) {
+        if (spec.startsWith("unix:")) return UnixDomainSocketAddress.of(spec.substring(5));
+        String s = spec.startsWith("tcp:") ? spec.substring(4) : spec;
+        int colon = s.lastIndexOf(':');
+        if (colon < 0) return new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(s));
+        return new InetSocketAddress(s.substring(0, colon), Integer.parseInt(s.substring(colon + 1)));
+    }
+
+    // Wie address(), aber TCP nur auf Loopback (kein TLS, keine Authentifizierung → nie nach außen lauschen).
+    // CONTRACT: IllegalArgumentException für Adressen, die nicht auf eine Loopback-Adresse auflösen.
+    static SocketAddress listenAddress(String spec) {
+        SocketAddress addr = address(spec);
+        if (addr instanceof InetSocketAddress) {
+            InetSocketAddress inet = (InetSocketAddress) addr;
+            if (inet.isUnresolved() || !inet.getAddress().isLoopbackAddress()) {
+                throw new IllegalArgumentException("refusing to listen on non-loopback address: " + spec);
+            }
+        }
+        return addr;
+    }
+
+    /**
+     * STYLE: Coordinator – ein Accept-Thread, ein Thread pro Worker-Verbindung, gemeinsamer Zustand unter this.
+     */
+    static final class Coordinator {
+        private final int scenarios;
+        private final int batchSize;
+        private final long leaseMillis;
+        private final int y0;
+        private final double lat;
+        private final int dayStart;
+
+        private final ArrayDeque<Integer> pending = new ArrayDeque<>();
+        private final Map<Integer, Lease> active = new HashMap<>();
+        private final boolean[] completed;
+        private int completedBatches;
+        private final String[] results;       // CSV-Zeile je Szenario, null = offen
+        private final Numerics.Stats bees = new Numerics.Stats();
+        private final Numerics.Stats vigor = new Numerics.Stats();
+        private int reissued;
+        private int connections;              // offene Worker-Verbindungen
+
+        private static final class Lease {
+            final Object owner;
+            long deadline;
+
+            Lease(Object owner, long deadline) {
+                this.owner = owner;
+                this.deadline = deadline;
+            }
+        }
+
+        // CONTRACT: Preconditions: scenarios >= 0, batchSize > 0, leaseMillis > 0.
+        Coordinator(int scenarios, int batchSize, long leaseMillis, int y0, double lat, int dayStart) {
+            this.scenarios = scenarios;
+            this.batchSize = batchSize;
+            this.leaseMillis = leaseMillis;
+            this.y0 = y0;
+            this.lat = lat;
+            this.dayStart = dayStart;
+            int batches = (scenarios + batchSize - 1) / batchSize;
+            this.completed = new boolean[batches];
+            this.results = new String[scenarios];
+            for (int b = 0; b < batches; b++) pending.add(b);
+        }
+
+        synchronized boolean done() {
+            return completedBatches == completed.length;
+        }
+
+        // Abgelaufene Leases zurück in die Warteschlange. Läuft bei jedem lease() und zeitgesteuert aus runCoordinator,
+        // damit eine hängende Lease auch auffällt, wenn gerade kein anderer Worker nach Arbeit fragt.
+        synchronized void expireLeases() {
+            long now = System.currentTimeMillis();
+            active.entrySet().removeIf(e -> {
+                if (e.getValue().deadline >= now) return false;
+                pending.addFirst(e.getKey());
+                reissued++;
+                return true;
+            });
+        }
+
+        // Nächsten Batch vergeben; abgelaufene Leases vorher zurückholen.
+        private synchronized String lease(Object owner) {
+            long now = System.currentTimeMillis();
+            expireLeases();
+            if (done()) return JsonLines.object("type", "done");
+            Integer b = pending.poll();
+            if (b == null) return JsonLines.object("type", "wait");
+            active.put(b, new Lease(owner, now + leaseMillis));
+            return JsonLines.object("type", "batch", "batch", b, "from", b * batchSize,
+                    "to", Math.min(scenarios, (b + 1) * batchSize));
+        }
+
+        private synchronized void result(Object owner, Map<String, String> msg) {
+            int b = JsonLines.getInt(msg, "batch", -1);
+            Lease lease = active.get(b);
+            if (lease != null && lease.owner == owner) lease.deadline = System.currentTimeMillis() + leaseMillis;
+            int id = JsonLines.getInt(msg, "id", -1);
+            if (id < 0 || id >= scenarios || results[id] != null) return;
+            results[id] = String.format(Locale.ROOT, "%d,%d,%d,%s,%s,%s", id + 1, (id % 4) + 1, 1000L + 37L * id,
+                    msg.get("bees"), msg.get("avgVigor"), msg.get("seedSet"));
+        }
+
+        private synchronized void complete(Map<String, String> msg) {
+            int b = JsonLines.getInt(msg, "batch", -1);
+            if (b < 0 || b >= completed.length || completed[b]) return;
+            // Ein "complete" zählt nur mit allen Einzelergebnissen (nach re-issue kann ein alter Worker nachliefern)
+            for (int id = b * batchSize; id < Math.min(scenarios, (b + 1) * batchSize); id++) {
+                if (results[id] == null) return;
+            }
+            completed[b] = true;
+            completedBatches++;
+            active.remove(b);
+            pending.remove(b);
+            long n = JsonLines.getLong(msg, "n", 0);
+            bees.merge(n, JsonLines.getDouble(msg, "meanBees", 0), JsonLines.getDouble(msg, "m2Bees", 0));
+            vigor.merge(n, JsonLines.getDouble(msg, "meanVigor", 0), JsonLines.getDouble(msg, "m2Vigor", 0));
+            notifyAll();
+        }
+
+        // Verbindung weg → alle ihre Leases sofort wieder freigeben.
+        private synchronized void release(Object owner) {
+            connections--;
+            active.entrySet().removeIf(e -> {
+                if (e.getValue().owner != owner) return false;
+                pending.addFirst(e.getKey());
+                reissued++;
+                return true;
+            });
+            notifyAll();
+        }
+
+        // Eine Worker-Verbindung bedienen (eigener Thread).
+        void serve(SocketChannel ch) {
+            Object owner = new Object();
+            synchronized (this) {
+                connections++;
+            }
+            try (ch) {
+                BufferedReader in = new BufferedReader(Channels.newReader(ch, StandardCharsets.UTF_8));
+                PrintWriter out = new PrintWriter(Channels.newWriter(ch, StandardCharsets.UTF_8), true);
+                String line;
+                while ((line = in.readLine()) != null) {
+                    if (line.isBlank()) continue;
+                    Map<String, String> msg = JsonLines.parse(line);
+                    switch (msg.getOrDefault("type", "")) {
+                        case "hello" -> out.println(JsonLines.object("type", "config", "y0", y0, "lat", lat, "dayStart", dayStart));
+                        case "lease" -> out.println(lease(owner));
+                        case "result" -> result(owner, msg);
+                        case "complete" -> complete(msg);
+                        default -> out.println(JsonLines.object("type", "error", "error", "unknown type"));
+                    }
+                }
+            } catch (IOException | IllegalArgumentException ex) {
+                System.err.println("worker connection dropped: " + ex.getMessage());
+            } finally {
+                release(owner);
+            }
+        }
+
+        // Blockiert bis alle Batches fertig sind oder der Timeout (Schritt) abläuft.
+        synchronized void awaitDone(long millis) throws InterruptedException {
+            if (!done()) wait(millis);
+        }
+
+        synchronized int connections() {
+            return connections;
+        }
+
+        synchronized int openBatches() {
+            return completed.length - completedBatches;
+        }
+
+        // Batches, die auf einen Worker warten (weder vergeben noch fertig)
+        synchronized int pendingBatches() {
+            return pending.size();
+        }
+
+        // CONTRACT: Preconditions: done(). Postconditions: Datei enthält scenarios Zeilen + Kopf, sortiert.
+        synchronized void writeResults(Path file) throws IOException {
+            List<String> lines = new ArrayList<>(scenarios + 1);
+            lines.add("scenarioId,group,seed,bees,avgVigor,seedSet");
+            for (String r : results) lines.add(r);
+            Files.write(file, lines, StandardCharsets.UTF_8);
+        }
+
+        synchronized void printSummary() {
+            System.out.printf("Distributed sweep done | runs=%d | meanBees=%6.2f (sd %.2f) | meanAvgVigor=%6.2f (sd %.2f) | reissued=%d%n",
+                    bees.n, bees.mean, bees.stddev(), vigor.mean, vigor.stddev(), reissued);
+        }
+    }
+
+    /**
+     * STYLE: Worker – eine Verbindung, Batches nacheinander; innerhalb eines Batches sequenziell
+     * (Parallelität kommt über mehrere Worker-Prozesse).
+     * crashAfter >= 0 beendet den Prozess hart nach so vielen Szenarien (Fehlerinjektion zum Testen des re-issue).
+     */
+    static void runWorker(String connect, String name, int crashAfter) throws IOException, InterruptedException {
+        SocketAddress addr = address(connect);
+        try (SocketChannel ch = SocketChannel.open(addr)) {
+            BufferedReader in = new BufferedReader(Channels.newReader(ch, StandardCharsets.UTF_8));
+            PrintWriter out = new PrintWriter(Channels.newWriter(ch, StandardCharsets.UTF_8), true);
+            out.println(JsonLines.object("type", "hello", "worker", name));
+            String hello = in.readLine();
+            if (hello == null) return; // Coordinator schon beim Beenden
+            Map<String, String> config = JsonLines.parse(hello);
+            Species[] defs = Test.build(JsonLines.getInt(config, "y0", 45));
+            double lat = JsonLines.getDouble(config, "lat", 48.2);
+            int dayStart = JsonLines.getInt(config, "dayStart", 91);
+            DayLengthModel dayLength = new AstroDayLength();
+            int simulated = 0;
+            while (true) {
+                out.println(JsonLines.object("type", "lease"));
+                String reply = in.readLine();
+                if (reply == null) return;
+                Map<String, String> msg = JsonLines.parse(reply);
+                String type = msg.getOrDefault("type", "");
+                if ("done".equals(type)) return;
+                if ("wait".equals(type)) {
+                    Thread.sleep(100);
+                    continue;
+                }
+                if (!"batch".equals(type)) throw new IllegalStateException("unexpected reply " + reply);
+                int batch = JsonLines.getInt(msg, "batch", -1);
+                Numerics.Stats bees = new Numerics.Stats();
+                Numerics.Stats vigor = new Numerics.Stats();
+                for (int i = JsonLines.getInt(msg, "from", 0); i < JsonLines.getInt(msg, "to", 0); i++) {
+                    if (crashAfter >= 0 && simulated++ >= crashAfter) {
+                        System.err.println(name + ": simulated crash");
+                        Runtime.getRuntime().halt(3);
+                    }
+                    ParallelSimulationRunner.ScenarioResult r = ParallelSimulationRunner.simulateScenario(
+                            i + 1, (i % 4) + 1, defs, dayLength, lat, dayStart, 1000L + 37L * i, null);
+                    bees.add(r.finalBeePopulation);
+                    vigor.add(r.avgVigor);
+                    out.println(JsonLines.object("type", "result", "batch", batch, "id", i,
+                            "bees", r.finalBeePopulation, "avgVigor", r.avgVigor, "seedSet", r.seedSetAvg));
+                }
+                out.println(JsonLines.object("type", "complete", "batch", batch, "n", bees.n,
+                        "meanBees", bees.mean, "m2Bees", bees.m2, "meanVigor", vigor.mean, "m2Vigor", vigor.m2));
+            }
+        }
+    }
+
+    // Coordinator-Prozess: lauschen, optional lokale Worker starten/ersetzen, auf Ende warten, Ergebnisse schreiben.
+    static void runCoordinator(String listen, int scenarios, int batchSize, long leaseMillis, int spawn,
+                               int crashFirstAfter, Path out) throws IOException, InterruptedException {
+        Coordinator coordinator = new Coordinator(scenarios, batchSize, leaseMillis, 45, 48.2, 91);
+        SocketAddress addr = listenAddress(listen);
+        boolean unix = addr instanceof UnixDomainSocketAddress;
+        if (unix) Files.deleteIfExists(((UnixDomainSocketAddress) addr).getPath());
+        ServerSocketChannel server = unix ? ServerSocketChannel.open(StandardProtocolFamily.UNIX) : ServerSocketChannel.open();
+        List<Process> workers = new ArrayList<>();
+        try {
+            server.bind(addr);
+            String connect = unix ? listen
+                    : "tcp:127.0.0.1:" + ((InetSocketAddress) server.getLocalAddress()).getPort();
+            System.out.println("coordinator listening on " + connect + " | " + scenarios + " scenarios in batches of " + batchSize);
+            Thread acceptor = new Thread(() -> {
+                try {
+                    while (true) {
+                        SocketChannel ch = server.accept();
+                        Thread t = new Thread(() -> coordinator.serve(ch), "coordinator-conn");
+                        t.setDaemon(true);
+                        t.start();
+                    }
+                } catch (IOException closed) {
+                    // Server geschlossen → fertig
+                }
+            }, "coordinator-accept");
+            acceptor.setDaemon(true);
+            acceptor.start();
+
+            int spawned = 0;
+            for (; spawned < spawn; spawned++) workers.add(spawnWorker(connect, spawned + 1, spawned == 0 ? crashFirstAfter : -1));
+            while (!coordinator.done()) {
+                coordinator.awaitDone(500);
+                coordinator.expireLeases();
+                // abgestürzte lokale Worker ersetzen, solange Batches auf einen Worker warten
+                // (begrenzt, damit ein kaputter Build nicht endlos neu startet)
+                workers.removeIf(p -> !p.isAlive());
+                while (!coordinator.done() && coordinator.pendingBatches() > 0 && spawn > 0 && workers.size() < spawn
+                        && spawned < 3 * spawn) {
+                    workers.add(spawnWorker(connect, ++spawned, -1));
+                }
+                // Budget aufgebraucht, kein lokaler Worker mehr und niemand verbunden → würde sonst ewig warten
+                if (spawn > 0 && workers.isEmpty() && spawned >= 3 * spawn && coordinator.connections() == 0
+                        && !coordinator.done()) {
+                    throw new IllegalStateException("all " + spawned + " local workers died, "
+                            + coordinator.openBatches() + " batches still open");
+                }
+            }
+            coordinator.writeResults(out);
+            coordinator.printSummary();
+            System.out.println("results: " + out);
+        } finally {
+            // Server erst nach den lokalen Workern schließen: ein spät gestarteter Ersatz bekommt noch "done"
+            // statt "connection refused"
+            try {
+                for (Process p : workers) {
+                    if (!p.waitFor(5, java.util.concurrent.TimeUnit.SECONDS)) p.destroy();
+                }
+            } finally {
+                server.close();
+            }
+            if (unix) Files.deleteIfExists(((UnixDomainSocketAddress) addr).getPath());
+        }
+    }
+
+    private static Process spawnWorker(String connect, int n, int crashAfter) throws IOException {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        List<String> cmd = new ArrayList<>(List.of(java, "-cp", System.getProperty("java.class.path"),
+                "DistributedSweep", "worker", "--connect", connect, "--name", "w" + n));
+        if (crashAfter >= 0) cmd.addAll(List.of("--crash-after", String.valueOf(crashAfter)));
+        return new ProcessBuilder(cmd).redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.INHERIT).start();
+    }
+
+    // Aufruf:
+    //   java DistributedSweep coordinator [--listen tcp:0|unix:/tmp/sweep.sock] [--scenarios 400] [--batch 16]
+    //                                     [--lease-ms 10000] [--spawn 3] [--crash-first-after -1] [--out sweep.csv]
+    //   java DistributedSweep worker --connect tcp:127.0.0.1:7070 [--name w1] [--crash-after -1]
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length == 0) {
+            System.out.println("usage: java DistributedSweep coordinator|worker [options]");
+            return;
+        }
+        Map<String, String> opt = new HashMap<>();
+        for (int i = 1; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) throw new IllegalArgumentException("unknown option " + args[i]);
+            opt.put(args[i].substring(2), args[i + 1]);
+        }
+        if ("worker".equals(args[0])) {
+            String connect = opt.get("connect");
+            if (connect == null) throw new IllegalArgumentException("worker needs --connect");
+            runWorker(connect, opt.getOrDefault("name", "worker"), Integer.parseInt(opt.getOrDefault("crash-after", "-1")));
+        } else if ("coordinator".equals(args[0])) {
+            runCoordinator(opt.getOrDefault("listen", "tcp:0"),
+                    Integer.parseInt(opt.getOrDefault("scenarios", "400")),
+                    Integer.parseInt(opt.getOrDefault("batch", "16")),
+                    Long.parseLong(opt.getOrDefault("lease-ms", "10000")),
+                    Integer.parseInt(opt.getOrDefault("spawn", "0")),
+                    Integer.parseInt(opt.getOrDefault("crash-first-after", "-1")),
+                    Path.of(opt.getOrDefault("out", "sweep.csv")));
+        } else {
+            throw new IllegalArgumentException("unknown mode " + args[0]);
+        }
+    }
+}
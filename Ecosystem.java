@@ -1,6 +1,7 @@
 // Ecosystem.java
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Random;
 
@@ -14,11 +15,19 @@ import java.util.Random;
 */
 public class Ecosystem {
     private final List<PlantSpecies> species;
+    private final List<PlantSpecies> speciesView;
 
     // Konstruktor. Übernimmt die Pflanzenliste
     // CONTRACT: Preconditions: species != null, enthält keine nulls. Postconditions: interne Liste kopiert.
     public Ecosystem(List<PlantSpecies> species) {
         this.species = new ArrayList<>(species);
+        this.speciesView = Collections.unmodifiableList(this.species);
+    }
+
+    // Alle Arten auf den Konstruktionszustand (PlantSpecies.reset), Liste bleibt dieselbe.
+    // CONTRACT: Postcondition: Zustand wie new Ecosystem(...) mit frisch gebauten Arten derselben Parameter.
+    public void reset() {
+        for (PlantSpecies s : species) s.reset();
     }
 
     // Setzt alle Pflanzenarten auf Saisonstart
@@ -59,6 +68,59 @@ public class Ecosystem {
         }
     }
 
+    // 1 Tag mit Beobachter: wie dailyUpdate(DayWeather, BeePopulation), danach probe.onDay mit dem gerechneten Wetter.
+    // Für Läufe ohne Simulation (eigene Tagesschleifen); welche Tage gesampelt werden, entscheidet der Aufrufer.
+    // CONTRACT: Preconditions: wie dailyUpdate; probe != null; view aus probeView(bees, ...) dieses Ökosystems.
+    public void dailyUpdate(DayWeather weather, BeePopulation bees, int year, int day, SimulationProbe probe, ProbeView view) {
+        dailyUpdate(weather, bees);
+        probe.onDay(year, day, weather, view);
+    }
+
+    // Read-only-Sicht für Probes über diese Arten und eine Bienenpopulation, Arten gefiltert nach sampling.
+    // CONTRACT: Preconditions: bees != null; Artindizes im sampling gültig (sonst IllegalArgumentException).
+    // Postconditions: Werte werden live gelesen, keine Allokation pro Aufruf; View einmal bauen und wiederverwenden.
+    public ProbeView probeView(BeePopulation bees, ProbeSampling sampling) {
+        ProbeSampling s = (sampling != null) ? sampling : ProbeSampling.all();
+        return new LiveView(bees, s.speciesSlots(species.size()));
+    }
+
+    // 1 Tag mit mehreren Bestäubergilden: gleiche Phasen, aber Nahrung/Bestäubung laufen über das
+    // Gilden-Netzwerk (SpMV) statt über eine Gesamtsumme. Je Art wird der Besuchsdruck x/n normiert
+    // übergeben (population = Besuchsdruck, food = 1), damit updateSeedSet/Reproduction unverändert bleiben.
+    // CONTRACT: Preconditions: weather, guilds != null; guilds.network().species() == species().size().
+    // Postconditions: wie dailyUpdate(DayWeather, BeePopulation); eine Gilde mit Gewicht 1 liefert dasselbe Ergebnis.
+    public void dailyUpdate(DayWeather weather, PollinatorGuilds guilds) {
+        for (PlantSpecies s : species) s.applyMoistureStress(weather.soilMoisture());
+        for (PlantSpecies s : species) s.advanceBloom(weather.sunHoursToday(), weather.cumSunHours());
+        double[] nectar = guilds.nectarBuffer();
+        for (int i = 0; i < nectar.length; i++) nectar[i] = species.get(i).foodSupplyToday();
+        guilds.updateDaily();
+        for (int i = 0; i < nectar.length; i++) {
+            PlantSpecies s = species.get(i);
+            double unitFood = (nectar[i] > 0 || guilds.visitRatio(i) > 0) ? 1.0 : 0.0;
+            s.updateSeedSet(guilds.visitRatio(i), unitFood, weather.sunHoursToday());
+            s.reproduceDaily(weather, guilds.visitorsOf(i), unitFood);
+        }
+    }
+
+    // 1 Tag mit agentenbasierten Kolonien: wie die Gilden-Variante, nur kommen Besuche und Besuchsdruck je Art
+    // aus den einzelnen Sammlerinnen (ForagerColonies) statt aus einem Netzwerk-Produkt.
+    // CONTRACT: Preconditions: weather, colonies != null; colonies.speciesCount() == species().size().
+    // Postconditions: wie dailyUpdate(DayWeather, BeePopulation), im Erwartungswert dieselbe Bienendynamik.
+    public void dailyUpdate(DayWeather weather, ForagerColonies colonies) {
+        for (PlantSpecies s : species) s.applyMoistureStress(weather.soilMoisture());
+        for (PlantSpecies s : species) s.advanceBloom(weather.sunHoursToday(), weather.cumSunHours());
+        double[] nectar = colonies.nectarBuffer();
+        for (int i = 0; i < nectar.length; i++) nectar[i] = species.get(i).nectarToday();
+        colonies.updateDaily();
+        for (int i = 0; i < nectar.length; i++) {
+            PlantSpecies s = species.get(i);
+            double unitFood = (nectar[i] > 0 || colonies.visitRatio(i) > 0) ? 1.0 : 0.0;
+            s.updateSeedSet(colonies.visitRatio(i), unitFood, weather.sunHoursToday());
+            s.reproduceDaily(weather, colonies.visitorsOf(i), unitFood);
+        }
+    }
+
     // Winterreproduktion für alle Species.
     // CONTRACT: Preconditions: rng != null. Postconditions: Jede Species hat winterReproduce ausgeführt.
     // BAD: Kopplung an java.util.Random erschwert deterministische Tests; abstrahierter Zufallsprovider wäre besser.
@@ -69,9 +131,60 @@ public class Ecosystem {
     }
 
     // Getter für die Liste der Pflanzenarten
-    // CONTRACT: Postcondition: Rückgabe ist mutable Liste; Clients müssen defensiv sein.
-    // BAD: Gibt interne Liste zurück -> Leck des Zustands; Collections.unmodifiableList wäre robuster.
+    // CONTRACT: Postcondition: unveränderliche Sicht auf die interne Liste (add/remove/set → UnsupportedOperationException).
+    // Die PlantSpecies selbst bleiben mutable und gehören dem Simulations-Thread; andere Threads lesen über PublishedState.
     public List<PlantSpecies> species() {
-        return species;
+        return speciesView;
+    }
+
+    // ProbeView direkt über den Live-Objekten: keine Kopie, keine Allokation pro Callback.
+    private final class LiveView implements ProbeView {
+        private final BeePopulation bees;
+        private final int[] slots;
+
+        LiveView(BeePopulation bees, int[] slots) {
+            this.bees = bees;
+            this.slots = slots;
+        }
+
+        @Override
+        public double bees() {
+            return bees.population();
+        }
+
+        @Override
+        public double totalFood() {
+            return totalFoodToday();
+        }
+
+        @Override
+        public int speciesCount() {
+            return slots.length;
+        }
+
+        @Override
+        public int speciesIndex(int slot) {
+            return slots[slot];
+        }
+
+        @Override
+        public double vigor(int slot) {
+            return species.get(slots[slot]).vigor();
+        }
+
+        @Override
+        public double bloomFraction(int slot) {
+            return species.get(slots[slot]).bloomFraction();
+        }
+
+        @Override
+        public double seedSet(int slot) {
+            return species.get(slots[slot]).seedSet();
+        }
+
+        @Override
+        public int seedBankStored(int slot) {
+            return species.get(slots[slot]).seedBank().getStored();
+        }
     }
 }
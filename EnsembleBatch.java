@@ -0,0 +1,333 @@
+// EnsembleBatch.java
+
+import java.util.List;
+import java.util.Random;
+
+/*
+  Teil vom module simulation. K unabhängige Replikate desselben Szenarios im Gleichschritt:
+  jede "Lane" (Spalte) hält Wetterwerte, Bienen und Artzustand eines Replikats. Alle Lanes gehen
+  gemeinsam durch Saisonstart → 240 × (Weather.nextDay → Ecosystem.dailyUpdate) → Winter.
+  STYLE: prozeduraler Batch-Kern, Layout [Art][Lane] (Index i*K + l), innerste Schleife über Lanes
+  → gleiche Operation auf zusammenhängenden double[] (SIMD-/Superword-freundlich, keine virtuellen Aufrufe).
+
+  CONTRACT: Lane l ist bitgleich zu new Simulation(Test.listWithReproduction(defs, group), weathers[l],
+  seeds[l], initialBees, ..) – gleiche Formeln, gleiche Summationsreihenfolge, eigener RNG je Lane.
+  Zufallsabhängige Schritte (Keimung, Winter) laufen lane-weise, weil jede Lane ihren eigenen RNG-Strom hat.
+  Die Formeln sind dieselben reinen Funktionen wie in CompactEnsemble (PlantSpecies, SeedBank, BeePopulation,
+  ReproductionRates); eigen sind nur das Lane-Layout und die Schleifenreihenfolge.
+  Mit dem Konstruktor über weatherSeeds läuft auch das Wetter im Batch (Weather-Formeln als reine Funktionen): die
+  Tageslänge ist für alle Lanes gleich und wird einmal je Tag berechnet, DayWeather-Objekte entfallen.
+  GOOD: Pro Replikat entfallen Objektgraph, Listeniteration und Interface-Dispatch; der Tageskern ist für alle K gleich.
+  Gemessen (main, K=64, 25 Jahre, warm): Wetter im Batch ~1.25–1.38x gegenüber K Simulationen.
+  BAD: Mit fremden WeatherSource-Instanzen je Lane kein Gewinn (gemessen 0.92–1.06x): Weather.nextDay mit Trigonometrie
+  je Lane war gut die Hälfte der Zeit. Auch im Batch bleiben die Gauß-/Uniform-Ziehungen je Lane (eigener Strom,
+  bitgleich) und die int-Rundungskette skalar.
+*/
+public final class EnsembleBatch {
+    private static final int DAYS = Simulation.seasonDays();
+
+    private final int lanes;
+    private final int speciesCount;
+
+    // Parameter je Art (für alle Lanes gleich)
+    private final double[] cMin, cMax, fMin, fMax, hStart, hEnd, q, p;
+    private final ReproductionRates[] rates;
+
+    // je Lane; weather == null → Wetter im Batch (weatherRng + cloud je Lane, Tageslänge gemeinsam)
+    private final WeatherSource[] weather;
+    private final Random[] weatherRng;
+    private final double[] cloud;
+    private final DayLengthModel dayLength;
+    private final double latitude;
+    private final int dayOfYearStart;
+    private int dayOfYear;
+    private final Random[] random;
+    private final double[] bees;
+    private final double[] sun, cumSun, moisture, totalFood;
+
+    // je (Art, Lane), Index i*lanes + l
+    private final double[] vigor, bloom, seedSet, bankQuality;
+    private final int[] fruits, seeds, bankStored;
+
+    // CONTRACT: Preconditions: defs != null, weathers.length == randomSeeds.length > 0.
+    public EnsembleBatch(Species[] defs, int groupIndex, WeatherSource[] weathers, long[] randomSeeds, double initialBees) {
+        this(defs, groupIndex, weathers.clone(), null, null, 0, 0, randomSeeds, initialBees);
+    }
+
+    // Wetter im Batch: Lane l bekommt das Wetter von new Weather(weatherSeeds[l], dayLength, latitude, dayStart).
+    // Die Tageslänge hängt nur vom Tag ab → einmal je Tag statt je Lane, kein DayWeather-Objekt, kein Interface-Aufruf.
+    // CONTRACT: Preconditions: weatherSeeds.length == randomSeeds.length > 0, dayLength != null.
+    // Postcondition: bitgleich zum anderen Konstruktor mit diesen Weather-Instanzen (gleiche Formeln, gleiche Ziehungen).
+    public EnsembleBatch(Species[] defs, int groupIndex, long[] weatherSeeds, DayLengthModel dayLength, double latitude,
+                         int dayStart, long[] randomSeeds, double initialBees) {
+        this(defs, groupIndex, null, weatherSeeds, dayLength, latitude, dayStart, randomSeeds, initialBees);
+    }
+
+    private EnsembleBatch(Species[] defs, int groupIndex, WeatherSource[] weathers, long[] weatherSeeds,
+                          DayLengthModel dayLength, double latitude, int dayStart, long[] randomSeeds, double initialBees) {
+        this.lanes = randomSeeds.length;
+        this.speciesCount = defs.length;
+        cMin = new double[speciesCount];
+        cMax = new double[speciesCount];
+        fMin = new double[speciesCount];
+        fMax = new double[speciesCount];
+        hStart = new double[speciesCount];
+        hEnd = new double[speciesCount];
+        q = new double[speciesCount];
+        p = new double[speciesCount];
+        rates = new ReproductionRates[speciesCount];
+        for (int i = 0; i < speciesCount; i++) {
+            Species s = defs[i];
+            cMin[i] = s.cMin;
+            cMax[i] = s.cMax;
+            fMin[i] = s.fMin;
+            fMax[i] = s.fMax;
+            hStart[i] = s.hStart;
+            hEnd[i] = s.hEnd;
+            q[i] = s.q;
+            p[i] = s.p;
+            rates[i] = ReproductionRates.of(Test.pickReproduction(groupIndex, i) instanceof AnnualReproduction);
+        }
+        weather = weathers;
+        this.dayLength = dayLength;
+        this.latitude = latitude;
+        this.dayOfYearStart = dayStart;
+        weatherRng = (weathers == null) ? new Random[lanes] : null;
+        cloud = (weathers == null) ? new double[lanes] : null;
+        random = new Random[lanes];
+        bees = new double[lanes];
+        sun = new double[lanes];
+        cumSun = new double[lanes];
+        moisture = new double[lanes];
+        totalFood = new double[lanes];
+        int n = speciesCount * lanes;
+        vigor = new double[n];
+        bloom = new double[n];
+        seedSet = new double[n];
+        bankQuality = new double[n];
+        fruits = new int[n];
+        seeds = new int[n];
+        bankStored = new int[n];
+        for (int l = 0; l < lanes; l++) {
+            random[l] = new Random(randomSeeds[l]);
+            if (weatherRng != null) weatherRng[l] = new Random(weatherSeeds[l]);
+            bees[l] = Math.max(0, initialBees);
+        }
+        for (int i = 0; i < speciesCount; i++) {
+            double y0 = (defs[i].y0 > 0) ? defs[i].y0 : 0;
+            for (int l = 0; l < lanes; l++) vigor[i * lanes + l] = y0;
+        }
+    }
+
+    public void run(int years) {
+        for (int y = 0; y < years; y++) stepYear();
+    }
+
+    // Ein Jahr für alle Lanes im Gleichschritt.
+    public void stepYear() {
+        dayOfYear = dayOfYearStart;
+        for (int l = 0; l < lanes; l++) startSeason(l);
+        for (int d = 1; d <= DAYS; d++) {
+            if (weather == null) {
+                batchedWeather();
+            } else {
+                for (int l = 0; l < lanes; l++) {
+                    DayWeather w = weather[l].nextDay();
+                    sun[l] = w.sunHoursToday();
+                    cumSun[l] = w.cumSunHours();
+                    moisture[l] = w.soilMoisture();
+                }
+            }
+            dailyUpdate();
+        }
+        for (int l = 0; l < lanes; l++) winter(l);
+    }
+
+    // Saisonstart einer Lane (PlantSpecies.startSeason + Reproduction.startOfSeason in Artreihenfolge), dann Weather.
+    private void startSeason(int l) {
+        Random rng = random[l];
+        for (int i = 0; i < speciesCount; i++) {
+            int k = i * lanes + l;
+            bloom[k] = 0;
+            seedSet[k] = 0;
+            fruits[k] = 0;
+            seeds[k] = 0;
+            int germ = germinate(k, rng);
+            vigor[k] += rates[i].seedlingGain(rates[i].established(germ), bankQuality[k]);
+        }
+        if (weather != null) {
+            weather[l].startSeason();
+        } else {
+            // wie Weather.startSeason: erst Feuchte, dann Wolken
+            moisture[l] = weatherRng[l].nextDouble();
+            cloud[l] = weatherRng[l].nextDouble();
+            cumSun[l] = 0;
+        }
+    }
+
+    // Weather.nextDay für alle Lanes: Tageslänge einmal (gleicher Tag, gleiche Breite), Zufall und Zustand je Lane.
+    private void batchedWeather() {
+        if (dayOfYear < 1 || dayOfYear > 365) dayOfYear = 1;
+        double dayLen = Weather.lightHours(dayLength, dayOfYear, latitude);
+        dayOfYear = (dayOfYear == 365) ? 1 : dayOfYear + 1;
+        for (int l = 0; l < lanes; l++) {
+            Random rng = weatherRng[l];
+            double c = Weather.nextCloud(cloud[l], rng.nextGaussian());
+            double s = Weather.sunHours(dayLen, c);
+            double chance = Weather.rainChance(c);
+            double rain = (rng.nextDouble() < chance) ? Weather.rainAmount(chance, rng.nextDouble()) : 0.0;
+            cloud[l] = c;
+            sun[l] = s;
+            cumSun[l] += s;
+            moisture[l] = Weather.nextMoisture(moisture[l], rain, s);
+        }
+    }
+
+    private int germinate(int k, Random rng) {
+        int stored = bankStored[k];
+        if (stored == 0) return 0;
+        int afterWinter = SeedBank.survivingWinter(stored, rng.nextDouble());
+        int germinating = SeedBank.germinating(afterWinter, rng.nextDouble());
+        bankStored[k] = afterWinter - germinating;
+        return Math.max(0, germinating);
+    }
+
+    // Ecosystem.dailyUpdate für alle Lanes; jede Phase als Schleife Art → Lane.
+    private void dailyUpdate() {
+        // Feuchtestress
+        for (int i = 0; i < speciesCount; i++) {
+            double lo = fMin[i], hi = fMax[i];
+            int base = i * lanes;
+            for (int l = 0; l < lanes; l++) vigor[base + l] = PlantSpecies.stressedVigor(vigor[base + l], moisture[l], lo, hi);
+        }
+        // Blüte + Nahrungssumme (Summation in Artreihenfolge wie Ecosystem.totalFoodToday)
+        java.util.Arrays.fill(totalFood, 0.0);
+        for (int i = 0; i < speciesCount; i++) {
+            double qi = q[i], hs = hStart[i], he = hEnd[i];
+            int base = i * lanes;
+            for (int l = 0; l < lanes; l++) {
+                double b = PlantSpecies.advancedBloom(bloom[base + l], sun[l], cumSun[l], qi, hs, he);
+                bloom[base + l] = b;
+                totalFood[l] += vigor[base + l] * b;
+            }
+        }
+        // Bienen
+        for (int l = 0; l < lanes; l++) bees[l] = BeePopulation.dailyGrowth(bees[l], totalFood[l]);
+        // Samenansatz + Reproduktion
+        for (int i = 0; i < speciesCount; i++) {
+            double pi = p[i];
+            ReproductionRates rr = rates[i];
+            int base = i * lanes;
+            for (int l = 0; l < lanes; l++) {
+                int k = base + l;
+                double b = bloom[k];
+                if (b <= 0) continue;
+                double x = bees[l], food = totalFood[l], s = sun[l];
+                seedSet[k] = PlantSpecies.increasedSeedSet(seedSet[k], b, x, food, s, pi);
+                int opened = rr.opened(vigor[k], b);
+                int pollinated = rr.pollinated(opened, ReproductionRates.efficiency(x, food));
+                int f = fruits[k] + rr.filled(pollinated, s);
+                int ripen = rr.ripened(f);
+                seeds[k] += ripen;
+                fruits[k] = f - ripen;
+                vigor[k] *= rr.vigorCost;
+            }
+        }
+    }
+
+    // Winter einer Lane: Bienen, dann je Art endOfSeason (SeedBank.add) + winterReproduce.
+    private void winter(int l) {
+        Random rng = random[l];
+        bees[l] = BeePopulation.survivingWinter(bees[l], rng.nextDouble());
+        for (int i = 0; i < speciesCount; i++) {
+            int k = i * lanes + l;
+            ReproductionRates rr = rates[i];
+            int count = seeds[k];
+            if (count > 0) {
+                bankQuality[k] = SeedBank.pooledQuality(bankStored[k], bankQuality[k], count, rr.seedQuality(seedSet[k]));
+                bankStored[k] += count;
+            }
+            if (rr.annual) vigor[k] = 0;
+            fruits[k] = 0;
+            seeds[k] = 0;
+            double c = cMin[i] + rng.nextDouble() * (cMax[i] - cMin[i]);
+            vigor[k] = PlantSpecies.grownVigor(vigor[k], seedSet[k], c);
+        }
+    }
+
+    // Read-only-Views
+    public int lanes() {
+        return lanes;
+    }
+
+    public double bees(int lane) {
+        return bees[lane];
+    }
+
+    public double vigor(int lane, int species) {
+        return vigor[species * lanes + lane];
+    }
+
+    public double seedSet(int lane, int species) {
+        return seedSet[species * lanes + lane];
+    }
+
+    public int seedBankStored(int lane, int species) {
+        return bankStored[species * lanes + lane];
+    }
+
+    // Benchmark: runGroup-artiges Ensemble (K Seeds, 25 Jahre) als K Simulationen, als Batch mit K Weather-Instanzen
+    // und als Batch mit Wetter im Batch. Danach Lane für Lane gegen die Simulation: Bienen, vigor, seedSet und SeedBank
+    // jeder Art müssen in beiden Batches gleich sein.
+    // Aufruf: java EnsembleBatch [lanes] [rounds]
+    public static void main(String[] args) {
+        int k = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        Species[] defs = Test.build(45);
+        DayLengthModel dayLength = new AstroDayLength();
+        for (int round = 1; round <= rounds; round++) {
+            long t0 = System.nanoTime();
+            Simulation[] sims = new Simulation[k];
+            for (int l = 0; l < k; l++) {
+                long seed = l + 1;
+                sims[l] = new Simulation(Test.listWithReproduction(defs, 1),
+                        new Weather(seed, dayLength, 48.2, 91), seed, 120, 25);
+                sims[l].run();
+            }
+            long t1 = System.nanoTime();
+            Weather[] weathers = new Weather[k];
+            long[] seeds = new long[k];
+            for (int l = 0; l < k; l++) {
+                seeds[l] = l + 1;
+                weathers[l] = new Weather(seeds[l], dayLength, 48.2, 91);
+            }
+            EnsembleBatch batch = new EnsembleBatch(defs, 1, weathers, seeds, 120);
+            batch.run(25);
+            long t2 = System.nanoTime();
+            EnsembleBatch batched = new EnsembleBatch(defs, 1, seeds, dayLength, 48.2, 91, seeds, 120);
+            batched.run(25);
+            long t3 = System.nanoTime();
+            int mismatches = 0;
+            for (int l = 0; l < k; l++) {
+                if (!sameLane(sims[l], batch, l)) mismatches++;
+                if (!sameLane(sims[l], batched, l)) mismatches++;
+            }
+            System.out.printf("round %d | %d replicates | simulations %7.1f ms | batch %7.1f ms (%.2fx)"
+                            + " | batched weather %7.1f ms (%.2fx) | mismatching lanes %d%n",
+                    round, k, (t1 - t0) / 1e6, (t2 - t1) / 1e6, (t1 - t0) / (double) (t2 - t1),
+                    (t3 - t2) / 1e6, (t1 - t0) / (double) (t3 - t2), mismatches);
+        }
+    }
+
+    // Lane l bitgleich zur Simulation? Bienen und je Art vigor, seedSet und SeedBank-Bestand.
+    static boolean sameLane(Simulation sim, EnsembleBatch batch, int l) {
+        if (sim.bees().population() != batch.bees(l)) return false;
+        List<PlantSpecies> species = sim.ecosystem().species();
+        for (int i = 0; i < species.size(); i++) {
+            PlantSpecies ps = species.get(i);
+            if (ps.vigor() != batch.vigor(l, i) || ps.seedSet() != batch.seedSet(l, i)
+                    || ps.seedBank().getStored() != batch.seedBankStored(l, i)) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,277 @@
+// FlowOperators.java
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * STYLE: kleine, kombinierbare Operatoren über java.util.concurrent.Flow (JDK hat nur die Interfaces).
+ * Jeder Operator ist ein Publisher, der beim subscribe() eine Stufe zwischen Upstream und Downstream hängt.
+ *
+ * CONTRACT: Nachfrage wird durchgereicht und nie vergrößert, außer wo angegeben:
+ * - map: 1:1.  filter: verworfene Elemente werden mit request(1) nachgefordert.
+ * - batch(size): n Listen → n*size Elemente upstream; Rest-Liste bei onComplete.
+ * - aggregate / forEach: eigenes Prefetch-Fenster (PREFETCH), Nachschub nach je PREFETCH/2 Elementen.
+ * Fehler in einer Funktion → upstream.cancel() und onError downstream.
+ * GOOD: Backpressure bleibt über die ganze Kette erhalten; keine Queue wächst mit der Sweep-Größe.
+ */
+public final class FlowOperators {
+    static final int PREFETCH = 32;
+
+    private FlowOperators() {
+    }
+
+    public static <T, R> Flow.Publisher<R> map(Flow.Publisher<T> upstream, Function<? super T, ? extends R> f) {
+        return downstream -> upstream.subscribe(new Stage<T, R>(downstream) {
+            @Override
+            public void onNext(T item) {
+                R r;
+                try {
+                    r = f.apply(item);
+                } catch (RuntimeException ex) {
+                    failFromUpstreamSignal(ex);
+                    return;
+                }
+                downstream.onNext(r);
+            }
+        });
+    }
+
+    public static <T> Flow.Publisher<T> filter(Flow.Publisher<T> upstream, Predicate<? super T> keep) {
+        return downstream -> upstream.subscribe(new Stage<T, T>(downstream) {
+            @Override
+            public void onNext(T item) {
+                boolean pass;
+                try {
+                    pass = keep.test(item);
+                } catch (RuntimeException ex) {
+                    failFromUpstreamSignal(ex);
+                    return;
+                }
+                if (pass) downstream.onNext(item);
+                else upstream().request(1);
+            }
+        });
+    }
+
+    // CONTRACT: Preconditions: size > 0. Postconditions: Listen der Länge size, die letzte ggf. kürzer.
+    public static <T> Flow.Publisher<List<T>> batch(Flow.Publisher<T> upstream, int size) {
+        if (size <= 0) throw new IllegalArgumentException("size must be > 0");
+        return downstream -> upstream.subscribe(new Stage<T, List<T>>(downstream) {
+            private List<T> buffer = new ArrayList<>(size);
+
+            @Override
+            public void request(long n) {
+                if (n <= 0) {
+                    super.request(n);
+                    return;
+                }
+                super.request((n > Long.MAX_VALUE / size) ? Long.MAX_VALUE : n * size);
+            }
+
+            @Override
+            public void onNext(T item) {
+                buffer.add(item);
+                if (buffer.size() == size) {
+                    List<T> full = buffer;
+                    buffer = new ArrayList<>(size);
+                    downstream.onNext(full);
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                if (!buffer.isEmpty() && !isDone()) downstream.onNext(buffer);
+                buffer = null;
+                super.onComplete();
+            }
+        });
+    }
+
+    // Faltet alle Elemente zu genau einem Wert, ausgeliefert nach onComplete (sobald downstream >= 1 angefordert hat).
+    public static <T, A> Flow.Publisher<A> aggregate(Flow.Publisher<T> upstream, Supplier<A> seed,
+                                                     BiFunction<A, ? super T, A> accumulator) {
+        return downstream -> upstream.subscribe(new Stage<T, A>(downstream) {
+            private static final int REQUESTED = 1, COMPLETED = 2;
+            private final AtomicInteger state = new AtomicInteger();
+            private A acc = seed.get();
+            private int consumed;
+
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                super.onSubscribe(s);
+                s.request(PREFETCH);
+            }
+
+            @Override
+            public void request(long n) {
+                if (n <= 0) {
+                    failFromDownstreamRequest(n);
+                    return;
+                }
+                if (state.getAndUpdate(v -> v | REQUESTED) == COMPLETED) emit();
+            }
+
+            @Override
+            public void onNext(T item) {
+                try {
+                    acc = accumulator.apply(acc, item);
+                } catch (RuntimeException ex) {
+                    failFromUpstreamSignal(ex);
+                    return;
+                }
+                if (++consumed == PREFETCH / 2) {
+                    consumed = 0;
+                    upstream().request(PREFETCH / 2);
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                if (state.getAndUpdate(v -> v | COMPLETED) == REQUESTED) emit();
+            }
+
+            private void emit() {
+                if (isDone()) return;
+                downstream.onNext(acc);
+                super.onComplete();
+            }
+        });
+    }
+
+    // Blockierende Senke: ruft consumer für jedes Element (im Thread des Publishers) und kehrt nach onComplete zurück.
+    // Nachfrage: prefetch Elemente, Nachschub nach je prefetch/2 → ein langsamer consumer bremst den Publisher.
+    // CONTRACT: Preconditions: prefetch >= 1. Postconditions: alle Elemente verarbeitet;
+    // Fehler (Upstream oder consumer) als CompletionException; InterruptedException → cancel + Interrupt-Flag.
+    public static <T> void forEach(Flow.Publisher<T> publisher, int prefetch, Consumer<? super T> consumer) {
+        if (prefetch < 1) throw new IllegalArgumentException("prefetch must be >= 1");
+        CountDownLatch done = new CountDownLatch(1);
+        Throwable[] failure = new Throwable[1];
+        Flow.Subscription[] subscription = new Flow.Subscription[1];
+        int refill = Math.max(1, prefetch / 2);
+        publisher.subscribe(new Flow.Subscriber<T>() {
+            private int consumed;
+            private boolean stopped;
+
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                subscription[0] = s;
+                s.request(prefetch);
+            }
+
+            @Override
+            public void onNext(T item) {
+                if (stopped) return;
+                try {
+                    consumer.accept(item);
+                } catch (RuntimeException ex) {
+                    stopped = true;
+                    subscription[0].cancel();
+                    failure[0] = ex;
+                    done.countDown();
+                    return;
+                }
+                if (++consumed == refill) {
+                    consumed = 0;
+                    subscription[0].request(refill);
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                if (stopped) return;
+                failure[0] = t;
+                done.countDown();
+            }
+
+            @Override
+            public void onComplete() {
+                done.countDown();
+            }
+        });
+        try {
+            done.await();
+        } catch (InterruptedException interrupted) {
+            if (subscription[0] != null) subscription[0].cancel();
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (failure[0] != null) throw new CompletionException(failure[0]);
+    }
+
+    /**
+     * NOTE: Gemeinsame Basis einer Operator-Stufe: Subscriber nach oben, Subscription nach unten.
+     * Terminal-Signale werden genau einmal weitergegeben (done-Flag).
+     */
+    private abstract static class Stage<T, R> implements Flow.Subscriber<T>, Flow.Subscription {
+        final Flow.Subscriber<? super R> downstream;
+        private Flow.Subscription upstream;
+        private volatile boolean done;
+
+        Stage(Flow.Subscriber<? super R> downstream) {
+            this.downstream = downstream;
+        }
+
+        final Flow.Subscription upstream() {
+            return upstream;
+        }
+
+        final boolean isDone() {
+            return done;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription s) {
+            this.upstream = s;
+            downstream.onSubscribe(this);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) return;
+            done = true;
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) return;
+            done = true;
+            downstream.onComplete();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                failFromDownstreamRequest(n);
+                return;
+            }
+            upstream.request(n);
+        }
+
+        @Override
+        public void cancel() {
+            done = true;
+            upstream.cancel();
+        }
+
+        // Fehler in einer Nutzerfunktion während onNext
+        final void failFromUpstreamSignal(Throwable t) {
+            upstream.cancel();
+            onError(t);
+        }
+
+        final void failFromDownstreamRequest(long n) {
+            upstream.cancel();
+            onError(new IllegalArgumentException("request(n) needs n > 0, got " + n));
+        }
+    }
+}
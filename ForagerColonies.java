@@ -0,0 +1,393 @@
+// ForagerColonies.java
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/*
+  Teil vom module population. Agentenbasierte Alternative zur skalaren BeePopulation: einzelne Sammlerinnen
+  mit Alter, Energiereserve, Ort (besuchte Art) und Kolonie. Jede Sammlerin steht für beesPerAgent Bienen
+  (z.B. 1e-4 → ~1 Mio. Agenten bei population ≈ 100).
+  STYLE: wie PollinatorGuilds OO-Entität (Pollinator, Seasonal) mit Zustand in primitiven Arrays – hier als
+  Entity-Component-Layout: Slot a hat age[a], energy[a], location[a], colony[a]; age < 0 = freier Slot.
+  Freie Slots werden über eine Free-List wiederverwendet, nie ein Objekt pro Biene.
+
+  Tagesablauf (updateDaily), Agenten in festen Blöcken zu CHUNK Slots, Blöcke parallel:
+    1. jede Sammlerin wählt eine Art mit Wahrscheinlichkeit nectar_i / Σ nectar   → visits_i
+    2. Anteil je Besuch: intake_i = min(1, nectar_i / (visits_i · beesPerAgent))
+    3. je Sammlerin mit ihrem intake: Geburt mit 0.03·intake, sonst Tod mit 0.03·(1 − intake)
+       → Erwartungswert = BeePopulation.dailyGrowth (+3 % bei genug Nahrung, 6·n/x − 3 % sonst)
+    4. Geburten/Tode sequentiell in Blockreihenfolge über die Free-List einbuchen
+    ratio_i = visits_i · beesPerAgent / nectar_i  Besuchsdruck je Art (x/n im skalaren Modell)
+  Winter: u = 0.1 + 0.2·rng.nextDouble() wie BeePopulation (eine Ziehung aus dem Modell-RNG), dann überlebt
+  jede Sammlerin mit Wahrscheinlichkeit u.
+
+  CONTRACT (Invarianten): population() >= 0; ratio[i] >= 0; Ergebnisse hängen nur von seed ab, nicht von der
+  Thread-Anzahl (Zufall je (Block, Schritt) aus Numerics.mix, Reduktion in Blockreihenfolge).
+  Nicht thread-safe von außen, gehört zu genau einem Ecosystem.
+  GOOD: Besuchsdruck entsteht aus lokaler Konkurrenz je Art statt aus der Gesamtsumme.
+  BAD: Kosten ∝ Anzahl Agenten; für Sweeps bleibt die skalare BeePopulation das Mittel der Wahl.
+*/
+public class ForagerColonies implements Pollinator, Seasonal {
+    static final int CHUNK = 1 << 16;
+    private static final double RATE = 0.03;   // Tagesrate wie BeePopulation.dailyGrowth
+    private static final float RESERVE = 0.8f; // Energiereserve: gleitendes Mittel der Aufnahme
+
+    private final double beesPerAgent;
+    private final long seed;
+    private final boolean parallel;
+    private long step;                 // Tage + Winter seit Konstruktion → Zufall je Schritt
+
+    // Komponenten (Slot-Index = Agent)
+    private int[] age;                 // Tage, < 0 = frei
+    private float[] energy;            // [0,1]
+    private int[] location;            // Art-Index des heutigen Besuchs, -1 = Stock
+    private int[] colony;
+    private int highWater;             // Slots [0, highWater) wurden je benutzt
+    private int[] free = new int[0];
+    private int freeCount;
+    private final long[] colonySize;
+    private long alive;
+
+    // Tagespuffer
+    private final double[] nectar;
+    private final double[] cdf;
+    private final double[] share;
+    private final long[] visits;
+    private final double[] ratio;
+    private int[][] chunkVisits = new int[0][];
+    private int[][] chunkBirths = new int[0][], chunkDeaths = new int[0][];
+    private int[] birthCount = new int[0], deathCount = new int[0];
+    private final Visitors visitors = new Visitors();
+
+    // CONTRACT: Preconditions: speciesCount > 0, beesPerAgent > 0, initialPopulation je Kolonie >= 0 (negativ → 0).
+    // parallel = false → Blöcke nacheinander im aufrufenden Thread (Ergebnis identisch).
+    public ForagerColonies(double[] initialPopulation, int speciesCount, double beesPerAgent, long seed, boolean parallel) {
+        if (speciesCount <= 0 || !(beesPerAgent > 0)) throw new IllegalArgumentException("speciesCount/beesPerAgent");
+        this.beesPerAgent = beesPerAgent;
+        this.seed = seed;
+        this.parallel = parallel;
+        this.colonySize = new long[initialPopulation.length];
+        this.nectar = new double[speciesCount];
+        this.cdf = new double[speciesCount];
+        this.share = new double[speciesCount];
+        this.visits = new long[speciesCount];
+        this.ratio = new double[speciesCount];
+        long total = 0;
+        for (double x : initialPopulation) total += Math.round(Math.max(0, x) / beesPerAgent);
+        allocate((int) Math.min(Integer.MAX_VALUE - 8, Math.max(CHUNK, total)));
+        for (int c = 0; c < initialPopulation.length; c++) {
+            long n = Math.round(Math.max(0, initialPopulation[c]) / beesPerAgent);
+            for (long k = 0; k < n; k++) spawn(c, 1f);
+        }
+    }
+
+    // Eine Kolonie, die alle Arten besucht (Gegenstück zu new BeePopulation(initialPopulation)).
+    public static ForagerColonies single(double initialPopulation, int speciesCount, double beesPerAgent, long seed) {
+        return new ForagerColonies(new double[]{initialPopulation}, speciesCount, beesPerAgent, seed, true);
+    }
+
+    private void allocate(int capacity) {
+        int old = (age == null) ? 0 : age.length;
+        age = (age == null) ? new int[capacity] : Arrays.copyOf(age, capacity);
+        energy = (energy == null) ? new float[capacity] : Arrays.copyOf(energy, capacity);
+        location = (location == null) ? new int[capacity] : Arrays.copyOf(location, capacity);
+        colony = (colony == null) ? new int[capacity] : Arrays.copyOf(colony, capacity);
+        Arrays.fill(age, old, capacity, -1);
+        int chunks = (capacity + CHUNK - 1) / CHUNK;
+        if (chunks > chunkVisits.length) {
+            int from = chunkVisits.length;
+            chunkVisits = Arrays.copyOf(chunkVisits, chunks);
+            chunkBirths = Arrays.copyOf(chunkBirths, chunks);
+            chunkDeaths = Arrays.copyOf(chunkDeaths, chunks);
+            birthCount = Arrays.copyOf(birthCount, chunks);
+            deathCount = Arrays.copyOf(deathCount, chunks);
+            for (int k = from; k < chunks; k++) {
+                chunkVisits[k] = new int[nectar.length];
+                chunkBirths[k] = new int[CHUNK];
+                chunkDeaths[k] = new int[CHUNK];
+            }
+        }
+    }
+
+    // Neuer Agent in einem freien Slot (Free-List zuerst, sonst hinten anhängen; Arrays wachsen um 50 %).
+    private void spawn(int c, float e) {
+        int slot;
+        if (freeCount > 0) {
+            slot = free[--freeCount];
+        } else {
+            if (highWater == age.length) allocate((int) Math.min(Integer.MAX_VALUE - 8, age.length + (long) (age.length >> 1)));
+            slot = highWater++;
+        }
+        age[slot] = 0;
+        energy[slot] = e;
+        location[slot] = -1;
+        colony[slot] = c;
+        colonySize[c]++;
+        alive++;
+    }
+
+    private void release(int slot) {
+        if (freeCount == free.length) free = Arrays.copyOf(free, Math.max(1024, free.length * 2));
+        free[freeCount++] = slot;
+        colonySize[colony[slot]]--;
+        alive--;
+    }
+
+    // Nektar-Eingangspuffer (Länge = Anzahl Arten), wird vom Ecosystem befüllt.
+    double[] nectarBuffer() {
+        return nectar;
+    }
+
+    // Ein Tag: Besuche, Aufnahme, Geburten/Tode, Besuchsdruck je Art.
+    // CONTRACT: Preconditions: nectarBuffer() für heute befüllt, Werte >= 0. Postconditions: Invarianten gelten.
+    public void updateDaily() {
+        long today = ++step;
+        double total = 0;
+        for (int i = 0; i < nectar.length; i++) {
+            total += nectar[i];
+            cdf[i] = total;
+        }
+        boolean food = total > 0;
+        int chunks = (highWater + CHUNK - 1) / CHUNK;
+
+        // 1. Besuche
+        forEachChunk(chunks, k -> chooseFlowers(k, today, food));
+        Arrays.fill(visits, 0);
+        for (int k = 0; k < chunks; k++) {
+            for (int i = 0; i < visits.length; i++) visits[i] += chunkVisits[k][i];
+        }
+        for (int i = 0; i < share.length; i++) {
+            double bees = visits[i] * beesPerAgent;
+            share[i] = (visits[i] > 0) ? Math.min(1, nectar[i] / bees) : 0;
+            ratio[i] = (nectar[i] > 0) ? bees / nectar[i] : 0;
+        }
+
+        // 2./3. Aufnahme, Geburt/Tod
+        forEachChunk(chunks, k -> forage(k, today));
+
+        // 4. Einbuchen in Blockreihenfolge (deterministisch); Tode zuerst → Geburten nutzen die freien Slots
+        for (int k = 0; k < chunks; k++) {
+            for (int d = 0; d < deathCount[k]; d++) release(chunkDeaths[k][d]);
+        }
+        for (int k = 0; k < chunks; k++) {
+            for (int b = 0; b < birthCount[k]; b++) {
+                int parent = chunkBirths[k][b];
+                spawn(colony[parent], energy[parent]);
+            }
+        }
+    }
+
+    private void chooseFlowers(int k, long today, boolean food) {
+        int[] v = chunkVisits[k];
+        Arrays.fill(v, 0);
+        SplittableRandom rng = new SplittableRandom(Numerics.mix(seed, k, 2 * today));
+        double total = cdf[cdf.length - 1];
+        int from = k * CHUNK, to = Math.min(highWater, from + CHUNK);
+        for (int a = from; a < to; a++) {
+            if (age[a] < 0) continue;
+            age[a]++;
+            if (!food) {
+                location[a] = -1;
+                continue;
+            }
+            double u = rng.nextDouble() * total;
+            int i = 0;
+            while (i < cdf.length - 1 && cdf[i] <= u) i++;
+            location[a] = i;
+            v[i]++;
+        }
+    }
+
+    private void forage(int k, long today) {
+        int births = 0, deaths = 0;
+        int[] bornOf = chunkBirths[k], died = chunkDeaths[k];
+        SplittableRandom rng = new SplittableRandom(Numerics.mix(seed, k, 2 * today + 1));
+        int from = k * CHUNK, to = Math.min(highWater, from + CHUNK);
+        for (int a = from; a < to; a++) {
+            if (age[a] < 0) continue;
+            double intake = (location[a] >= 0) ? share[location[a]] : 0;
+            energy[a] = RESERVE * energy[a] + (1 - RESERVE) * (float) intake;
+            double u = rng.nextDouble();
+            double birth = RATE * intake;
+            if (u < birth) {
+                bornOf[births++] = a;
+            } else if (u < RATE) {
+                age[a] = -1;
+                died[deaths++] = a;
+            }
+        }
+        birthCount[k] = births;
+        deathCount[k] = deaths;
+    }
+
+    private void forEachChunk(int chunks, IntConsumer body) {
+        if (parallel && chunks > 1) IntStream.range(0, chunks).parallel().forEach(body);
+        else for (int k = 0; k < chunks; k++) body.accept(k);
+    }
+
+    // Besuchsdruck (Bienen je Nahrungseinheit) auf Art i nach dem heutigen Update.
+    // CONTRACT: Postcondition: >= 0. Entspricht im Erwartungswert x/n im skalaren Modell.
+    public double visitRatio(int speciesIndex) {
+        return ratio[speciesIndex];
+    }
+
+    // Besuche (Agenten) bei Art i heute.
+    public long visits(int speciesIndex) {
+        return visits[speciesIndex];
+    }
+
+    // Sicht für Reproduction.updateDaily: normiert auf food == 1, population == Besuchsdruck der Art.
+    // CONTRACT: Postcondition: gleiche Instanz bei jedem Aufruf (nur bis zum nächsten Aufruf gültig).
+    // BAD: Geteilter mutable Holder wie bei PollinatorGuilds; darf nicht gespeichert werden.
+    Pollinator visitorsOf(int speciesIndex) {
+        visitors.value = ratio[speciesIndex];
+        return visitors;
+    }
+
+    private static final class Visitors implements Pollinator {
+        double value;
+
+        @Override
+        public double population() {
+            return value;
+        }
+    }
+
+    // Pollinator: Bienen über alle Kolonien (Agenten · beesPerAgent).
+    @Override
+    public double population() {
+        return alive * beesPerAgent;
+    }
+
+    // CONTRACT: Postcondition: >= 0.
+    public double population(int colonyIndex) {
+        return colonySize[colonyIndex] * beesPerAgent;
+    }
+
+    public long agents() {
+        return alive;
+    }
+
+    public int colonyCount() {
+        return colonySize.length;
+    }
+
+    public int speciesCount() {
+        return nectar.length;
+    }
+
+    // Mittel der Energiereserven bzw. des Alters (Tage) aller lebenden Agenten; 0 ohne Agenten.
+    public double meanEnergy() {
+        double sum = 0;
+        for (int a = 0; a < highWater; a++) if (age[a] >= 0) sum += energy[a];
+        return (alive == 0) ? 0 : sum / alive;
+    }
+
+    public double meanAge() {
+        double sum = 0;
+        for (int a = 0; a < highWater; a++) if (age[a] >= 0) sum += age[a];
+        return (alive == 0) ? 0 : sum / alive;
+    }
+
+    @Override
+    public void startSeason() {
+    }
+
+    // Winter: 70-90 % sterben; Anteil u aus dem Modell-RNG (wie BeePopulation), je Agent Bernoulli(u).
+    @Override
+    public void applyWinter(Random rng) {
+        double u = 0.1 + rng.nextDouble() * 0.2;
+        long winter = ++step;
+        int chunks = (highWater + CHUNK - 1) / CHUNK;
+        forEachChunk(chunks, k -> {
+            int deaths = 0;
+            int[] died = chunkDeaths[k];
+            SplittableRandom r = new SplittableRandom(Numerics.mix(seed, k, 2 * winter));
+            int from = k * CHUNK, to = Math.min(highWater, from + CHUNK);
+            for (int a = from; a < to; a++) {
+                if (age[a] < 0) continue;
+                if (r.nextDouble() >= u) {
+                    age[a] = -1;
+                    died[deaths++] = a;
+                } else {
+                    location[a] = -1;
+                }
+            }
+            deathCount[k] = deaths;
+        });
+        for (int k = 0; k < chunks; k++) {
+            for (int d = 0; d < deathCount[k]; d++) release(chunkDeaths[k][d]);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("colonies[%d agents, bees=%.2f, energy=%.2f, age=%.1f]",
+                alive, population(), meanEnergy(), meanAge());
+    }
+
+    // Demo/Check: skalare BeePopulation (Simulation) gegen Kolonien mit gleichem Seed, Wetter und Modell-RNG.
+    // Jahresend-Bienen und Vigor gemittelt über die Seeds; dazu Agenten und ms je Tag.
+    // Aufruf: java ForagerColonies [beesPerAgent] [years] [seeds]
+    public static void main(String[] args) {
+        double beesPerAgent = args.length > 0 ? Double.parseDouble(args[0]) : 1e-3;
+        int years = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        int seeds = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+        Species[] defs = Test.build(45);
+        DayLengthModel dayLength = new AstroDayLength();
+        Numerics.Stats[] scalarBees = new Numerics.Stats[years + 1], agentBees = new Numerics.Stats[years + 1];
+        Numerics.Stats[] scalarVigor = new Numerics.Stats[years + 1], agentVigor = new Numerics.Stats[years + 1];
+        for (int y = 1; y <= years; y++) {
+            scalarBees[y] = new Numerics.Stats();
+            agentBees[y] = new Numerics.Stats();
+            scalarVigor[y] = new Numerics.Stats();
+            agentVigor[y] = new Numerics.Stats();
+        }
+        long agentNanos = 0, agentDays = 0, maxAgents = 0;
+        for (int r = 1; r <= seeds; r++) {
+            Simulation sim = new Simulation(Test.listWithReproduction(defs, 1), new Weather(r, dayLength, 48.2, 91), r, 120, years);
+            for (int y = 1; y <= years; y++) {
+                sim.stepYear();
+                scalarBees[y].add(sim.bees().population());
+                scalarVigor[y].add(avgVigor(sim.ecosystem().species()));
+            }
+
+            Ecosystem eco = new Ecosystem(Test.listWithReproduction(defs, 1));
+            Weather weather = new Weather(r, dayLength, 48.2, 91);
+            Random random = new Random(r);
+            ForagerColonies bees = single(120, defs.length, beesPerAgent, r);
+            for (int y = 1; y <= years; y++) {
+                eco.resetSeason(random);
+                weather.startSeason();
+                long t0 = System.nanoTime();
+                for (int day = 1; day <= Simulation.seasonDays(); day++) {
+                    eco.dailyUpdate(weather.nextDay(), bees);
+                    maxAgents = Math.max(maxAgents, bees.agents());
+                }
+                agentNanos += System.nanoTime() - t0;
+                agentDays += Simulation.seasonDays();
+                bees.applyWinter(random);
+                eco.winterAll(random);
+                agentBees[y].add(bees.population());
+                agentVigor[y].add(avgVigor(eco.species()));
+            }
+            if (r == 1) System.out.println("seed 1 after " + years + " years: " + bees);
+        }
+        for (int y = 1; y <= years; y++) {
+            System.out.printf("year %3d | bees scalar %7.2f agents %7.2f | avgVigor scalar %7.2f agents %7.2f%n",
+                    y, scalarBees[y].mean, agentBees[y].mean, scalarVigor[y].mean, agentVigor[y].mean);
+        }
+        System.out.printf("beesPerAgent %.0e | up to %d agents | %.2f ms/day%n",
+                beesPerAgent, maxAgents, agentNanos / 1e6 / agentDays);
+    }
+
+    private static double avgVigor(List<PlantSpecies> species) {
+        double sum = 0;
+        for (PlantSpecies s : species) sum += s.vigor();
+        return sum / species.size();
+    }
+}
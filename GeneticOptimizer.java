@@ -0,0 +1,151 @@
+// GeneticOptimizer.java
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+/*
+  Teil vom module calibration. Reellwertiger genetischer Algorithmus im Einheitswürfel:
+  Elitismus, Turnierselektion (k = 3), BLX-α-Crossover (α = 0.3), Gauß-Mutation (σ = 0.1, Rate 1/d).
+  STYLE: prozedural auf double[][]; Zustand = aktuelle Population + Verluste.
+
+  CONTRACT: Kandidaten liegen immer in [0,1]^d. Eliten werden unverändert übernommen → gleiche Vektoren,
+  Calibration bewertet sie aus dem Cache statt neu. Zufall pro Generation aus mix(seed, generation).
+  GOOD: Robust bei verrauschten/multimodalen Verlusten. BAD: braucht mehr Auswertungen als CMA-ES bei glatten Problemen.
+*/
+public final class GeneticOptimizer implements Optimizer {
+    private static final int TOURNAMENT = 3;
+    private static final double ALPHA = 0.3;
+    private static final double MUTATION_SIGMA = 0.1;
+
+    private final int n;
+    private final int size;
+    private final int elites;
+    private final long seed;
+
+    private double[][] population; // null vor der ersten Generation
+    private double[] losses;
+    private int generation;
+    private double[] best;
+    private double bestLoss = Double.POSITIVE_INFINITY;
+
+    // CONTRACT: Preconditions: dimension >= 1, size >= 4, 0 <= elites < size.
+    public GeneticOptimizer(int dimension, int size, int elites, long seed) {
+        if (dimension < 1 || size < 4 || elites < 0 || elites >= size) throw new IllegalArgumentException("bad GA settings");
+        this.n = dimension;
+        this.size = size;
+        this.elites = elites;
+        this.seed = seed;
+    }
+
+    @Override
+    public String name() {
+        return "ga";
+    }
+
+    @Override
+    public double[][] ask() {
+        Random rng = new Random(Numerics.mix(seed, -3, generation));
+        double[][] next = new double[size][n];
+        if (population == null) {
+            for (double[] x : next) for (int i = 0; i < n; i++) x[i] = rng.nextDouble();
+            return next;
+        }
+        Integer[] order = ranking();
+        for (int e = 0; e < elites; e++) next[e] = population[order[e]].clone();
+        for (int k = elites; k < size; k++) {
+            double[] a = population[tournament(rng)];
+            double[] b = population[tournament(rng)];
+            double[] child = next[k];
+            for (int i = 0; i < n; i++) {
+                double lo = Math.min(a[i], b[i]), hi = Math.max(a[i], b[i]), span = hi - lo;
+                double v = lo - ALPHA * span + rng.nextDouble() * (1 + 2 * ALPHA) * span;
+                if (rng.nextDouble() < 1.0 / n) v += MUTATION_SIGMA * rng.nextGaussian();
+                child[i] = Math.max(0, Math.min(1, v));
+            }
+        }
+        return next;
+    }
+
+    private int tournament(Random rng) {
+        int winner = rng.nextInt(size);
+        for (int t = 1; t < TOURNAMENT; t++) {
+            int c = rng.nextInt(size);
+            if (losses[c] < losses[winner]) winner = c;
+        }
+        return winner;
+    }
+
+    private Integer[] ranking() {
+        Integer[] order = new Integer[size];
+        for (int k = 0; k < size; k++) order[k] = k;
+        Arrays.sort(order, Comparator.comparingDouble(k -> losses[k]));
+        return order;
+    }
+
+    @Override
+    public void tell(double[][] candidates, double[] losses) {
+        if (candidates.length != size || losses.length != size) throw new IllegalArgumentException("expected " + size + " candidates");
+        population = new double[size][];
+        for (int k = 0; k < size; k++) population[k] = candidates[k].clone();
+        this.losses = losses.clone();
+        for (int k = 0; k < size; k++) {
+            if (losses[k] < bestLoss) {
+                bestLoss = losses[k];
+                best = candidates[k].clone();
+            }
+        }
+        generation++;
+    }
+
+    @Override
+    public int generation() {
+        return generation;
+    }
+
+    @Override
+    public double[] best() {
+        return (best == null) ? null : best.clone();
+    }
+
+    @Override
+    public double bestLoss() {
+        return bestLoss;
+    }
+
+    @Override
+    public Map<String, String> state() {
+        Map<String, String> s = new LinkedHashMap<>();
+        s.put("optimizer", name());
+        s.put("generation", String.valueOf(generation));
+        if (population != null) {
+            double[] flat = new double[size * n];
+            for (int k = 0; k < size; k++) System.arraycopy(population[k], 0, flat, k * n, n);
+            s.put("population", JsonLines.doubles(flat));
+            s.put("losses", JsonLines.doubles(losses));
+        }
+        if (best != null) {
+            s.put("best", JsonLines.doubles(best));
+            s.put("bestLoss", String.valueOf(bestLoss));
+        }
+        return s;
+    }
+
+    @Override
+    public void restore(Map<String, String> s) {
+        if (!name().equals(s.get("optimizer"))) throw new IllegalArgumentException("checkpoint is not " + name());
+        generation = JsonLines.getInt(s, "generation", 0);
+        double[] flat = JsonLines.getDoubles(s, "population");
+        if (flat != null) {
+            double[] l = JsonLines.getDoubles(s, "losses");
+            if (flat.length != size * n || l == null || l.length != size) throw new IllegalArgumentException("checkpoint size mismatch");
+            population = new double[size][n];
+            for (int k = 0; k < size; k++) System.arraycopy(flat, k * n, population[k], 0, n);
+            losses = l;
+        }
+        best = JsonLines.getDoubles(s, "best");
+        bestLoss = JsonLines.getDouble(s, "bestLoss", Double.POSITIVE_INFINITY);
+    }
+}
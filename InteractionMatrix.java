@@ -0,0 +1,136 @@
+// InteractionMatrix.java
+
+import java.util.Arrays;
+
+/*
+  Teil vom module population. Gewichtetes Pflanzen–Bestäuber-Netzwerk als dünn besetzte Matrix
+  im CSR-Format (compressed sparse row): Zeilen = Gilden, Spalten = Pflanzenarten.
+  STYLE: immutable Datenstruktur aus drei primitiven Arrays, prozedurale Kernel (SpMV).
+
+  CONTRACT: Nach build() unveränderlich. Gewichte > 0; (Gilde, Art)-Paare sind eindeutig
+  (doppelte Einträge werden beim Bauen addiert). Speicher O(guilds + nnz), SpMV O(nnz).
+*/
+public final class InteractionMatrix {
+    private final int guilds;
+    private final int species;
+    private final int[] rowStart;   // Länge guilds+1; Einträge von Gilde g liegen in [rowStart[g], rowStart[g+1])
+    private final int[] speciesIdx; // Spaltenindex je Eintrag, innerhalb einer Zeile aufsteigend
+    private final double[] weight;  // Gewicht je Eintrag
+
+    private InteractionMatrix(int guilds, int species, int[] rowStart, int[] speciesIdx, double[] weight) {
+        this.guilds = guilds;
+        this.species = species;
+        this.rowStart = rowStart;
+        this.speciesIdx = speciesIdx;
+        this.weight = weight;
+    }
+
+    // y = A·x  (pro Gilde: gewichtete Summe über ihre Arten, z.B. Nahrung je Gilde aus Nektar je Art)
+    // CONTRACT: Preconditions: x.length >= species, y.length >= guilds. Postconditions: y[0..guilds) überschrieben.
+    public void multiply(double[] x, double[] y) {
+        for (int g = 0; g < guilds; g++) {
+            double sum = 0;
+            for (int k = rowStart[g], end = rowStart[g + 1]; k < end; k++) {
+                sum += weight[k] * x[speciesIdx[k]];
+            }
+            y[g] = sum;
+        }
+    }
+
+    // y = Aᵀ·x  (pro Art: gewichtete Summe über die Gilden, die sie besuchen). Scatter über die CSR-Zeilen.
+    // CONTRACT: Preconditions: x.length >= guilds, y.length >= species. Postconditions: y[0..species) überschrieben.
+    public void multiplyTransposed(double[] x, double[] y) {
+        Arrays.fill(y, 0, species, 0.0);
+        for (int g = 0; g < guilds; g++) {
+            double xg = x[g];
+            if (xg == 0) continue;
+            for (int k = rowStart[g], end = rowStart[g + 1]; k < end; k++) {
+                y[speciesIdx[k]] += weight[k] * xg;
+            }
+        }
+    }
+
+    public int guilds() {
+        return guilds;
+    }
+
+    public int species() {
+        return species;
+    }
+
+    public int nonZeros() {
+        return rowStart[guilds];
+    }
+
+    /*
+      Builder sammelt Kanten im COO-Format (Tripel) und sortiert beim build() nach (Gilde, Art).
+      STYLE: mutable Builder, einmalige Verwendung.
+    */
+    public static final class Builder {
+        private final int guilds;
+        private final int species;
+        private int[] g = new int[16];
+        private int[] s = new int[16];
+        private double[] w = new double[16];
+        private int n;
+
+        // CONTRACT: Preconditions: guilds > 0, species > 0.
+        public Builder(int guilds, int species) {
+            if (guilds <= 0 || species <= 0) throw new IllegalArgumentException("guilds and species must be > 0");
+            this.guilds = guilds;
+            this.species = species;
+        }
+
+        // Kante Gilde → Art mit Gewicht (Präferenz/Besuchsanteil) hinzufügen.
+        // CONTRACT: Preconditions: 0 <= guild < guilds, 0 <= speciesIndex < species, weight > 0.
+        public Builder link(int guild, int speciesIndex, double weight) {
+            if (guild < 0 || guild >= guilds || speciesIndex < 0 || speciesIndex >= species) {
+                throw new IllegalArgumentException("link out of range: " + guild + " -> " + speciesIndex);
+            }
+            if (!(weight > 0)) throw new IllegalArgumentException("weight must be > 0");
+            if (n == g.length) {
+                g = Arrays.copyOf(g, 2 * n);
+                s = Arrays.copyOf(s, 2 * n);
+                w = Arrays.copyOf(w, 2 * n);
+            }
+            g[n] = guild;
+            s[n] = speciesIndex;
+            w[n] = weight;
+            n++;
+            return this;
+        }
+
+        // COO → CSR: Zählen, Präfixsumme, Einsortieren, dann Zeilen nach Art sortieren und Duplikate addieren.
+        public InteractionMatrix build() {
+            int[] rowStart = new int[guilds + 1];
+            for (int k = 0; k < n; k++) rowStart[g[k] + 1]++;
+            for (int r = 0; r < guilds; r++) rowStart[r + 1] += rowStart[r];
+
+            int[] next = Arrays.copyOf(rowStart, guilds);
+            long[] packed = new long[n]; // (Art << 32 | Position im COO) → Sortierung je Zeile ohne Objekte
+            for (int k = 0; k < n; k++) packed[next[g[k]]++] = ((long) s[k] << 32) | k;
+
+            int[] idx = new int[n];
+            double[] wt = new double[n];
+            int out = 0;
+            int[] compactStart = new int[guilds + 1];
+            for (int r = 0; r < guilds; r++) {
+                compactStart[r] = out;
+                Arrays.sort(packed, rowStart[r], rowStart[r + 1]);
+                for (int k = rowStart[r]; k < rowStart[r + 1]; k++) {
+                    int col = (int) (packed[k] >>> 32);
+                    double val = w[(int) packed[k]];
+                    if (out > compactStart[r] && idx[out - 1] == col) {
+                        wt[out - 1] += val;
+                    } else {
+                        idx[out] = col;
+                        wt[out] = val;
+                        out++;
+                    }
+                }
+            }
+            compactStart[guilds] = out;
+            return new InteractionMatrix(guilds, species, compactStart, Arrays.copyOf(idx, out), Arrays.copyOf(wt, out));
+        }
+    }
+}
@@ -0,0 +1,194 @@
+// JsonLines.java
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+  Teil vom module I/O. Minimaler Parser/Writer für flache JSON-Objekte, eins pro Zeile
+  ({"id":"a","seed":7}). Reicht für Job- und Ergebniszeilen, ohne externe Bibliothek.
+  STYLE: prozedurale Utility mit statischen Methoden.
+
+  CONTRACT: Nur flache Objekte (keine verschachtelten Objekte/Arrays). Werte werden als String
+  geliefert; Zahlen/true/false/null bleiben im Rohtext.
+*/
+public final class JsonLines {
+
+    private JsonLines() {
+    }
+
+    // Eine Zeile in eine geordnete Map zerlegen.
+    // CONTRACT: Preconditions: line != null. Postconditions: Map in Eingabereihenfolge;
+    // IllegalArgumentException bei kaputtem oder verschachteltem JSON und bei Text nach der schließenden Klammer.
+    public static Map<String, String> parse(String line) {
+        Map<String, String> out = new LinkedHashMap<>();
+        int[] pos = {skipWs(line, 0)};
+        expect(line, pos, '{');
+        if (peek(line, pos) == '}') {
+            pos[0]++;
+            return atEnd(line, pos, out);
+        }
+        while (true) {
+            String key = readString(line, pos);
+            expect(line, pos, ':');
+            char c = peek(line, pos);
+            String value;
+            if (c == '"') {
+                value = readString(line, pos);
+            } else if (c == '{' || c == '[') {
+                throw new IllegalArgumentException("nested value for key '" + key + "' not supported");
+            } else {
+                int start = pos[0];
+                while (pos[0] < line.length() && ",} \t".indexOf(line.charAt(pos[0])) < 0) pos[0]++;
+                value = line.substring(start, pos[0]);
+                if (value.isEmpty()) throw new IllegalArgumentException("missing value for key '" + key + "'");
+            }
+            out.put(key, value);
+            char sep = peek(line, pos);
+            pos[0]++;
+            if (sep == '}') return atEnd(line, pos, out);
+            if (sep != ',') throw new IllegalArgumentException("expected ',' or '}' at " + (pos[0] - 1));
+        }
+    }
+
+    // Objekt aus Key/Value-Paaren bauen. Number/Boolean werden roh geschrieben, alles andere als String.
+    // CONTRACT: Preconditions: kv.length gerade, Keys != null. Postconditions: eine Zeile ohne Zeilenumbruch.
+    public static String object(Object... kv) {
+        StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i + 1 < kv.length; i += 2) {
+            if (i > 0) sb.append(',');
+            quote(sb, String.valueOf(kv[i]));
+            sb.append(':');
+            Object v = kv[i + 1];
+            if (v == null) {
+                sb.append("null");
+            } else if (v instanceof Double || v instanceof Float) {
+                double d = ((Number) v).doubleValue();
+                if (Double.isFinite(d)) sb.append(d);
+                else sb.append("null");
+            } else if (v instanceof Number || v instanceof Boolean) {
+                sb.append(v);
+            } else {
+                quote(sb, v.toString());
+            }
+        }
+        return sb.append('}').toString();
+    }
+
+    // Hilfsgetter mit Default.
+    public static double getDouble(Map<String, String> m, String key, double def) {
+        String v = m.get(key);
+        return (v == null || v.equals("null")) ? def : Double.parseDouble(v);
+    }
+
+    public static long getLong(Map<String, String> m, String key, long def) {
+        String v = m.get(key);
+        return (v == null || v.equals("null")) ? def : Long.parseLong(v);
+    }
+
+    public static int getInt(Map<String, String> m, String key, int def) {
+        String v = m.get(key);
+        return (v == null || v.equals("null")) ? def : Integer.parseInt(v);
+    }
+
+    // double[] als String-Wert "1.0,2.5,..." (flach bleibt flach). Double.toString → verlustfrei zurücklesbar.
+    public static String doubles(double[] values) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) sb.append(',');
+            sb.append(values[i]);
+        }
+        return sb.toString();
+    }
+
+    // CONTRACT: Postcondition: null, wenn der Key fehlt; IllegalArgumentException bei nicht-numerischen Einträgen.
+    public static double[] getDoubles(Map<String, String> m, String key) {
+        String v = m.get(key);
+        if (v == null) return null;
+        if (v.isEmpty()) return new double[0];
+        String[] parts = v.split(",");
+        double[] out = new double[parts.length];
+        try {
+            for (int i = 0; i < parts.length; i++) out[i] = Double.parseDouble(parts[i]);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("bad number list for key '" + key + "'");
+        }
+        return out;
+    }
+
+    // STYLE: prozedurale Scanner-Helfer über int[] pos (eine Position, kein Objekt).
+    private static String readString(String s, int[] pos) {
+        expect(s, pos, '"');
+        StringBuilder sb = new StringBuilder();
+        while (pos[0] < s.length()) {
+            char c = s.charAt(pos[0]++);
+            if (c == '"') {
+                pos[0] = skipWs(s, pos[0]);
+                return sb.toString();
+            }
+            if (c == '\\') {
+                if (pos[0] >= s.length()) break;
+                char e = s.charAt(pos[0]++);
+                switch (e) {
+                    case 'n' -> sb.append('\n');
+                    case 't' -> sb.append('\t');
+                    case 'r' -> sb.append('\r');
+                    case 'b' -> sb.append('\b');
+                    case 'f' -> sb.append('\f');
+                    case 'u' -> {
+                        if (pos[0] + 4 > s.length()) throw new IllegalArgumentException("bad \\u escape");
+                        sb.append((char) Integer.parseInt(s.substring(pos[0], pos[0] + 4), 16));
+                        pos[0] += 4;
+                    }
+                    default -> sb.append(e);
+                }
+            } else {
+                sb.append(c);
+            }
+        }
+        throw new IllegalArgumentException("unterminated string");
+    }
+
+    private static void quote(StringBuilder sb, String s) {
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+                    else sb.append(c);
+                }
+            }
+        }
+        sb.append('"');
+    }
+
+    private static void expect(String s, int[] pos, char c) {
+        if (pos[0] >= s.length() || s.charAt(pos[0]) != c) {
+            throw new IllegalArgumentException("expected '" + c + "' at " + pos[0]);
+        }
+        pos[0] = skipWs(s, pos[0] + 1);
+    }
+
+    // Nach dem Objekt darf nur noch Whitespace kommen.
+    private static Map<String, String> atEnd(String s, int[] pos, Map<String, String> out) {
+        pos[0] = skipWs(s, pos[0]);
+        if (pos[0] < s.length()) throw new IllegalArgumentException("trailing characters at " + pos[0]);
+        return out;
+    }
+
+    private static char peek(String s, int[] pos) {
+        pos[0] = skipWs(s, pos[0]);
+        if (pos[0] >= s.length()) throw new IllegalArgumentException("unexpected end of line");
+        return s.charAt(pos[0]);
+    }
+
+    private static int skipWs(String s, int i) {
+        while (i < s.length() && Character.isWhitespace(s.charAt(i))) i++;
+        return i;
+    }
+}
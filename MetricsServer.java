@@ -0,0 +1,74 @@
+// MetricsServer.java
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/*
+  Teil vom module I/O. Eingebetteter HTTP-Endpunkt (JDK com.sun.net.httpserver) nur auf localhost,
+  liefert SimulationMetrics unter /metrics im Prometheus-Textformat.
+  STYLE: kleiner OO-Wrapper um HttpServer; ein eigener Daemon-Thread beantwortet Scrapes.
+
+  CONTRACT: Bindet ausschließlich an die Loopback-Adresse. Scrapes lesen nur gestreifte Zähler
+  → Worker werden nicht blockiert. close() stoppt den Server sofort und beendet den Scrape-Thread.
+*/
+public final class MetricsServer implements AutoCloseable {
+    private final HttpServer server;
+    private final ExecutorService executor; // HttpServer.stop beendet einen eigenen Executor nicht
+
+    // CONTRACT: Preconditions: metrics != null, port >= 0 (0 = freier Port). Postconditions: Server läuft.
+    public MetricsServer(SimulationMetrics metrics, int port) throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/metrics", exchange -> {
+            try (exchange) {
+                if (!"GET".equals(exchange.getRequestMethod())) {
+                    exchange.sendResponseHeaders(405, -1);
+                    return;
+                }
+                byte[] body = metrics.scrape().getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+        });
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "metrics-http");
+            t.setDaemon(true);
+            return t;
+        });
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    // Aufruf: java MetricsServer [port] [scenarios] [threads]
+    // Fährt einen langen Sweep (Test-Gruppe 1, Wien) und zeigt live Metriken unter http://127.0.0.1:port/metrics.
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 9464;
+        int scenarios = args.length > 1 ? Integer.parseInt(args[1]) : 400;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        SimulationMetrics metrics = new SimulationMetrics();
+        try (MetricsServer server = new MetricsServer(metrics, port)) {
+            System.out.println("metrics on http://127.0.0.1:" + server.port() + "/metrics");
+            ParallelSimulationRunner.runSweep("Metrics sweep", Test.build(45), new AstroDayLength(), 48.2, 91,
+                    scenarios, threads, metrics);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+// Numerics.java
+
+/*
+  Teil vom module simulation. Kleine numerische Helfer, die mehrere Module teilen: laufende Statistik für
+  Sweeps/Demos (Stats) und der zustandslose Seed-Mischer für reproduzierbaren Zufall je (seed, Index, Jahr) (mix).
+  STYLE: prozedurale Utility-Klasse wie JsonLines, nicht instanziierbar.
+*/
+public final class Numerics {
+
+    private Numerics() {
+    }
+
+    /**
+     * NOTE: Laufende Mittelwert/Varianz-Statistik (Welford), mergebar über Batches und Prozesse.
+     */
+    static final class Stats {
+        long n;
+        double mean;
+        double m2;
+
+        void add(double x) {
+            n++;
+            double d = x - mean;
+            mean += d / n;
+            m2 += d * (x - mean);
+        }
+
+        // CONTRACT: Postcondition: this beschreibt die Vereinigung beider Stichproben.
+        void merge(long n2, double mean2, double m22) {
+            if (n2 == 0) return;
+            long total = n + n2;
+            double d = mean2 - mean;
+            mean += d * n2 / total;
+            m2 += m22 + d * d * ((double) n * n2 / total);
+            n = total;
+        }
+
+        double stddev() {
+            return (n > 1) ? Math.sqrt(m2 / (n - 1)) : 0;
+        }
+    }
+
+    // SplitMix64-Finalizer über (seed, index, year) → unabhängige Random-Seeds ohne gespeicherten Zustand.
+    static long mix(long seed, long index, long year) {
+        long z = seed + 0x9E3779B97F4A7C15L * (index + 1) + 0xC2B2AE3D27D4EB4FL * year;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,344 @@
+// OffHeapLandscape.java
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/*
+  Teil vom module simulation. Landschaft aus vielen Patches (je Patch eine Artengruppe + Bienen),
+  deren Zustand komplett außerhalb des Java-Heaps liegt: direkte ByteBuffer oder eine memory-mapped
+  Datei. Der GC sieht nur eine Handvoll Buffer-Objekte statt Millionen PlantSpecies/SeedBank.
+  STYLE: prozeduraler Speicher mit festen Offsets; Modelllogik läuft unverändert über Flyweights
+  (ein Ecosystem + BeePopulation je Worker, pro Patch einladen → Saison rechnen → zurückschreiben).
+
+  Layout (little endian):
+    Header (64 Byte): magic, version, patches, species, group, yearsDone:int + active:int (ein 8-Byte-Wort), seed, initialBees
+    Patch  (8 + species*40 Byte): bees:double, dann je Art vigor, bloom, seedSet, bankQuality:double, bankStored:int, pad:int
+  Große Landschaften werden in Chunks (< 2 GiB je Buffer) aufgeteilt.
+  Dateimodus: zwei Patch-Regionen A/B. stepYear liest die aktive Region, schreibt die andere, force() auf die
+  Daten, dann erst (yearsDone, active) in einem 8-Byte-Schreibvorgang + force() auf den Header. Ein Absturz
+  mitten im Jahr lässt die aktive Region unberührt → open() setzt beim letzten vollständigen Jahr fort.
+
+  Modellannahmen:
+  - Wetter ist regional: ein Weather-Strom pro Jahr für alle Patches (Weather hängt nicht vom Pflanzenzustand ab).
+  - Zufall pro (Patch, Jahr) aus Numerics.mix(seed, patch, year) → Jahr n ist ohne gespeicherten RNG-Zustand
+    reproduzierbar, ein Neustart setzt exakt bei yearsDone fort.
+  - Reproduktionszähler sind an Jahresgrenzen immer 0 (start/endOfSeason setzen sie zurück) und werden
+    deshalb nicht gespeichert; persistiert wird nur an Jahresgrenzen.
+
+  CONTRACT: Nach stepYear() ist der Zustand jedes Patches identisch zu einem Ecosystem-Lauf mit denselben
+  DayWeather-Tagen und demselben RNG. Nicht für gleichzeitige stepYear()-Aufrufe gedacht (ein Schreiber).
+  GOOD: Dateimodus überlebt Neustarts und Abstürze (open() liest yearsDone/active aus dem Header) und wird vom OS gepaged.
+  BAD: Java 17 hat kein finales Foreign-Memory-API (MemorySegment); ByteBuffer-Indizes sind int → Chunking nötig.
+*/
+public final class OffHeapLandscape implements AutoCloseable {
+    private static final long MAGIC = 0x42454C414E443031L; // "BELAND01"
+    private static final int VERSION = 2; // 2: A/B-Regionen
+    private static final int HEADER = 64;
+    private static final int SPECIES_BYTES = 40;
+    private static final int DAYS = Simulation.seasonDays();
+
+    // Header-Offsets
+    private static final int H_MAGIC = 0, H_VERSION = 8, H_PATCHES = 12, H_SPECIES = 16, H_GROUP = 20,
+            H_YEARS = 24, H_ACTIVE = 28, H_SEED = 32, H_BEES = 40;
+
+    private final Species[] defs;
+    private final int patches;
+    private final int species;
+    private final int patchStride;
+    private final int patchesPerChunk;
+    private final ByteBuffer header;
+    private final ByteBuffer[][] regions; // [Region][Chunk]; Speichermodus: eine Region, Dateimodus: A/B
+    private final FileChannel channel; // null im reinen Speichermodus
+
+    private OffHeapLandscape(Species[] defs, int patches, ByteBuffer header, ByteBuffer[][] regions,
+                             int patchesPerChunk, FileChannel channel) {
+        this.defs = defs.clone();
+        this.patches = patches;
+        this.species = defs.length;
+        this.patchStride = patchStride(defs.length);
+        this.patchesPerChunk = patchesPerChunk;
+        this.header = header;
+        this.regions = regions;
+        this.channel = channel;
+    }
+
+    // Off-heap im Speicher (direkte Buffer), Startzustand wie Test.listWithReproduction(defs, group).
+    // CONTRACT: Preconditions: patches > 0, defs nicht leer. Postconditions: yearsDone == 0.
+    public static OffHeapLandscape allocate(int patches, Species[] defs, int groupIndex, long seed, double initialBees) {
+        int stride = patchStride(defs.length);
+        int perChunk = patchesPerChunk(stride);
+        ByteBuffer header = ByteBuffer.allocateDirect(HEADER).order(ByteOrder.LITTLE_ENDIAN);
+        ByteBuffer[][] regions = new ByteBuffer[1][(patches + perChunk - 1) / perChunk];
+        for (int c = 0; c < regions[0].length; c++) {
+            int n = Math.min(perChunk, patches - c * perChunk);
+            regions[0][c] = ByteBuffer.allocateDirect(n * stride).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        OffHeapLandscape land = new OffHeapLandscape(defs, patches, header, regions, perChunk, null);
+        land.initialize(groupIndex, seed, initialBees);
+        return land;
+    }
+
+    // Dateigestützt und memory-mapped. Neue oder leere Datei → Startzustand; sonst wird beim letzten vollständig
+    // geschriebenen Jahr fortgesetzt.
+    // CONTRACT: Preconditions: file != null. Postconditions: Datei existiert, Header gültig.
+    // IOException bei I/O-Fehlern; IllegalArgumentException, wenn die Datei keine Landschaftsdatei ist (wird nie
+    // überschrieben) oder zu einer anderen Landschaft gehört.
+    public static OffHeapLandscape open(Path file, int patches, Species[] defs, int groupIndex, long seed, double initialBees)
+            throws IOException {
+        int stride = patchStride(defs.length);
+        int perChunk = patchesPerChunk(stride);
+        boolean fresh = !Files.exists(file) || Files.size(file) == 0;
+        if (!fresh) checkMagic(file);
+        FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long region = (long) patches * stride;
+            long total = HEADER + 2 * region;
+            long existing = ch.size();
+            if (!fresh && existing < total) throw new IllegalArgumentException("landscape file too short: " + file);
+            MappedByteBuffer header = ch.map(FileChannel.MapMode.READ_WRITE, 0, HEADER);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            if (!fresh) checkHeader(header, patches, defs.length, groupIndex, seed);
+            ByteBuffer[][] regions = new ByteBuffer[2][(patches + perChunk - 1) / perChunk];
+            for (int r = 0; r < 2; r++) {
+                for (int c = 0; c < regions[r].length; c++) {
+                    long offset = HEADER + r * region + (long) c * perChunk * stride;
+                    int n = Math.min(perChunk, patches - c * perChunk);
+                    regions[r][c] = ch.map(FileChannel.MapMode.READ_WRITE, offset, (long) n * stride).order(ByteOrder.LITTLE_ENDIAN);
+                }
+            }
+            OffHeapLandscape land = new OffHeapLandscape(defs, patches, header, regions, perChunk, ch);
+            if (fresh) {
+                land.initialize(groupIndex, seed, initialBees);
+                land.flush();
+            }
+            return land;
+        } catch (IOException | RuntimeException ex) {
+            ch.close();
+            throw ex;
+        }
+    }
+
+    // Vor dem Mappen: fremde Dateien (falsche Magic, zu kurz) ablehnen statt sie zu überschreiben.
+    private static void checkMagic(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer b = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+            if (ch.size() < HEADER || ch.read(b, 0) != 8 || b.getLong(0) != MAGIC) {
+                throw new IllegalArgumentException("not a landscape file: " + file);
+            }
+        }
+    }
+
+    private void initialize(int groupIndex, long seed, double initialBees) {
+        header.putLong(H_MAGIC, MAGIC);
+        header.putInt(H_VERSION, VERSION);
+        header.putInt(H_PATCHES, patches);
+        header.putInt(H_SPECIES, species);
+        header.putInt(H_GROUP, groupIndex);
+        header.putLong(H_YEARS, 0L); // yearsDone = 0, active = 0
+        header.putLong(H_SEED, seed);
+        header.putDouble(H_BEES, initialBees);
+        for (int patch = 0; patch < patches; patch++) {
+            ByteBuffer b = chunk(active(), patch);
+            int off = offset(patch);
+            b.putDouble(off, Math.max(0, initialBees));
+            for (int i = 0; i < species; i++) {
+                int o = off + 8 + i * SPECIES_BYTES;
+                b.putDouble(o, Math.max(0, defs[i].y0));
+                b.putDouble(o + 8, 0);
+                b.putDouble(o + 16, 0);
+                b.putDouble(o + 24, 0);
+                b.putInt(o + 32, 0);
+                b.putInt(o + 36, 0);
+            }
+        }
+    }
+
+    private static void checkHeader(ByteBuffer header, int patches, int species, int groupIndex, long seed) {
+        int active = header.getInt(H_ACTIVE);
+        if (header.getInt(H_VERSION) != VERSION || header.getInt(H_PATCHES) != patches
+                || header.getInt(H_SPECIES) != species || header.getInt(H_GROUP) != groupIndex
+                || header.getLong(H_SEED) != seed || (active != 0 && active != 1)) {
+            throw new IllegalArgumentException("landscape file does not match patches/species/group/seed");
+        }
+    }
+
+    // Ein Jahr für alle Patches: regionales Wetter einmal vorberechnen, dann Patches parallel in Blöcken.
+    // CONTRACT: Preconditions: dayLength != null. Postconditions: yearsDone erhöht; im Dateimodus auf Platte geschrieben.
+    // Wirft stepYear (oder stirbt der Prozess) mittendrin, bleibt der Zustand von yearsDone gültig.
+    public void stepYear(DayLengthModel dayLength, double latitude, int dayStart) {
+        int year = yearsDone() + 1;
+        long seed = header.getLong(H_SEED);
+        int group = header.getInt(H_GROUP);
+        int from = active();
+        int to = (regions.length == 2) ? 1 - from : from;
+
+        Weather weather = new Weather(Numerics.mix(seed, -1, year), dayLength, latitude, dayStart);
+        weather.startSeason();
+        DayWeather[] days = new DayWeather[DAYS];
+        for (int d = 0; d < DAYS; d++) days[d] = weather.nextDay();
+
+        final int block = 1024;
+        int blocks = (patches + block - 1) / block;
+        IntStream.range(0, blocks).parallel().forEach(bi -> {
+            // Flyweights pro Block: ~species Objekte, unabhängig von der Patchanzahl
+            Ecosystem eco = new Ecosystem(Test.listWithReproduction(defs, group));
+            List<PlantSpecies> spp = eco.species();
+            BeePopulation bees = new BeePopulation(0);
+            Random rng = new Random();
+            int end = Math.min(patches, (bi + 1) * block);
+            for (int patch = bi * block; patch < end; patch++) {
+                load(from, patch, spp, bees);
+                rng.setSeed(Numerics.mix(seed, patch, year));
+                eco.resetSeason(rng);
+                for (int d = 0; d < DAYS; d++) eco.dailyUpdate(days[d], bees);
+                bees.applyWinterMortality(rng);
+                eco.winterAll(rng);
+                store(to, patch, spp, bees);
+            }
+        });
+        if (channel != null) forceRegion(to);
+        header.putLong(H_YEARS, ((long) to << 32) | (year & 0xFFFFFFFFL)); // yearsDone und active gemeinsam
+        if (channel != null) ((MappedByteBuffer) header).force();
+    }
+
+    private void load(int region, int patch, List<PlantSpecies> spp, BeePopulation bees) {
+        ByteBuffer b = chunk(region, patch);
+        int off = offset(patch);
+        bees.reset(b.getDouble(off));
+        for (int i = 0; i < species; i++) {
+            int o = off + 8 + i * SPECIES_BYTES;
+            PlantSpecies ps = spp.get(i);
+            ps.restoreState(b.getDouble(o), b.getDouble(o + 8), b.getDouble(o + 16));
+            ps.seedBank().restore(b.getInt(o + 32), b.getDouble(o + 24));
+        }
+    }
+
+    private void store(int region, int patch, List<PlantSpecies> spp, BeePopulation bees) {
+        ByteBuffer b = chunk(region, patch);
+        int off = offset(patch);
+        b.putDouble(off, bees.population());
+        for (int i = 0; i < species; i++) {
+            int o = off + 8 + i * SPECIES_BYTES;
+            PlantSpecies ps = spp.get(i);
+            b.putDouble(o, ps.vigor());
+            b.putDouble(o + 8, ps.bloomFraction());
+            b.putDouble(o + 16, ps.seedSet());
+            b.putDouble(o + 24, ps.seedBank().getQualityAvg());
+            b.putInt(o + 32, ps.seedBank().getStored());
+        }
+    }
+
+    // Im Dateimodus die aktive Region und den Header auf Platte schreiben (Header zuletzt → yearsDone nie vor den Daten).
+    public void flush() {
+        if (channel == null) return;
+        forceRegion(active());
+        ((MappedByteBuffer) header).force();
+    }
+
+    private void forceRegion(int region) {
+        for (ByteBuffer c : regions[region]) ((MappedByteBuffer) c).force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        if (channel != null) channel.close();
+    }
+
+    // Read-only-Accessors
+    public int yearsDone() {
+        return header.getInt(H_YEARS);
+    }
+
+    private int active() {
+        return header.getInt(H_ACTIVE);
+    }
+
+    public int patches() {
+        return patches;
+    }
+
+    public double bees(int patch) {
+        return chunk(active(), patch).getDouble(offset(patch));
+    }
+
+    public double vigor(int patch, int speciesIndex) {
+        return chunk(active(), patch).getDouble(offset(patch) + 8 + speciesIndex * SPECIES_BYTES);
+    }
+
+    public double seedSet(int patch, int speciesIndex) {
+        return chunk(active(), patch).getDouble(offset(patch) + 8 + speciesIndex * SPECIES_BYTES + 16);
+    }
+
+    public int seedBankStored(int patch, int speciesIndex) {
+        return chunk(active(), patch).getInt(offset(patch) + 8 + speciesIndex * SPECIES_BYTES + 32);
+    }
+
+    // Off-heap-Bytes insgesamt (Header + Patches, im Dateimodus beide Regionen).
+    public long offHeapBytes() {
+        return HEADER + regions.length * (long) patches * patchStride;
+    }
+
+    private ByteBuffer chunk(int region, int patch) {
+        return regions[region][patch / patchesPerChunk];
+    }
+
+    private int offset(int patch) {
+        return (patch % patchesPerChunk) * patchStride;
+    }
+
+    private static int patchStride(int speciesCount) {
+        return 8 + speciesCount * SPECIES_BYTES;
+    }
+
+    private static int patchesPerChunk(int stride) {
+        return Math.max(1, (Integer.MAX_VALUE - 8) / stride);
+    }
+
+    // Check: Dateimodus mit Neustart (3 + 2 Jahre) gegen 5 Jahre im Speicher; fremde Datei wird abgelehnt, nicht überschrieben.
+    // Aufruf: java OffHeapLandscape [patches] [datei]
+    public static void main(String[] args) throws IOException {
+        int patches = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        Path file = Path.of(args.length > 1 ? args[1] : "landscape.bin");
+        Species[] defs = Test.build(45);
+        DayLengthModel dayLength = new AstroDayLength();
+        Files.deleteIfExists(file);
+        try (OffHeapLandscape land = open(file, patches, defs, 1, 7, 120)) {
+            for (int y = 0; y < 3; y++) land.stepYear(dayLength, 48.2, 91);
+        }
+        int mismatches = 0;
+        try (OffHeapLandscape resumed = open(file, patches, defs, 1, 7, 120);
+             OffHeapLandscape memory = allocate(patches, defs, 1, 7, 120)) {
+            System.out.printf("reopened at year %d (%d MB on disk)%n", resumed.yearsDone(), resumed.offHeapBytes() >> 20);
+            while (resumed.yearsDone() < 5) resumed.stepYear(dayLength, 48.2, 91);
+            for (int y = 0; y < 5; y++) memory.stepYear(dayLength, 48.2, 91);
+            for (int p = 0; p < patches; p++) {
+                if (resumed.bees(p) != memory.bees(p)) mismatches++;
+                for (int i = 0; i < defs.length; i++) {
+                    if (resumed.vigor(p, i) != memory.vigor(p, i) || resumed.seedBankStored(p, i) != memory.seedBankStored(p, i)) mismatches++;
+                }
+            }
+        }
+        System.out.printf("file 3+2 years vs memory 5 years: %d mismatches over %d patches%n", mismatches, patches);
+
+        Path foreign = file.resolveSibling(file.getFileName() + ".foreign");
+        Files.write(foreign, "not a landscape".getBytes(StandardCharsets.UTF_8));
+        try (OffHeapLandscape accepted = open(foreign, patches, defs, 1, 7, 120)) {
+            System.out.println("foreign file accepted (unexpected) at year " + accepted.yearsDone());
+        } catch (IllegalArgumentException expected) {
+            System.out.println("foreign file rejected: " + expected.getMessage() + " | size still " + Files.size(foreign));
+        }
+        Files.deleteIfExists(foreign);
+        Files.deleteIfExists(file);
+    }
+}
@@ -0,0 +1,35 @@
+// Optimizer.java
+
+import java.util.Map;
+
+/*
+  Teil vom module calibration. Ask/Tell-Schnittstelle für ableitungsfreie Optimierer (CmaEs, GeneticOptimizer).
+  Der Aufrufer (Calibration) bewertet die Kandidaten einer Generation parallel und meldet die Verluste zurück.
+  STYLE: OO interface; Zustand ist vollständig über state()/restore() als flache String-Map (JsonLines) sicherbar.
+
+  CONTRACT:
+  - ask() liefert die Kandidaten der nächsten Generation im Einheitswürfel-Koordinatensystem (Werte dürfen
+    bei CMA-ES außerhalb [0,1] liegen; der Aufrufer clampt und bestraft).
+  - tell() genau einmal pro ask(), mit denselben Kandidaten in derselben Reihenfolge. Kleinerer Verlust = besser.
+  - Zufall hängt nur von (seed, generation) ab → nach restore() setzt der Lauf bitgleich fort.
+*/
+public interface Optimizer {
+    String name();
+
+    double[][] ask();
+
+    void tell(double[][] candidates, double[] losses);
+
+    // CONTRACT: Postcondition: Anzahl abgeschlossener tell()-Aufrufe.
+    int generation();
+
+    // CONTRACT: Postcondition: bester bisher gemeldeter Kandidat (null vor dem ersten tell()).
+    double[] best();
+
+    double bestLoss();
+
+    Map<String, String> state();
+
+    // CONTRACT: Preconditions: state stammt von state() desselben Optimierer-Typs und derselben Dimension.
+    void restore(Map<String, String> state);
+}
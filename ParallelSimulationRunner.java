@@ -1,4 +1,8 @@
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * STYLE: parallel Analyseblock. Beginner-freundliche Variante mit ganz normalen Threads
@@ -14,22 +18,65 @@ public final class ParallelSimulationRunner {
     private ParallelSimulationRunner() {
     }
 
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
     /**
      * NOTE: Kleine Hilfsklasse statt moderner "record", damit der Aufbau nachvollziehbar bleibt.
-     * Jeder Datensatz fasst zusammen, was eine Simulation geliefert hat.
+     * Jeder Datensatz fasst zusammen, was eine Simulation geliefert hat – und was sie gekostet hat
+     * (CPU-/Wandzeit und allokierte Bytes des ausführenden Threads; -1 = von der JVM nicht unterstützt).
+     * seedBankStored/maxVigor erklären teure Ausreißer (große SeedBanks, sehr wüchsige Arten).
      */
-    private static final class ScenarioResult {
+    static final class ScenarioResult {
         final int scenarioId;
         final double finalBeePopulation;
         final double avgVigor;
         final double seedSetAvg;
+        final int groupIndex;
+        final long cpuNanos;
+        final long wallNanos;
+        final long allocatedBytes;
+        final long simulatedDays;
+        final long seedBankStored;
+        final double maxVigor;
 
         ScenarioResult(int scenarioId, double finalBeePopulation, double avgVigor, double seedSetAvg) {
+            this(scenarioId, finalBeePopulation, avgVigor, seedSetAvg, 0, -1, -1, -1, 0, 0, Double.NaN);
+        }
+
+        ScenarioResult(int scenarioId, double finalBeePopulation, double avgVigor, double seedSetAvg,
+                       int groupIndex, long cpuNanos, long wallNanos, long allocatedBytes,
+                       long simulatedDays, long seedBankStored, double maxVigor) {
             this.scenarioId = scenarioId;
             this.finalBeePopulation = finalBeePopulation;
             this.avgVigor = avgVigor;
             this.seedSetAvg = seedSetAvg;
+            this.groupIndex = groupIndex;
+            this.cpuNanos = cpuNanos;
+            this.wallNanos = wallNanos;
+            this.allocatedBytes = allocatedBytes;
+            this.simulatedDays = simulatedDays;
+            this.seedBankStored = seedBankStored;
+            this.maxVigor = maxVigor;
         }
+
+        // simulierte Tage pro Sekunde Wandzeit (NaN ohne Messung)
+        double daysPerSecond() {
+            return (wallNanos > 0) ? simulatedDays / (wallNanos / 1e9) : Double.NaN;
+        }
+    }
+
+    // CPU-Zeit des aktuellen Threads in ns, -1 wenn nicht unterstützt/abgeschaltet.
+    static long threadCpuNanos() {
+        return (THREADS.isCurrentThreadCpuTimeSupported() && THREADS.isThreadCpuTimeEnabled())
+                ? THREADS.getCurrentThreadCpuTime() : -1;
+    }
+
+    // Bisher vom aktuellen Thread allokierte Bytes (HotSpot-Erweiterung), -1 wenn nicht verfügbar.
+    static long threadAllocatedBytes() {
+        if (!(THREADS instanceof com.sun.management.ThreadMXBean)) return -1;
+        com.sun.management.ThreadMXBean hs = (com.sun.management.ThreadMXBean) THREADS;
+        if (!hs.isThreadAllocatedMemorySupported() || !hs.isThreadAllocatedMemoryEnabled()) return -1;
+        return hs.getThreadAllocatedBytes(Thread.currentThread().getId());
     }
 
     /**
@@ -109,7 +156,7 @@ public final class ParallelSimulationRunner {
         @Override
         public void run() {
             try {
-                result = simulateScenario(scenarioId, defs, dayLength, latitude, dayStart, seed);
+                result = simulateScenario(scenarioId, scenarioId, defs, dayLength, latitude, dayStart, seed, null);
             } catch (RuntimeException ex) {
                 System.out.println("Scenario " + scenarioId + " failed: " + ex.getMessage());
                 result = null;
@@ -122,18 +169,86 @@ public final class ParallelSimulationRunner {
     }
 
     /**
-     * CONTRACT: Preconditions: defs != null. Postconditions: jede Simulation erzeugt eigene Objekte,
-     * es wird kein Zustand zwischen den Szenarien geteilt.
+     * STYLE: parallel – langer Sweep über viele Szenarien mit einer festen Anzahl normaler Threads.
+     * Jeder Worker holt sich die nächste Szenario-Nummer aus einem gemeinsamen Zähler (kein ExecutorService).
+     * Szenario i (1-basiert): seed = 1000 + (i-1)*37, Reproduktionsmix = Gruppe ((i-1) % 4) + 1
+     * → die vier Stress-Szenarien von runParallelScenarios mit immer neuen Seeds.
+     * CONTRACT: Preconditions: defs != null, scenarios >= 0, threads > 0; metrics darf null sein.
+     * Postconditions: Liste in Szenario-Reihenfolge, fehlgeschlagene Szenarien fehlen; Zusammenfassung und
+     * Kostenbericht (SweepCost, inkl. Ausreißer) auf System.out.
+     * GOOD: Mit SimulationMetrics sind Fortschritt, Queue-Tiefe und Phasenzeiten schon während des Laufs sichtbar.
+     */
+    public static List<ScenarioResult> runSweep(String title,
+                                                Species[] defs,
+                                                DayLengthModel dayLength,
+                                                double latitude,
+                                                int dayStart,
+                                                int scenarios,
+                                                int threads,
+                                                SimulationMetrics metrics) {
+        System.out.println("\nPARALLEL SWEEP - " + title + " (" + scenarios + " scenarios, " + threads + " threads)");
+        ScenarioResult[] results = new ScenarioResult[scenarios];
+        AtomicInteger next = new AtomicInteger();
+        if (metrics != null) metrics.enqueued(scenarios);
+
+        Thread[] workers = new Thread[threads];
+        for (int w = 0; w < workers.length; w++) {
+            workers[w] = new Thread(() -> {
+                int i;
+                while ((i = next.getAndIncrement()) < scenarios) {
+                    if (metrics != null) metrics.dequeued();
+                    int scenarioId = i + 1;
+                    long seed = 1000L + (long) i * 37L;
+                    try {
+                        results[i] = simulateScenario(scenarioId, (i % 4) + 1, defs, dayLength, latitude, dayStart, seed, metrics);
+                    } catch (RuntimeException ex) {
+                        if (metrics != null) metrics.recordFailure();
+                        System.out.println("Scenario " + scenarioId + " failed: " + ex.getMessage());
+                    }
+                }
+            }, "Sweep-" + (w + 1));
+            workers[w].start();
+        }
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+                System.out.println("Parallel sweep interrupted – stopping early.");
+                break;
+            }
+        }
+
+        List<ScenarioResult> done = new ArrayList<>(scenarios);
+        for (ScenarioResult r : results) {
+            if (r != null) done.add(r);
+        }
+        double meanBees = done.stream().mapToDouble(r -> r.finalBeePopulation).average().orElse(0);
+        double meanVigor = done.stream().mapToDouble(r -> r.avgVigor).average().orElse(0);
+        System.out.printf("Sweep done | runs=%d/%d | meanBees=%6.2f | meanAvgVigor=%6.2f%n",
+                done.size(), scenarios, meanBees, meanVigor);
+        SweepCost.of(done).print(System.out);
+        return done;
+    }
+
+    /**
+     * CONTRACT: Preconditions: defs != null. Postconditions: Simulation kommt aus dem SimulationPool des Threads
+     * (zurückgesetzt, Ergebnis wie bei Neuanlage); zwischen Threads wird kein Zustand geteilt. metrics == null → keine Probe, unveränderter Hot Loop.
+     * Kosten werden auf dem aufrufenden Thread gemessen (ein Szenario = ein Thread von Anfang bis Ende).
      */
-    private static ScenarioResult simulateScenario(int scenarioId,
-                                                   Species[] defs,
-                                                   DayLengthModel dayLength,
-                                                   double latitude,
-                                                   int dayStart,
-                                                   long seed) {
-        Weather weather = new Weather(seed, dayLength, latitude, dayStart);
-        List<PlantSpecies> species = Test.listWithReproduction(defs, scenarioId);
-        Simulation simulation = new Simulation(species, weather, seed + 13L, 60, 5);
+    static ScenarioResult simulateScenario(int scenarioId,
+                                           int groupIndex,
+                                           Species[] defs,
+                                           DayLengthModel dayLength,
+                                           double latitude,
+                                           int dayStart,
+                                           long seed,
+                                           SimulationMetrics metrics) {
+        long cpu0 = threadCpuNanos();
+        long alloc0 = threadAllocatedBytes();
+        long t0 = System.nanoTime();
+        Simulation simulation = SimulationPool.acquire(defs, groupIndex, dayLength, latitude, dayStart, seed + 13L, seed, 60, 5);
+        if (metrics != null) simulation.attach(metrics.probe(), SimulationMetrics.probeSampling());
         simulation.run();
         double bees = simulation.bees().population();
         double avgVigor = simulation.ecosystem().species().stream()
@@ -144,6 +259,18 @@ public final class ParallelSimulationRunner {
                 .mapToDouble(PlantSpecies::seedSet)
                 .average()
                 .orElse(0);
-        return new ScenarioResult(scenarioId, bees, avgVigor, seedAvg);
+        long stored = 0;
+        double maxVigor = 0;
+        for (PlantSpecies s : simulation.ecosystem().species()) {
+            stored += s.seedBank().getStored();
+            maxVigor = Math.max(maxVigor, s.vigor());
+        }
+        long wall = System.nanoTime() - t0;
+        long cpu1 = threadCpuNanos();
+        long alloc1 = threadAllocatedBytes();
+        if (metrics != null) metrics.recordScenario(wall, bees, avgVigor);
+        return new ScenarioResult(scenarioId, bees, avgVigor, seedAvg, groupIndex,
+                (cpu0 < 0 || cpu1 < 0) ? -1 : cpu1 - cpu0, wall, (alloc0 < 0 || alloc1 < 0) ? -1 : alloc1 - alloc0,
+                (long) simulation.yearsDone() * Simulation.seasonDays(), stored, maxVigor);
     }
 }
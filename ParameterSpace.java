@@ -0,0 +1,92 @@
+// ParameterSpace.java
+
+import java.util.Locale;
+
+/*
+  Teil vom module config. Kalibrierbare Artparameter als Vektor: Optimierer (CmaEs, GeneticOptimizer) und
+  Sensitivitätsanalysen arbeiten im Einheitswürfel [0,1]^d, decode() macht daraus ein Species[] wie Test.build.
+  STYLE: immutable Beschreibung (Namen + Grenzen) mit prozeduralen Umrechnungen.
+
+  Parameter (für alle Arten gemeinsam, Blühfenster wie Test.build je Art um 120 versetzt):
+    q, p, cMin, cMax, hStart (Basis), hLength (= hEnd - hStart)
+  CONTRACT: decode() clampt auf [0,1] und repariert cMax < cMin (cMax := cMin) → immer gültige Arten.
+*/
+public final class ParameterSpace {
+    private static final String[] NAMES = {"q", "p", "cMin", "cMax", "hStart", "hLength"};
+
+    private final double[] lower;
+    private final double[] upper;
+    private final int y0;
+    private final int speciesCount;
+
+    // CONTRACT: Preconditions: lower.length == upper.length == 6, lower <= upper. y0 wie Test.build(y0).
+    public ParameterSpace(double[] lower, double[] upper, int y0, int speciesCount) {
+        if (lower.length != NAMES.length || upper.length != NAMES.length) {
+            throw new IllegalArgumentException("need " + NAMES.length + " bounds");
+        }
+        for (int k = 0; k < NAMES.length; k++) {
+            if (!(lower[k] <= upper[k])) throw new IllegalArgumentException("bad bounds for " + NAMES[k]);
+        }
+        this.lower = lower.clone();
+        this.upper = upper.clone();
+        this.y0 = y0;
+        this.speciesCount = speciesCount;
+    }
+
+    // Standardgrenzen um die Werte aus Test.build (q < 1/15 laut PlantSpecies).
+    public static ParameterSpace standard(int y0) {
+        return new ParameterSpace(
+                new double[]{0.01, 0.0001, 0.90, 1.00, 0, 300},
+                new double[]{0.066, 0.01, 1.10, 1.30, 300, 1000},
+                y0, 10);
+    }
+
+    public int dimension() {
+        return NAMES.length;
+    }
+
+    public String name(int k) {
+        return NAMES[k];
+    }
+
+    // Einheitswürfel → Rohwerte (geclamped).
+    public double[] toRaw(double[] unit) {
+        double[] raw = new double[NAMES.length];
+        for (int k = 0; k < raw.length; k++) {
+            double u = Math.max(0, Math.min(1, unit[k]));
+            raw[k] = lower[k] + u * (upper[k] - lower[k]);
+        }
+        return raw;
+    }
+
+    public double[] toUnit(double[] raw) {
+        double[] unit = new double[NAMES.length];
+        for (int k = 0; k < unit.length; k++) {
+            double w = upper[k] - lower[k];
+            unit[k] = (w > 0) ? (raw[k] - lower[k]) / w : 0;
+        }
+        return unit;
+    }
+
+    // CONTRACT: Postcondition: speciesCount Arten, Art i mit y0 + i und Blühfenster ab hStart + 120 i.
+    public Species[] decode(double[] unit) {
+        double[] r = toRaw(unit);
+        double cMin = r[2], cMax = Math.max(r[2], r[3]);
+        Species[] g = new Species[speciesCount];
+        for (int i = 0; i < speciesCount; i++) {
+            double hS = r[4] + 120 * i;
+            g[i] = new Species(y0 + i, cMin, cMax, 0.01, 0.99, hS, hS + r[5], r[0], r[1]);
+        }
+        return g;
+    }
+
+    public String describe(double[] unit) {
+        double[] r = toRaw(unit);
+        StringBuilder sb = new StringBuilder();
+        for (int k = 0; k < r.length; k++) {
+            if (k > 0) sb.append(' ');
+            sb.append(String.format(Locale.ROOT, "%s=%.5g", NAMES[k], r[k]));
+        }
+        return sb.toString();
+    }
+}
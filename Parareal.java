@@ -0,0 +1,369 @@
+// Parareal.java
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+  Teil vom module simulation. Zeitparallele Rechnung EINES langen Laufs über die Jahre (Parareal):
+  ein billiger Grobpropagator G (CoarseSimulation, ein Jahr, mit demselben vorberechneten Tageswetter) sagt den
+  Zustand an jeder Jahresgrenze voraus,
+  dann rechnet der Feinpropagator F (Tagesmodell, ein Jahr) alle Jahre parallel ab den vorhergesagten Zuständen,
+  und die Korrektur U[j+1] = G(U_neu[j]) + F(U_alt[j]) − G(U_alt[j]) läuft seriell, bis sich die Jahresgrenzen
+  nicht mehr ändern.
+  STYLE: Flyweights je Worker wie OffHeapLandscape (Ecosystem + BeePopulation laden → Jahr rechnen → auslesen);
+  Zufall je Jahr aus Numerics.mix(seed, tag, year) → jedes Jahr ist eine reine Funktion seines Startzustands.
+
+  Zustand an der Jahresgrenze (Reproduktionszähler, Blüte und Samenansatz sind dort immer 0 bzw. werden neu gesetzt):
+    [0] bees, dann je Art vigor, bankQuality, bankStored  → 1 + 3·Arten doubles
+
+  CONTRACT:
+  - Referenz ist sequential(): dieselben Jahre nacheinander mit F. Nach k Iterationen sind die ersten k Jahre exakt
+    gleich (Parareal-Eigenschaft); bei Konvergenz (maxChange <= tolerance) weicht der Rest höchstens in dieser Größe ab,
+    nach years Iterationen ist alles bitgleich.
+  - Läufe mit Parareal sind NICHT bitgleich zu Simulation (dort ein RNG über alle Jahre), nur zu sequential().
+  GOOD: Liefert die Jahresgrenzen mit nachweisbarer Genauigkeit (maxChange je Iteration) und rechnet die Feinjahre
+  einer Iteration unabhängig voneinander – Struktur und Korrektheit sind da, falls einmal ein billiges G existiert.
+  BAD: Mit diesem G KEIN Gewinn, auf keiner Kernzahl. Wandzeit ~ Iterationen × (Jahre/Threads · F + Jahre · G), also
+  Speedup <= (F / G) / Iterationen. G liest dieselben Tageswetter-Arrays und rechnet Blüte und Fruchtkette tageweise
+  (die Rundung der Fruchtkette braucht das, siehe CoarseSimulation) → warm nur ~4× billiger als F (~0.025 vs ~0.105
+  ms/Jahr). Bei 4–12 Iterationen (Test-Gruppen, 200 Jahre, tolerance 1e-3; chaotische SeedBank-Schwellen) ist schon
+  der serielle G-Teil allein so teuer wie sequential() (main druckt ihn und die Schranke sequential / seriell).
+  Lohnen würde sich das erst mit G/F <~ 1/50 bei gleicher Iterationszahl; ein gröberes G (ein Schritt je Saison) trifft
+  die ganzzahligen Rundungen noch schlechter und braucht mehr Iterationen.
+*/
+public final class Parareal implements AutoCloseable {
+    private static final int DAYS = Simulation.seasonDays();
+
+    private final Species[] defs;
+    private final int group;
+    private final DayLengthModel dayLength;
+    private final double latitude;
+    private final int dayStart;
+    private final long seed;
+    private final double initialBees;
+    private final int years;
+    private final int stateSize;
+    private final ExecutorService pool;
+    private final boolean ownsPool;
+    private final ThreadLocal<Fine> fine;
+    private final CoarseSimulation coarse;
+    private double[][] sun, cumSun, moisture; // Tageswetter je Jahr (1-basiert), einmal parallel vorberechnet
+
+    // Ein Feinpropagator je Worker-Thread.
+    private final class Fine {
+        final List<PlantSpecies> species = Test.listWithReproduction(defs, group);
+        final Ecosystem ecosystem = new Ecosystem(species);
+        final BeePopulation bees = new BeePopulation(0);
+        final Random rng = new Random();
+    }
+
+    /** Ergebnis: Zustände an allen Jahresgrenzen (0 = Start) und Konvergenzverlauf. */
+    public static final class Result {
+        private final double[][] states;
+        private final int iterations;
+        private final boolean converged;
+        private final double[] maxChange;
+        private final long fineYears;
+        private final long coarseNanos;
+
+        Result(double[][] states, int iterations, boolean converged, double[] maxChange, long fineYears,
+               long coarseNanos) {
+            this.states = states;
+            this.iterations = iterations;
+            this.converged = converged;
+            this.maxChange = maxChange;
+            this.fineYears = fineYears;
+            this.coarseNanos = coarseNanos;
+        }
+
+        public int iterations() {
+            return iterations;
+        }
+
+        public boolean converged() {
+            return converged;
+        }
+
+        // maximale relative Änderung der Jahresgrenzen in Iteration k (1-basiert)
+        public double maxChange(int iteration) {
+            return maxChange[iteration - 1];
+        }
+
+        // gerechnete Feinjahre insgesamt (sequential() braucht genau years)
+        public long fineYears() {
+            return fineYears;
+        }
+
+        // gemessene Zeit im seriellen Teil (alle G-Jahre samt Korrektur) in ns; sequential(): 0
+        public long coarseNanos() {
+            return coarseNanos;
+        }
+
+        public double bees(int year) {
+            return states[year][0];
+        }
+
+        public double vigor(int year, int species) {
+            return states[year][1 + 3 * species];
+        }
+
+        public int seedBankStored(int year, int species) {
+            return (int) Math.round(states[year][3 + 3 * species]);
+        }
+
+        double[] state(int year) {
+            return states[year].clone();
+        }
+    }
+
+    // CONTRACT: Preconditions: defs, dayLength != null, years >= 1, threads >= 1.
+    public Parareal(Species[] defs, int group, DayLengthModel dayLength, double latitude, int dayStart,
+                    long seed, double initialBees, int years, int threads) {
+        this(defs, group, dayLength, latitude, dayStart, seed, initialBees, years, newPool(threads), true);
+    }
+
+    // Mit fremdem Executor (z.B. ScalingHarness); close() lässt ihn dann laufen.
+    Parareal(Species[] defs, int group, DayLengthModel dayLength, double latitude, int dayStart,
+             long seed, double initialBees, int years, ExecutorService pool) {
+        this(defs, group, dayLength, latitude, dayStart, seed, initialBees, years, pool, false);
+    }
+
+    private Parareal(Species[] defs, int group, DayLengthModel dayLength, double latitude, int dayStart,
+                     long seed, double initialBees, int years, ExecutorService pool, boolean ownsPool) {
+        this.defs = defs;
+        this.group = group;
+        this.dayLength = dayLength;
+        this.latitude = latitude;
+        this.dayStart = dayStart;
+        this.seed = seed;
+        this.initialBees = initialBees;
+        this.years = years;
+        this.stateSize = 1 + 3 * defs.length;
+        this.fine = ThreadLocal.withInitial(Fine::new);
+        this.coarse = new CoarseSimulation(defs, group, dayLength, latitude, dayStart, 0, 0, initialBees,
+                CoarseSimulation.Stepping.PHASES);
+        this.pool = pool;
+        this.ownsPool = ownsPool;
+    }
+
+    private static ExecutorService newPool(int threads) {
+        AtomicInteger ids = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "parareal-" + ids.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    private double[] initialState() {
+        double[] s = new double[stateSize];
+        s[0] = initialBees;
+        for (int i = 0; i < defs.length; i++) s[1 + 3 * i] = Math.max(0, defs[i].y0);
+        return s;
+    }
+
+    // Wetter hängt nicht vom Zustand ab → alle Jahre vorab parallel; F und G lesen dieselben Tage.
+    // CONTRACT: Postcondition: idempotent; RuntimeException, wenn ein Jahr scheitert.
+    public void prepareWeather() {
+        if (sun != null) return;
+        List<Future<double[][]>> futures = new ArrayList<>();
+        for (int y = 1; y <= years; y++) {
+            int year = y;
+            futures.add(pool.submit((Callable<double[][]>) () -> {
+                Weather weather = new Weather(Numerics.mix(seed, -1, year), dayLength, latitude, dayStart);
+                weather.startSeason();
+                double[][] days = new double[3][DAYS];
+                for (int d = 0; d < DAYS; d++) {
+                    DayWeather w = weather.nextDay();
+                    days[0][d] = w.sunHoursToday();
+                    days[1][d] = w.cumSunHours();
+                    days[2][d] = w.soilMoisture();
+                }
+                return days;
+            }));
+        }
+        List<double[][]> done = join(futures);
+        double[][] s = new double[years + 1][], c = new double[years + 1][], m = new double[years + 1][];
+        for (int y = 1; y <= years; y++) {
+            s[y] = done.get(y - 1)[0];
+            c[y] = done.get(y - 1)[1];
+            m[y] = done.get(y - 1)[2];
+        }
+        sun = s;
+        cumSun = c;
+        moisture = m;
+    }
+
+    private static <T> List<T> join(List<Future<T>> futures) {
+        List<T> out = new ArrayList<>(futures.size());
+        try {
+            for (Future<T> f : futures) out.add(f.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("parareal interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("parareal year failed", e.getCause());
+        }
+        return out;
+    }
+
+    // F: Jahr year (1-basiert) im Tagesmodell ab state. Reine Funktion (Zufall aus mix), thread-sicher.
+    double[] fineYear(int year, double[] state) {
+        Fine f = fine.get();
+        f.bees.reset(Math.max(0, state[0]));
+        for (int i = 0; i < defs.length; i++) {
+            PlantSpecies ps = f.species.get(i);
+            ps.restoreState(state[1 + 3 * i], 0, 0);
+            ps.seedBank().restore((int) Math.max(0, Math.round(state[3 + 3 * i])), state[2 + 3 * i]);
+        }
+        double[] s = sun[year], c = cumSun[year], m = moisture[year];
+        f.rng.setSeed(Numerics.mix(seed, 0, year));
+        f.ecosystem.resetSeason(f.rng);
+        for (int d = 0; d < DAYS; d++) f.ecosystem.dailyUpdate(new DayWeather(s[d], c[d], m[d]), f.bees);
+        f.bees.applyWinterMortality(f.rng);
+        f.ecosystem.winterAll(f.rng);
+        double[] out = new double[stateSize];
+        out[0] = f.bees.population();
+        for (int i = 0; i < defs.length; i++) {
+            PlantSpecies ps = f.species.get(i);
+            out[1 + 3 * i] = ps.vigor();
+            out[2 + 3 * i] = ps.seedBank().getQualityAvg();
+            out[3 + 3 * i] = ps.seedBank().getStored();
+        }
+        return out;
+    }
+
+    // G: dasselbe Jahr grob (CoarseSimulation mit denselben Jahres-Seeds). Nur vom Aufrufer-Thread.
+    private double[] coarseYear(int year, double[] state) {
+        coarse.load(state);
+        coarse.reseed(Numerics.mix(seed, -1, year), Numerics.mix(seed, 0, year));
+        coarse.stepYear(sun[year], moisture[year]);
+        double[] out = new double[stateSize];
+        coarse.store(out);
+        return out;
+    }
+
+    // Referenz: alle Jahre nacheinander mit F.
+    public Result sequential() {
+        prepareWeather();
+        double[][] u = new double[years + 1][];
+        u[0] = initialState();
+        for (int y = 1; y <= years; y++) u[y] = fineYear(y, u[y - 1]);
+        return new Result(u, 0, true, new double[0], years, 0);
+    }
+
+    // CONTRACT: Preconditions: tolerance >= 0, maxIterations >= 1.
+    // Postconditions: converged, sobald die maximale relative Änderung |neu − alt| / (1 + |alt|) <= tolerance
+    // oder alle Jahre exakt sind; RuntimeException, wenn ein Feinjahr scheitert.
+    public Result run(double tolerance, int maxIterations) {
+        prepareWeather();
+        double[][] u = new double[years + 1][];
+        double[][] g = new double[years + 1][];
+        u[0] = initialState();
+        long serial0 = System.nanoTime();
+        for (int y = 1; y <= years; y++) {
+            g[y] = coarseYear(y, u[y - 1]);
+            u[y] = g[y];
+        }
+        long coarseNanos = System.nanoTime() - serial0;
+        double[] changes = new double[Math.min(maxIterations, years)];
+        long fineYears = 0;
+        int k = 0;
+        boolean converged = false;
+        while (k < changes.length && !converged) {
+            // Feinjahre parallel ab den aktuellen Grenzen; Jahre <= k sind bereits exakt
+            List<Future<double[]>> futures = new ArrayList<>();
+            for (int y = k + 1; y <= years; y++) {
+                int year = y;
+                double[] start = u[y - 1];
+                futures.add(pool.submit((Callable<double[]>) () -> fineYear(year, start)));
+            }
+            List<double[]> done = join(futures);
+            double[][] f = new double[years + 1][];
+            for (int y = k + 1; y <= years; y++) f[y] = done.get(y - k - 1);
+            fineYears += years - k;
+            // serielle Korrektur
+            serial0 = System.nanoTime();
+            double change = relativeChange(f[k + 1], u[k + 1]);
+            u[k + 1] = f[k + 1];
+            double[] prev = u[k + 1];
+            for (int y = k + 2; y <= years; y++) {
+                double[] gNew = coarseYear(y, prev);
+                double[] next = new double[stateSize];
+                for (int c = 0; c < stateSize; c++) next[c] = f[y][c] + (gNew[c] - g[y][c]);
+                clampState(next);
+                change = Math.max(change, relativeChange(next, u[y]));
+                g[y] = gNew;
+                u[y] = next;
+                prev = next;
+            }
+            coarseNanos += System.nanoTime() - serial0;
+            changes[k] = change;
+            k++;
+            converged = change <= tolerance || k >= years;
+        }
+        double[] maxChange = new double[k];
+        System.arraycopy(changes, 0, maxChange, 0, k);
+        return new Result(u, k, converged, maxChange, fineYears, coarseNanos);
+    }
+
+    // Invarianten wie PlantSpecies/SeedBank (Korrektur kann sie kurz verletzen).
+    private void clampState(double[] s) {
+        s[0] = Math.max(0, s[0]);
+        for (int i = 0; i < defs.length; i++) {
+            s[1 + 3 * i] = Math.max(0, s[1 + 3 * i]);
+            s[2 + 3 * i] = Math.max(0, Math.min(1, s[2 + 3 * i]));
+            s[3 + 3 * i] = Math.max(0, Math.round(s[3 + 3 * i]));
+        }
+    }
+
+    private static double relativeChange(double[] a, double[] b) {
+        double max = 0;
+        for (int c = 0; c < a.length; c++) max = Math.max(max, Math.abs(a[c] - b[c]) / (1 + Math.abs(b[c])));
+        return max;
+    }
+
+    @Override
+    public void close() {
+        if (ownsPool) pool.shutdownNow();
+    }
+
+    // Aufruf: java Parareal [years] [threads] [tolerance] [maxIterations]
+    // Vergleich gegen sequential(): Iterationen, Feinjahre, Zeit und Abweichung im letzten Jahr.
+    public static void main(String[] args) {
+        int years = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        double tolerance = args.length > 2 ? Double.parseDouble(args[2]) : 1e-3;
+        int maxIterations = args.length > 3 ? Integer.parseInt(args[3]) : 50;
+        DayLengthModel dayLength = new AstroDayLength();
+        Species[][] groups = {Test.build(45), Test.build(50), Test.build(55)};
+        for (int g = 1; g <= groups.length; g++) {
+            try (Parareal p = new Parareal(groups[g - 1], g, dayLength, 48.2, 91, 1000 + g, 120, years, threads)) {
+                long t0 = System.nanoTime();
+                Result ref = p.sequential();
+                long t1 = System.nanoTime();
+                Result par = p.run(tolerance, maxIterations);
+                long t2 = System.nanoTime();
+                double err = relativeChange(par.state(years), ref.state(years));
+                System.out.printf("group %d | %d years | %d threads | sequential %7.1f ms | parareal %7.1f ms | iterations %d%s"
+                                + " | fine years %d (%.1fx) | final-year error %.2e | bees %.2f vs %.2f%n",
+                        g, years, threads, (t1 - t0) / 1e6, (t2 - t1) / 1e6, par.iterations(),
+                        par.converged() ? "" : " (not converged)", par.fineYears(), par.fineYears() / (double) years,
+                        err, par.bees(years), ref.bees(years));
+                // ideale Wandzeit bei threads Kernen: gemessene Feinjahre / threads + gemessener serieller Teil
+                double fineMs = (t1 - t0) / 1e6 / years, serialMs = par.coarseNanos() / 1e6;
+                System.out.printf("  ideal wall time on %d cores ~ %.1f ms (fine %.3f ms/year, serial %.1f ms)"
+                                + " | speedup bound on any core count %.2fx%n",
+                        threads, par.fineYears() * fineMs / threads + serialMs, fineMs, serialMs,
+                        (t1 - t0) / 1e6 / serialMs);
+            }
+        }
+    }
+}
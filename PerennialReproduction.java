@@ -7,11 +7,26 @@ import java.util.Random;
 
 // Mehrjährige Pflanzen - weniger Sameproduktion, speichert Samen
 public class PerennialReproduction implements Reproduction {
+
+    private static final ReproductionRates RATES = ReproductionRates.PERENNIAL;
 
     private int flowers;
     private int pollinated;
     private int fruits;
     private int seeds;
+    private final boolean stochastic;
+    private Random rng;
+
+    public PerennialReproduction() {
+        this(false);
+    }
+
+    // stochastic = true: Tageszählungen als Poisson/Binomial-Ziehungen (DiscreteSampler) statt gerundeter Anteile,
+    // gezogen aus dem Saison-RNG aus startOfSeason. Erwartungswert je Ziehung = der ungerundete Anteil (Füllrate auf 1
+    // begrenzt); deterministisch wird er gerundet → im Mittel mehr Samen als dort (siehe DiscreteSampler).
+    public PerennialReproduction(boolean stochastic) {
+        this.stochastic = stochastic;
+    }
 
     @Override
     // CONTRACT: Preconditions: plant, weather, bees != null; food >= 0. Postconditions: counters bleiben >= 0.
@@ -20,32 +35,36 @@ public class PerennialReproduction implements Reproduction {
         if (b <= 0) return;
 
         // Blütenöffnung proportional Blühanteil und vigor
-        int openedToday = (int) Math.round(plant.vigor()*b*0.05);
+        int openedToday = stochastic ? DiscreteSampler.poisson(rng(), RATES.openedMean(plant.vigor(), b))
+                : RATES.opened(plant.vigor(), b);
         this.flowers += openedToday;
 
         // Bestäubung in Abhängigkeit zu Bienenlimit
-        double pollinationEfficieny = (food <= 0) ? 0 : Math.min(1, bees.population() / food);
-        int pollinatedToday = (int) Math.round(openedToday * (0.3+0.5*pollinationEfficieny));
+        double pollinationEfficieny = ReproductionRates.efficiency(bees.population(), food);
+        int pollinatedToday = stochastic ? DiscreteSampler.binomial(rng, openedToday, RATES.pollinatedShare(pollinationEfficieny))
+                : RATES.pollinated(openedToday, pollinationEfficieny);
         this.pollinated += pollinatedToday;
 
         // Fruchtbarkeit ist abhängig von Sonne
-        int fill = (int) Math.round(pollinatedToday * (0.6*weather.sunHoursToday()/16));
+        int fill = stochastic ? DiscreteSampler.binomial(rng, pollinatedToday, RATES.fillShare(weather.sunHoursToday()))
+                : RATES.filled(pollinatedToday, weather.sunHoursToday());
         this.fruits += fill;
 
         // ein Teil wird täglich reif
-        int ripen = (int) Math.round(this.fruits*0.08);
+        int ripen = stochastic ? DiscreteSampler.binomial(rng, this.fruits, RATES.ripenRate)
+                : RATES.ripened(this.fruits);
         this.seeds += ripen;
         this.fruits -= ripen;
 
         // Durch Reproduktion geht ein wenig vigor verloren
-        plant.mulVigor(0.9995);
+        plant.mulVigor(RATES.vigorCost);
     }
 
     @Override
     // CONTRACT: Preconditions: plant, seeds, rng != null. Postconditions: counters reset, vigor bleibt bestehen.
     public void endOfSeason(PlantSpecies plant, SeedBank seeds, Random rng) {
         // Qualität aus Wetter und Bees berechnen
-        double q = Math.min(1,0.6+0.4*plant.seedSet());
+        double q = RATES.seedQuality(plant.seedSet());
         seeds.add(new SeedOutput(this.seeds, q));
         this.flowers = this.pollinated = this.fruits = this.seeds = 0;
 
@@ -55,9 +74,18 @@ public class PerennialReproduction implements Reproduction {
     // CONTRACT: Preconditions: plant, seeds, rng != null. Postconditions: counters reset; vigor erhöht sich leicht.
     public void startOfSeason(PlantSpecies plant, SeedBank seeds, Random rng) {
         this.flowers = this.pollinated = this.fruits = this.seeds = 0;
+        this.rng = rng;
         // geringe Keimung
-        int germ = (int) Math.round(seeds.germinate(rng) * 0.3);
-        plant.addVigor(germ*0.2*Math.max(0.2, seeds.getQualityAvg()));
+        int germinated = seeds.germinate(rng);
+        int germ = stochastic ? DiscreteSampler.binomial(rng, germinated, RATES.establishRate) : RATES.established(germinated);
+        plant.addVigor(RATES.seedlingGain(germ, seeds.getQualityAvg()));
     }
 
+    // Saison-RNG aus startOfSeason. Ein eigener ungeseedeter RNG würde den stochastischen Modus unreproduzierbar machen.
+    // CONTRACT: IllegalStateException, wenn updateDaily im stochastischen Modus vor dem ersten startOfSeason läuft.
+    private Random rng() {
+        if (rng == null) throw new IllegalStateException("stochastic reproduction needs startOfSeason before updateDaily");
+        return rng;
+    }
+
 }
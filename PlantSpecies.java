@@ -20,6 +20,7 @@ public class PlantSpecies implements Seasonal, NectarSource {
     private double bloomFraction;  // Blühanteil (b) [0,1]
     private double seedSet;        // Samenqualität (s) [0,1]
     private Random seasonRandom;
+    private final double initialVigor; // für reset()
     private final double cMin, cMax;   // Vermehrungsgrenzen
     private final double fMin, fMax;   // Feuchtegrenzen
     private final double hStart, hEnd; // Blühfenster (cumulative sun)
@@ -34,6 +35,15 @@ public class PlantSpecies implements Seasonal, NectarSource {
                         double fMin, double fMax,
                         double hStart, double hEnd,
                         double q, double p, Reproduction repro) {
+        this(initialVigor, cMin, cMax, fMin, fMax, hStart, hEnd, q, p, repro, new SeedBank());
+    }
+
+    // Mit eigener SeedBank, z.B. SeedBank.ageStructured() für den stochastischen Modus.
+    // CONTRACT: Preconditions: seedBank != null und von keiner anderen Art benutzt.
+    public PlantSpecies(double initialVigor, double cMin, double cMax,
+                        double fMin, double fMax,
+                        double hStart, double hEnd,
+                        double q, double p, Reproduction repro, SeedBank seedBank) {
         this.cMin = cMin;
         this.cMax = cMax;
         this.fMin = fMin;
@@ -45,7 +55,8 @@ public class PlantSpecies implements Seasonal, NectarSource {
         this.bloomFraction = 0;
         this.seedSet = 0;
         this.vigor = (initialVigor > 0) ? initialVigor : 0;
-        this.seedBank = new SeedBank();
+        this.initialVigor = this.vigor;
+        this.seedBank = seedBank;
         this.repro = repro;
     }
 
@@ -55,6 +66,17 @@ public class PlantSpecies implements Seasonal, NectarSource {
                         double hStart, double hEnd,
                         double q, double p) {
         this(initialVigor, cMin, cMax, fMin, fMax, hStart, hEnd, q, p, new PerennialReproduction());
+    }
+
+    // Auf den Konstruktionszustand zurücksetzen (Wiederverwendung statt Neuanlage, vgl. SimulationPool).
+    // Die Zähler der Reproduction-Strategie werden in startOfSeason ohnehin genullt → kein eigener Reset nötig.
+    // CONTRACT: Postconditions: vigor == Startwert, bloomFraction == seedSet == 0, SeedBank leer, kein Seeder.
+    public void reset() {
+        vigor = initialVigor;
+        bloomFraction = 0;
+        seedSet = 0;
+        seedBank.reset();
+        seasonRandom = null;
     }
 
     // Saisonwerte zurücksetzen
@@ -75,33 +97,69 @@ public class PlantSpecies implements Seasonal, NectarSource {
     // CONTRACT: Preconditions: soilMoisture >= 0. Postconditions: vigor bleibt >= 0.
     // BAD: Direkte Anpassung der Zustandsvariablen koppelt an konkrete Prozentwerte; Strategy-Objekt wäre flexibler.
     public void applyMoistureStress(double soilMoisture) {
-        if (soilMoisture <= fMin / 2.0 || soilMoisture >= 2.0 * fMax) {
-            vigor *= 0.97;
-        } else if ((soilMoisture > fMin / 2.0 && soilMoisture < fMin) ||
-                (soilMoisture > fMax && soilMoisture < 2.0 * fMax)) {
-            vigor *= 0.99;
+        vigor = stressedVigor(vigor, soilMoisture, fMin, fMax);
+    }
+
+    // Tagesregeln als reine Funktionen (wie BeePopulation.dailyGrowth), damit die Array-Kerne
+    // (CompactEnsemble, EnsembleBatch, CoarseSimulation, ScenarioCompiler) dieselben Formeln rechnen.
+    // CONTRACT: keine Seiteneffekte; Ergebnisse erfüllen die Klasseninvarianten (vigor >= 0, bloom/seedSet in [0,1]).
+    static final double SEVERE_STRESS = 0.97; // vigor-Faktor je Tag weit außerhalb [fMin, fMax]
+    static final double MILD_STRESS = 0.99;   // knapp außerhalb
+
+    static double stressedVigor(double vigor, double soilMoisture, double fMin, double fMax) {
+        int band = stressBand(soilMoisture, fMin, fMax);
+        if (band == 2) {
+            vigor *= SEVERE_STRESS;
+        } else if (band == 1) {
+            vigor *= MILD_STRESS;
         }
         if (vigor < 0) vigor = 0;
+        return vigor;
+    }
+
+    // 2 = schwerer Stress (<= fMin/2 oder >= 2·fMax), 1 = leichter Stress, 0 = im Band
+    static int stressBand(double soilMoisture, double fMin, double fMax) {
+        if (soilMoisture <= fMin / 2.0 || soilMoisture >= 2.0 * fMax) return 2;
+        if ((soilMoisture > fMin / 2.0 && soilMoisture < fMin) ||
+                (soilMoisture > fMax && soilMoisture < 2.0 * fMax)) return 1;
+        return 0;
+    }
+
+    static double advancedBloom(double bloom, double sunHoursToday, double cumSunHours, double q, double hStart, double hEnd) {
+        double step = q * (sunHoursToday + 3.0);
+        if (cumSunHours >= hStart && cumSunHours < hEnd) {
+            return clamp01(bloom + step);
+        } else if (cumSunHours >= hEnd) {
+            return clamp01(bloom - step);
+        }
+        return bloom;
+    }
+
+    static double increasedSeedSet(double seedSet, double bloom, double beePopulation, double totalFood,
+                                   double sunHoursToday, double p) {
+        if (bloom <= 0 || totalFood <= 0) return seedSet;
+        double inc = p * bloom * (sunHoursToday + 1.0);
+        if (beePopulation < totalFood) inc *= (beePopulation / totalFood);
+        return clamp01(seedSet + inc);
+    }
+
+    // Winterwachstum mit gezogenem Vermehrungsfaktor c
+    static double grownVigor(double vigor, double seedSet, double c) {
+        double growthFactor = 1.0 + seedSet * (c - 1.0);
+        vigor *= growthFactor;
+        return (vigor < 0) ? 0 : vigor;
     }
 
     // Steuert Blühanteil (b) anhand der Sonnenstunden (h) und Blühfenster (h-, h+).
     // CONTRACT: Preconditions: sunHoursToday >= 0, cumSunHours >= 0. Postconditions: bloomFraction in [0,1] und wächst im Fenster.
     public void advanceBloom(double sunHoursToday, double cumSunHours) {
-        double step = q * (sunHoursToday + 3.0);
-        if (cumSunHours >= hStart && cumSunHours < hEnd) {
-            bloomFraction = clamp01(bloomFraction + step);
-        } else if (cumSunHours >= hEnd) {
-            bloomFraction = clamp01(bloomFraction - step);
-        }
+        bloomFraction = advancedBloom(bloomFraction, sunHoursToday, cumSunHours, q, hStart, hEnd);
     }
 
     // Erhöht Samenqualität (s) basierend auf Bestäubung. Faktor x/n, falls Bienen < Nahrung (x < n)
     // CONTRACT: Preconditions: beePopulation,totalFood,sunHoursToday >= 0. Postconditions: seedSet in [0,1].
     public void updateSeedSet(double beePopulation, double totalFood, double sunHoursToday) {
-        if (bloomFraction <= 0 || totalFood <= 0) return;
-        double inc = p * bloomFraction * (sunHoursToday + 1.0);
-        if (beePopulation < totalFood) inc *= (beePopulation / totalFood);
-        seedSet = clamp01(seedSet + inc);
+        seedSet = increasedSeedSet(seedSet, bloomFraction, beePopulation, totalFood, sunHoursToday, p);
     }
 
     // CONTRACT: Preconditions: dailyWeather != null, bees != null. Delegiert an Reproduction und wahrt Invarianten.
@@ -117,11 +175,7 @@ public class PlantSpecies implements Seasonal, NectarSource {
         Random rng = (random != null) ? random : new Random();
         if (repro != null) repro.endOfSeason(this, this.seedBank, rng);
         double c = cMin + rng.nextDouble() * (cMax - cMin);
-        double growthFactor = 1.0 + seedSet * (c - 1.0);
-        vigor *= growthFactor;
-        if (vigor < 0) {
-            vigor = 0;
-        }
+        vigor = grownVigor(vigor, seedSet, c);
     }
 
     // heutiges Nahrungsangebot dieser Art.
@@ -179,6 +233,19 @@ public class PlantSpecies implements Seasonal, NectarSource {
         return v < 0 ? 0 : (v > 1 ? 1 : v);
     }
 
+    // Zustand von außen einspielen (Flyweight über externen Speicher, z.B. OffHeapLandscape).
+    // CONTRACT: Preconditions: vigor >= 0, bloom/seedSet in [0,1]. Postconditions: Felder gesetzt (geclamped), Parameter unverändert.
+    void restoreState(double vigor, double bloomFraction, double seedSet) {
+        this.vigor = Math.max(0, vigor);
+        this.bloomFraction = clamp01(bloomFraction);
+        this.seedSet = clamp01(seedSet);
+    }
+
+    // CONTRACT: Postcondition: liefert die eigene SeedBank (nicht null); Aufrufer im Paket dürfen sie lesen/restaurieren.
+    SeedBank seedBank() {
+        return seedBank;
+    }
+
     // CONTRACT: Preconditions: rng kann null sein für default RNG. Postcondition: Optionaler Seeder gesetzt.
     public void setSeasonRng(Random rng) {
         this.seasonRandom = rng;
@@ -0,0 +1,206 @@
+// PollinatorGuilds.java
+
+import java.util.List;
+import java.util.Random;
+
+/*
+  Teil vom module population. Mehrere Bestäubergilden (Hummeln, Solitärbienen, Schwebfliegen, ...)
+  statt einer skalaren BeePopulation. Jede Gilde frisst nur an den Arten, mit denen sie im
+  InteractionMatrix-Netzwerk verbunden ist.
+  STYLE: OO-Entität (Pollinator, Seasonal) mit Zustand in primitiven Arrays; Tageskern = zwei SpMV.
+
+  Tagesablauf (updateDaily):
+    food  = A  · nectar                      Nahrung je Gilde (gewichtete Nektarsumme ihrer Arten)
+    pop_g = BeePopulation.dailyGrowth(pop_g, food_g)   gleiche Regel wie die skalare Population
+    ratio = Aᵀ · (pop / food)                Besuchsdruck je Art = Bienen-pro-Nahrung, das die Art sieht
+  Mit einer Gilde und Gewicht 1 überall ist ratio_i == x/n, d.h. exakt das skalare Modell.
+
+  CONTRACT (Invarianten): population[g] >= 0; ratio[i] >= 0. Puffer werden wiederverwendet (keine
+  Allokation pro Tag). Nicht thread-safe, gehört zu genau einem Ecosystem.
+*/
+public class PollinatorGuilds implements Pollinator, Seasonal {
+    private final String[] names;
+    private final double[] population;
+    private final InteractionMatrix network;
+
+    // Tagespuffer
+    private final double[] nectar;
+    private final double[] food;
+    private final double[] perFood;
+    private final double[] ratio;
+    private final Visitors visitors = new Visitors();
+
+    // CONTRACT: Preconditions: names.length == initialPopulation.length == network.guilds().
+    // Postconditions: Startpopulationen >= 0 (negative werden auf 0 gesetzt).
+    public PollinatorGuilds(String[] names, double[] initialPopulation, InteractionMatrix network) {
+        if (names.length != network.guilds() || initialPopulation.length != network.guilds()) {
+            throw new IllegalArgumentException("guild count mismatch");
+        }
+        this.names = names.clone();
+        this.population = new double[network.guilds()];
+        for (int g = 0; g < population.length; g++) population[g] = Math.max(0, initialPopulation[g]);
+        this.network = network;
+        this.nectar = new double[network.species()];
+        this.food = new double[network.guilds()];
+        this.perFood = new double[network.guilds()];
+        this.ratio = new double[network.species()];
+    }
+
+    // Nektar-Eingangspuffer (Länge = Anzahl Arten), wird vom Ecosystem befüllt.
+    double[] nectarBuffer() {
+        return nectar;
+    }
+
+    // Ein Tag: Nahrung je Gilde, Wachstum, Besuchsdruck je Art.
+    // CONTRACT: Preconditions: nectarBuffer() für heute befüllt, Werte >= 0. Postconditions: Invarianten gelten.
+    public void updateDaily() {
+        network.multiply(nectar, food);
+        for (int g = 0; g < population.length; g++) {
+            double x = BeePopulation.dailyGrowth(population[g], food[g]);
+            population[g] = x;
+            perFood[g] = (food[g] > 0) ? x / food[g] : 0.0;
+        }
+        network.multiplyTransposed(perFood, ratio);
+    }
+
+    // Besuchsdruck (Bienen je Nahrungseinheit) auf Art i nach dem heutigen Update.
+    // CONTRACT: Postcondition: >= 0. Entspricht x/n im skalaren Modell.
+    public double visitRatio(int speciesIndex) {
+        return ratio[speciesIndex];
+    }
+
+    // Sicht für Reproduction.updateDaily: normiert auf food == 1, population == Besuchsdruck der Art.
+    // CONTRACT: Postcondition: gleiche Instanz bei jedem Aufruf (nur bis zum nächsten Aufruf gültig).
+    // BAD: Geteilter mutable Holder spart die Allokation, darf aber nicht gespeichert werden.
+    Pollinator visitorsOf(int speciesIndex) {
+        visitors.value = ratio[speciesIndex];
+        return visitors;
+    }
+
+    private static final class Visitors implements Pollinator {
+        double value;
+
+        @Override
+        public double population() {
+            return value;
+        }
+    }
+
+    // Pollinator: Gesamtpopulation über alle Gilden.
+    @Override
+    public double population() {
+        double sum = 0;
+        for (double x : population) sum += x;
+        return sum;
+    }
+
+    // CONTRACT: Postcondition: >= 0.
+    public double population(int guild) {
+        return population[guild];
+    }
+
+    public String name(int guild) {
+        return names[guild];
+    }
+
+    public int guildCount() {
+        return population.length;
+    }
+
+    public InteractionMatrix network() {
+        return network;
+    }
+
+    @Override
+    public void startSeason() {
+    }
+
+    // Winter: jede Gilde verliert unabhängig 70-90% (wie BeePopulation.applyWinterMortality), Ziehung in Gildenreihenfolge.
+    @Override
+    public void applyWinter(Random rng) {
+        for (int g = 0; g < population.length; g++) {
+            double u = 0.1 + rng.nextDouble() * 0.2;
+            population[g] *= u;
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("guilds[");
+        for (int g = 0; g < population.length; g++) {
+            if (g > 0) sb.append(' ');
+            sb.append(names[g]).append('=').append(String.format("%.2f", population[g]));
+        }
+        return sb.append(']').toString();
+    }
+
+    // Hilfsfabrik: eine Gilde, die alle Arten mit Gewicht 1 besucht (entspricht BeePopulation).
+    // CONTRACT: Preconditions: speciesCount > 0.
+    public static PollinatorGuilds single(String name, double initialPopulation, int speciesCount) {
+        InteractionMatrix.Builder b = new InteractionMatrix.Builder(1, speciesCount);
+        for (int i = 0; i < speciesCount; i++) b.link(0, i, 1.0);
+        return new PollinatorGuilds(new String[]{name}, new double[]{initialPopulation}, b.build());
+    }
+
+    // Check + Demo: eine Gilde mit Gewicht 1 gegen die skalare BeePopulation (Simulation) mit gleichem Seed, Wetter
+    // und Modell-RNG – Bienen und Vigor müssen in jedem Jahr bitgleich sein. Danach drei Gilden mit Teilnetzwerken.
+    // Aufruf: java PollinatorGuilds [years] [seeds]
+    public static void main(String[] args) {
+        int years = args.length > 0 ? Integer.parseInt(args[0]) : 25;
+        int seeds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        Species[] defs = Test.build(45);
+        DayLengthModel dayLength = new AstroDayLength();
+        int mismatches = 0;
+        for (int r = 1; r <= seeds; r++) {
+            Simulation sim = new Simulation(Test.listWithReproduction(defs, 1), new Weather(r, dayLength, 48.2, 91), r, 120, years);
+            Ecosystem eco = new Ecosystem(Test.listWithReproduction(defs, 1));
+            PollinatorGuilds guilds = single("bees", 120, defs.length);
+            Weather weather = new Weather(r, dayLength, 48.2, 91);
+            Random random = new Random(r);
+            for (int y = 1; y <= years; y++) {
+                sim.stepYear();
+                runYear(eco, guilds, weather, random);
+                if (sim.bees().population() != guilds.population()
+                        || avgVigor(sim.ecosystem().species()) != avgVigor(eco.species())) mismatches++;
+            }
+            if (r == 1) {
+                System.out.printf("seed 1 after %d years | scalar bees %.4f vigor %.4f | guild bees %.4f vigor %.4f%n",
+                        years, sim.bees().population(), avgVigor(sim.ecosystem().species()),
+                        guilds.population(), avgVigor(eco.species()));
+            }
+        }
+        System.out.printf("single guild vs BeePopulation: %d seeds x %d years, %d mismatching years%n", seeds, years, mismatches);
+
+        // drei Gilden: Hummeln besuchen alle Arten, Solitärbienen die frühen, Schwebfliegen die späten (halbes Gewicht)
+        InteractionMatrix.Builder b = new InteractionMatrix.Builder(3, defs.length);
+        for (int i = 0; i < defs.length; i++) {
+            b.link(0, i, 1.0);
+            if (i < defs.length / 2) b.link(1, i, 1.0);
+            else b.link(2, i, 0.5);
+        }
+        Ecosystem eco = new Ecosystem(Test.listWithReproduction(defs, 1));
+        PollinatorGuilds guilds = new PollinatorGuilds(new String[]{"bumblebees", "solitary", "hoverflies"},
+                new double[]{60, 40, 20}, b.build());
+        Weather weather = new Weather(1, dayLength, 48.2, 91);
+        Random random = new Random(1);
+        for (int y = 1; y <= years; y++) {
+            runYear(eco, guilds, weather, random);
+            if (y % 5 == 0) System.out.printf("three guilds year %2d | %s | avgVigor %.2f%n", y, guilds, avgVigor(eco.species()));
+        }
+    }
+
+    // ein Jahr in derselben Reihenfolge wie Simulation.stepYear (Saisonstart, Tage, Bienenwinter, Pflanzenwinter)
+    private static void runYear(Ecosystem eco, PollinatorGuilds guilds, Weather weather, Random random) {
+        eco.resetSeason(random);
+        weather.startSeason();
+        for (int day = 1; day <= Simulation.seasonDays(); day++) eco.dailyUpdate(weather.nextDay(), guilds);
+        guilds.applyWinter(random);
+        eco.winterAll(random);
+    }
+
+    private static double avgVigor(List<PlantSpecies> species) {
+        double sum = 0;
+        for (PlantSpecies s : species) sum += s.vigor();
+        return sum / species.size();
+    }
+}
@@ -0,0 +1,71 @@
+// ProbeSampling.java
+
+import java.util.Arrays;
+
+/*
+  Teil vom module simulation. Deklarative Auswahl, wann und was eine SimulationProbe sieht:
+  jeder n-te Tag, bestimmte Jahre, bestimmte Arten.
+  STYLE: immutable value object mit "with"-Methoden (jede liefert eine neue Instanz).
+
+  CONTRACT:
+  - everyNthDay(n): Tage 1, 1+n, 1+2n, ... (n >= 1).
+  - years(...): filtert die Tages-Callbacks (onDay). Saisonstart/Winter/Jahresende kommen jedes Jahr,
+    sie kosten nur einen Aufruf pro Jahr.
+  - species(...): ProbeView zeigt nur diese Arten, in der angegebenen Reihenfolge.
+  Leere Auswahl (Default) = alles.
+*/
+public final class ProbeSampling {
+    private static final ProbeSampling ALL = new ProbeSampling(1, null, null);
+
+    private final int dayStride;
+    private final int[] years;   // null = alle, sonst sortiert
+    private final int[] species; // null = alle
+
+    private ProbeSampling(int dayStride, int[] years, int[] species) {
+        this.dayStride = dayStride;
+        this.years = years;
+        this.species = species;
+    }
+
+    public static ProbeSampling all() {
+        return ALL;
+    }
+
+    // CONTRACT: Preconditions: n >= 1.
+    public ProbeSampling everyNthDay(int n) {
+        if (n < 1) throw new IllegalArgumentException("n must be >= 1");
+        return new ProbeSampling(n, years, species);
+    }
+
+    public ProbeSampling years(int... selected) {
+        int[] y = selected.clone();
+        Arrays.sort(y);
+        return new ProbeSampling(dayStride, y, species);
+    }
+
+    // CONTRACT: Preconditions: Indizes >= 0; Gültigkeit gegen die Artenzahl wird beim Anhängen geprüft.
+    public ProbeSampling species(int... selected) {
+        return new ProbeSampling(dayStride, years, selected.clone());
+    }
+
+    boolean sampleYear(int year) {
+        return years == null || Arrays.binarySearch(years, year) >= 0;
+    }
+
+    boolean sampleDay(int day) {
+        return (day - 1) % dayStride == 0;
+    }
+
+    // Slot → Artindex für eine konkrete Artenzahl.
+    int[] speciesSlots(int speciesCount) {
+        if (species == null) {
+            int[] all = new int[speciesCount];
+            for (int i = 0; i < speciesCount; i++) all[i] = i;
+            return all;
+        }
+        for (int i : species) {
+            if (i < 0 || i >= speciesCount) throw new IllegalArgumentException("species index out of range: " + i);
+        }
+        return species.clone();
+    }
+}
@@ -0,0 +1,27 @@
+// ProbeView.java
+/*
+  Teil vom module simulation. Primitive Read-only-Sicht auf den Simulationszustand für Probes.
+  STYLE: OO interface; Arten werden über Slots 0..speciesCount()-1 adressiert (nur die per
+  ProbeSampling ausgewählten Arten), speciesIndex(slot) liefert den Index in Ecosystem.species().
+
+  CONTRACT: Keine Allokation, keine Formatierung; alle Werte werden live gelesen. Werte >= 0,
+  bloomFraction/seedSet in [0,1].
+*/
+public interface ProbeView {
+    double bees();
+
+    // heutiges Nahrungsangebot sum(y*b) zum Zeitpunkt des Aufrufs
+    double totalFood();
+
+    int speciesCount();
+
+    int speciesIndex(int slot);
+
+    double vigor(int slot);
+
+    double bloomFraction(int slot);
+
+    double seedSet(int slot);
+
+    int seedBankStored(int slot);
+}
@@ -0,0 +1,302 @@
+// PublishedState.java
+
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+  Teil vom module simulation. Konsistente Momentaufnahmen eines LAUFENDEN Simulation-Laufs für andere Threads
+  (Dashboards, Analyse): der Simulations-Thread kopiert als SimulationProbe an Tages- und/oder Jahresgrenzen den
+  Zustand in einen Puffer unter einer Seqlock; Leser kopieren ihn heraus und wiederholen, falls dabei geschrieben wurde.
+  STYLE: Probe wie SimulationMetrics.probe(); Seqlock statt Lock → der Schreiber wartet nie, Leser sind lock-free.
+
+  Seqlock (seq gerade = stabil, ungerade = Schreiben läuft):
+    Schreiber: seq = s + 1 (volatile); storeStoreFence; Daten schreiben; seq = s + 2 (volatile)
+    Leser:     s1 = seq (volatile); ungerade → nochmal; Daten kopieren; loadLoadFence; s2 = seq; s1 != s2 → nochmal
+
+  CONTRACT:
+  - Ein Schreiber (der Simulations-Thread, über attach), beliebig viele Leser. snapshot() liefert null vor der
+    ersten Veröffentlichung, sonst eine unveränderliche Kopie genau EINES veröffentlichten Zustands (nie gemischt).
+  - day: 0 = Saisonstart, 1..Simulation.seasonDays() = nach diesem Tag, seasonDays()+1 = nach dem Winter (Jahresende).
+  - Tagesgrenzen nur mit publishDays = true und nur an den per ProbeSampling gesampelten Tagen; Arten laut ProbeSampling.
+  - Ecosystem.species()/PlantSpecies sind NICHT für andere Threads gedacht; nebenläufig nur über diesen Weg lesen.
+  GOOD: Schreibkosten = Kopie von 4 Werten je Art + 2 volatile Writes, keine Allokation, kein CAS.
+  BAD: Leser können bei sehr häufigen Veröffentlichungen (jeder Tag, viele Arten) mehrfach wiederholen müssen.
+*/
+public final class PublishedState implements SimulationProbe {
+    private final boolean publishDays;
+    private volatile long seq;
+    private final LongAdder retries = new LongAdder();
+
+    // Puffer: vom Schreiber beim ersten Veröffentlichen innerhalb des Schreibfensters angelegt
+    private int year, day;
+    private double bees, totalFood;
+    private int[] speciesIndex;
+    private double[] vigor, bloom, seedSet;
+    private int[] seedBankStored;
+
+    /** Unveränderliche Kopie eines veröffentlichten Zustands. */
+    public static final class Snapshot {
+        private final long version;
+        private final int year, day;
+        private final double bees, totalFood;
+        private final int[] speciesIndex;
+        private final double[] vigor, bloom, seedSet;
+        private final int[] seedBankStored;
+
+        private Snapshot(long version, int year, int day, double bees, double totalFood, int[] speciesIndex,
+                         double[] vigor, double[] bloom, double[] seedSet, int[] seedBankStored) {
+            this.version = version;
+            this.year = year;
+            this.day = day;
+            this.bees = bees;
+            this.totalFood = totalFood;
+            this.speciesIndex = speciesIndex;
+            this.vigor = vigor;
+            this.bloom = bloom;
+            this.seedSet = seedSet;
+            this.seedBankStored = seedBankStored;
+        }
+
+        // laufende Nummer der Veröffentlichung (1, 2, ...); gleiche Version = gleicher Zustand
+        public long version() {
+            return version;
+        }
+
+        public int year() {
+            return year;
+        }
+
+        public int day() {
+            return day;
+        }
+
+        public double bees() {
+            return bees;
+        }
+
+        public double totalFood() {
+            return totalFood;
+        }
+
+        public int speciesCount() {
+            return vigor.length;
+        }
+
+        // Index in Ecosystem.species() für slot
+        public int speciesIndex(int slot) {
+            return speciesIndex[slot];
+        }
+
+        public double vigor(int slot) {
+            return vigor[slot];
+        }
+
+        public double bloomFraction(int slot) {
+            return bloom[slot];
+        }
+
+        public double seedSet(int slot) {
+            return seedSet[slot];
+        }
+
+        public int seedBankStored(int slot) {
+            return seedBankStored[slot];
+        }
+
+        public double avgVigor() {
+            double sum = 0;
+            for (double v : vigor) sum += v;
+            return (vigor.length == 0) ? 0 : sum / vigor.length;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("v%d | year %d day %d | bees=%.2f | food=%.2f | avgVigor=%.2f",
+                    version, year, day, bees, totalFood, avgVigor());
+        }
+    }
+
+    // CONTRACT: publishDays = false → nur Saisonstart und Jahresende (2 Veröffentlichungen pro Jahr).
+    public PublishedState(boolean publishDays) {
+        this.publishDays = publishDays;
+    }
+
+    // Bequemer Anschluss: jeden n-ten Tag (oder nur Jahresgrenzen, wenn !publishDays).
+    public void attachTo(Simulation simulation, int everyNthDay) {
+        ProbeSampling sampling = publishDays ? ProbeSampling.all().everyNthDay(everyNthDay) : ProbeSampling.all().years();
+        simulation.attach(this, sampling);
+    }
+
+    @Override
+    public void onSeasonStart(int year, ProbeView view) {
+        publish(year, 0, view);
+    }
+
+    @Override
+    public void onDay(int year, int day, DayWeather weather, ProbeView view) {
+        if (publishDays) publish(year, day, view);
+    }
+
+    @Override
+    public void onYearEnd(int year, ProbeView view) {
+        publish(year, Simulation.seasonDays() + 1, view);
+    }
+
+    // Nur der Simulations-Thread.
+    private void publish(int year, int day, ProbeView view) {
+        int n = view.speciesCount();
+        long s = seq;
+        seq = s + 1;
+        VarHandle.storeStoreFence();
+        if (vigor == null || vigor.length != n) {
+            // erstes Mal (oder andere Artenauswahl): neue Puffer, erst nach dem ungeraden seq → Leser wiederholen
+            speciesIndex = new int[n];
+            vigor = new double[n];
+            bloom = new double[n];
+            seedSet = new double[n];
+            seedBankStored = new int[n];
+        }
+        this.year = year;
+        this.day = day;
+        bees = view.bees();
+        totalFood = view.totalFood();
+        for (int i = 0; i < n; i++) {
+            speciesIndex[i] = view.speciesIndex(i);
+            vigor[i] = view.vigor(i);
+            bloom[i] = view.bloomFraction(i);
+            seedSet[i] = view.seedSet(i);
+            seedBankStored[i] = view.seedBankStored(i);
+        }
+        seq = s + 2;
+    }
+
+    // CONTRACT: Postcondition: null vor der ersten Veröffentlichung; blockiert den Schreiber nie.
+    public Snapshot snapshot() {
+        while (true) {
+            long s1 = seq;
+            if (s1 == 0) return null;
+            if ((s1 & 1) == 0) {
+                int y = year, d = day;
+                double b = bees, f = totalFood;
+                int[] idx = speciesIndex;
+                double[] v = vigor, bl = bloom, ss = seedSet;
+                int[] st = seedBankStored;
+                // Längen können während einer Puffer-Neuanlage abweichen → dann zählt der seq-Vergleich
+                int n = Math.min(Math.min(idx.length, v.length), Math.min(Math.min(bl.length, ss.length), st.length));
+                int[] idxCopy = Arrays.copyOf(idx, n), stCopy = Arrays.copyOf(st, n);
+                double[] vCopy = Arrays.copyOf(v, n), blCopy = Arrays.copyOf(bl, n);
+                double[] ssCopy = Arrays.copyOf(ss, n);
+                VarHandle.loadLoadFence();
+                if (seq == s1) return new Snapshot(s1 / 2, y, d, b, f, idxCopy, vCopy, blCopy, ssCopy, stCopy);
+            }
+            retries.increment();
+            Thread.onSpinWait();
+        }
+    }
+
+    // Anzahl bisheriger Veröffentlichungen.
+    public long version() {
+        return seq / 2;
+    }
+
+    // Wiederholungen aller Leser zusammen (Diagnose: wie oft lief gerade ein Schreiben).
+    public long readRetries() {
+        return retries.sum();
+    }
+
+    // Demo/Check: langer Lauf im Hintergrund, Leser pollt; jede gelesene Momentaufnahme wird gegen eine Referenz-
+    // aufzeichnung desselben Laufs verglichen (gemischte Zustände fielen auf). Dazu Kosten für den Simulations-Thread.
+    // Aufruf: java PublishedState [years] [readers]
+    public static void main(String[] args) throws InterruptedException {
+        int years = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int readers = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+        Species[] defs = Test.build(45);
+        DayLengthModel dayLength = new AstroDayLength();
+        int slotsPerYear = Simulation.seasonDays() + 2;
+
+        // Referenz: Bienen und Vigor-Summe je (Jahr, Tag)
+        double[] refBees = new double[(years + 1) * slotsPerYear], refVigor = new double[refBees.length];
+        Simulation ref = new Simulation(Test.listWithReproduction(defs, 1), new Weather(7, dayLength, 48.2, 91), 7, 120, years);
+        ref.attach(new SimulationProbe() {
+            @Override
+            public void onSeasonStart(int year, ProbeView view) {
+                record(year, 0, view);
+            }
+
+            @Override
+            public void onDay(int year, int day, DayWeather weather, ProbeView view) {
+                record(year, day, view);
+            }
+
+            @Override
+            public void onYearEnd(int year, ProbeView view) {
+                record(year, Simulation.seasonDays() + 1, view);
+            }
+
+            private void record(int year, int day, ProbeView view) {
+                double sum = 0;
+                for (int i = 0; i < view.speciesCount(); i++) sum += view.vigor(i);
+                refBees[year * slotsPerYear + day] = view.bees();
+                refVigor[year * slotsPerYear + day] = sum;
+            }
+        }, ProbeSampling.all());
+        ref.run();
+
+        PublishedState state = new PublishedState(true);
+        Simulation sim = new Simulation(Test.listWithReproduction(defs, 1), new Weather(7, dayLength, 48.2, 91), 7, 120, years);
+        state.attachTo(sim, 1);
+        long[] reads = new long[readers], mismatches = new long[readers];
+        // Leser laufen bis nach writer.join() (nicht writer.isAlive(): vor start() ist der Writer noch nicht lebendig)
+        AtomicBoolean done = new AtomicBoolean();
+        Thread writer = new Thread(sim::run, "simulation");
+        Thread[] pollers = new Thread[readers];
+        for (int r = 0; r < readers; r++) {
+            int id = r;
+            pollers[r] = new Thread(() -> {
+                while (!done.get()) {
+                    Snapshot s = state.snapshot();
+                    if (s == null) continue;
+                    reads[id]++;
+                    double sum = 0;
+                    for (int i = 0; i < s.speciesCount(); i++) sum += s.vigor(i);
+                    int k = s.year() * slotsPerYear + s.day();
+                    if (s.bees() != refBees[k] || sum != refVigor[k]) mismatches[id]++;
+                }
+            }, "reader-" + (r + 1));
+        }
+        for (Thread t : pollers) t.start();
+        writer.start();
+        writer.join();
+        done.set(true);
+        for (Thread t : pollers) t.join();
+        long totalReads = 0, totalMismatches = 0;
+        for (int r = 0; r < readers; r++) {
+            totalReads += reads[r];
+            totalMismatches += mismatches[r];
+        }
+        System.out.printf("published %d states | %d readers | %d snapshots read | %d retries | %d inconsistent%n",
+                state.version(), readers, totalReads, state.readRetries(), totalMismatches);
+        System.out.println("last: " + state.snapshot());
+        if (totalReads == 0) throw new IllegalStateException("consistency check read no snapshots");
+        if (totalMismatches > 0) throw new IllegalStateException(totalMismatches + " inconsistent snapshots");
+
+        // Kosten im Simulations-Thread ohne Leser: ohne Probe, Jahresgrenzen, jeder Tag
+        for (int round = 1; round <= 3; round++) {
+            long t0 = System.nanoTime();
+            new Simulation(Test.listWithReproduction(defs, 1), new Weather(7, dayLength, 48.2, 91), 7, 120, years).run();
+            long t1 = System.nanoTime();
+            Simulation yearly = new Simulation(Test.listWithReproduction(defs, 1), new Weather(7, dayLength, 48.2, 91), 7, 120, years);
+            new PublishedState(false).attachTo(yearly, 1);
+            yearly.run();
+            long t2 = System.nanoTime();
+            Simulation daily = new Simulation(Test.listWithReproduction(defs, 1), new Weather(7, dayLength, 48.2, 91), 7, 120, years);
+            new PublishedState(true).attachTo(daily, 1);
+            daily.run();
+            long t3 = System.nanoTime();
+            System.out.printf("round %d | %d years | no probe %6.1f ms | yearly %6.1f ms | daily %6.1f ms%n",
+                    round, years, (t1 - t0) / 1e6, (t2 - t1) / 1e6, (t3 - t2) / 1e6);
+        }
+    }
+}
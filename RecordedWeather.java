@@ -0,0 +1,82 @@
+// RecordedWeather.java
+
+/*
+  Teil vom module environment. Spielt aufgezeichnete Stationsdaten aus einem WeatherArchive als
+  WeatherSource ab: Saison k liest Jahr (firstYearIndex + k) ab dayOfYearStart, 240 Tage lang.
+  STYLE: OO-Entität wie Weather, aber ohne Zufall; Zustand nur day, dayOfYear, Jahr, cumSunHours.
+
+  CONTRACT:
+  - Überschreitet die Saison den 31.12. (z.B. Südhalbkugel), geht es mit dem Folgejahr weiter.
+  - Ist das Archiv zu Ende, wird zyklisch ab Jahr 0 weitergelesen (lange Läufe wiederholen den Datensatz).
+  - Werte werden wie in Weather begrenzt: sun >= 0, soilMoisture in [0,1].
+  - Viele Instanzen dürfen dasselbe Archiv gleichzeitig lesen; eine Instanz gehört einer Simulation.
+  GOOD: Keine Kopie der Zeitreihe je Simulation, nur ein Cursor.
+*/
+public final class RecordedWeather implements WeatherSource {
+    private static final int SEASON_DAYS = Weather.SEASON_DAYS;
+
+    private final WeatherArchive archive;
+    private final int station;
+    private final int dayOfYearStart;
+    private final int firstYearIndex;
+
+    private int seasonYear;      // Jahresindex der aktuellen Saison (Start)
+    private int yearIndex;       // Jahresindex des aktuellen Tages
+    private int dayOfYear;
+    private int day;
+    private double cumSunHours;
+    private boolean started;
+
+    // CONTRACT: Preconditions: archive != null, station gültig, 0 <= firstYearIndex < archive.years(), dayOfYearStart in 1..365.
+    // Postconditions: erste startSeason() wählt firstYearIndex.
+    public RecordedWeather(WeatherArchive archive, int station, int firstYearIndex, int dayOfYearStart) {
+        if (station < 0 || station >= archive.stations()) throw new IllegalArgumentException("unknown station " + station);
+        if (firstYearIndex < 0 || firstYearIndex >= archive.years()) throw new IllegalArgumentException("year index out of range");
+        if (dayOfYearStart < 1 || dayOfYearStart > WeatherArchive.DAYS_PER_YEAR) {
+            throw new IllegalArgumentException("dayOfYearStart must be in 1..365");
+        }
+        this.archive = archive;
+        this.station = station;
+        this.dayOfYearStart = dayOfYearStart;
+        this.firstYearIndex = firstYearIndex;
+        this.seasonYear = firstYearIndex;
+    }
+
+    // CONTRACT: Postcondition: nächste startSeason() wählt wieder firstYearIndex; seed wird ignoriert (kein Zufall).
+    @Override
+    public void reset(long seed) {
+        seasonYear = firstYearIndex;
+        started = false;
+        yearIndex = firstYearIndex;
+        dayOfYear = dayOfYearStart;
+        day = 0;
+        cumSunHours = 0.0;
+    }
+
+    // CONTRACT: Postcondition: day==0, cumSunHours==0, nächstes Archivjahr (ab dem zweiten Aufruf).
+    @Override
+    public void startSeason() {
+        if (started) seasonYear = (seasonYear + 1) % archive.years();
+        started = true;
+        yearIndex = seasonYear;
+        dayOfYear = dayOfYearStart;
+        day = 0;
+        cumSunHours = 0.0;
+    }
+
+    // CONTRACT: Preconditions: startSeason() wurde gerufen. Postconditions: day erhöht sich max. bis SEASON_DAYS.
+    @Override
+    public DayWeather nextDay() {
+        day++;
+        if (day > SEASON_DAYS) day = SEASON_DAYS;
+        double sun = Math.max(0.0, archive.sunHours(station, yearIndex, dayOfYear));
+        double moisture = Weather.clamp(archive.soilMoisture(station, yearIndex, dayOfYear), 0.0, 1.0);
+        cumSunHours += sun;
+        dayOfYear++;
+        if (dayOfYear > WeatherArchive.DAYS_PER_YEAR) {
+            dayOfYear = 1;
+            yearIndex = (yearIndex + 1) % archive.years();
+        }
+        return new DayWeather(sun, cumSunHours, moisture);
+    }
+}
@@ -0,0 +1,93 @@
+// ReproductionRates.java
+
+/*
+  Teil vom module species. Die Raten der beiden Reproduktionsstrategien (einjährig/mehrjährig) als Werte plus die
+  Tagesformeln als reine Funktionen. Annual-/PerennialReproduction rechnen damit, und die Array-Kerne
+  (CompactEnsemble, EnsembleBatch, CoarseSimulation, ScenarioCompiler) ebenso → eine Stelle für die Modellzahlen.
+  STYLE: immutable value object mit zwei Konstanten, wie BeePopulation.dailyGrowth als reine Funktion.
+
+  CONTRACT: Ergebnisse der int-Funktionen >= 0 für Eingaben >= 0. Die Formeln sind Ausdruck für Ausdruck die der
+  Strategien (gleiche Rundung, gleiche Operandenreihenfolge) → bitgleich zu den bisherigen Kopien.
+*/
+public final class ReproductionRates {
+    public static final ReproductionRates ANNUAL = new ReproductionRates(true, 0.1, 0.2, 0.6, 1.0, 0.1, 0.999, 1.0, 0.5, 0.5, 0.5);
+    public static final ReproductionRates PERENNIAL = new ReproductionRates(false, 0.05, 0.3, 0.5, 0.6, 0.08, 0.9995, 0.3, 0.2, 0.6, 0.4);
+
+    public final boolean annual;        // stirbt im Winter (vigor = 0), Nachwuchs nur aus der SeedBank
+    public final double openRate;       // geöffnete Blüten je vigor·bloom und Tag
+    public final double pollinatedBase; // bestäubter Anteil ohne Bienen ...
+    public final double pollinatedSlope; // ... plus Anteil je Bestäubungseffizienz
+    public final double fillFactor;     // Fruchtansatz = fillFactor · Sonnenstunden / 16
+    public final double ripenRate;      // täglich reifender Anteil der Früchte
+    public final double vigorCost;      // vigor-Faktor je Blühtag
+    public final double establishRate;  // Anteil der Keimlinge, der sich etabliert
+    public final double seedlingVigor;  // vigor je etabliertem Keimling (mal Qualität)
+    public final double qualityBase, qualitySlope; // Samenqualität = min(1, base + slope · seedSet)
+
+    private ReproductionRates(boolean annual, double openRate, double pollinatedBase, double pollinatedSlope,
+                              double fillFactor, double ripenRate, double vigorCost, double establishRate,
+                              double seedlingVigor, double qualityBase, double qualitySlope) {
+        this.annual = annual;
+        this.openRate = openRate;
+        this.pollinatedBase = pollinatedBase;
+        this.pollinatedSlope = pollinatedSlope;
+        this.fillFactor = fillFactor;
+        this.ripenRate = ripenRate;
+        this.vigorCost = vigorCost;
+        this.establishRate = establishRate;
+        this.seedlingVigor = seedlingVigor;
+        this.qualityBase = qualityBase;
+        this.qualitySlope = qualitySlope;
+    }
+
+    public static ReproductionRates of(boolean annual) {
+        return annual ? ANNUAL : PERENNIAL;
+    }
+
+    // erwartete geöffnete Blüten heute (Poisson-Mittel im stochastischen Modus)
+    public double openedMean(double vigor, double bloom) {
+        return vigor * bloom * openRate;
+    }
+
+    public int opened(double vigor, double bloom) {
+        return (int) Math.round(openedMean(vigor, bloom));
+    }
+
+    // Bestäubungseffizienz x/n, auf 1 begrenzt; ohne Nahrung 0
+    public static double efficiency(double bees, double food) {
+        return (food <= 0) ? 0 : Math.min(1, bees / food);
+    }
+
+    public double pollinatedShare(double efficiency) {
+        return pollinatedBase + pollinatedSlope * efficiency;
+    }
+
+    public int pollinated(int opened, double efficiency) {
+        return (int) Math.round(opened * pollinatedShare(efficiency));
+    }
+
+    public double fillShare(double sunHoursToday) {
+        return fillFactor * sunHoursToday / 16;
+    }
+
+    public int filled(int pollinated, double sunHoursToday) {
+        return (int) Math.round(pollinated * fillShare(sunHoursToday));
+    }
+
+    public int ripened(int fruits) {
+        return (int) Math.round(fruits * ripenRate);
+    }
+
+    public int established(int germinated) {
+        return (int) Math.round(germinated * establishRate);
+    }
+
+    // vigor-Zuwachs aus etablierten Keimlingen; Qualität der SeedBank zählt mindestens 0.2
+    public double seedlingGain(int established, double bankQuality) {
+        return established * seedlingVigor * Math.max(0.2, bankQuality);
+    }
+
+    public double seedQuality(double seedSet) {
+        return Math.min(1, qualityBase + qualitySlope * seedSet);
+    }
+}
@@ -0,0 +1,284 @@
+// ScalingHarness.java
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+  Teil vom module simulation. Skalierungsmessung der parallelen Pfade bei 1..N Threads:
+  strong scaling (feste Gesamtarbeit) und weak scaling (feste Arbeit je Thread).
+  Workloads:
+  - ensemble:  Szenarien wie runSweep (simulateScenario: Gruppe (i%4)+1, seed 1000+37i, 60 Bienen, 5 Jahre); Einheit = Szenario
+  - parareal:  ein Lauf über Jahre (Parareal, Gruppe 1); Einheit = Jahr
+  - landscape: OffHeapLandscape.stepYear über Patches (parallel stream im Pool des Harness); Einheit = Patch
+  Je Messpunkt: Wandzeit (bester von reps Läufen), Durchsatz (Einheiten/s, simulierte Tage/s), Speedup und Effizienz
+  gegen 1 Thread, CPU-Auslastung, GC-Zeit/-Anzahl und Allokationsrate. Ausgabe als CSV und JSON Lines.
+  STYLE: prozeduraler Mess-Treiber wie SimulationPool.main/EnsembleBatch.main; ein ForkJoinPool je Thread-Zahl,
+  den alle Workloads benutzen (parallel streams laufen darin, wenn die Arbeit aus dem Pool heraus startet).
+
+  CONTRACT:
+  - Effizienz: strong T1 / (p · Tp), weak T1 / Tp (1.0 = ideal), jeweils gegen den eigenen 1-Thread-Punkt.
+    Parareal zählt nur die Nutzjahre als Arbeit, nicht die wiederholten Feinjahre (Vergleich mit sequential(): Parareal.main).
+  - Allokation/CPU: Zuwachs je Thread-ID über alle am Ende lebenden Threads der JVM (der Pool lebt bis nach der
+    Messung, Threads ohne Startwert zählen ab 0); -1, wenn die JVM es nicht unterstützt.
+  BAD: Mehr Threads als Kerne messen Überbuchung, nicht Skalierung; die Kernzahl steht deshalb in jeder Zeile.
+*/
+public final class ScalingHarness {
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final int DAYS = Simulation.seasonDays();
+
+    private ScalingHarness() {
+    }
+
+    // Eine Workload: units Arbeitseinheiten im Pool; Rückgabe: simulierte Tage der Nutzarbeit.
+    private interface Workload {
+        long run(ForkJoinPool pool, int units) throws Exception;
+    }
+
+    // Ein Messpunkt (eine Zeile im Bericht).
+    static final class Point {
+        final String workload, mode;
+        final int threads, units;
+        final long wallNanos, cpuNanos, allocatedBytes, gcMillis, gcCount, simulatedDays;
+        double speedup = Double.NaN, efficiency = Double.NaN;
+
+        Point(String workload, String mode, int threads, int units, long wallNanos, long cpuNanos, long allocatedBytes,
+              long gcMillis, long gcCount, long simulatedDays) {
+            this.workload = workload;
+            this.mode = mode;
+            this.threads = threads;
+            this.units = units;
+            this.wallNanos = wallNanos;
+            this.cpuNanos = cpuNanos;
+            this.allocatedBytes = allocatedBytes;
+            this.gcMillis = gcMillis;
+            this.gcCount = gcCount;
+            this.simulatedDays = simulatedDays;
+        }
+
+        double unitsPerSecond() {
+            return units / (wallNanos / 1e9);
+        }
+
+        double daysPerSecond() {
+            return simulatedDays / (wallNanos / 1e9);
+        }
+
+        // CPU-Zeit / Wandzeit (≈ beschäftigte Kerne)
+        double cpuUtilization() {
+            return (cpuNanos < 0) ? Double.NaN : cpuNanos / (double) wallNanos;
+        }
+
+        double allocMbPerSecond() {
+            return (allocatedBytes < 0) ? Double.NaN : allocatedBytes / 1e6 / (wallNanos / 1e9);
+        }
+
+        double gcShare() {
+            return gcMillis / (wallNanos / 1e6);
+        }
+    }
+
+    private static Workload ensemble(Species[] defs, DayLengthModel dayLength) {
+        return (pool, units) -> {
+            AtomicInteger next = new AtomicInteger();
+            AtomicLong days = new AtomicLong();
+            List<Future<?>> workers = new ArrayList<>();
+            for (int w = 0; w < pool.getParallelism(); w++) {
+                workers.add(pool.submit(() -> {
+                    int i;
+                    while ((i = next.getAndIncrement()) < units) {
+                        ParallelSimulationRunner.ScenarioResult r = ParallelSimulationRunner.simulateScenario(
+                                i + 1, (i % 4) + 1, defs, dayLength, 48.2, 91, 1000L + (long) i * 37L, null);
+                        days.addAndGet(r.simulatedDays);
+                    }
+                }));
+            }
+            for (Future<?> f : workers) f.get();
+            return days.get();
+        };
+    }
+
+    private static Workload parareal(Species[] defs, DayLengthModel dayLength) {
+        return (pool, units) -> {
+            try (Parareal p = new Parareal(defs, 1, dayLength, 48.2, 91, 1001, 120, units, pool)) {
+                p.run(1e-3, 50);
+            }
+            return (long) units * DAYS;
+        };
+    }
+
+    private static Workload landscape(Species[] defs, DayLengthModel dayLength) {
+        return (pool, units) -> {
+            try (OffHeapLandscape land = OffHeapLandscape.allocate(units, defs, 1, 1000, 60)) {
+                pool.submit(() -> land.stepYear(dayLength, 48.2, 91)).get();
+            }
+            return (long) units * DAYS;
+        };
+    }
+
+    // Zähler je Thread-ID (CPU-Nanos bzw. allokierte Bytes); null, wenn die JVM es nicht unterstützt.
+    private static Map<Long, Long> cpuByThread() {
+        if (!THREADS.isThreadCpuTimeSupported() || !THREADS.isThreadCpuTimeEnabled()) return null;
+        Map<Long, Long> m = new HashMap<>();
+        for (long id : THREADS.getAllThreadIds()) {
+            long t = THREADS.getThreadCpuTime(id);
+            if (t >= 0) m.put(id, t);
+        }
+        return m;
+    }
+
+    private static Map<Long, Long> allocationByThread() {
+        if (!(THREADS instanceof com.sun.management.ThreadMXBean)) return null;
+        com.sun.management.ThreadMXBean sun = (com.sun.management.ThreadMXBean) THREADS;
+        if (!sun.isThreadAllocatedMemorySupported() || !sun.isThreadAllocatedMemoryEnabled()) return null;
+        long[] ids = THREADS.getAllThreadIds();
+        long[] bytes = sun.getThreadAllocatedBytes(ids);
+        Map<Long, Long> m = new HashMap<>();
+        for (int i = 0; i < ids.length; i++) {
+            if (bytes[i] >= 0) m.put(ids[i], bytes[i]);
+        }
+        return m;
+    }
+
+    // Zuwachs über die am Ende lebenden Threads (neue Threads zählen ab 0); -1 ohne Messung.
+    private static long delta(Map<Long, Long> before, Map<Long, Long> after) {
+        if (before == null || after == null) return -1;
+        long sum = 0;
+        for (Map.Entry<Long, Long> e : after.entrySet()) sum += e.getValue() - before.getOrDefault(e.getKey(), 0L);
+        return sum;
+    }
+
+    private static long[] gcTotals() {
+        long millis = 0, count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += Math.max(0, gc.getCollectionTime());
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return new long[]{millis, count};
+    }
+
+    // Ein Messpunkt: reps Läufe in einem frischen Pool, der schnellste zählt (GC/Allokation/CPU aus demselben Lauf).
+    private static Point measure(String name, Workload workload, String mode, int threads, int units, int reps) throws Exception {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            Point best = null;
+            for (int r = 0; r < reps; r++) {
+                long[] gc0 = gcTotals();
+                Map<Long, Long> cpu0 = cpuByThread(), alloc0 = allocationByThread();
+                long t0 = System.nanoTime();
+                long days = workload.run(pool, units);
+                long wall = System.nanoTime() - t0;
+                Map<Long, Long> cpu1 = cpuByThread(), alloc1 = allocationByThread();
+                long[] gc1 = gcTotals();
+                Point p = new Point(name, mode, threads, units, wall, delta(cpu0, cpu1), delta(alloc0, alloc1),
+                        gc1[0] - gc0[0], gc1[1] - gc0[1], days);
+                if (best == null || p.wallNanos < best.wallNanos) best = p;
+            }
+            return best;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // CONTRACT: Preconditions: maxThreads >= 1, strongUnits/weakUnitsPerThread >= 1, reps >= 1.
+    // Postconditions: je Thread-Zahl ein strong- und ein weak-Punkt, Speedup/Effizienz gegen den 1-Thread-Punkt.
+    static List<Point> scale(String name, Workload workload, int maxThreads, int strongUnits, int weakUnitsPerThread,
+                             int reps) throws Exception {
+        measure(name, workload, "warmup", 1, strongUnits, 1); // JIT, sonst wirkt der 1-Thread-Punkt zu langsam
+        List<Point> points = new ArrayList<>();
+        Point strong1 = null, weak1 = null;
+        for (int p = 1; p <= maxThreads; p++) {
+            Point s = measure(name, workload, "strong", p, strongUnits, reps);
+            if (strong1 == null) strong1 = s;
+            s.speedup = strong1.wallNanos / (double) s.wallNanos;
+            s.efficiency = s.speedup / p;
+            Point w = measure(name, workload, "weak", p, weakUnitsPerThread * p, reps);
+            if (weak1 == null) weak1 = w;
+            w.speedup = w.unitsPerSecond() / weak1.unitsPerSecond();
+            w.efficiency = weak1.wallNanos / (double) w.wallNanos;
+            points.add(s);
+            points.add(w);
+            System.out.println(line(s));
+            System.out.println(line(w));
+        }
+        return points;
+    }
+
+    private static String line(Point p) {
+        return String.format(Locale.ROOT, "%-9s %-6s | threads %2d | units %5d | wall %8.1f ms | %8.1f units/s | %10.0f days/s"
+                        + " | speedup %5.2f | eff %5.2f | cpu %4.2f | gc %5d ms (%d) | alloc %7.1f MB/s",
+                p.workload, p.mode, p.threads, p.units, p.wallNanos / 1e6, p.unitsPerSecond(), p.daysPerSecond(),
+                p.speedup, p.efficiency, p.cpuUtilization(), p.gcMillis, p.gcCount, p.allocMbPerSecond());
+    }
+
+    static void writeCsv(Path file, List<Point> points, int cores) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            out.println("workload,mode,cores,threads,units,wall_ms,units_per_s,days_per_s,speedup,efficiency,"
+                    + "cpu_utilization,gc_ms,gc_count,gc_share,alloc_bytes,alloc_mb_per_s");
+            for (Point p : points) {
+                out.println(String.format(Locale.ROOT, "%s,%s,%d,%d,%d,%.3f,%.3f,%.1f,%.4f,%.4f,%.4f,%d,%d,%.4f,%d,%.3f",
+                        p.workload, p.mode, cores, p.threads, p.units, p.wallNanos / 1e6, p.unitsPerSecond(),
+                        p.daysPerSecond(), p.speedup, p.efficiency, p.cpuUtilization(), p.gcMillis, p.gcCount,
+                        p.gcShare(), p.allocatedBytes, p.allocMbPerSecond()));
+            }
+        }
+    }
+
+    static void writeJson(Path file, List<Point> points, int cores) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            for (Point p : points) {
+                out.println(JsonLines.object("workload", p.workload, "mode", p.mode, "cores", cores, "threads", p.threads,
+                        "units", p.units, "wallMs", p.wallNanos / 1e6, "unitsPerSecond", p.unitsPerSecond(),
+                        "daysPerSecond", p.daysPerSecond(), "speedup", p.speedup, "efficiency", p.efficiency,
+                        "cpuUtilization", p.cpuUtilization(), "gcMs", p.gcMillis, "gcCount", p.gcCount,
+                        "gcShare", p.gcShare(), "allocBytes", p.allocatedBytes, "allocMbPerSecond", p.allocMbPerSecond()));
+            }
+        }
+    }
+
+    // Aufruf: java ScalingHarness [maxThreads] [out-prefix] [workloads=ensemble,parareal,landscape] [reps]
+    // → <prefix>.csv und <prefix>.jsonl
+    public static void main(String[] args) throws Exception {
+        int cores = Runtime.getRuntime().availableProcessors();
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : cores;
+        String prefix = args.length > 1 ? args[1] : "scaling";
+        String workloads = args.length > 2 ? args[2] : "ensemble,parareal,landscape";
+        int reps = args.length > 3 ? Integer.parseInt(args[3]) : 3;
+        Species[] defs = Test.build(45);
+        DayLengthModel dayLength = new AstroDayLength();
+        System.out.println("\nSCALING HARNESS - " + cores + " cores, 1.." + maxThreads + " threads, best of " + reps);
+        List<Point> all = new ArrayList<>();
+        for (String w : workloads.split(",")) {
+            switch (w.trim()) {
+                case "ensemble":
+                    all.addAll(scale("ensemble", ensemble(defs, dayLength), maxThreads, 64, 16, reps));
+                    break;
+                case "parareal":
+                    all.addAll(scale("parareal", parareal(defs, dayLength), maxThreads, 64, 16, reps));
+                    break;
+                case "landscape":
+                    all.addAll(scale("landscape", landscape(defs, dayLength), maxThreads, 8192, 2048, reps));
+                    break;
+                default:
+                    throw new IllegalArgumentException("unknown workload: " + w);
+            }
+        }
+        writeCsv(Path.of(prefix + ".csv"), all, cores);
+        writeJson(Path.of(prefix + ".jsonl"), all, cores);
+        System.out.println("wrote " + prefix + ".csv and " + prefix + ".jsonl (" + all.size() + " points)");
+    }
+}
@@ -0,0 +1,316 @@
+// ScenarioCompiler.java
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+/*
+  Teil vom module simulation. Optionaler "Compiler" für ein festes Szenario (Species[] + Gruppe):
+  erzeugt Java-Quelltext eines Kernels, in dem alle Artparameter als Literale stehen, die Artschleifen
+  ausgerollt sind und die Reproduction-Strategie je Art bereits entschieden ist (kein Interface-Dispatch).
+  Übersetzt wird im Speicher mit javax.tools, geladen als Hidden Class (Lookup.defineHiddenClass),
+  instanziiert über einen MethodHandle auf den Konstruktor.
+  STYLE: prozeduraler Codegenerator (StringBuilder) + kleine Kernel-Schnittstelle; Spezialisierungen werden je Szenario gecacht.
+
+  CONTRACT:
+  - Ein Kernel ist bitgleich zu new Simulation(Test.listWithReproduction(defs, group), weather, seed, initialBees, ..)
+    ohne Probe/Abbruchregeln: der erzeugte Code ruft dieselben reinen Funktionen wie das Modell (PlantSpecies,
+    SeedBank, BeePopulation, ReproductionRates) in der Summationsreihenfolge von Ecosystem.dailyUpdate; nur die
+    Artparameter werden als Literale eingesetzt, hexadezimal → exakt dieselben double-Werte.
+  - available() == false, wenn kein Compiler im Laufzeitbild ist (reines JRE); Aufrufer bleiben dann beim Interpreter.
+  - Die Klassen dieses Pakets müssen auf java.class.path liegen (javac übersetzt gegen sie).
+  GOOD: JIT sieht Konstanten statt Feldladungen, keine Listeniteration, keine megamorphen Aufrufe.
+  BAD: Übersetzen kostet ~1 s je Szenario → lohnt erst ab vielen Läufen desselben Szenarios.
+  Java 17 hat keine ClassFile-API; der Umweg über Quelltext + javac hält den Generator lesbar.
+*/
+public final class ScenarioCompiler {
+    private static final int DAYS = Simulation.seasonDays();
+    private static final AtomicInteger ids = new AtomicInteger();
+    private static final Map<String, Specialization> cache = new ConcurrentHashMap<>();
+
+    private ScenarioCompiler() {
+    }
+
+    // Ein spezialisierter Lauf (ein Replikat). Zustand nach stepYear() wie Simulation nach stepYear().
+    public interface Kernel {
+        void stepYear();
+
+        double bees();
+
+        int speciesCount();
+
+        double vigor(int species);
+
+        double seedSet(int species);
+
+        int seedBankStored(int species);
+    }
+
+    // Übersetztes Szenario; create() ist billig (nur Konstruktoraufruf).
+    public static final class Specialization {
+        private final MethodHandle constructor;
+        private final String source;
+        private final long compileNanos;
+
+        Specialization(MethodHandle constructor, String source, long compileNanos) {
+            this.constructor = constructor;
+            this.source = source;
+            this.compileNanos = compileNanos;
+        }
+
+        // CONTRACT: Preconditions: weather != null und frisch (wie bei Simulation). Postconditions: neuer, unabhängiger Kernel.
+        public Kernel create(WeatherSource weather, long seed, double initialBees) {
+            try {
+                return (Kernel) constructor.invoke(weather, seed, initialBees);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        }
+
+        public String source() {
+            return source;
+        }
+
+        public double compileMillis() {
+            return compileNanos / 1e6;
+        }
+    }
+
+    public static boolean available() {
+        return ToolProvider.getSystemJavaCompiler() != null;
+    }
+
+    // Spezialisierung holen oder bauen (gecacht je Parametersatz + Gruppe).
+    // CONTRACT: Preconditions: available(); Test.pickReproduction liefert nur Annual-/PerennialReproduction.
+    // IllegalStateException ohne Compiler oder bei Übersetzungsfehlern.
+    public static Specialization specialize(Species[] defs, int groupIndex) {
+        return cache.computeIfAbsent(key(defs, groupIndex), k -> compile(defs, groupIndex));
+    }
+
+    private static String key(Species[] defs, int groupIndex) {
+        double[] flat = new double[defs.length * 9];
+        for (int i = 0; i < defs.length; i++) {
+            Species s = defs[i];
+            System.arraycopy(new double[]{s.y0, s.cMin, s.cMax, s.fMin, s.fMax, s.hStart, s.hEnd, s.q, s.p}, 0, flat, i * 9, 9);
+        }
+        return groupIndex + ":" + Arrays.toString(flat);
+    }
+
+    private static Specialization compile(Species[] defs, int groupIndex) {
+        JavaCompiler javac = ToolProvider.getSystemJavaCompiler();
+        if (javac == null) throw new IllegalStateException("no system Java compiler (running on a JRE?)");
+        long t0 = System.nanoTime();
+        String name = "ScenarioKernel" + ids.incrementAndGet();
+        String src = source(name, defs, groupIndex);
+
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        Map<String, ByteArrayOutputStream> classes = new ConcurrentHashMap<>();
+        StandardJavaFileManager std = javac.getStandardFileManager(diagnostics, Locale.ROOT, null);
+        JavaFileManager files = new ForwardingJavaFileManager<>(std) {
+            @Override
+            public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind,
+                                                       FileObject sibling) {
+                return new SimpleJavaFileObject(URI.create("mem:///" + className + kind.extension), kind) {
+                    @Override
+                    public OutputStream openOutputStream() {
+                        return classes.computeIfAbsent(className, c -> new ByteArrayOutputStream());
+                    }
+                };
+            }
+        };
+        JavaFileObject unit = new SimpleJavaFileObject(URI.create("string:///" + name + ".java"), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return src;
+            }
+        };
+        List<String> options = List.of("-classpath", System.getProperty("java.class.path"), "-proc:none", "-g:none");
+        boolean ok = javac.getTask(null, files, diagnostics, options, null, List.of(unit)).call();
+        if (!ok || !classes.containsKey(name)) {
+            List<String> messages = new ArrayList<>();
+            for (Diagnostic<? extends JavaFileObject> d : diagnostics.getDiagnostics()) {
+                messages.add("line " + d.getLineNumber() + ": " + d.getMessage(Locale.ROOT));
+            }
+            throw new IllegalStateException("scenario kernel did not compile: " + messages);
+        }
+        try {
+            MethodHandles.Lookup hidden = MethodHandles.lookup().defineHiddenClass(classes.get(name).toByteArray(), true);
+            MethodHandle ctor = hidden.findConstructor(hidden.lookupClass(),
+                    MethodType.methodType(void.class, WeatherSource.class, long.class, double.class));
+            return new Specialization(ctor.asType(MethodType.methodType(Kernel.class, WeatherSource.class, long.class, double.class)),
+                    src, System.nanoTime() - t0);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("cannot define scenario kernel", e);
+        }
+    }
+
+    // Quelltext des Kernels. Paketintern, damit man ihn ansehen/loggen kann.
+    // Felder je Art i: v (vigor), b (bloom), s (seedSet), f (fruits), n (seeds), st/bq (SeedBank stored/quality).
+    static String source(String className, Species[] defs, int groupIndex) {
+        int n = defs.length;
+        boolean[] annual = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            Reproduction r = Test.pickReproduction(groupIndex, i);
+            if (!(r instanceof AnnualReproduction) && !(r instanceof PerennialReproduction)) {
+                throw new IllegalArgumentException("cannot specialize " + r.getClass().getSimpleName());
+            }
+            annual[i] = r instanceof AnnualReproduction;
+        }
+        StringBuilder o = new StringBuilder(16_384);
+        o.append("// generated by ScenarioCompiler, group ").append(groupIndex).append('\n');
+        o.append("final class ").append(className).append(" implements ScenarioCompiler.Kernel {\n");
+        o.append("  private final WeatherSource weather;\n  private final java.util.Random random;\n  private double bees;\n");
+        for (int i = 0; i < n; i++) {
+            o.append(String.format("  private double v%1$d, b%1$d, s%1$d, bq%1$d; private int f%1$d, n%1$d, st%1$d;%n", i));
+        }
+        o.append("  ").append(className).append("(WeatherSource weather, long seed, double initialBees) {\n");
+        o.append("    this.weather = weather;\n    this.random = new java.util.Random(seed);\n");
+        o.append("    this.bees = Math.max(0, initialBees);\n");
+        for (int i = 0; i < n; i++) o.append("    v").append(i).append(" = ").append(lit(Math.max(0, defs[i].y0))).append(";\n");
+        o.append("  }\n");
+
+        // Jahr: Saisonstart (Keimung in Artreihenfolge), Tage, Winter
+        o.append("  public void stepYear() {\n    java.util.Random rng = random;\n    int stored, afterWinter, germ;\n");
+        for (int i = 0; i < n; i++) {
+            o.append(String.format("    b%1$d = 0; s%1$d = 0; f%1$d = 0; n%1$d = 0; germ = 0; stored = st%1$d;%n", i));
+            o.append(String.format("    if (stored != 0) { afterWinter = SeedBank.survivingWinter(stored, rng.nextDouble());%n"
+                    + "      germ = SeedBank.germinating(afterWinter, rng.nextDouble()); st%1$d = afterWinter - germ; germ = Math.max(0, germ); }%n", i));
+            o.append(String.format("    v%1$d += %2$s.seedlingGain(%2$s.established(germ), bq%1$d);%n", i, rates(annual[i])));
+        }
+        o.append("    weather.startSeason();\n");
+        o.append("    for (int d = 0; d < ").append(DAYS).append("; d++) {\n");
+        o.append("      DayWeather w = weather.nextDay();\n      day(w.sunHoursToday(), w.cumSunHours(), w.soilMoisture());\n    }\n");
+        o.append("    bees = BeePopulation.survivingWinter(bees, rng.nextDouble());\n");
+        o.append("    double gf;\n");
+        for (int i = 0; i < n; i++) {
+            Species s = defs[i];
+            o.append(String.format("    if (n%1$d > 0) { bq%1$d = SeedBank.pooledQuality(st%1$d, bq%1$d, n%1$d, %2$s.seedQuality(s%1$d)); st%1$d += n%1$d; }%n",
+                    i, rates(annual[i])));
+            if (annual[i]) o.append("    v").append(i).append(" = 0;\n");
+            o.append(String.format("    f%1$d = 0; n%1$d = 0;%n", i));
+            o.append(String.format("    gf = %2$s + rng.nextDouble() * (%3$s - %2$s);%n", i, lit(s.cMin), lit(s.cMax)));
+            o.append(String.format("    v%1$d = PlantSpecies.grownVigor(v%1$d, s%1$d, gf);%n", i));
+        }
+        o.append("  }\n");
+
+        // Tag: Phasen wie Ecosystem.dailyUpdate, je Phase ausgerollt über Arten
+        o.append("  private void day(double sun, double cum, double m) {\n");
+        for (int i = 0; i < n; i++) {
+            o.append(String.format("    v%1$d = PlantSpecies.stressedVigor(v%1$d, m, %2$s, %3$s);%n", i, lit(defs[i].fMin), lit(defs[i].fMax)));
+        }
+        o.append("    double food = 0;\n");
+        for (int i = 0; i < n; i++) {
+            Species s = defs[i];
+            o.append(String.format("    b%1$d = PlantSpecies.advancedBloom(b%1$d, sun, cum, %2$s, %3$s, %4$s);%n",
+                    i, lit(s.q), lit(s.hStart), lit(s.hEnd)));
+        }
+        for (int i = 0; i < n; i++) o.append(String.format("    food += v%1$d * b%1$d;%n", i));
+        o.append("    double x = BeePopulation.dailyGrowth(bees, food);\n    bees = x;\n");
+        o.append("    double efficiency = ReproductionRates.efficiency(x, food);\n");
+        o.append("    int fr, ripen;\n");
+        for (int i = 0; i < n; i++) {
+            String r = rates(annual[i]);
+            o.append(String.format("    if (b%1$d > 0) {%n", i));
+            o.append(String.format("      s%1$d = PlantSpecies.increasedSeedSet(s%1$d, b%1$d, x, food, sun, %2$s);%n", i, lit(defs[i].p)));
+            o.append(String.format("      fr = f%1$d + %2$s.filled(%2$s.pollinated(%2$s.opened(v%1$d, b%1$d), efficiency), sun);%n"
+                    + "      ripen = %2$s.ripened(fr); n%1$d += ripen; f%1$d = fr - ripen; v%1$d *= %2$s.vigorCost;%n", i, r));
+            o.append("    }\n");
+        }
+        o.append("  }\n");
+
+        // Views
+        o.append("  public double bees() { return bees; }\n");
+        o.append("  public int speciesCount() { return ").append(n).append("; }\n");
+        for (String field : new String[]{"double:vigor:v", "double:seedSet:s", "int:seedBankStored:st"}) {
+            String[] fv = field.split(":");
+            o.append("  public ").append(fv[0]).append(' ').append(fv[1]).append("(int i) {\n    switch (i) {\n");
+            for (int i = 0; i < n; i++) o.append("      case ").append(i).append(": return ").append(fv[2]).append(i).append(";\n");
+            o.append("      default: throw new IndexOutOfBoundsException(i);\n    }\n  }\n");
+        }
+        return o.append("}\n").toString();
+    }
+
+    // Raten der Strategie als Ausdruck (static final → der JIT faltet die Felder zu Konstanten)
+    private static String rates(boolean annual) {
+        return annual ? "ReproductionRates.ANNUAL" : "ReproductionRates.PERENNIAL";
+    }
+
+    // exaktes double-Literal
+    private static String lit(double v) {
+        if (Double.isNaN(v)) return "Double.NaN";
+        if (Double.isInfinite(v)) return (v > 0) ? "Double.POSITIVE_INFINITY" : "Double.NEGATIVE_INFINITY";
+        return Double.toHexString(v);
+    }
+
+    // Bitvergleich: Bienen und je Art vigor, seedSet und SeedBank-Bestand.
+    static boolean sameState(Simulation sim, Kernel kernel) {
+        if (sim.bees().population() != kernel.bees()) return false;
+        List<PlantSpecies> species = sim.ecosystem().species();
+        for (int i = 0; i < species.size(); i++) {
+            PlantSpecies ps = species.get(i);
+            if (ps.vigor() != kernel.vigor(i) || ps.seedSet() != kernel.seedSet(i)
+                    || ps.seedBank().getStored() != kernel.seedBankStored(i)) return false;
+        }
+        return true;
+    }
+
+    // Benchmark: gleiche Läufe interpretiert (Simulation) und spezialisiert, mit Bitvergleich des ganzen Zustands.
+    // Aufruf: java ScenarioCompiler [runs] [rounds] [group]
+    public static void main(String[] args) {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        int group = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+        if (!available()) {
+            System.out.println("no system Java compiler – specialization unavailable, interpreter only");
+            return;
+        }
+        Species[] defs = Test.build(45);
+        DayLengthModel dayLength = new AstroDayLength();
+        Specialization spec = specialize(defs, group);
+        System.out.printf("compiled group %d in %.1f ms (%d lines of source)%n",
+                group, spec.compileMillis(), spec.source().split("\n").length);
+        for (int round = 1; round <= rounds; round++) {
+            long t0 = System.nanoTime();
+            Simulation[] interpreted = new Simulation[runs];
+            for (int r = 0; r < runs; r++) {
+                long seed = r + 1;
+                interpreted[r] = new Simulation(Test.listWithReproduction(defs, group),
+                        new Weather(seed, dayLength, 48.2, 91), seed, 120, 25);
+                interpreted[r].run();
+            }
+            long t1 = System.nanoTime();
+            int mismatches = 0;
+            for (int r = 0; r < runs; r++) {
+                long seed = r + 1;
+                Kernel kernel = spec.create(new Weather(seed, dayLength, 48.2, 91), seed, 120);
+                for (int y = 0; y < 25; y++) kernel.stepYear();
+                if (!sameState(interpreted[r], kernel)) mismatches++;
+            }
+            long t2 = System.nanoTime();
+            System.out.printf("round %d | %d runs | interpreter %7.1f ms | specialized %7.1f ms | speedup %.2fx | mismatches %d%n",
+                    round, runs, (t1 - t0) / 1e6, (t2 - t1) / 1e6, (t1 - t0) / (double) (t2 - t1), mismatches);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+// ScenarioPublisher.java
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * STYLE: parallel – Sweep als java.util.concurrent.Flow.Publisher. Szenarien wie ParallelSimulationRunner.runSweep
+ * (seed = 1000 + 37 i, Gruppe (i % 4) + 1), aber nachfrage-getrieben: ein Worker beginnt ein Szenario nur,
+ * wenn der Subscriber dafür schon request(n) gegeben hat. Langsame Senken bremsen so die Erzeugung,
+ * statt dass eine unbegrenzte Queue wächst.
+ *
+ * CONTRACT (Reactive-Streams-Regeln, soweit hier relevant):
+ * - Cold Publisher: jedes subscribe() startet einen eigenen Sweep mit eigenen Worker-Threads.
+ * - onNext-Aufrufe sind serialisiert (nie gleichzeitig) und nie mehr als angefordert.
+ * - Reihenfolge = Fertigstellungsreihenfolge, nicht Szenario-Reihenfolge (scenarioId liegt im Ergebnis).
+ * - Höchstens (angefordert - geliefert) Szenarien sind in Arbeit oder gepuffert → Speicher O(Nachfrage).
+ * - Fehler in einem Szenario → onError, übrige Worker hören nach ihrem laufenden Szenario auf.
+ * - request(n <= 0) → onError(IllegalArgumentException); cancel() stoppt die Worker nach dem laufenden Szenario.
+ * GOOD: Kombinierbar mit FlowOperators (map/filter/batch/aggregate) und SubmissionPublisher-basierten Senken.
+ */
+public final class ScenarioPublisher implements Flow.Publisher<ParallelSimulationRunner.ScenarioResult> {
+    private final Species[] defs;
+    private final DayLengthModel dayLength;
+    private final double latitude;
+    private final int dayStart;
+    private final int scenarios;
+    private final int threads;
+
+    // CONTRACT: Preconditions: defs != null, scenarios >= 0, threads > 0.
+    public ScenarioPublisher(Species[] defs, DayLengthModel dayLength, double latitude, int dayStart,
+                             int scenarios, int threads) {
+        if (scenarios < 0 || threads <= 0) throw new IllegalArgumentException("need scenarios >= 0, threads > 0");
+        this.defs = defs.clone();
+        this.dayLength = dayLength;
+        this.latitude = latitude;
+        this.dayStart = dayStart;
+        this.scenarios = scenarios;
+        this.threads = threads;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ParallelSimulationRunner.ScenarioResult> subscriber) {
+        Objects.requireNonNull(subscriber);
+        SweepSubscription s = new SweepSubscription(subscriber);
+        subscriber.onSubscribe(s);
+        s.start();
+    }
+
+    // Ein Sweep für genau einen Subscriber.
+    private final class SweepSubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super ParallelSimulationRunner.ScenarioResult> downstream;
+        private final AtomicLong requested = new AtomicLong();  // Summe aller request(n), gesättigt
+        private final AtomicInteger claimed = new AtomicInteger(); // vergebene Szenarien
+        private final ConcurrentLinkedQueue<ParallelSimulationRunner.ScenarioResult> ready = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger wip = new AtomicInteger();
+        private final Object demandLock = new Object();
+        private volatile boolean cancelled;
+        private volatile Throwable error;
+        private int emitted;       // nur im Drain
+        private boolean terminated; // nur im Drain
+
+        SweepSubscription(Flow.Subscriber<? super ParallelSimulationRunner.ScenarioResult> downstream) {
+            this.downstream = downstream;
+        }
+
+        void start() {
+            if (scenarios == 0) {
+                drain();
+                return;
+            }
+            for (int w = 0; w < Math.min(threads, scenarios); w++) {
+                Thread t = new Thread(this::work, "flow-sweep-" + (w + 1));
+                t.setDaemon(true);
+                t.start();
+            }
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                fail(new IllegalArgumentException("request(n) needs n > 0 (rule 3.9)"));
+                return;
+            }
+            requested.getAndUpdate(r -> (r + n < 0) ? Long.MAX_VALUE : r + n);
+            synchronized (demandLock) {
+                demandLock.notifyAll();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            synchronized (demandLock) {
+                demandLock.notifyAll();
+            }
+        }
+
+        // Worker: Nachfrage abwarten → Szenario beanspruchen → rechnen → zum Drain geben.
+        private void work() {
+            while (true) {
+                int i;
+                synchronized (demandLock) {
+                    while (!stopped() && claimed.get() < scenarios && claimed.get() >= requested.get()) {
+                        try {
+                            demandLock.wait();
+                        } catch (InterruptedException interrupted) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                    }
+                    if (stopped()) return;
+                    i = claimed.get();
+                    if (i >= scenarios) return;
+                    claimed.set(i + 1);
+                }
+                try {
+                    ready.offer(ParallelSimulationRunner.simulateScenario(i + 1, (i % 4) + 1, defs, dayLength,
+                            latitude, dayStart, 1000L + 37L * i, null));
+                } catch (RuntimeException ex) {
+                    fail(ex);
+                    return;
+                }
+                drain();
+            }
+        }
+
+        private boolean stopped() {
+            return cancelled || error != null;
+        }
+
+        private void fail(Throwable t) {
+            synchronized (demandLock) {
+                if (error == null) error = t;
+                demandLock.notifyAll();
+            }
+            drain();
+        }
+
+        // Serialisierte Auslieferung (work-in-progress-Zähler): genau ein Thread ruft downstream auf.
+        private void drain() {
+            if (wip.getAndIncrement() != 0) return;
+            int missed = 1;
+            do {
+                if (cancelled) {
+                    ready.clear();
+                } else if (!terminated) {
+                    ParallelSimulationRunner.ScenarioResult r;
+                    while ((r = ready.poll()) != null) {
+                        emitted++;
+                        downstream.onNext(r);
+                        if (cancelled) break;
+                    }
+                    Throwable e = error;
+                    if (!cancelled && (e != null || emitted == scenarios)) {
+                        terminated = true;
+                        if (e != null) downstream.onError(e);
+                        else downstream.onComplete();
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+    }
+
+    // Demo: langsame Senke (schreibt 16er-Batches mit Pause) drosselt den Sweep; danach ein Aggregat über alle Läufe.
+    // Aufruf: java ScenarioPublisher [scenarios] [threads] [sinkMillis]
+    public static void main(String[] args) {
+        int scenarios = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        long sinkMillis = args.length > 2 ? Long.parseLong(args[2]) : 20;
+        ScenarioPublisher sweep = new ScenarioPublisher(Test.build(45), new AstroDayLength(), 48.2, 91, scenarios, threads);
+
+        int[] written = new int[2];
+        FlowOperators.forEach(
+                FlowOperators.batch(
+                        FlowOperators.map(
+                                FlowOperators.filter(sweep, r -> r.finalBeePopulation > 0),
+                                r -> String.format(Locale.ROOT, "%d,%.4f,%.4f", r.scenarioId, r.finalBeePopulation, r.avgVigor)),
+                        16),
+                2,
+                (List<String> lines) -> {
+                    written[0] += lines.size();
+                    written[1]++;
+                    try {
+                        Thread.sleep(sinkMillis); // langsames Ziel (Datei, Netz, ...)
+                    } catch (InterruptedException interrupted) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+        System.out.printf("slow sink: %d lines in %d batches%n", written[0], written[1]);
+
+        FlowOperators.forEach(
+                FlowOperators.aggregate(sweep, Numerics.Stats::new, (st, r) -> {
+                    st.add(r.finalBeePopulation);
+                    return st;
+                }),
+                1,
+                st -> System.out.printf("aggregate: runs=%d | meanBees=%6.2f (sd %.2f)%n", st.n, st.mean, st.stddev()));
+    }
+}
@@ -1,37 +1,145 @@
+import java.util.Arrays;
 import java.util.Random;
 
 // SeedBank.java
 // STYLE: OO Aggregat, kapselt Samenlager.
 // CONTRACT (Invariante): stored >= 0, 0 ≤ qualityAvg ≤ 1 sofern stored > 0.
 // HISTORY: stored reduziert/grows nur über add/germinate.
+// Zwei Modi: deterministisch (new SeedBank(), ein Topf, gerundete Anteile) oder altersstrukturiert-stochastisch
+// (ageStructured(): Kohorten je Alter, jede Kohorte überlebt/keimt binomial, Überleben sinkt mit dem Alter).
+// Im Kohorten-Modus gilt zusätzlich: stored == Summe der Kohorten, qualityAvg == gewichtetes Mittel.
 
 public final class SeedBank {
+    static final int MAX_AGE = 8;            // älter werden Samen nicht (letzte Kohorte stirbt beim Altern)
+    static final double AGE_DECAY = 0.85;    // Überlebens-Faktor je weiterem Jahr im Boden
+
     private int stored;
     private double qualityAvg;
+    private final int[] cohort;              // null = deterministischer Modus; sonst Samen je Alter (Ring ab head)
+    private final double[] cohortQuality;
+    private int head;                        // Index der Kohorte mit Alter 0
+
+    public SeedBank() {
+        this(false);
+    }
+
+    private SeedBank(boolean ageStructured) {
+        cohort = ageStructured ? new int[MAX_AGE] : null;
+        cohortQuality = ageStructured ? new double[MAX_AGE] : null;
+    }
+
+    // Altersstrukturierte SeedBank für den stochastischen Modus.
+    // GOOD: Erwartungswert im ersten Winter wie im deterministischen Modus; nur ältere Kohorten verlieren zusätzlich.
+    public static SeedBank ageStructured() {
+        return new SeedBank(true);
+    }
+
+    public boolean isAgeStructured() {
+        return cohort != null;
+    }
 
     // Füge einen Output zu der bestehenden Seed Bank hinzu
     // CONTRACT: Preconditions: output != null. Postconditions: stored >= vorher, qualityAvg gewichtet aktualisiert.
     public void add(SeedOutput output) {
         if(output.count <= 0) return;
 
-        double total = stored + output.count;
-        qualityAvg = (stored*qualityAvg + output.count*output.quality) / total;
-        this.stored = (int) total;
+        if (cohort != null) {
+            // neue Kohorte (Alter 0); mehrere add() in einer Saison werden gewichtet zusammengelegt
+            int n = cohort[head];
+            cohortQuality[head] = (n*cohortQuality[head] + output.count*output.quality) / (n + output.count);
+            cohort[head] = n + output.count;
+        }
+        qualityAvg = pooledQuality(stored, qualityAvg, output.count, output.quality);
+        this.stored = stored + output.count;
+    }
+
+    // gewichtete Qualität nach dem Zulegen von count Samen (count > 0); reine Funktion für die Array-Kerne
+    static double pooledQuality(int stored, double qualityAvg, int count, double quality) {
+        double total = stored + count;
+        return (stored*qualityAvg + count*quality) / total;
     }
 
     // Berechnet die Keimung der Seeds in der SeedBank
     // CONTRACT: Preconditions: rng != null. Postconditions: Rückgabewert >=0, stored reduziert sich.
     public int germinate(Random rng) {
         if (stored == 0) return 0;
+        if (cohort != null) return germinateCohorts(rng);
 
-        // 30-80% können überwintern und 10-30% des Ergebnisses keimen
-        int afterWinter = (int) Math.round(stored * (0.5 + 0.3*rng.nextDouble()));
-        int germinating = (int) Math.round(afterWinter * (0.1 + 0.2*rng.nextDouble()));
+        int afterWinter = survivingWinter(stored, rng.nextDouble());
+        int germinating = germinating(afterWinter, rng.nextDouble());
 
         stored = afterWinter - germinating;
         return Math.max(0, germinating);
+    }
+
+    // 30-80% können überwintern und 10-30% des Ergebnisses keimen (u = je eine Uniform aus dem Saison-RNG).
+    // Reine Funktionen für die Array-Kerne, die Ziehungen macht der Aufrufer in dieser Reihenfolge.
+    static int survivingWinter(int stored, double u) {
+        return (int) Math.round(stored * (0.5 + 0.3*u));
+    }
+
+    static int germinating(int afterWinter, double u) {
+        return (int) Math.round(afterWinter * (0.1 + 0.2*u));
     }
 
+    // Kohorten altern um ein Jahr; jede überlebt binomial mit (0.5..0.8)·AGE_DECAY^(Alter−1), die Überlebenden keimen
+    // binomial mit 0.1..0.3. Die beiden Uniforms sind Umweltzufall (für alle Kohorten gleich, gleiche Reihenfolge
+    // wie im deterministischen Modus), die Binomial-Ziehungen der demografische Zufall.
+    private int germinateCohorts(Random rng) {
+        double survival = 0.5 + 0.3*rng.nextDouble();
+        double germination = 0.1 + 0.2*rng.nextDouble();
+
+        head = (head + MAX_AGE - 1) % MAX_AGE;
+        cohort[head] = 0;            // war die älteste Kohorte → stirbt
+        cohortQuality[head] = 0;
+        int germinating = 0, left = 0;
+        double qualitySum = 0;
+        long survivors = 0;
+        // Faktor im Schleifenkopf → auch leere Kohorten altern mit, survival gehört immer zu age
+        for (int age = 1; age < MAX_AGE; age++, survival *= AGE_DECAY) {
+            int i = (head + age) % MAX_AGE;
+            if (cohort[i] == 0) continue;
+            int alive = DiscreteSampler.binomial(rng, cohort[i], survival);
+            int germ = DiscreteSampler.binomial(rng, alive, germination);
+            survivors += alive;
+            qualitySum += alive * cohortQuality[i];
+            germinating += germ;
+            cohort[i] = alive - germ;
+            left += cohort[i];
+        }
+        stored = left;
+        // Qualität des überlebenden Pools, aus dem gekeimt wurde; ohne Überlebende bleibt der alte Wert (wie oben)
+        if (survivors > 0) qualityAvg = qualitySum / survivors;
+        return germinating;
+    }
+
+    // Zustand von außen einspielen (Persistenz/Flyweight).
+    // CONTRACT: Preconditions: stored >= 0, qualityAvg in [0,1]. Postconditions: Invariante gilt (Werte geclamped).
+    void restore(int stored, double qualityAvg) {
+        this.stored = Math.max(0, stored);
+        this.qualityAvg = Math.max(0, Math.min(1, qualityAvg));
+        if (cohort != null) {
+            // Alter geht beim Persistieren verloren → alles als eine Kohorte vom letzten Herbst
+            clearCohorts();
+            cohort[head] = this.stored;
+            cohortQuality[head] = this.qualityAvg;
+        }
+    }
+
+    private void clearCohorts() {
+        Arrays.fill(cohort, 0);
+        Arrays.fill(cohortQuality, 0);
+        head = 0;
+    }
+
+    // Leeren (Wiederverwendung über PlantSpecies.reset).
+    // CONTRACT: Postconditions: stored == 0, qualityAvg == 0 – wie new SeedBank().
+    public void reset() {
+        stored = 0;
+        qualityAvg = 0;
+        if (cohort != null) clearCohorts();
+    }
+
     // CONTRACT: Postcondition: Rückgabe in [0,1].
     public double getQualityAvg() {
         return qualityAvg;
@@ -2,6 +2,11 @@
 
 import java.util.List;
 import java.util.Random;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /*
   Teil vom module simulation. Kapselt einen multi year run
@@ -14,14 +19,23 @@ import java.util.Random;
 public final class Simulation {
     private final Ecosystem ecosystem;
     private final BeePopulation bees;
-    private final Weather weather;
+    private final WeatherSource weather;
     private final Random random;
     private final int years;
     private static final int DAYS = 240; // Vegetationsperiode
-
+
+    private int yearsDone;               // abgeschlossene Jahre (für Probe-Callbacks)
+    private SimulationProbe probe;       // null = kein Beobachter → unveränderter Hot Loop
+    private ProbeSampling sampling = ProbeSampling.all();
+    private ProbeView view;
+    private TerminationPolicy termination = TerminationPolicy.none();
+    private TerminationPolicy.Monitor monitor; // null = keine Abbruchprüfung
+    private StopReason stopReason;       // null solange weder fertig noch abgebrochen
+    private int yearsExtrapolated;
 
     // CONTRACT: Preconditions: group != null, weather != null, years > 0. Postconditions: Invarianten gesetzt.
-    public Simulation(List<PlantSpecies> group, Weather weather, long randomSeed, double initialBeePopulation, int years) {
+    // weather: synthetisch (Weather) oder aufgezeichnet (RecordedWeather); gehört danach dieser Simulation.
+    public Simulation(List<PlantSpecies> group, WeatherSource weather, long randomSeed, double initialBeePopulation, int years) {
         this.ecosystem = new Ecosystem(group);
         this.weather = weather;
         this.random = new Random(randomSeed);
@@ -29,23 +43,215 @@ public final class Simulation {
         this.years = years;
     }
 
+    // Für einen neuen Lauf wiederverwenden: Zustand wie new Simulation(..., seed, initialBeePopulation, years)
+    // mit frisch gebauten Arten und einem Wetter mit demselben seed. Probe und TerminationPolicy bleiben angehängt.
+    // CONTRACT: Postconditions: yearsDone == 0, stopReason() == null; folgender run() bitgleich zu einer Neuanlage.
+    // GOOD: Kein neuer Objektgraph je Lauf (SimulationPool); übrig bleiben nur die DayWeather-Snapshots der Tage.
+    public void reset(long seed, double initialBeePopulation) {
+        reset(seed, seed, initialBeePopulation);
+    }
+
+    // wie reset(seed, bees), aber mit getrennten Seeds für Simulation-RNG und Wetter (z.B. seed + 13 wie im Sweep).
+    public void reset(long randomSeed, long weatherSeed, double initialBeePopulation) {
+        random.setSeed(randomSeed);
+        weather.reset(weatherSeed);
+        ecosystem.reset();
+        bees.reset(initialBeePopulation);
+        yearsDone = 0;
+        yearsExtrapolated = 0;
+        stopReason = null;
+        monitor = termination.isNone() ? null : termination.monitor(ecosystem.species().size());
+    }
+
     // vollen Lauf durchführen: alle Tage, dann Winter.
     // CONTRACT: Preconditions: none beyond Konstruktor. Postconditions: Nach Jahren sind alle Saisons abgeschlossen.
+    // Mit TerminationPolicy endet der Lauf ggf. früher; Rückgabe sagt warum.
     // GOOD: Klar strukturierter Doppelloop, der Jahresrhythmus eindeutig dokumentiert.
     // BAD: Simulation erzeugt BeePopulation intern → erschwert Dependency Injection für Tests.
-    public void run() {
-        for (int year = 1; year <= years; year++) {
-            ecosystem.resetSeason(random);
-            weather.startSeason();
+    public StopReason run() {
+        while (!finished()) {
+            stepYear();
+        }
+        return stopReason();
+    }
+
+    // genau ein Jahr: Saisonstart, alle Tage, dann Winter.
+    // CONTRACT: Preconditions: none beyond Konstruktor. Postconditions: eine Saison mehr abgeschlossen; run() == years x stepYear().
+    // GOOD: Jahresgrenze als Einstiegspunkt erlaubt Abbruch zwischen Jahren (z.B. Daemon-Jobs).
+    // Mit Probe läuft eine eigene Schleife; ohne Probe bleibt der Tagesloop frei von Callbacks (Weiche einmal pro Jahr).
+    public void stepYear() {
+        int year = ++yearsDone;
+        ecosystem.resetSeason(random);
+        weather.startSeason();
+        if (probe == null) {
             for (int day = 1; day <= DAYS; day++) {
                 DayWeather w = weather.nextDay();
                 ecosystem.dailyUpdate(w, bees);
             }
             bees.applyWinterMortality(random);
             ecosystem.winterAll(random);
+        } else {
+            stepYearProbed(year, probe);
+        }
+        if (monitor != null && stopReason == null && yearsDone < years) checkTermination();
+    }
+
+    // Lauf als lazy Stream: jedes gezogene Element rechnet genau ein stepYear() und liefert danach einen YearSnapshot.
+    // Beispiel: sim.yearStream().takeWhile(y -> y.bees() > 1).forEach(...) → nach dem ersten "toten" Jahr wird nichts mehr gerechnet.
+    // CONTRACT: Preconditions: nicht parallel benutzen, währenddessen kein run()/stepYear() von außen.
+    // Postconditions: Stream endet mit finished(); bricht der Konsument ab, bleibt die Simulation nach dem letzten
+    // gezogenen Jahr stehen (später fortsetzbar). Beginnt bei yearsDone() + 1, nicht bei Jahr 1.
+    // GOOD: Frühabbruch und "erstes interessantes Jahr finden" ohne Callbacks und ohne Vorausrechnen.
+    public Stream<YearSnapshot> yearStream() {
+        Spliterator<YearSnapshot> years = new Spliterators.AbstractSpliterator<>(this.years - yearsDone,
+                Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE) {
+            @Override
+            public boolean tryAdvance(Consumer<? super YearSnapshot> action) {
+                if (finished()) return false;
+                stepYear();
+                action.accept(snapshot());
+                return true;
+            }
+        };
+        return StreamSupport.stream(years, false);
+    }
+
+    // CONTRACT: Postcondition: unabhängige Kopie des aktuellen Zustands (year == yearsDone()).
+    public YearSnapshot snapshot() {
+        return YearSnapshot.of(yearsDone, bees, ecosystem.species(), finished() ? stopReason() : null);
+    }
+
+    // Abbruchregeln setzen (ersetzt vorhandene). Gilt ab dem nächsten Jahresende (auch in runPipelined).
+    // CONTRACT: Preconditions: policy != null. Postconditions: stopReason() == null bis zum nächsten Abbruch/Ende.
+    public void terminateWhen(TerminationPolicy policy) {
+        this.termination = policy;
+        this.monitor = policy.isNone() ? null : policy.monitor(ecosystem.species().size());
+        this.stopReason = null;
+    }
+
+    // einmal pro Jahr nach dem Winter
+    private void checkTermination() {
+        StopReason reason = monitor.observe(bees, ecosystem.species());
+        if (reason == null) return;
+        stopReason = reason;
+        if (!termination.extrapolates()) return;
+        int remaining = years - yearsDone;
+        if (reason == StopReason.COLLAPSED) {
+            fastForwardCollapsed(remaining);
+        } else if (reason == StopReason.STEADY_STATE) {
+            monitor.restoreCycle(remaining, bees, ecosystem.species());
+        } else {
+            return;
+        }
+        yearsExtrapolated = remaining;
+        yearsDone = years;
+    }
+
+    // Kollabiertes Ökosystem: Nahrung ist jeden Tag 0, also bleibt nur die Bienenregel. Saisonstart und Winter
+    // laufen weiter über den gemeinsamen RNG (leere SeedBanks ziehen nichts), damit Bienen bitgleich zu run() bleiben.
+    // Abweichung: Wetter wird nicht weitergerechnet, bloomFraction bleibt 0, Probes sehen diese Jahre nicht.
+    private void fastForwardCollapsed(int remaining) {
+        for (int y = 0; y < remaining; y++) {
+            ecosystem.resetSeason(random);
+            double x = bees.population();
+            for (int day = 1; day <= DAYS; day++) x = BeePopulation.dailyGrowth(x, 0.0);
+            bees.reset(x);
+            bees.applyWinterMortality(random);
+            ecosystem.winterAll(random);
         }
     }
 
+    private void stepYearProbed(int year, SimulationProbe p) {
+        p.onSeasonStart(year, view);
+        if (sampling.sampleYear(year)) {
+            for (int day = 1; day <= DAYS; day++) {
+                DayWeather w = weather.nextDay();
+                if (sampling.sampleDay(day)) ecosystem.dailyUpdate(w, bees, year, day, p, view);
+                else ecosystem.dailyUpdate(w, bees);
+            }
+        } else {
+            for (int day = 1; day <= DAYS; day++) {
+                DayWeather w = weather.nextDay();
+                ecosystem.dailyUpdate(w, bees);
+            }
+        }
+        p.onWinter(year, view);
+        bees.applyWinterMortality(random);
+        ecosystem.winterAll(random);
+        p.onYearEnd(year, view);
+    }
+
+    // Beobachter anhängen (ersetzt einen vorhandenen). sampling == null → alles.
+    // CONTRACT: Preconditions: probe != null; Artindizes im sampling gültig. Postconditions: Callbacks ab dem nächsten Jahr.
+    public void attach(SimulationProbe probe, ProbeSampling sampling) {
+        this.sampling = (sampling != null) ? sampling : ProbeSampling.all();
+        this.view = ecosystem.probeView(bees, this.sampling);
+        this.probe = probe;
+    }
+
+    // CONTRACT: Postcondition: kein Beobachter, run() läuft wieder ohne Callback-Kosten.
+    public void detach() {
+        this.probe = null;
+        this.view = null;
+    }
+
+    // Pipeline-Modus: ein Produzenten-Thread erzeugt DayWeather-Tage für alle Jahre voraus in einen
+    // SPSC-Ringpuffer, der aufrufende Thread rechnet Ecosystem + Bienen. Wetter hängt nicht vom
+    // Pflanzenzustand ab und nutzt seinen eigenen RNG → Ergebnis bitgleich zu run().
+    // CONTRACT: Preconditions: bufferDays > 0; weather wird während des Laufs von niemand anderem benutzt.
+    // Postconditions: wie run(): rechnet die restlichen years - yearsDone Jahre (auch nach stepYear()), prüft die
+    // TerminationPolicy nach jedem Jahr; nach finished() passiert nichts. Fehler im Wetter-Thread werden als
+    // RuntimeException weitergereicht; bei Unterbrechung des Aufrufers wird der Produzent gestoppt und das
+    // Interrupt-Flag gesetzt. Nach Abbruch/Unterbrechung ist das Wetter dem Modell voraus → nicht weiterrechnen.
+    // GOOD: Verkürzt die Latenz eines einzelnen langen Laufs, den man nicht über Seeds parallelisieren kann.
+    public StopReason runPipelined(int bufferDays) {
+        if (finished()) return stopReason();
+        int remaining = years - yearsDone;
+        SpscRingBuffer<DayWeather> days = new SpscRingBuffer<>(bufferDays);
+        Throwable[] producerError = new Throwable[1];
+        Thread producer = new Thread(() -> {
+            try {
+                for (int y = 0; y < remaining; y++) {
+                    weather.startSeason();
+                    for (int day = 1; day <= DAYS; day++) days.put(weather.nextDay());
+                }
+            } catch (InterruptedException stop) {
+                // Konsument hat abgebrochen
+            } catch (RuntimeException | Error ex) {
+                producerError[0] = ex;
+            } finally {
+                days.close();
+            }
+        }, "weather-producer");
+        producer.setDaemon(true);
+        producer.start();
+        try {
+            for (int y = 0; y < remaining && !finished(); y++) {
+                int year = ++yearsDone;
+                SimulationProbe p = probe;
+                ecosystem.resetSeason(random);
+                if (p != null) p.onSeasonStart(year, view);
+                boolean daily = p != null && sampling.sampleYear(year);
+                for (int day = 1; day <= DAYS; day++) {
+                    DayWeather w = days.take();
+                    if (w == null) throw new IllegalStateException("weather producer failed", producerError[0]);
+                    if (daily && sampling.sampleDay(day)) ecosystem.dailyUpdate(w, bees, year, day, p, view);
+                    else ecosystem.dailyUpdate(w, bees);
+                }
+                if (p != null) p.onWinter(year, view);
+                bees.applyWinterMortality(random);
+                ecosystem.winterAll(random);
+                if (p != null) p.onYearEnd(year, view);
+                if (monitor != null && stopReason == null && yearsDone < years) checkTermination();
+            }
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+        } finally {
+            producer.interrupt();
+        }
+        return stopReason();
+    }
+
     // Read-only-Getter.
     // CONTRACT: Postcondition: Liefert dieselbe Instanz, Client darf Zustand lesen.
     public BeePopulation bees() {
@@ -56,6 +262,32 @@ public final class Simulation {
         return ecosystem;
     }
 
+    // CONTRACT: Postcondition: 0 <= yearsDone; wächst mit jedem stepYear().
+    public int yearsDone() {
+        return yearsDone;
+    }
+
+    // CONTRACT: Postcondition: true, wenn alle Jahre gerechnet/extrapoliert sind oder die Policy abgebrochen hat.
+    public boolean finished() {
+        return stopReason != null || yearsDone >= years;
+    }
+
+    // CONTRACT: Postcondition: null solange !finished(), sonst COMPLETED oder der Abbruchgrund.
+    public StopReason stopReason() {
+        if (stopReason != null) return stopReason;
+        return (yearsDone >= years) ? StopReason.COMPLETED : null;
+    }
+
+    // CONTRACT: Postcondition: Anzahl Jahre, die nicht gerechnet, sondern extrapoliert wurden (0 ohne Extrapolation).
+    public int yearsExtrapolated() {
+        return yearsExtrapolated;
+    }
+
+    // CONTRACT: Postcondition: konfigurierte Anzahl Jahre (> 0).
+    public int years() {
+        return years;
+    }
+
     public static int seasonDays() {
         return DAYS;
     }
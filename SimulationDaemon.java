@@ -0,0 +1,349 @@
+// SimulationDaemon.java
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * STYLE: langlebiger Prozess (Daemon). Hält eine aufgewärmte JVM am Leben und nimmt Szenario-Jobs
+ * als JSON-Zeilen entgegen – entweder über stdin oder über einen lokalen Socket (127.0.0.1).
+ * Jobs laufen auf einem festen Thread-Pool mit Prioritäts-Queue; Ergebnisse werden zeilenweise
+ * zurückgeschrieben, sobald ein Job fertig ist.
+ *
+ * Protokoll (eine Zeile = ein Objekt):
+ *   {"id":"a","group":1,"y0":45,"seed":7,"years":25,"bees":120,"priority":5,"weather":"bulk"}
+ *   optional "weather":"recorded","archive":"<datei.wxa>","station":"<name>","firstYear":<index> → RecordedWeather
+ *   optional "terminate":"absorbing" → vorzeitiges Ende bei Aussterben/Kollaps (TerminationPolicy.absorbing())
+ *   {"cmd":"cancel","id":"a"}   {"cmd":"stats"}   {"cmd":"shutdown"}
+ * Antworten: {"id":"a","status":"done","stop":"COMPLETED",...} | "cancelled" | "failed" | "rejected" und {"status":"stats",...}.
+ *
+ * CONTRACT: Jeder Job baut seine eigene Simulation (wie ParallelSimulationRunner) → keine geteilten
+ * mutable Modellobjekte. Abbruch greift vor dem Start sofort, sonst an der nächsten Jahresgrenze.
+ * GOOD: JIT-Warm-up einmal beim Start statt pro JVM und Szenario.
+ * BAD: Java 17 hat noch keine Virtual Threads → gebundener Plattform-Thread-Pool.
+ */
+public final class SimulationDaemon {
+
+    private static final int WARMUP_RUNS = 40;
+
+    private final ThreadPoolExecutor pool;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger running = new AtomicInteger();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder simulatedDays = new LongAdder();
+    private final long startNanos = System.nanoTime();
+    private volatile boolean shuttingDown;
+
+    // CONTRACT: Preconditions: threads > 0. Postconditions: Pool gestartet, Queue leer.
+    public SimulationDaemon(int threads) {
+        AtomicInteger ids = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<>(),
+                r -> {
+                    Thread t = new Thread(r, "daemon-worker-" + ids.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    /**
+     * NOTE: Ein Job ist gleichzeitig FutureTask (für cancel) und Comparable (für die Prioritäts-Queue).
+     * Höhere priority zuerst, bei Gleichstand FIFO über die Sequenznummer.
+     */
+    private final class Job extends FutureTask<Void> implements Comparable<Job> {
+        final String id;
+        final int priority;
+        final long seq;
+        final ResultSink sink;
+        // genau eine Endmeldung (done/failed/cancelled): wer das Flag zuerst setzt, antwortet und zählt
+        final AtomicBoolean answered;
+
+        Job(String id, int priority, Map<String, String> spec, ResultSink sink) {
+            this(id, priority, spec, sink, new AtomicBoolean());
+        }
+
+        private Job(String id, int priority, Map<String, String> spec, ResultSink sink, AtomicBoolean answered) {
+            super(() -> {
+                runJob(id, spec, sink, answered);
+                return null;
+            });
+            this.id = id;
+            this.priority = priority;
+            this.seq = sequence.incrementAndGet();
+            this.sink = sink;
+            this.answered = answered;
+        }
+
+        // CONTRACT: false, wenn der Job schon geantwortet hat (auch wenn die FutureTask noch nicht fertig ist).
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            if (answered.get() || !super.cancel(mayInterruptIfRunning)) return false;
+            pool.remove(this);
+            if (!answered.compareAndSet(false, true)) return false; // "done" kam dazwischen
+            cancelled.increment();
+            sink.send(JsonLines.object("id", id, "status", "cancelled"));
+            return true;
+        }
+
+        // FutureTask fertig (normal, Fehler oder Abbruch): nur diesen Job austragen, nie einen neueren mit gleicher id.
+        @Override
+        protected void done() {
+            jobs.remove(id, this);
+        }
+
+        @Override
+        public int compareTo(Job o) {
+            if (priority != o.priority) return Integer.compare(o.priority, priority);
+            return Long.compare(seq, o.seq);
+        }
+    }
+
+    // Ein Job im Worker: Jahr für Jahr rechnen, zwischen den Jahren Abbruch prüfen.
+    // CONTRACT: Postconditions: höchstens eine Antwortzeile (done/failed); hat cancel() schon geantwortet, keine.
+    private void runJob(String id, Map<String, String> spec, ResultSink sink, AtomicBoolean answered) {
+        running.incrementAndGet();
+        long t0 = System.nanoTime();
+        try {
+            Simulation sim = buildSimulation(spec);
+            int years = sim.years();
+            while (!sim.finished()) {
+                if (Thread.currentThread().isInterrupted()) return;
+                sim.stepYear();
+                simulatedDays.add(Simulation.seasonDays());
+            }
+            double avgVigor = sim.ecosystem().species().stream().mapToDouble(PlantSpecies::vigor).average().orElse(0);
+            double seedAvg = sim.ecosystem().species().stream().mapToDouble(PlantSpecies::seedSet).average().orElse(0);
+            if (!answered.compareAndSet(false, true)) return;
+            completed.increment();
+            sink.send(JsonLines.object("id", id, "status", "done",
+                    "bees", sim.bees().population(), "avgVigor", avgVigor, "seedSet", seedAvg,
+                    "years", years, "stop", sim.stopReason(), "extrapolatedYears", sim.yearsExtrapolated(),
+                    "millis", (System.nanoTime() - t0) / 1_000_000L));
+        } catch (RuntimeException ex) {
+            if (!answered.compareAndSet(false, true)) return;
+            failed.increment();
+            sink.send(JsonLines.object("id", id, "status", "failed", "error", String.valueOf(ex.getMessage())));
+        } finally {
+            running.decrementAndGet();
+        }
+    }
+
+    // Ziel für Antwortzeilen; pro Verbindung eine Instanz, synchronisiert weil Worker parallel schreiben.
+    static final class ResultSink {
+        private final PrintWriter out;
+
+        ResultSink(Writer out) {
+            this.out = new PrintWriter(out, true);
+        }
+
+        synchronized void send(String line) {
+            out.println(line);
+        }
+    }
+
+    // Eine Protokollzeile verarbeiten.
+    // CONTRACT: Preconditions: line, sink != null. Postconditions: Job eingereiht oder Antwortzeile gesendet.
+    // Rückgabe false nur bei "shutdown".
+    boolean handle(String line, ResultSink sink) {
+        if (line.isBlank()) return true;
+        Map<String, String> msg;
+        try {
+            msg = JsonLines.parse(line);
+        } catch (IllegalArgumentException bad) {
+            sink.send(JsonLines.object("status", "rejected", "error", bad.getMessage()));
+            return true;
+        }
+        String cmd = msg.getOrDefault("cmd", "run");
+        switch (cmd) {
+            case "run" -> {
+                try {
+                    submit(msg, sink);
+                } catch (IllegalArgumentException bad) {
+                    sink.send(JsonLines.object("id", msg.get("id"), "status", "rejected", "error", bad.getMessage()));
+                }
+            }
+            case "cancel" -> {
+                Job job = jobs.get(msg.getOrDefault("id", ""));
+                if (job == null || !job.cancel(true)) {
+                    sink.send(JsonLines.object("id", msg.get("id"), "status", "unknown"));
+                }
+            }
+            case "stats" -> sink.send(stats());
+            case "shutdown" -> {
+                return false;
+            }
+            default -> sink.send(JsonLines.object("status", "rejected", "error", "unknown cmd " + cmd));
+        }
+        return true;
+    }
+
+    private void submit(Map<String, String> msg, ResultSink sink) {
+        String id = msg.get("id");
+        if (id == null) {
+            sink.send(JsonLines.object("status", "rejected", "error", "missing id"));
+            return;
+        }
+        if (shuttingDown) {
+            sink.send(JsonLines.object("id", id, "status", "rejected", "error", "shutting down"));
+            return;
+        }
+        Job job = new Job(id, JsonLines.getInt(msg, "priority", 0), msg, sink);
+        if (jobs.putIfAbsent(id, job) != null) {
+            sink.send(JsonLines.object("id", id, "status", "rejected", "error", "duplicate id"));
+            return;
+        }
+        pool.execute(job);
+    }
+
+    // Durchsatz und Queue-Tiefe als Statuszeile.
+    // CONTRACT: Postcondition: keine Seiteneffekte; Werte sind Momentaufnahmen.
+    String stats() {
+        double secs = Math.max(1e-9, (System.nanoTime() - startNanos) / 1e9);
+        return JsonLines.object("status", "stats",
+                "queued", pool.getQueue().size(),
+                "running", running.get(),
+                "completed", completed.sum(),
+                "cancelled", cancelled.sum(),
+                "failed", failed.sum(),
+                "jobsPerSec", completed.sum() / secs,
+                "simDaysPerSec", simulatedDays.sum() / secs,
+                "uptimeSec", secs);
+    }
+
+    // Jobdefinition → Simulation. Defaults entsprechen Test.runGroup (Wien, AstroDayLength, 25 Jahre, 120 Bienen).
+    // CONTRACT: Preconditions: spec != null. Postconditions: neue, unabhängige Simulation.
+    static Simulation buildSimulation(Map<String, String> spec) {
+        int group = JsonLines.getInt(spec, "group", 1);
+        int y0 = JsonLines.getInt(spec, "y0", 40 + 5 * group);
+        long seed = JsonLines.getLong(spec, "seed", 1L);
+        int years = JsonLines.getInt(spec, "years", 25);
+        double bees = JsonLines.getDouble(spec, "bees", 120);
+        double lat = JsonLines.getDouble(spec, "lat", 48.2);
+        int dayStart = JsonLines.getInt(spec, "dayStart", 91);
+        if (years <= 0) throw new IllegalArgumentException("years must be > 0");
+        DayLengthModel dayLength = "triangle".equals(spec.get("dayLength"))
+                ? new TriangleDayLength(Simulation.seasonDays(), 8, 16)
+                : new AstroDayLength();
+        WeatherSource weather;
+        if ("recorded".equals(spec.get("weather"))) {
+            WeatherArchive archive = WeatherArchive.shared(Path.of(spec.getOrDefault("archive", "weather.wxa")));
+            String name = spec.get("station");
+            int station = (name != null) ? archive.stationIndex(name) : 0;
+            if (station < 0) throw new IllegalArgumentException("unknown station " + name);
+            weather = new RecordedWeather(archive, station, JsonLines.getInt(spec, "firstYear", 0), dayStart);
+        } else if ("bulk".equals(spec.get("weather"))) {
+            weather = new BulkWeather(seed, dayLength, lat, dayStart);
+        } else {
+            weather = new Weather(seed, dayLength, lat, dayStart);
+        }
+        Simulation sim = new Simulation(Test.listWithReproduction(Test.build(y0), group), weather, seed, bees, years);
+        if ("absorbing".equals(spec.get("terminate"))) sim.terminateWhen(TerminationPolicy.absorbing());
+        return sim;
+    }
+
+    // JIT aufwärmen: kurze Läufe über alle Reproduktionsmischungen, damit Hot Paths kompiliert sind.
+    void warmUp() {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            Map<String, String> spec = Map.of("group", String.valueOf(1 + i % 3), "seed", String.valueOf(i), "years", "3");
+            buildSimulation(spec).run();
+        }
+    }
+
+    // Auf laufende Jobs warten und Pool beenden.
+    void drainAndStop(ResultSink sink) {
+        shuttingDown = true;
+        pool.shutdown();
+        try {
+            while (!pool.awaitTermination(1, TimeUnit.SECONDS)) {
+                // weiter warten, Jobs laufen
+            }
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            pool.shutdownNow();
+        }
+        sink.send(stats());
+    }
+
+    // stdin-Modus: liest bis EOF oder "shutdown", Antworten auf stdout.
+    void serveStdin(PrintStream out) throws IOException {
+        ResultSink sink = new ResultSink(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        String line;
+        while ((line = in.readLine()) != null) {
+            if (!handle(line, sink)) break;
+        }
+        drainAndStop(sink);
+    }
+
+    // Socket-Modus: nur Loopback, ein Thread pro Verbindung, Antworten gehen an die einreichende Verbindung.
+    void serveSocket(int port) throws IOException {
+        try (ServerSocket server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress())) {
+            System.err.println("SimulationDaemon listening on 127.0.0.1:" + server.getLocalPort());
+            while (!shuttingDown) {
+                Socket client = server.accept();
+                Thread t = new Thread(() -> serveClient(client, server), "daemon-client-" + client.getPort());
+                t.setDaemon(true);
+                t.start();
+            }
+        } catch (IOException closed) {
+            if (!shuttingDown) throw closed;
+        }
+        drainAndStop(new ResultSink(new OutputStreamWriter(System.err, StandardCharsets.UTF_8)));
+    }
+
+    private void serveClient(Socket client, ServerSocket server) {
+        try (client) {
+            ResultSink sink = new ResultSink(new OutputStreamWriter(client.getOutputStream(), StandardCharsets.UTF_8));
+            BufferedReader in = new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (!handle(line, sink)) {
+                    shuttingDown = true;
+                    server.close();
+                    break;
+                }
+            }
+        } catch (IOException ex) {
+            System.err.println("client " + client.getPort() + " dropped: " + ex.getMessage());
+        }
+    }
+
+    // Aufruf: java SimulationDaemon [--threads N] [--port P]   (ohne --port: stdin/stdout)
+    public static void main(String[] args) throws IOException {
+        int threads = Runtime.getRuntime().availableProcessors();
+        int port = -1;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--threads" -> threads = Integer.parseInt(args[i + 1]);
+                case "--port" -> port = Integer.parseInt(args[i + 1]);
+                default -> throw new IllegalArgumentException("unknown option " + args[i]);
+            }
+        }
+        SimulationDaemon daemon = new SimulationDaemon(Math.max(1, threads));
+        daemon.warmUp();
+        if (port >= 0) daemon.serveSocket(port);
+        else daemon.serveStdin(System.out);
+    }
+}
@@ -0,0 +1,224 @@
+// SimulationMetrics.java
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadMXBean;
+import java.util.Locale;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+  Teil vom module simulation. Laufzeitmetriken für Ensemble-Läufe: Zähler, Queue-Tiefe,
+  Phasen-Histogramme und laufende Ensemble-Statistik. Wird von Workern beschrieben und von
+  MetricsServer im Prometheus-Textformat gelesen.
+  STYLE: nebenläufige Zähler (LongAdder/DoubleAdder, gestreift) → Schreiben ohne Contention,
+  Lesen summiert die Streifen.
+
+  CONTRACT: Alle record-/enqueued-/dequeued-Methoden sind thread-safe und blockieren nie. Lesewerte sind
+  Momentaufnahmen (nicht atomar über mehrere Zähler hinweg).
+*/
+public final class SimulationMetrics {
+    // Histogramm-Grenzen in Sekunden (Prometheus "le")
+    private static final double[] BUCKETS = {0.0001, 0.00025, 0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025,
+            0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10};
+
+    private final long startNanos = System.nanoTime();
+    private final LongAdder simulationsCompleted = new LongAdder();
+    private final LongAdder simulationsFailed = new LongAdder();
+    private final LongAdder simulatedDays = new LongAdder();
+    private final LongAdder queueDepth = new LongAdder();
+
+    private final Histogram seasonStart = new Histogram("season_start");
+    private final Histogram season = new Histogram("season_days");
+    private final Histogram winter = new Histogram("winter");
+    private final Histogram scenario = new Histogram("scenario");
+
+    private final RunningStat finalBees = new RunningStat();
+    private final RunningStat finalAvgVigor = new RunningStat();
+
+    // für die Allokationsrate zwischen zwei Scrapes
+    private long lastAllocBytes = -1;
+    private long lastAllocNanos;
+
+    // Queue-Gauge: Producer erhöht beim Einreihen, Worker verringert beim Start.
+    public void enqueued(int n) {
+        queueDepth.add(n);
+    }
+
+    public void dequeued() {
+        queueDepth.decrement();
+    }
+
+    // Ein fertiger Lauf: Dauer, Endpopulation, mittlere Vigor.
+    public void recordScenario(long nanos, double bees, double avgVigor) {
+        simulationsCompleted.increment();
+        scenario.record(nanos);
+        finalBees.add(bees);
+        finalAvgVigor.add(avgVigor);
+    }
+
+    public void recordFailure() {
+        simulationsFailed.increment();
+    }
+
+    // Probe, die pro Jahr die Phasen misst und simulierte Tage zählt. Eine Instanz pro Simulation (nicht teilen).
+    // CONTRACT: Mit ProbeSampling.all().years() anhängen → keine Tages-Callbacks, nur 4 Aufrufe pro Jahr.
+    public SimulationProbe probe() {
+        return new SimulationProbe() {
+            private long mark = System.nanoTime();
+
+            @Override
+            public void onSeasonStart(int year, ProbeView view) {
+                long now = System.nanoTime();
+                seasonStart.record(now - mark);
+                mark = now;
+            }
+
+            @Override
+            public void onWinter(int year, ProbeView view) {
+                long now = System.nanoTime();
+                season.record(now - mark);
+                simulatedDays.add(Simulation.seasonDays());
+                mark = now;
+            }
+
+            @Override
+            public void onYearEnd(int year, ProbeView view) {
+                long now = System.nanoTime();
+                winter.record(now - mark);
+                mark = now;
+            }
+        };
+    }
+
+    // Sampling für probe(): keine Tages-Callbacks.
+    public static ProbeSampling probeSampling() {
+        return ProbeSampling.all().years();
+    }
+
+    // Prometheus Text Exposition Format (Version 0.0.4).
+    // CONTRACT: Postcondition: vollständiger Text, endet mit Zeilenumbruch. synchronized nur wegen der Allokationsrate.
+    public synchronized String scrape() {
+        StringBuilder sb = new StringBuilder(4096);
+        double secs = Math.max(1e-9, (System.nanoTime() - startNanos) / 1e9);
+        long done = simulationsCompleted.sum();
+        long days = simulatedDays.sum();
+
+        counter(sb, "bees_simulations_completed_total", "Completed simulations.", done);
+        counter(sb, "bees_simulations_failed_total", "Failed simulations.", simulationsFailed.sum());
+        counter(sb, "bees_simulated_days_total", "Simulated season days.", days);
+        gauge(sb, "bees_simulations_per_second", "Completed simulations per second since start.", done / secs);
+        gauge(sb, "bees_simulated_days_per_second", "Simulated days per second since start.", days / secs);
+        gauge(sb, "bees_queue_depth", "Scenarios waiting for a worker.", queueDepth.sum());
+
+        sb.append("# HELP bees_phase_seconds Wall time per simulation phase.\n# TYPE bees_phase_seconds histogram\n");
+        seasonStart.write(sb);
+        season.write(sb);
+        winter.write(sb);
+        scenario.write(sb);
+
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        gauge(sb, "bees_jvm_heap_used_bytes", "Used heap.", heap.getUsed());
+        gauge(sb, "bees_jvm_heap_committed_bytes", "Committed heap.", heap.getCommitted());
+        gauge(sb, "bees_jvm_allocation_bytes_per_second", "Allocation rate of live threads since last scrape.", allocationRate());
+
+        finalBees.write(sb, "bees_ensemble_final_bees", "Final bee population over completed runs.");
+        finalAvgVigor.write(sb, "bees_ensemble_final_avg_vigor", "Mean final vigor over completed runs.");
+        return sb.toString();
+    }
+
+    // Summe der Thread-Allokationen (HotSpot-Erweiterung); Threads, die schon beendet sind, fehlen.
+    private double allocationRate() {
+        ThreadMXBean tmx = ManagementFactory.getThreadMXBean();
+        if (!(tmx instanceof com.sun.management.ThreadMXBean)) return Double.NaN;
+        com.sun.management.ThreadMXBean hs = (com.sun.management.ThreadMXBean) tmx;
+        if (!hs.isThreadAllocatedMemorySupported() || !hs.isThreadAllocatedMemoryEnabled()) return Double.NaN;
+        long total = 0;
+        for (long b : hs.getThreadAllocatedBytes(tmx.getAllThreadIds())) {
+            if (b > 0) total += b;
+        }
+        long now = System.nanoTime();
+        double rate = 0;
+        if (lastAllocBytes >= 0 && now > lastAllocNanos) {
+            rate = Math.max(0, total - lastAllocBytes) / ((now - lastAllocNanos) / 1e9);
+        }
+        lastAllocBytes = total;
+        lastAllocNanos = now;
+        return rate;
+    }
+
+    private static void counter(StringBuilder sb, String name, String help, long value) {
+        sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        sb.append("# TYPE ").append(name).append(" counter\n");
+        sb.append(name).append(' ').append(value).append('\n');
+    }
+
+    private static void gauge(StringBuilder sb, String name, String help, double value) {
+        sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        sb.append("# TYPE ").append(name).append(" gauge\n");
+        sb.append(name).append(' ').append(num(value)).append('\n');
+    }
+
+    private static String num(double v) {
+        if (Double.isNaN(v)) return "NaN";
+        if (Double.isInfinite(v)) return v > 0 ? "+Inf" : "-Inf";
+        return String.format(Locale.ROOT, "%.6g", v);
+    }
+
+    // Kumulatives Histogramm mit festen Grenzen; ein LongAdder je Bucket.
+    private static final class Histogram {
+        private final String phase;
+        private final LongAdder[] counts = new LongAdder[BUCKETS.length + 1];
+        private final DoubleAdder sumSeconds = new DoubleAdder();
+
+        Histogram(String phase) {
+            this.phase = phase;
+            for (int i = 0; i < counts.length; i++) counts[i] = new LongAdder();
+        }
+
+        void record(long nanos) {
+            double s = nanos / 1e9;
+            int i = 0;
+            while (i < BUCKETS.length && s > BUCKETS[i]) i++;
+            counts[i].increment();
+            sumSeconds.add(s);
+        }
+
+        void write(StringBuilder sb) {
+            long cumulative = 0;
+            for (int i = 0; i <= BUCKETS.length; i++) {
+                cumulative += counts[i].sum();
+                String le = (i < BUCKETS.length)
+                        ? java.math.BigDecimal.valueOf(BUCKETS[i]).stripTrailingZeros().toPlainString() : "+Inf";
+                sb.append("bees_phase_seconds_bucket{phase=\"").append(phase).append("\",le=\"").append(le).append("\"} ")
+                        .append(cumulative).append('\n');
+            }
+            sb.append("bees_phase_seconds_sum{phase=\"").append(phase).append("\"} ").append(num(sumSeconds.sum())).append('\n');
+            sb.append("bees_phase_seconds_count{phase=\"").append(phase).append("\"} ").append(cumulative).append('\n');
+        }
+    }
+
+    // Laufender Mittelwert/Standardabweichung über Summen (gestreift; kleine Rundungsfehler in Kauf genommen).
+    private static final class RunningStat {
+        private final LongAdder n = new LongAdder();
+        private final DoubleAdder sum = new DoubleAdder();
+        private final DoubleAdder sumSq = new DoubleAdder();
+
+        void add(double x) {
+            n.increment();
+            sum.add(x);
+            sumSq.add(x * x);
+        }
+
+        void write(StringBuilder sb, String name, String help) {
+            long count = n.sum();
+            double mean = count > 0 ? sum.sum() / count : Double.NaN;
+            double var = count > 1 ? Math.max(0, (sumSq.sum() - count * mean * mean) / (count - 1)) : Double.NaN;
+            gauge(sb, name + "_mean", help + " Mean.", mean);
+            gauge(sb, name + "_stddev", help + " Sample standard deviation.", Math.sqrt(var));
+            sb.append("# HELP ").append(name).append("_count ").append(help).append(" Runs.\n");
+            sb.append("# TYPE ").append(name).append("_count counter\n");
+            sb.append(name).append("_count ").append(count).append('\n');
+        }
+    }
+}
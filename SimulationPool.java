@@ -0,0 +1,124 @@
+// SimulationPool.java
+
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+  Teil vom module simulation. Pro Thread ein kleiner Vorrat fertig verdrahteter Simulationen, je Szenario
+  (Species[], Gruppe, Tageslängenmodell, Breite, Saisonstart, Jahre) genau eine. acquire() setzt sie per
+  Simulation.reset zurück, statt Arten, Strategien, SeedBanks, Ecosystem, Bienen, Wetter und RNG neu zu bauen.
+  STYLE: ThreadLocal-Cache (wie ein Flyweight je Worker); keine Synchronisation nötig.
+
+  CONTRACT:
+  - acquire() liefert dasselbe Verhalten wie new Simulation(Test.listWithReproduction(defs, group),
+    new Weather(weatherSeed, dayLength, latitude, dayStart), randomSeed, initialBees, years): ohne Probe, ohne Abbruchregeln.
+  - Die gelieferte Instanz gehört dem Aufrufer nur bis zum nächsten acquire() desselben Szenarios auf demselben Thread;
+    Ergebnisse vorher auslesen, die Instanz nicht an andere Threads weitergeben.
+  - Schlüssel vergleicht defs und dayLength per Identität → dieselben Objekte übergeben, sonst wird neu gebaut.
+  BAD: Der Pool spart nur den Objektaufbau (~2 KB je Lauf), Läufe werden dadurch nicht schneller. Gemessen (main, 2000
+  Läufe à 5 Jahre, warm): gepoolt so schnell wie neu angelegt (±10 %), 47.2 statt 49.6 KB Allokation je Lauf. Der Rest
+  sind die DayWeather-Snapshots je Tag; die bleiben immutable (runPipelined und Probes reichen sie weiter).
+  BAD: Bei ständig neuen Parametersätzen (Kalibrierung) bringt der Pool nichts; er wird dann bei MAX_ENTRIES geleert.
+*/
+public final class SimulationPool {
+    private static final int MAX_ENTRIES = 16;
+    private static final ThreadLocal<Map<Key, Simulation>> POOL = ThreadLocal.withInitial(HashMap::new);
+
+    private SimulationPool() {
+    }
+
+    private static final class Key {
+        final Species[] defs;
+        final int group;
+        final DayLengthModel dayLength;
+        final double latitude;
+        final int dayStart;
+        final int years;
+
+        Key(Species[] defs, int group, DayLengthModel dayLength, double latitude, int dayStart, int years) {
+            this.defs = defs;
+            this.group = group;
+            this.dayLength = dayLength;
+            this.latitude = latitude;
+            this.dayStart = dayStart;
+            this.years = years;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return defs == k.defs && group == k.group && dayLength == k.dayLength
+                    && Double.compare(latitude, k.latitude) == 0 && dayStart == k.dayStart && years == k.years;
+        }
+
+        @Override
+        public int hashCode() {
+            int h = System.identityHashCode(defs);
+            h = 31 * h + group;
+            h = 31 * h + System.identityHashCode(dayLength);
+            h = 31 * h + Double.hashCode(latitude);
+            h = 31 * h + dayStart;
+            return 31 * h + years;
+        }
+    }
+
+    // CONTRACT: Preconditions: defs, dayLength != null, years > 0. Postconditions: zurückgesetzte Simulation, yearsDone == 0.
+    public static Simulation acquire(Species[] defs, int group, DayLengthModel dayLength, double latitude, int dayStart,
+                                     long randomSeed, long weatherSeed, double initialBees, int years) {
+        Map<Key, Simulation> pool = POOL.get();
+        Key key = new Key(defs, group, dayLength, latitude, dayStart, years);
+        Simulation sim = pool.get(key);
+        if (sim == null) {
+            if (pool.size() >= MAX_ENTRIES) pool.clear();
+            sim = new Simulation(Test.listWithReproduction(defs, group),
+                    new Weather(weatherSeed, dayLength, latitude, dayStart), randomSeed, initialBees, years);
+            pool.put(key, sim);
+            return sim;
+        }
+        sim.detach();
+        sim.terminateWhen(TerminationPolicy.none());
+        sim.reset(randomSeed, weatherSeed, initialBees);
+        return sim;
+    }
+
+    // Vorrat des aufrufenden Threads verwerfen (z.B. am Ende eines Workers mit vielen Szenarien).
+    public static void clear() {
+        POOL.remove();
+    }
+
+    // Benchmark: kurze Läufe (5 Jahre) mit Neuanlage vs. aus dem Pool; Zeit, Allokation und Bitvergleich.
+    // Aufruf: java SimulationPool [runs] [rounds]
+    public static void main(String[] args) {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        Species[] defs = Test.build(45);
+        DayLengthModel dayLength = new AstroDayLength();
+        for (int round = 1; round <= rounds; round++) {
+            long a0 = ParallelSimulationRunner.threadAllocatedBytes();
+            long t0 = System.nanoTime();
+            double fresh = 0;
+            for (int r = 0; r < runs; r++) {
+                long seed = 1000L + r;
+                Simulation sim = new Simulation(Test.listWithReproduction(defs, (r % 4) + 1),
+                        new Weather(seed, dayLength, 48.2, 91), seed + 13, 60, 5);
+                sim.run();
+                fresh += sim.bees().population();
+            }
+            long t1 = System.nanoTime();
+            long a1 = ParallelSimulationRunner.threadAllocatedBytes();
+            double pooled = 0;
+            for (int r = 0; r < runs; r++) {
+                long seed = 1000L + r;
+                Simulation sim = acquire(defs, (r % 4) + 1, dayLength, 48.2, 91, seed + 13, seed, 60, 5);
+                sim.run();
+                pooled += sim.bees().population();
+            }
+            long t2 = System.nanoTime();
+            long a2 = ParallelSimulationRunner.threadAllocatedBytes();
+            System.out.printf("round %d | %d runs | new %7.1f ms %8.1f KB/run | pooled %7.1f ms %8.1f KB/run | identical=%b%n",
+                    round, runs, (t1 - t0) / 1e6, (a1 - a0) / 1024.0 / runs, (t2 - t1) / 1e6, (a2 - a1) / 1024.0 / runs,
+                    fresh == pooled);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+// SimulationProbe.java
+/*
+  Teil vom module simulation. Beobachter für einen laufenden Simulation-Lauf: Callbacks an
+  Saisonstart, jedem (gesampelten) Tag, vor dem Winter und am Jahresende. Eigene Tagesschleifen ohne
+  Simulation hängen ihn über Ecosystem.probeView/dailyUpdate(..., probe, view) an (nur onDay).
+  STYLE: OO interface mit Default-Methoden → Implementoren überschreiben nur, was sie brauchen.
+
+  CONTRACT: Callbacks laufen im Simulations-Thread und dürfen den Modellzustand nicht verändern.
+  Die übergebene ProbeView ist nur während des Callbacks gültig (wird wiederverwendet, nicht speichern).
+  year zählt ab 1, day ab 1 bis Simulation.seasonDays().
+*/
+public interface SimulationProbe {
+    // nach resetSeason/startSeason, vor dem ersten Tag
+    default void onSeasonStart(int year, ProbeView view) {
+    }
+
+    // nach Ecosystem.dailyUpdate des Tages; weather ist der Snapshot, mit dem gerechnet wurde
+    default void onDay(int year, int day, DayWeather weather, ProbeView view) {
+    }
+
+    // nach dem letzten Tag, vor Wintersterblichkeit und Winterreproduktion
+    default void onWinter(int year, ProbeView view) {
+    }
+
+    // nach dem Winter; Zustand ist der Startzustand des nächsten Jahres
+    default void onYearEnd(int year, ProbeView view) {
+    }
+}
@@ -0,0 +1,410 @@
+// SobolSensitivity.java
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * STYLE: varianzbasierte globale Sensitivitätsanalyse (Sobol-Indizes, Saltelli-Design) über dem Einheitswürfel
+ * von ParameterSpace; Bewertung wie Calibration (parallel über (Punkt, Replikat)-Paare, gemeinsame Seeds, Cache).
+ *
+ * Design für N Basiszeilen und k Parameter:
+ *   Sobol-Folge in 2k Dimensionen → A = erste k Spalten, B = letzte k Spalten, AB_i = A mit Spalte i aus B
+ *   → N·(k+2) Modellläufe (je replicates Seeds gemittelt). f_A und f_B werden für alle k Indizes geteilt.
+ * Schätzer (Saltelli et al. 2010, Jansen 1999), V = Varianz von f über A und B zusammen:
+ *   S_i  = mean(f_B · (f_ABi − f_A)) / V                   Hauptwirkung
+ *   ST_i = mean((f_A − f_ABi)²) / (2V)                     Totalwirkung (inkl. aller Wechselwirkungen)
+ * Konfidenzintervalle: Bootstrap über die N Zeilen (Perzentil-Intervall), ohne neue Simulationen.
+ *
+ * CONTRACT:
+ * - Ausgaben je Punkt: [0] = mittlere Jahresend-Bienen, [1] = mittlere Vigor, jeweils über years Jahre und die Replikate.
+ * - Cache je Punkt (exakte Bits der Einheitskoordinaten): identische Zeilen (z.B. AB_i == A, wenn eine Spalte
+ *   übereinstimmt) und ein erneuter Aufruf mit größerem N (die Sobol-Folge ist erweiterbar, die ersten N Zeilen
+ *   bleiben gleich) simulieren nichts doppelt.
+ * - Ergebnis hängt nur von den Argumenten ab, nicht von threads.
+ * GOOD: ST_i − S_i zeigt Wechselwirkungen, die eine One-at-a-time-Variation von Test.build nicht sieht.
+ * BAD: Mit wenig N und kleinem V rauschen die Indizes stark (sichtbar an den Intervallen); Indizes können dann < 0 sein.
+ */
+public final class SobolSensitivity implements AutoCloseable {
+    static final String[] OUTPUTS = {"bees", "vigor"};
+
+    private final ParameterSpace space;
+    private final int group;
+    private final double latitude;
+    private final int dayStart;
+    private final double initialBees;
+    private final int years;
+    private final int replicates;
+    private final long seedBase;
+    private final ExecutorService pool;
+    private final Map<String, double[]> cache = new ConcurrentHashMap<>();
+    private final AtomicInteger simulations = new AtomicInteger();
+    private final AtomicInteger cacheHits = new AtomicInteger();
+
+    /**
+     * Sobol-Folge (Bratley/Fox, Gray-Code-Reihenfolge) mit Richtungszahlen nach Joe/Kuo (new-joe-kuo-6.21201).
+     * Der Punkt 0 (alles 0) wird übersprungen. CONTRACT: dimension <= MAX_DIMENSION; Werte in [0,1).
+     */
+    static final class SobolSequence {
+        static final int MAX_DIMENSION = 16;
+        private static final int BITS = 32;
+        // je Dimension ab 2: {s, a, m_1 .. m_s}
+        private static final int[][] JOE_KUO = {
+                {1, 0, 1}, {2, 1, 1, 3}, {3, 1, 1, 3, 1}, {3, 2, 1, 1, 1}, {4, 1, 1, 1, 3, 3},
+                {4, 4, 1, 3, 5, 13}, {5, 2, 1, 1, 5, 5, 17}, {5, 4, 1, 1, 5, 5, 5}, {5, 7, 1, 1, 7, 11, 19},
+                {5, 11, 1, 1, 5, 1, 1}, {5, 13, 1, 1, 1, 3, 11}, {5, 14, 1, 3, 5, 5, 31},
+                {6, 1, 1, 3, 3, 9, 7, 49}, {6, 13, 1, 1, 1, 15, 21, 21}, {6, 16, 1, 3, 1, 13, 27, 49}};
+
+        private final long[][] direction;
+        private final long[] x;
+        private long index;
+
+        SobolSequence(int dimension) {
+            if (dimension < 1 || dimension > MAX_DIMENSION) throw new IllegalArgumentException("dimension " + dimension);
+            direction = new long[dimension][BITS + 1];
+            x = new long[dimension];
+            for (int i = 1; i <= BITS; i++) direction[0][i] = 1L << (BITS - i);
+            for (int d = 1; d < dimension; d++) {
+                int[] row = JOE_KUO[d - 1];
+                int s = row[0], a = row[1];
+                long[] v = direction[d];
+                for (int i = 1; i <= Math.min(s, BITS); i++) v[i] = (long) row[1 + i] << (BITS - i);
+                for (int i = s + 1; i <= BITS; i++) {
+                    v[i] = v[i - s] ^ (v[i - s] >> s);
+                    for (int k = 1; k < s; k++) {
+                        if (((a >> (s - 1 - k)) & 1) != 0) v[i] ^= v[i - k];
+                    }
+                }
+            }
+        }
+
+        // nächster Punkt nach out (Länge = dimension)
+        void next(double[] out) {
+            long n = index++;
+            int c = Long.numberOfTrailingZeros(~n) + 1; // Position der rechtesten 0 in n (1-basiert)
+            for (int d = 0; d < x.length; d++) {
+                x[d] ^= direction[d][c];
+                out[d] = x[d] / (double) (1L << BITS);
+            }
+        }
+    }
+
+    /** Indizes einer Ausgabe mit Bootstrap-Intervallen. */
+    public static final class Indices {
+        private final String output;
+        private final int n;
+        private final double mean, variance;
+        private final double[] first, firstLow, firstHigh;
+        private final double[] total, totalLow, totalHigh;
+
+        Indices(String output, int n, double mean, double variance, double[][] first, double[][] total) {
+            this.output = output;
+            this.n = n;
+            this.mean = mean;
+            this.variance = variance;
+            this.first = first[0];
+            this.firstLow = first[1];
+            this.firstHigh = first[2];
+            this.total = total[0];
+            this.totalLow = total[1];
+            this.totalHigh = total[2];
+        }
+
+        public String output() {
+            return output;
+        }
+
+        public int baseSamples() {
+            return n;
+        }
+
+        public double mean() {
+            return mean;
+        }
+
+        public double variance() {
+            return variance;
+        }
+
+        public double first(int k) {
+            return first[k];
+        }
+
+        public double firstLow(int k) {
+            return firstLow[k];
+        }
+
+        public double firstHigh(int k) {
+            return firstHigh[k];
+        }
+
+        public double total(int k) {
+            return total[k];
+        }
+
+        public double totalLow(int k) {
+            return totalLow[k];
+        }
+
+        public double totalHigh(int k) {
+            return totalHigh[k];
+        }
+    }
+
+    // CONTRACT: Preconditions: replicates >= 1, years >= 1, threads >= 1, 2·space.dimension() <= SobolSequence.MAX_DIMENSION.
+    public SobolSensitivity(ParameterSpace space, int group, double latitude, int dayStart, double initialBees,
+                            int years, int replicates, long seedBase, int threads) {
+        if (2 * space.dimension() > SobolSequence.MAX_DIMENSION) throw new IllegalArgumentException("too many parameters");
+        this.space = space;
+        this.group = group;
+        this.latitude = latitude;
+        this.dayStart = dayStart;
+        this.initialBees = initialBees;
+        this.years = years;
+        this.replicates = replicates;
+        this.seedBase = seedBase;
+        AtomicInteger ids = new AtomicInteger();
+        this.pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "sobol-" + ids.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    // Saltelli-Matrizen für N Basiszeilen: [0] = A, [1] = B, [2 + i] = AB_i, jeweils N × k.
+    static double[][][] saltelli(int n, int k) {
+        double[][][] m = new double[k + 2][n][];
+        SobolSequence sobol = new SobolSequence(2 * k);
+        double[] point = new double[2 * k];
+        for (int j = 0; j < n; j++) {
+            sobol.next(point);
+            m[0][j] = Arrays.copyOfRange(point, 0, k);
+            m[1][j] = Arrays.copyOfRange(point, k, 2 * k);
+            for (int i = 0; i < k; i++) {
+                m[2 + i][j] = m[0][j].clone();
+                m[2 + i][j][i] = m[1][j][i];
+            }
+        }
+        return m;
+    }
+
+    // Ausgaben je Punkt; nicht gecachte (Punkt, Replikat)-Paare laufen parallel (wie Calibration.evaluate).
+    // CONTRACT: Postcondition: out[p] gehört zu points[p]; RuntimeException, wenn eine Simulation scheitert.
+    double[][] evaluate(double[][] points) {
+        String[] keys = new String[points.length];
+        List<String> open = new ArrayList<>();
+        List<Future<double[][]>> futures = new ArrayList<>();
+        Set<String> pending = new HashSet<>();
+        for (int p = 0; p < points.length; p++) {
+            keys[p] = JsonLines.doubles(points[p]);
+            if (cache.containsKey(keys[p]) || !pending.add(keys[p])) {
+                cacheHits.incrementAndGet();
+                continue;
+            }
+            open.add(keys[p]);
+            Species[] defs = space.decode(points[p]);
+            for (int r = 0; r < replicates; r++) {
+                long seed = seedBase + r;
+                futures.add(pool.submit((Callable<double[][]>) () -> {
+                    simulations.incrementAndGet();
+                    return Calibration.trajectory(defs, group, latitude, dayStart, initialBees, years, seed);
+                }));
+            }
+        }
+        try {
+            for (int o = 0; o < open.size(); o++) {
+                double[] out = new double[OUTPUTS.length];
+                for (int r = 0; r < replicates; r++) {
+                    double[][] t = futures.get(o * replicates + r).get();
+                    for (int q = 0; q < out.length; q++) {
+                        for (double v : t[q]) out[q] += v / (years * (double) replicates);
+                    }
+                }
+                cache.put(open.get(o), out);
+            }
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            futures.forEach(f -> f.cancel(true));
+            throw new IllegalStateException("sensitivity analysis interrupted", interrupted);
+        } catch (ExecutionException ex) {
+            futures.forEach(f -> f.cancel(true));
+            throw new IllegalStateException("simulation failed", ex.getCause());
+        }
+        double[][] out = new double[points.length][];
+        for (int p = 0; p < points.length; p++) out[p] = cache.get(keys[p]);
+        return out;
+    }
+
+    // Indizes für alle Ausgaben mit N Basiszeilen und bootstrap Resamples (95 %-Perzentil-Intervalle).
+    // CONTRACT: Preconditions: n >= 2, bootstrap >= 0. Postconditions: Indices je Eintrag von OUTPUTS.
+    public Indices[] analyze(int n, int bootstrap, long bootstrapSeed) {
+        int k = space.dimension();
+        double[][][] design = saltelli(n, k);
+        double[][] points = new double[(k + 2) * n][];
+        for (int m = 0; m < k + 2; m++) System.arraycopy(design[m], 0, points, m * n, n);
+        double[][] y = evaluate(points);
+
+        Indices[] result = new Indices[OUTPUTS.length];
+        int[] all = new int[n];
+        for (int j = 0; j < n; j++) all[j] = j;
+        for (int q = 0; q < OUTPUTS.length; q++) {
+            // f[m][j] = Ausgabe q der Zeile j in Matrix m
+            double[][] f = new double[k + 2][n];
+            for (int m = 0; m < k + 2; m++) {
+                for (int j = 0; j < n; j++) f[m][j] = y[m * n + j][q];
+            }
+            double[] s = new double[k], st = new double[k];
+            double[] moments = estimate(f, all, s, st);
+            double[][] sBoot = new double[k][bootstrap], stBoot = new double[k][bootstrap];
+            Random rng = new Random(bootstrapSeed + q);
+            int[] rows = new int[n];
+            double[] bs = new double[k], bst = new double[k];
+            for (int b = 0; b < bootstrap; b++) {
+                for (int j = 0; j < n; j++) rows[j] = rng.nextInt(n);
+                estimate(f, rows, bs, bst);
+                for (int i = 0; i < k; i++) {
+                    sBoot[i][b] = bs[i];
+                    stBoot[i][b] = bst[i];
+                }
+            }
+            double[][] first = new double[3][k], total = new double[3][k];
+            for (int i = 0; i < k; i++) {
+                first[0][i] = s[i];
+                total[0][i] = st[i];
+                first[1][i] = percentile(sBoot[i], 0.025, s[i]);
+                first[2][i] = percentile(sBoot[i], 0.975, s[i]);
+                total[1][i] = percentile(stBoot[i], 0.025, st[i]);
+                total[2][i] = percentile(stBoot[i], 0.975, st[i]);
+            }
+            result[q] = new Indices(OUTPUTS[q], n, moments[0], moments[1], first, total);
+        }
+        return result;
+    }
+
+    // Schätzer über die Zeilen rows (bei Bootstrap mit Wiederholungen); liefert {Mittel, V}. V == 0 → Indizes 0.
+    private static double[] estimate(double[][] f, int[] rows, double[] s, double[] st) {
+        int n = rows.length, k = s.length;
+        double sum = 0, sumSq = 0;
+        for (int j : rows) {
+            sum += f[0][j] + f[1][j];
+            sumSq += f[0][j] * f[0][j] + f[1][j] * f[1][j];
+        }
+        double mean = sum / (2.0 * n);
+        double variance = Math.max(0, sumSq / (2.0 * n) - mean * mean);
+        for (int i = 0; i < k; i++) {
+            double[] ab = f[2 + i];
+            double main = 0, totalEffect = 0;
+            for (int j : rows) {
+                main += f[1][j] * (ab[j] - f[0][j]);
+                double d = f[0][j] - ab[j];
+                totalEffect += d * d;
+            }
+            s[i] = (variance > 0) ? main / n / variance : 0;
+            st[i] = (variance > 0) ? totalEffect / (2.0 * n) / variance : 0;
+        }
+        return new double[]{mean, variance};
+    }
+
+    private static double percentile(double[] values, double p, double fallback) {
+        if (values.length == 0) return fallback;
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int i = (int) Math.floor(p * (sorted.length - 1));
+        double w = p * (sorted.length - 1) - i;
+        return (i + 1 < sorted.length) ? sorted[i] * (1 - w) + sorted[i + 1] * w : sorted[i];
+    }
+
+    public String name(int k) {
+        return space.name(k);
+    }
+
+    public int dimension() {
+        return space.dimension();
+    }
+
+    // Kumulativ über alle analyze-Aufrufe dieser Instanz: Simulationen = (Punkt, Replikat)-Paare, Cache-Treffer = Punkte.
+    public int simulations() {
+        return simulations.get();
+    }
+
+    public int cacheHits() {
+        return cacheHits.get();
+    }
+
+    @Override
+    public void close() {
+        pool.shutdownNow();
+    }
+
+    // Tabelle einer Ausgabe: S_i und ST_i mit 95 %-Intervallen.
+    public String format(Indices idx) {
+        StringBuilder sb = new StringBuilder(String.format("%s | N=%d | mean %.4g | var %.4g%n",
+                idx.output(), idx.baseSamples(), idx.mean(), idx.variance()));
+        for (int i = 0; i < dimension(); i++) {
+            sb.append(String.format("  %-8s S %6.3f [%6.3f, %6.3f] | ST %6.3f [%6.3f, %6.3f]%n", name(i),
+                    idx.first(i), idx.firstLow(i), idx.firstHigh(i), idx.total(i), idx.totalLow(i), idx.totalHigh(i)));
+        }
+        return sb.toString();
+    }
+
+    // JSON Lines: eine Zeile je (Ausgabe, Parameter).
+    public void writeJsonLines(Indices[] indices, Path file) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (Indices idx : indices) {
+                for (int i = 0; i < dimension(); i++) {
+                    out.write(JsonLines.object("output", idx.output(), "n", idx.baseSamples(), "parameter", name(i),
+                            "S", idx.first(i), "S_low", idx.firstLow(i), "S_high", idx.firstHigh(i),
+                            "ST", idx.total(i), "ST_low", idx.totalLow(i), "ST_high", idx.totalHigh(i)));
+                    out.newLine();
+                }
+            }
+        }
+    }
+
+    // Demo: Gruppe 1 bei 48.2°, Indizes erst mit N, dann mit 2N (die ersten N Zeilen kommen aus dem Cache).
+    // Aufruf: java SobolSensitivity [N] [replicates] [years] [threads] [out.jsonl]
+    public static void main(String[] args) throws IOException {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 128;
+        int replicates = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int years = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        Path out = args.length > 4 ? Path.of(args[4]) : null;
+
+        try (SobolSensitivity sobol = new SobolSensitivity(ParameterSpace.standard(45), 1, 48.2, 91, 120,
+                years, replicates, 1, threads)) {
+            Indices[] indices = null;
+            int simulationsBefore = 0, hitsBefore = 0;
+            for (int size : new int[]{n, 2 * n}) {
+                long t0 = System.nanoTime();
+                indices = sobol.analyze(size, 1000, 11);
+                long t1 = System.nanoTime();
+                // simulations()/cacheHits() zählen über alle analyze-Aufrufe → je Durchlauf die Differenz drucken
+                int simulations = sobol.simulations(), hits = sobol.cacheHits();
+                System.out.printf("N=%d | %d points | this pass: simulations %d, cache hits %d"
+                                + " | cumulative: simulations %d, cache hits %d | %.1f s%n",
+                        size, size * (sobol.dimension() + 2), simulations - simulationsBefore, hits - hitsBefore,
+                        simulations, hits, (t1 - t0) / 1e9);
+                simulationsBefore = simulations;
+                hitsBefore = hits;
+            }
+            for (Indices idx : indices) System.out.print(sobol.format(idx));
+            if (out != null) sobol.writeJsonLines(indices, out);
+        }
+    }
+}
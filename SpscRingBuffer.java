@@ -0,0 +1,104 @@
+// SpscRingBuffer.java
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+  Teil vom module simulation. Lock-freier Ringpuffer für genau einen Produzenten und einen Konsumenten
+  (single-producer/single-consumer). Wird im Pipeline-Modus von Simulation genutzt: Wetter-Thread schreibt
+  DayWeather-Tage, Simulations-Thread liest.
+  STYLE: prozedurale Nebenläufigkeit mit zwei monotonen Zählern (head/tail) und Release/Acquire-Semantik.
+
+  CONTRACT: offer/put/close nur aus EINEM Thread, poll/take nur aus EINEM anderen Thread. Elemente != null.
+  Kapazität wird auf die nächste Zweierpotenz aufgerundet. Reihenfolge bleibt FIFO.
+  GOOD: Keine Locks, keine Allokation pro Element; Zähler liegen auf getrennten Cache-Lines.
+*/
+public final class SpscRingBuffer<E> {
+    private final Object[] slots;
+    private final int mask;
+
+    // tail: nächste Schreibposition (nur Produzent schreibt), head: nächste Leseposition (nur Konsument schreibt).
+    // Beide in einem Array mit 128 Byte Abstand → eigene Cache-Lines, kein False Sharing.
+    private static final int TAIL = 16, HEAD = 32;
+    private final AtomicLongArray counters = new AtomicLongArray(48);
+    // lokale Caches der Gegenseite, sparen volatile Reads im Normalfall
+    private long headCache;
+    private long tailCache;
+    private volatile boolean closed;
+
+    // CONTRACT: Preconditions: capacity > 0. Postconditions: leerer Puffer.
+    public SpscRingBuffer(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("capacity must be > 0");
+        int cap = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.slots = new Object[cap];
+        this.mask = cap - 1;
+    }
+
+    // Nicht blockierend einfügen. Nur Produzent.
+    // CONTRACT: Postcondition: true genau dann, wenn e eingefügt wurde.
+    public boolean offer(E e) {
+        long t = counters.get(TAIL);
+        if (t - headCache >= slots.length) {
+            headCache = counters.get(HEAD);
+            if (t - headCache >= slots.length) return false;
+        }
+        slots[(int) t & mask] = e;
+        counters.lazySet(TAIL, t + 1); // Release: Slot ist vor dem Zähler sichtbar
+        return true;
+    }
+
+    // Nicht blockierend entnehmen. Nur Konsument. null wenn leer.
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        long h = counters.get(HEAD);
+        if (h >= tailCache) {
+            tailCache = counters.get(TAIL);
+            if (h >= tailCache) return null;
+        }
+        int i = (int) h & mask;
+        E e = (E) slots[i];
+        slots[i] = null;
+        counters.lazySet(HEAD, h + 1);
+        return e;
+    }
+
+    // Blockierend einfügen: erst kurz spinnen, dann parken. Nur Produzent.
+    // CONTRACT: InterruptedException, wenn der Produzent beim Warten unterbrochen wird.
+    public void put(E e) throws InterruptedException {
+        int spins = 0;
+        while (!offer(e)) spins = backOff(spins);
+    }
+
+    // Blockierend entnehmen. Nur Konsument.
+    // CONTRACT: Postcondition: nächstes Element; null erst, wenn der Produzent close() gerufen hat und alles gelesen ist.
+    public E take() throws InterruptedException {
+        int spins = 0;
+        E e;
+        while ((e = poll()) == null) {
+            if (closed) return poll(); // close() nach dem letzten offer → nochmal lesen, dann ist wirklich leer
+            spins = backOff(spins);
+        }
+        return e;
+    }
+
+    // Produzent meldet Ende (regulär oder nach Fehler). Alles davor Geschriebene bleibt lesbar.
+    public void close() {
+        closed = true;
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+
+    private static int backOff(int spins) throws InterruptedException {
+        if (Thread.interrupted()) throw new InterruptedException();
+        if (spins < 256) {
+            Thread.onSpinWait();
+        } else if (spins < 512) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(10_000L);
+        }
+        return spins + 1;
+    }
+}
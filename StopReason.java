@@ -0,0 +1,15 @@
+// StopReason.java
+
+/*
+  Teil vom module simulation. Warum ein Lauf geendet hat (siehe TerminationPolicy).
+  STYLE: einfache Aufzählung, keine Logik.
+
+  CONTRACT: COMPLETED = alle konfigurierten Jahre gerechnet; alle anderen Werte = vorzeitig beendet
+  (und ggf. bis zum letzten Jahr extrapoliert, siehe Simulation.yearsExtrapolated()).
+*/
+public enum StopReason {
+    COMPLETED,      // alle Jahre regulär gerechnet
+    BEES_EXTINCT,   // Bienen unter der Quasi-Aussterbeschwelle
+    COLLAPSED,      // absorbierend: jede Art vigor == 0 und leere SeedBank
+    STEADY_STATE    // Jahresendzustand wiederholt sich mit Periode p innerhalb der Toleranz
+}
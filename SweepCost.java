@@ -0,0 +1,159 @@
+// SweepCost.java
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.ToDoubleFunction;
+
+/*
+  Teil vom module simulation. Kostenbericht eines Sweeps aus den ScenarioResults: Summen (CPU, Wand, Bytes, Tage),
+  Mittel/Streuung je Szenario, Aufschlüsselung nach Reproduktionsgruppe und automatisch erkannte teure Ausreißer.
+  STYLE: immutable Auswertung (einmal berechnet, dann nur lesen/drucken); Streuung über Numerics.Stats.
+
+  CONTRACT:
+  - Ausreißer: CPU-Zeit oder allokierte Bytes mit robustem z-Wert 0.6745·(x − Median)/MAD > OUTLIER_Z
+    (bei MAD == 0: mehr als doppelter Median). Szenarien ohne Messung (-1) zählen nicht.
+  - Zu jedem Ausreißer die "Spur": SeedBank-Bestand bzw. maximale Vigor relativ zum Median, wenn >= 2×.
+  BAD: Die ersten Szenarien je Thread laufen noch im Interpreter/C1 → können als Ausreißer ohne Spur auftauchen.
+*/
+public final class SweepCost {
+    private static final double OUTLIER_Z = 3.5;
+    private static final int PRINT_OUTLIERS = 10;
+
+    private final List<ParallelSimulationRunner.ScenarioResult> measured;
+    private final long cpuNanos, wallNanos, allocatedBytes, simulatedDays;
+    private final Numerics.Stats cpuMs = new Numerics.Stats();
+    private final Numerics.Stats allocMb = new Numerics.Stats();
+    private final Numerics.Stats daysPerSecond = new Numerics.Stats();
+    private final Map<Integer, Numerics.Stats> cpuMsByGroup = new TreeMap<>();
+    private final List<ParallelSimulationRunner.ScenarioResult> outliers = new ArrayList<>();
+    private final double medianStored, medianMaxVigor;
+
+    private SweepCost(List<ParallelSimulationRunner.ScenarioResult> results) {
+        measured = new ArrayList<>();
+        long cpu = 0, wall = 0, alloc = 0, days = 0;
+        for (ParallelSimulationRunner.ScenarioResult r : results) {
+            if (r.wallNanos < 0) continue;
+            measured.add(r);
+            wall += r.wallNanos;
+            days += r.simulatedDays;
+            daysPerSecond.add(r.daysPerSecond());
+            if (r.cpuNanos >= 0) {
+                cpu += r.cpuNanos;
+                cpuMs.add(r.cpuNanos / 1e6);
+                cpuMsByGroup.computeIfAbsent(r.groupIndex, g -> new Numerics.Stats()).add(r.cpuNanos / 1e6);
+            }
+            if (r.allocatedBytes >= 0) {
+                alloc += r.allocatedBytes;
+                allocMb.add(r.allocatedBytes / 1e6);
+            }
+        }
+        cpuNanos = cpu;
+        wallNanos = wall;
+        allocatedBytes = alloc;
+        simulatedDays = days;
+        medianStored = median(measured, r -> r.seedBankStored);
+        medianMaxVigor = median(measured, r -> r.maxVigor);
+        double[] cpuRange = robustRange(measured, r -> r.cpuNanos);
+        double[] allocRange = robustRange(measured, r -> r.allocatedBytes);
+        for (ParallelSimulationRunner.ScenarioResult r : measured) {
+            boolean slow = r.cpuNanos >= 0 && r.cpuNanos > cpuRange[1];
+            boolean hungry = r.allocatedBytes >= 0 && r.allocatedBytes > allocRange[1];
+            if (slow || hungry) outliers.add(r);
+        }
+        outliers.sort((a, b) -> Long.compare(b.cpuNanos, a.cpuNanos));
+    }
+
+    // CONTRACT: Preconditions: results != null. Postconditions: Bericht über alle gemessenen Ergebnisse.
+    public static SweepCost of(List<ParallelSimulationRunner.ScenarioResult> results) {
+        return new SweepCost(results);
+    }
+
+    private static double median(List<ParallelSimulationRunner.ScenarioResult> rs,
+                                 ToDoubleFunction<ParallelSimulationRunner.ScenarioResult> f) {
+        double[] v = rs.stream().mapToDouble(f).filter(x -> x >= 0).sorted().toArray();
+        if (v.length == 0) return Double.NaN;
+        return (v.length % 2 == 1) ? v[v.length / 2] : 0.5 * (v[v.length / 2 - 1] + v[v.length / 2]);
+    }
+
+    // {Median, Schwelle} für "teuer"
+    private static double[] robustRange(List<ParallelSimulationRunner.ScenarioResult> rs,
+                                        ToDoubleFunction<ParallelSimulationRunner.ScenarioResult> f) {
+        double[] v = rs.stream().mapToDouble(f).filter(x -> x >= 0).sorted().toArray();
+        if (v.length < 4) return new double[]{Double.NaN, Double.POSITIVE_INFINITY};
+        double med = (v.length % 2 == 1) ? v[v.length / 2] : 0.5 * (v[v.length / 2 - 1] + v[v.length / 2]);
+        double[] dev = Arrays.stream(v).map(x -> Math.abs(x - med)).sorted().toArray();
+        double mad = (dev.length % 2 == 1) ? dev[dev.length / 2] : 0.5 * (dev[dev.length / 2 - 1] + dev[dev.length / 2]);
+        double threshold = (mad > 0) ? med + OUTLIER_Z * mad / 0.6745 : 2 * med;
+        return new double[]{med, threshold};
+    }
+
+    public int scenarios() {
+        return measured.size();
+    }
+
+    public long cpuNanos() {
+        return cpuNanos;
+    }
+
+    public long wallNanos() {
+        return wallNanos;
+    }
+
+    public long allocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public long simulatedDays() {
+        return simulatedDays;
+    }
+
+    // simulierte Tage pro Sekunde Wandzeit, über alle Szenarien (= Durchsatz eines Worker-Threads)
+    public double daysPerSecond() {
+        return (wallNanos > 0) ? simulatedDays / (wallNanos / 1e9) : Double.NaN;
+    }
+
+    public List<ParallelSimulationRunner.ScenarioResult> outliers() {
+        return List.copyOf(outliers);
+    }
+
+    // Warum könnte r teuer sein? (SeedBank/Vigor relativ zum Median)
+    String trace(ParallelSimulationRunner.ScenarioResult r) {
+        StringBuilder sb = new StringBuilder();
+        if (medianStored > 0 && r.seedBankStored >= 2 * medianStored) {
+            sb.append(String.format("seedBank %.1fx median", r.seedBankStored / medianStored));
+        }
+        if (medianMaxVigor > 0 && r.maxVigor >= 2 * medianMaxVigor) {
+            if (sb.length() > 0) sb.append(", ");
+            sb.append(String.format("maxVigor %.1fx median", r.maxVigor / medianMaxVigor));
+        }
+        return (sb.length() == 0) ? "-" : sb.toString();
+    }
+
+    public void print(PrintStream out) {
+        if (measured.isEmpty()) {
+            out.println("Sweep cost | no measurements");
+            return;
+        }
+        out.printf("Sweep cost | cpu=%.1f ms | wall=%.1f ms | alloc=%.1f MB | days=%d | days/s=%.0f%n",
+                cpuNanos / 1e6, wallNanos / 1e6, allocatedBytes / 1e6, simulatedDays, daysPerSecond());
+        out.printf("  per scenario | cpu %.2f +/- %.2f ms | alloc %.3f +/- %.3f MB | days/s %.0f +/- %.0f%n",
+                cpuMs.mean, cpuMs.stddev(), allocMb.mean, allocMb.stddev(), daysPerSecond.mean, daysPerSecond.stddev());
+        for (Map.Entry<Integer, Numerics.Stats> e : cpuMsByGroup.entrySet()) {
+            out.printf("  group %d | n=%d | cpu %.2f +/- %.2f ms%n", e.getKey(), e.getValue().n, e.getValue().mean, e.getValue().stddev());
+        }
+        if (outliers.isEmpty()) {
+            out.println("  outliers: none");
+            return;
+        }
+        out.println("  outliers (robust z > " + OUTLIER_Z + "): " + outliers.size());
+        for (ParallelSimulationRunner.ScenarioResult r : outliers.subList(0, Math.min(PRINT_OUTLIERS, outliers.size()))) {
+            out.printf("    scenario %d (group %d) | cpu %.2f ms | alloc %.3f MB | seedBank %d | maxVigor %.1f | %s%n",
+                    r.scenarioId, r.groupIndex, r.cpuNanos / 1e6, r.allocatedBytes / 1e6, r.seedBankStored, r.maxVigor, trace(r));
+        }
+        if (outliers.size() > PRINT_OUTLIERS) out.printf("    ... %d more%n", outliers.size() - PRINT_OUTLIERS);
+    }
+}
@@ -0,0 +1,159 @@
+// TerminationPolicy.java
+
+import java.util.List;
+
+/*
+  Teil vom module simulation. Deklarative Abbruchregeln für Simulation: Bienen ausgestorben,
+  Ökosystem kollabiert (absorbierender Zustand) oder periodisch eingeschwungen.
+  STYLE: immutable value object mit "with"-Methoden wie ProbeSampling; der veränderliche Teil
+  (Verlauf der Jahresendzustände) liegt im paketinternen Monitor, eine Instanz pro Simulation.
+
+  CONTRACT:
+  - Geprüft wird einmal pro Jahr nach dem Winter (kostet O(Arten), nicht O(Tage)).
+  - onBeeExtinction(t): bees <= t. Kein Extrapolieren, weil die Pflanzen ohne Bienen weiterlaufen.
+  - onCollapse(): jede Art vigor == 0 und SeedBank leer. Exakt absorbierend: Pflanzen bleiben 0,
+    Bienen schrumpfen nur noch. Extrapolation rechnet die Bienen ohne Wetter/Ökosystem weiter (bitgleich).
+  - onSteadyState(tol, maxPeriod, confirm): Zustand(y - j) ≈ Zustand(y - j - p) für j < confirm, relativ je Komponente.
+    Extrapolation übernimmt den phasengleichen Zustand aus dem letzten Zyklus (Näherung).
+  Default none() = nie vorzeitig beenden.
+*/
+public final class TerminationPolicy {
+    private static final TerminationPolicy NONE = new TerminationPolicy(-1, false, 0, 0, 0, false);
+
+    private final double extinctionThreshold; // < 0 = aus
+    private final boolean collapse;
+    private final double tolerance;
+    private final int maxPeriod;              // 0 = kein Steady-State-Detektor
+    private final int confirmCycles;
+    private final boolean extrapolate;
+
+    private TerminationPolicy(double extinctionThreshold, boolean collapse, double tolerance,
+                              int maxPeriod, int confirmCycles, boolean extrapolate) {
+        this.extinctionThreshold = extinctionThreshold;
+        this.collapse = collapse;
+        this.tolerance = tolerance;
+        this.maxPeriod = maxPeriod;
+        this.confirmCycles = confirmCycles;
+        this.extrapolate = extrapolate;
+    }
+
+    public static TerminationPolicy none() {
+        return NONE;
+    }
+
+    // Für Sweeps: Aussterben unter 1e-3 Bienen oder Kollaps, jeweils mit Extrapolation wo möglich.
+    public static TerminationPolicy absorbing() {
+        return NONE.onBeeExtinction(1e-3).onCollapse().extrapolate();
+    }
+
+    // CONTRACT: Preconditions: threshold >= 0 (Quasi-Aussterbeschwelle, die Wachstumsregel erreicht 0 nie exakt).
+    public TerminationPolicy onBeeExtinction(double threshold) {
+        if (threshold < 0) throw new IllegalArgumentException("threshold must be >= 0");
+        return new TerminationPolicy(threshold, collapse, tolerance, maxPeriod, confirmCycles, extrapolate);
+    }
+
+    public TerminationPolicy onCollapse() {
+        return new TerminationPolicy(extinctionThreshold, true, tolerance, maxPeriod, confirmCycles, extrapolate);
+    }
+
+    // CONTRACT: Preconditions: relTolerance >= 0, maxPeriod >= 1, confirmCycles >= 1.
+    public TerminationPolicy onSteadyState(double relTolerance, int maxPeriod, int confirmCycles) {
+        if (relTolerance < 0 || maxPeriod < 1 || confirmCycles < 1) {
+            throw new IllegalArgumentException("need relTolerance >= 0, maxPeriod >= 1, confirmCycles >= 1");
+        }
+        return new TerminationPolicy(extinctionThreshold, collapse, relTolerance, maxPeriod, confirmCycles, extrapolate);
+    }
+
+    // Bei COLLAPSED/STEADY_STATE den Endzustand für das letzte konfigurierte Jahr herstellen statt nur anzuhalten.
+    public TerminationPolicy extrapolate() {
+        return new TerminationPolicy(extinctionThreshold, collapse, tolerance, maxPeriod, confirmCycles, true);
+    }
+
+    boolean extrapolates() {
+        return extrapolate;
+    }
+
+    boolean isNone() {
+        return extinctionThreshold < 0 && !collapse && maxPeriod == 0;
+    }
+
+    Monitor monitor(int speciesCount) {
+        return new Monitor(speciesCount);
+    }
+
+    // Pro Simulation: Ringpuffer der letzten maxPeriod + confirmCycles Jahresendzustände.
+    // Zustandsvektor: bees, dann je Art vigor, bloom, seedSet, stored, qualityAvg.
+    final class Monitor {
+        private final double[][] history;
+        private int count;   // insgesamt beobachtete Jahre
+        private int period;  // erkannte Periode (STEADY_STATE)
+
+        Monitor(int speciesCount) {
+            this.history = (maxPeriod > 0) ? new double[maxPeriod + confirmCycles][1 + 5 * speciesCount] : null;
+        }
+
+        // CONTRACT: Postcondition: null = weiterrechnen, sonst Grund zum Anhalten.
+        StopReason observe(BeePopulation bees, List<PlantSpecies> species) {
+            // Kollaps zuerst: absorbierend und extrapolierbar, auch wenn die Bienen schon darunter liegen
+            if (collapse && collapsed(species)) return StopReason.COLLAPSED;
+            if (extinctionThreshold >= 0 && bees.population() <= extinctionThreshold) return StopReason.BEES_EXTINCT;
+            if (history == null) return null;
+            double[] z = history[count % history.length];
+            z[0] = bees.population();
+            for (int i = 0, k = 1; i < species.size(); i++, k += 5) {
+                PlantSpecies s = species.get(i);
+                z[k] = s.vigor();
+                z[k + 1] = s.bloomFraction();
+                z[k + 2] = s.seedSet();
+                z[k + 3] = s.seedBank().getStored();
+                z[k + 4] = s.seedBank().getQualityAvg();
+            }
+            count++;
+            for (int p = 1; p <= maxPeriod; p++) {
+                if (count >= p + confirmCycles && periodic(p)) {
+                    period = p;
+                    return StopReason.STEADY_STATE;
+                }
+            }
+            return null;
+        }
+
+        private boolean collapsed(List<PlantSpecies> species) {
+            for (PlantSpecies s : species) {
+                if (s.vigor() != 0 || s.seedBank().getStored() != 0) return false;
+            }
+            return true;
+        }
+
+        private boolean periodic(int p) {
+            for (int j = 0; j < confirmCycles; j++) {
+                if (!close(recent(j), recent(j + p))) return false;
+            }
+            return true;
+        }
+
+        // j Jahre zurück (0 = zuletzt beobachtet)
+        private double[] recent(int j) {
+            return history[(count - 1 - j) % history.length];
+        }
+
+        private boolean close(double[] a, double[] b) {
+            for (int k = 0; k < a.length; k++) {
+                if (Math.abs(a[k] - b[k]) > tolerance * Math.max(Math.abs(a[k]), Math.abs(b[k]))) return false;
+            }
+            return true;
+        }
+
+        // Nach STEADY_STATE: Zustand von Jahr (zuletzt + remaining) aus dem letzten Zyklus einspielen.
+        // CONTRACT: Preconditions: observe() lieferte zuletzt STEADY_STATE, remaining >= 0.
+        void restoreCycle(int remaining, BeePopulation bees, List<PlantSpecies> species) {
+            double[] z = recent((period - remaining % period) % period);
+            bees.reset(z[0]);
+            for (int i = 0, k = 1; i < species.size(); i++, k += 5) {
+                PlantSpecies s = species.get(i);
+                s.restoreState(z[k], z[k + 1], z[k + 2]);
+                s.seedBank().restore((int) z[k + 3], z[k + 4]);
+            }
+        }
+    }
+}
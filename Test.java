@@ -51,94 +51,98 @@ public class Test {
         for (int run = 1; run <= 10; run++) {
             long seed = seedBase + run;
             Reporter.printRunHeader(groupIndex, run, seed);
-            Weather weather = new Weather(seed, dayLength, lat, dayStart);
-            Simulation sim = new Simulation(listWithReproduction(defs, groupIndex), weather, seed, 120, 25);
+            // Objekte aus dem Pool des Threads: gleiche Ergebnisse wie eine Neuanlage, spart nur den Objektaufbau
+            Simulation sim = SimulationPool.acquire(defs, groupIndex, dayLength, lat, dayStart, seed, seed, 120, 25);
             sim.run();
             Reporter.printFinalSummary(sim.bees(), sim.ecosystem().species());
         }
     }
 
     static Reproduction pickReproduction(int groupIndex, int speciesIndex) {
+        return pickReproduction(groupIndex, speciesIndex, false);
+    }
+
+    // stochastic = true → dieselbe Auswahl im stochastischen Modus (Poisson/Binomial statt Rundung)
+    static Reproduction pickReproduction(int groupIndex, int speciesIndex, boolean stochastic) {
         return switch (groupIndex) {
             case 1 -> // abwechselnd
-                    (speciesIndex % 2 == 0) ? new AnnualReproduction() : new PerennialReproduction();
+                    (speciesIndex % 2 == 0) ? new AnnualReproduction(stochastic) : new PerennialReproduction(stochastic);
             case 2 -> // überwiegend einjährig
-                    (speciesIndex < 7) ? new AnnualReproduction() : new PerennialReproduction();
-            case 3 -> (speciesIndex < 3) ? new AnnualReproduction() : new PerennialReproduction();
-            default -> new PerennialReproduction();
+                    (speciesIndex < 7) ? new AnnualReproduction(stochastic) : new PerennialReproduction(stochastic);
+            case 3 -> (speciesIndex < 3) ? new AnnualReproduction(stochastic) : new PerennialReproduction(stochastic);
+            default -> new PerennialReproduction(stochastic);
         };
     }
 
     // STYLE: prozedurale Datenaufbereitung mit polymorphen Strategien.
     // GOOD: Zentrale Stelle, die Reproduction-Strategie auswählt → geringe Streuung der Logik.
     static List<PlantSpecies> listWithReproduction(Species[] defs, int groupIndex) {
+        return listWithReproduction(defs, groupIndex, false);
+    }
+
+    // stochastic = true: individuenbasierter Modus, stochastische Reproduktion + altersstrukturierte SeedBank.
+    static List<PlantSpecies> listWithReproduction(Species[] defs, int groupIndex, boolean stochastic) {
         ArrayList<PlantSpecies> L = new ArrayList<>(defs.length);
         for (int i = 0; i < defs.length; i++) {
             Species s = defs[i];
-            Reproduction r = pickReproduction(groupIndex, i);
-            PlantSpecies ps = new PlantSpecies(s.y0, s.cMin, s.cMax, s.fMin, s.fMax, s.hStart, s.hEnd, s.q, s.p, r);
+            Reproduction r = pickReproduction(groupIndex, i, stochastic);
+            SeedBank bank = stochastic ? SeedBank.ageStructured() : new SeedBank();
+            PlantSpecies ps = new PlantSpecies(s.y0, s.cMin, s.cMax, s.fMin, s.fMax, s.hStart, s.hEnd, s.q, s.p, r, bank);
             L.add(ps);
         }
         return L;
     }
 
     // ein Lauf mit Jahres Trace und (für Jahr 1) Tages Trace.
-    // STYLE: prozedurale Trace-Routine mit viel I/O.
-    // BAD: Methodenumfang groß, mischt Formatierung und Simulation; extrahierte Formatter wären wartbarer.
+    // STYLE: prozedurale Trace-Routine mit viel I/O, Simulation liefert die Daten über eine SimulationProbe.
+    // GOOD: Kein eigener Jahres-/Tagesloop mehr; Sampling (nur Jahr 1 täglich) ist deklarativ.
     static void yearlyAndDailyTrace(Species[] defs, long seed, DayLengthModel dayLength, double lat, int dayStart) {
         Weather weather = new Weather(seed, dayLength, lat, dayStart);
-        BeePopulation bees = new BeePopulation(120);
-        Ecosystem eco = new Ecosystem(listWithReproduction(defs, 1));
-        final int D = Simulation.seasonDays();
+        Simulation sim = new Simulation(listWithReproduction(defs, 1), weather, seed, 120, 25);
 
         System.out.println("\n TRACE (one run) ");
-        Random rng = new Random(seed);
-        for (int year = 1; year <= 25; year++) {
-            eco.resetSeason(rng);
-            weather.startSeason();
+        sim.attach(new SimulationProbe() {
+            @Override
+            public void onSeasonStart(int year, ProbeView view) {
+                if (year == 1) System.out.println(" DAILY (year 1) ");
+            }
 
-            if (year == 1) System.out.println(" DAILY (year 1) ");
-            for (int day = 1; day <= D; day++) {
-                DayWeather dw = weather.nextDay();
-                eco.dailyUpdate(dw, bees);
+            @Override
+            public void onDay(int year, int day, DayWeather dw, ProbeView view) {
+                StringBuilder vigorArr = new StringBuilder("[");
+                StringBuilder bloomArr = new StringBuilder("[");
+                StringBuilder seedArr = new StringBuilder("[");
 
-                if (year == 1) {
-                    double totalFood = eco.totalFoodToday();
-                    List<PlantSpecies> spp = eco.species();
-                    StringBuilder vigorArr = new StringBuilder("[");
-                    StringBuilder bloomArr = new StringBuilder("[");
-                    StringBuilder seedArr = new StringBuilder("[");
+                for (int i = 0; i < view.speciesCount(); i++) {
+                    if (i > 0) {
+                        vigorArr.append(' ');
+                        bloomArr.append(' ');
+                        seedArr.append(' ');
+                    }
+                    vigorArr.append(String.format("%.2f", view.vigor(i)));
+                    bloomArr.append(String.format("%.3f", view.bloomFraction(i)));
+                    seedArr.append(String.format("%.3f", view.seedSet(i)));
+                }
+                vigorArr.append(']');
+                bloomArr.append(']');
+                seedArr.append(']');
 
-                    for (int i = 0; i < spp.size(); i++) {
-                        if (i > 0) {
-                            vigorArr.append(' ');
-                            bloomArr.append(' ');
-                            seedArr.append(' ');
-                        }
-                        PlantSpecies ps = spp.get(i);
-                        vigorArr.append(String.format("%.2f", ps.vigor()));
-                        bloomArr.append(String.format("%.3f", ps.bloomFraction()));
-                        seedArr.append(String.format("%.3f", ps.seedSet()));
-                    }
-                    vigorArr.append(']');
-                    bloomArr.append(']');
-                    seedArr.append(']');
+                System.out.printf(
+                        "%3d d=%.2f h=%.2f f=%.3f n=%.2f x=%.2f y=%s b=%s s=%s%n",
+                        day, dw.sunHoursToday(), dw.cumSunHours(), dw.soilMoisture(),
+                        view.totalFood(), view.bees(), vigorArr, bloomArr, seedArr
+                );
+            }
 
-                    System.out.printf(
-                            "%3d d=%.2f h=%.2f f=%.3f n=%.2f x=%.2f y=%s b=%s s=%s%n",
-                            day, dw.sunHoursToday(), dw.cumSunHours(), dw.soilMoisture(),
-                            totalFood, bees.population(), vigorArr, bloomArr, seedArr
-                    );
+            @Override
+            public void onYearEnd(int year, ProbeView view) {
+                System.out.printf(" YEAR %d x=%.2f%n", year, view.bees());
+                for (int i = 0; i < view.speciesCount(); i++) {
+                    System.out.printf("vigor[%02d]=%.2f%n", i + 1, view.vigor(i));
                 }
             }
-            bees.applyWinterMortality(rng);
-            eco.winterAll(rng);
-            System.out.printf(" YEAR %d x=%.2f%n", year, bees.population());
-            var spp = eco.species();
-            for (int i = 0; i < spp.size(); i++) {
-                System.out.printf("vigor[%02d]=%.2f%n", i + 1, spp.get(i).vigor());
-            }
-        }
+        }, ProbeSampling.all().years(1));
+        sim.run();
     }
     // drei Gruppen laufen lassen + 1 Trace.
     public static void main(String[] args) {
@@ -158,5 +162,9 @@ public class Test {
         FunctionalAnalysis.runFunctionalReport("Baseline Group 3", g3);
 
         ParallelSimulationRunner.runParallelScenarios("Seed stress scenarios", g1, dayLengthA, 48.2, 91);
+
+        CompactEnsemble.accuracyReport(1, g1, 1, dayLengthA, 48.2, 91);
+        CompactEnsemble.accuracyReport(2, g2, 1, dayLengthA, 48.2, 91);
+        CompactEnsemble.accuracyReport(3, g3, 1, dayLengthA, 48.2, 91);
     }
 }
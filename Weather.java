@@ -10,10 +10,12 @@ import java.util.Random;
   CONTRACT (Invarianten): 0 ≤ soilMoisture ≤ 1, 0 ≤ cloud ≤ 1, day in [0,SEASON_DAYS], cumSunHours ≥ 0.
   HISTORY: cumSunHours wächst monoton, dayOfYear wandert zyklisch durch 1..365.
 */
-public class Weather implements Seasonal {
-    private static final int SEASON_DAYS = 240;
+public class Weather implements Seasonal, WeatherSource {
+    static final int SEASON_DAYS = 240;
     private static final double MIN_DAYLEN = 8.0;
-    private static final double MAX_DAYLEN = 16.0;
+    static final double MAX_DAYLEN = 16.0;
+    static final double RHO = 0.93;   // Persistenz (higher -> longer dry/wet spells)
+    static final double SIGMA = 0.10; // täglicher wobble (higher -> jumpier clouds)
 
     private final Random rng;
 
@@ -21,8 +23,6 @@ public class Weather implements Seasonal {
     private double cumSunHours;    // cumulative sunshine
     private double soilMoisture;   // soil moisture in [0,1]
     private double cloud;          // cloud fraction in [0,1]
-    private final double rho = 0.93; // Persistenz (higher -> longer dry/wet spells)
-    private final double sigma = 0.10; // täglicher wobble (higher -> jumpier clouds)
 
     private final DayLengthModel dayLength;
     private final double latitude;
@@ -39,6 +39,18 @@ public class Weather implements Seasonal {
         this.dayOfYearStart = dayOfYearStart;
     }
 
+
+    // Auf den Zustand von new Weather(seed, dayLength, latitude, dayOfYearStart) zurücksetzen (setSeed == new Random(seed)).
+    // CONTRACT: Postcondition: gleiche Folge von startSeason()/nextDay() wie eine neue Instanz mit seed.
+    @Override
+    public void reset(long seed) {
+        rng.setSeed(seed);
+        day = 0;
+        cumSunHours = 0.0;
+        soilMoisture = 0.0;
+        cloud = 0.0;
+        dayOfYear = 0;
+    }
 
     // Saisonstartwerte setzen.
     @Override
@@ -55,11 +67,12 @@ public class Weather implements Seasonal {
     // CONTRACT: Preconditions: startSeason() wurde zuvor aufgerufen. Postconditions: day erhöht sich max. bis SEASON_DAYS.
     // GOOD: Berechnung isoliert Wettereffekte in einer Methode mit klaren Zwischenschritten.
     // BAD: clamp-Funktion deckt MIN_DAYLEN/MAX_DAYLEN nicht; dayLengthTriangle ungenutzt -> toter Code.
+    @Override
     public DayWeather nextDay() {
         day++;
         if (day > SEASON_DAYS) day = SEASON_DAYS;
 
-        cloud = clamp(0.5 + rho * (cloud - 0.5) + sigma * rng.nextGaussian(), 0.0, 1.0);
+        cloud = nextCloud(cloud, rng.nextGaussian());
 
         if (dayOfYear < 1 || dayOfYear > 365) dayOfYear = 1;
         int today = dayOfYear;
@@ -67,22 +80,20 @@ public class Weather implements Seasonal {
         if (dayOfYear > 365) dayOfYear = 1;
 
         // Tageslänge: Dreieck 8h -> 16h -> 8h
-        double dayLen = dayLength.lightHours(today, latitude);
+        double dayLen = lightHours(dayLength, today, latitude);
 
-        dayLen = Math.max(0, Math.min(24, dayLen));
         // Sonnenschein - Wolken
-        double sun = Math.max(0.0, dayLen * (1.0 - cloud));
+        double sun = sunHours(dayLen, cloud);
 
         // Sonnenschein sammeln und Wetter Snapshot zurückgeben
         cumSunHours += sun;
 
         // Regen: wahrscheinlich nur bei starker Bewölkung; Menge skaliert mit der Bewölkung
-        double rainChance = Math.max(0.0, cloud - 0.55);
+        double rainChance = rainChance(cloud);
         boolean rains = rng.nextDouble() < rainChance;
-        double rainAmt = rains ? rainChance * (0.02 + 0.04 * rng.nextDouble()) : 0.0;
+        double rainAmt = rains ? rainAmount(rainChance, rng.nextDouble()) : 0.0;
 
-        double evap = 0.01 + 0.04 * (sun / MAX_DAYLEN); // [0.01 , 0.05]
-        soilMoisture = clamp(soilMoisture + rainAmt - evap, 0.05, 1.0);
+        soilMoisture = nextMoisture(soilMoisture, rainAmt, sun);
 
         return new DayWeather(sun, cumSunHours, soilMoisture);
     }
@@ -106,10 +117,38 @@ public class Weather implements Seasonal {
         }
     }
 
-    private static double clamp(double x, double lo, double hi) {
+    static double clamp(double x, double lo, double hi) {
         return x < lo ? lo : (Math.min(x, hi));
     }
 
+    // Die Tagesformeln als reine Funktionen; EnsembleBatch rechnet damit alle Lanes eines Tages auf einmal.
+    // Die Ziehungen macht der Aufrufer in der Reihenfolge von nextDay: gaussian, Regen-Uniform, ggf. Mengen-Uniform.
+    static double nextCloud(double cloud, double gaussian) {
+        return clamp(0.5 + RHO * (cloud - 0.5) + SIGMA * gaussian, 0.0, 1.0);
+    }
+
+    static double lightHours(DayLengthModel dayLength, int dayOfYear, double latitude) {
+        double dayLen = dayLength.lightHours(dayOfYear, latitude);
+        return Math.max(0, Math.min(24, dayLen));
+    }
+
+    static double sunHours(double dayLen, double cloud) {
+        return Math.max(0.0, dayLen * (1.0 - cloud));
+    }
+
+    static double rainChance(double cloud) {
+        return Math.max(0.0, cloud - 0.55);
+    }
+
+    static double rainAmount(double rainChance, double u) {
+        return rainChance * (0.02 + 0.04 * u);
+    }
+
+    static double nextMoisture(double soilMoisture, double rainAmt, double sun) {
+        double evap = 0.01 + 0.04 * (sun / MAX_DAYLEN); // [0.01 , 0.05]
+        return clamp(soilMoisture + rainAmt - evap, 0.05, 1.0);
+    }
+
     @Override
     public void applyWinter(Random rng) {
     }
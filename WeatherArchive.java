@@ -0,0 +1,319 @@
+// WeatherArchive.java
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+  Teil vom module environment. Aufgezeichnete Stationsdaten (Sonnenstunden, Bodenfeuchte je Tag)
+  als kompakte Binärdatei, read-only memory-mapped. Viele RecordedWeather-Instanzen (auch in vielen
+  Threads) lesen aus derselben Abbildung; die Daten landen nie im Heap der einzelnen Simulationen.
+  STYLE: prozeduraler Speicher mit festen Offsets wie OffHeapLandscape.
+
+  Layout (little endian):
+    Header (64 Byte): magic, version, stations, years, firstYear, daysPerYear (365), dataOffset
+    Stationsnamen: je Name short Länge + UTF-8, danach Auffüllen auf 8 Byte
+    Daten: je (Station, Jahr) 365 × (sun:float, moisture:float), Station-major; Chunks < 2 GiB
+  Schalttage (Tag 366) werden beim Import verworfen.
+
+  CONTRACT: Nach open() unveränderlich; Lesen nur über absolute get(), daher ohne Synchronisation threadsicher.
+  Indizes: station 0..stations()-1, yearIndex 0..years()-1 (Kalenderjahr = firstYear() + yearIndex), dayOfYear 1..365.
+  GOOD: shared(path) bildet jede Datei einmal pro JVM ab → tausende Simulationen teilen sich die Seiten im Page Cache.
+  BAD: Java 17 kann Mappings nicht explizit freigeben; close() schließt nur den Channel, die Abbildung lebt bis zum GC.
+*/
+public final class WeatherArchive implements AutoCloseable {
+    private static final long MAGIC = 0x4245575841523031L; // "BEWXAR01"
+    private static final int VERSION = 1;
+    private static final int HEADER = 64;
+    static final int DAYS_PER_YEAR = 365;
+    private static final int DAY_BYTES = 8;
+    private static final int RECORD_BYTES = DAYS_PER_YEAR * DAY_BYTES; // eine Station, ein Jahr
+
+    private static final int H_MAGIC = 0, H_VERSION = 8, H_STATIONS = 12, H_YEARS = 16, H_FIRST_YEAR = 20,
+            H_DAYS = 24, H_DATA = 32;
+
+    private static final Map<Path, WeatherArchive> SHARED = new ConcurrentHashMap<>();
+
+    private final String[] stationNames;
+    private final int years;
+    private final int firstYear;
+    private final int recordsPerChunk;
+    private final ByteBuffer[] chunks;
+    private final FileChannel channel;
+
+    private WeatherArchive(String[] stationNames, int years, int firstYear, ByteBuffer[] chunks,
+                           int recordsPerChunk, FileChannel channel) {
+        this.stationNames = stationNames;
+        this.years = years;
+        this.firstYear = firstYear;
+        this.chunks = chunks;
+        this.recordsPerChunk = recordsPerChunk;
+        this.channel = channel;
+    }
+
+    // Datei read-only abbilden.
+    // CONTRACT: Preconditions: file existiert. IOException bei I/O-Fehlern; IllegalArgumentException bei fremdem/zu kurzem Format.
+    public static WeatherArchive open(Path file) throws IOException {
+        FileChannel ch = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            if (ch.size() < HEADER) throw new IllegalArgumentException("not a weather archive: " + file);
+            MappedByteBuffer header = ch.map(FileChannel.MapMode.READ_ONLY, 0, HEADER);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getLong(H_MAGIC) != MAGIC || header.getInt(H_VERSION) != VERSION
+                    || header.getInt(H_DAYS) != DAYS_PER_YEAR) {
+                throw new IllegalArgumentException("not a weather archive: " + file);
+            }
+            int stations = header.getInt(H_STATIONS);
+            int years = header.getInt(H_YEARS);
+            long dataOffset = header.getLong(H_DATA);
+            long records = (long) stations * years;
+            if (stations <= 0 || years <= 0 || ch.size() < dataOffset + records * RECORD_BYTES) {
+                throw new IllegalArgumentException("truncated weather archive: " + file);
+            }
+            ByteBuffer names = ch.map(FileChannel.MapMode.READ_ONLY, HEADER, dataOffset - HEADER).order(ByteOrder.LITTLE_ENDIAN);
+            String[] stationNames = new String[stations];
+            for (int s = 0; s < stations; s++) {
+                byte[] utf8 = new byte[names.getShort()];
+                names.get(utf8);
+                stationNames[s] = new String(utf8, StandardCharsets.UTF_8);
+            }
+            int perChunk = Integer.MAX_VALUE / RECORD_BYTES;
+            ByteBuffer[] chunks = new ByteBuffer[(int) ((records + perChunk - 1) / perChunk)];
+            for (int c = 0; c < chunks.length; c++) {
+                long first = (long) c * perChunk;
+                long n = Math.min(perChunk, records - first);
+                chunks[c] = ch.map(FileChannel.MapMode.READ_ONLY, dataOffset + first * RECORD_BYTES, n * RECORD_BYTES)
+                        .order(ByteOrder.LITTLE_ENDIAN);
+            }
+            return new WeatherArchive(stationNames, years, header.getInt(H_FIRST_YEAR), chunks, perChunk, ch);
+        } catch (IOException | RuntimeException ex) {
+            ch.close();
+            throw ex;
+        }
+    }
+
+    // Eine Abbildung pro Datei und JVM (z.B. für SimulationDaemon-Jobs). Wird nie geschlossen.
+    // CONTRACT: Postcondition: gleiche Instanz für denselben (normalisierten) Pfad; UncheckedIOException bei I/O-Fehlern.
+    public static WeatherArchive shared(Path file) {
+        return SHARED.computeIfAbsent(file.toAbsolutePath().normalize(), p -> {
+            try {
+                return open(p);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
+    // Tageswerte
+    // CONTRACT: Preconditions: Indizes im gültigen Bereich (sonst IndexOutOfBoundsException). Postcondition: Rohwert aus der Datei.
+    public float sunHours(int station, int yearIndex, int dayOfYear) {
+        long record = record(station, yearIndex);
+        return chunks[(int) (record / recordsPerChunk)].getFloat(dayOffset(record, dayOfYear));
+    }
+
+    public float soilMoisture(int station, int yearIndex, int dayOfYear) {
+        long record = record(station, yearIndex);
+        return chunks[(int) (record / recordsPerChunk)].getFloat(dayOffset(record, dayOfYear) + 4);
+    }
+
+    private long record(int station, int yearIndex) {
+        if (station < 0 || station >= stationNames.length || yearIndex < 0 || yearIndex >= years) {
+            throw new IndexOutOfBoundsException("station " + station + " year " + yearIndex);
+        }
+        return (long) station * years + yearIndex;
+    }
+
+    private int dayOffset(long record, int dayOfYear) {
+        if (dayOfYear < 1 || dayOfYear > DAYS_PER_YEAR) throw new IndexOutOfBoundsException("dayOfYear " + dayOfYear);
+        return (int) (record % recordsPerChunk) * RECORD_BYTES + (dayOfYear - 1) * DAY_BYTES;
+    }
+
+    public int stations() {
+        return stationNames.length;
+    }
+
+    public String stationName(int station) {
+        return stationNames[station];
+    }
+
+    // CONTRACT: Postcondition: Index der Station oder -1.
+    public int stationIndex(String name) {
+        for (int s = 0; s < stationNames.length; s++) {
+            if (stationNames[s].equals(name)) return s;
+        }
+        return -1;
+    }
+
+    public int years() {
+        return years;
+    }
+
+    public int firstYear() {
+        return firstYear;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // CSV → Archiv. Spalten: station,year,dayOfYear,sunHours,soilMoisture; '#'-Zeilen werden übersprungen, dazu
+    // höchstens eine Kopfzeile als erste Zeile (siehe isHeader).
+    // Lücken werden mit dem letzten Wert derselben Station aufgefüllt (am Anfang mit dem ersten vorhandenen).
+    // CONTRACT: Preconditions: csv lesbar. Postconditions: archive geschrieben, Rückgabe = Zahl aufgefüllter Tage.
+    // IllegalArgumentException bei fehlerhaften Zeilen oder Stationen ohne Daten.
+    public static long convertCsv(Path csv, Path archive) throws IOException {
+        Map<String, List<float[]>> rows = new LinkedHashMap<>();  // station → {year, day, sun, moisture}
+        int minYear = Integer.MAX_VALUE, maxYear = Integer.MIN_VALUE;
+        try (BufferedReader in = Files.newBufferedReader(csv, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNo = 0;
+            boolean first = true;
+            while ((line = in.readLine()) != null) {
+                lineNo++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+                String[] f = line.split(",");
+                boolean header = first && isHeader(f);
+                first = false;
+                if (header) continue;
+                if (f.length < 5) throw new IllegalArgumentException("line " + lineNo + ": expected 5 columns");
+                try {
+                    int year = Integer.parseInt(f[1].trim());
+                    int day = Integer.parseInt(f[2].trim());
+                    if (day < 1 || day > 366) throw new IllegalArgumentException("line " + lineNo + ": dayOfYear " + day);
+                    if (day == 366) continue;
+                    float sun = Float.parseFloat(f[3].trim());
+                    float moisture = Float.parseFloat(f[4].trim());
+                    rows.computeIfAbsent(f[0].trim(), k -> new ArrayList<>()).add(new float[]{year, day, sun, moisture});
+                    minYear = Math.min(minYear, year);
+                    maxYear = Math.max(maxYear, year);
+                } catch (NumberFormatException ex) {
+                    throw new IllegalArgumentException("line " + lineNo + ": " + ex.getMessage());
+                }
+            }
+        }
+        if (rows.isEmpty()) throw new IllegalArgumentException("no data in " + csv);
+        int years = maxYear - minYear + 1;
+        String[] names = rows.keySet().toArray(new String[0]);
+        long filled = 0;
+        float[][] sun = new float[names.length][];
+        float[][] moisture = new float[names.length][];
+        for (int s = 0; s < names.length; s++) {
+            float[] su = new float[years * DAYS_PER_YEAR];
+            float[] mo = new float[years * DAYS_PER_YEAR];
+            Arrays.fill(su, Float.NaN);
+            Arrays.fill(mo, Float.NaN);
+            for (float[] r : rows.get(names[s])) {
+                int i = ((int) r[0] - minYear) * DAYS_PER_YEAR + (int) r[1] - 1;
+                su[i] = r[2];
+                mo[i] = r[3];
+            }
+            filled += fillGaps(su, names[s]);
+            fillGaps(mo, names[s]);
+            sun[s] = su;
+            moisture[s] = mo;
+        }
+        write(archive, names, minYear, years, sun, moisture);
+        return filled;
+    }
+
+    // Kopfzeile nur, wenn keine der numerischen Spalten (year, dayOfYear, sunHours, soilMoisture) eine Zahl ist;
+    // sonst ist es eine (evtl. fehlerhafte) Datenzeile und wird mit Zeilennummer gemeldet.
+    private static boolean isHeader(String[] f) {
+        for (int c = 1; c < Math.min(f.length, 5); c++) {
+            try {
+                Double.parseDouble(f[c].trim());
+                return false;
+            } catch (NumberFormatException notNumeric) {
+                // weiter
+            }
+        }
+        return true;
+    }
+
+    private static long fillGaps(float[] series, String station) {
+        int first = 0;
+        while (first < series.length && Float.isNaN(series[first])) first++;
+        if (first == series.length) throw new IllegalArgumentException("station without data: " + station);
+        long filled = first;
+        Arrays.fill(series, 0, first, series[first]);
+        for (int i = first + 1; i < series.length; i++) {
+            if (Float.isNaN(series[i])) {
+                series[i] = series[i - 1];
+                filled++;
+            }
+        }
+        return filled;
+    }
+
+    // Archiv schreiben. sun[s]/moisture[s]: years × 365 Werte, Jahr-major.
+    // CONTRACT: Preconditions: alle Reihen vollständig (keine NaN). Postconditions: Datei mit open() lesbar.
+    static void write(Path file, String[] names, int firstYear, int years, float[][] sun, float[][] moisture)
+            throws IOException {
+        int nameBytes = 0;
+        byte[][] utf8 = new byte[names.length][];
+        for (int s = 0; s < names.length; s++) {
+            utf8[s] = names[s].getBytes(StandardCharsets.UTF_8);
+            if (utf8[s].length > Short.MAX_VALUE) throw new IllegalArgumentException("station name too long");
+            nameBytes += 2 + utf8[s].length;
+        }
+        long dataOffset = (HEADER + nameBytes + 7) & ~7L;
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer head = ByteBuffer.allocate((int) dataOffset).order(ByteOrder.LITTLE_ENDIAN);
+            head.putLong(H_MAGIC, MAGIC);
+            head.putInt(H_VERSION, VERSION);
+            head.putInt(H_STATIONS, names.length);
+            head.putInt(H_YEARS, years);
+            head.putInt(H_FIRST_YEAR, firstYear);
+            head.putInt(H_DAYS, DAYS_PER_YEAR);
+            head.putLong(H_DATA, dataOffset);
+            head.position(HEADER);
+            for (byte[] n : utf8) {
+                head.putShort((short) n.length);
+                head.put(n);
+            }
+            head.clear();
+            while (head.hasRemaining()) ch.write(head);
+            ByteBuffer rec = ByteBuffer.allocate(RECORD_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            for (int s = 0; s < names.length; s++) {
+                for (int i = 0; i < years * DAYS_PER_YEAR; i++) {
+                    rec.putFloat(sun[s][i]).putFloat(moisture[s][i]);
+                    if (!rec.hasRemaining()) {
+                        rec.flip();
+                        while (rec.hasRemaining()) ch.write(rec);
+                        rec.clear();
+                    }
+                }
+            }
+        }
+    }
+
+    // Aufruf: java WeatherArchive <input.csv> <output.wxa>
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.out.println("usage: java WeatherArchive <input.csv> <output.wxa>");
+            return;
+        }
+        long filled = convertCsv(Path.of(args[0]), Path.of(args[1]));
+        try (WeatherArchive a = open(Path.of(args[1]))) {
+            System.out.printf("%d stations | years %d..%d | gap-filled days %d%n",
+                    a.stations(), a.firstYear(), a.firstYear() + a.years() - 1, filled);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+// WeatherSource.java
+/*
+  Teil vom module environment. Liefert die Tageswerte einer Saison an Simulation:
+  synthetisch (Weather, BulkWeather) oder aufgezeichnet (RecordedWeather aus einem WeatherArchive).
+  STYLE: OO interface wie DayLengthModel; Simulation kennt nur diese Abstraktion.
+
+  CONTRACT: startSeason() vor dem ersten nextDay() eines Jahres, danach Simulation.seasonDays() × nextDay().
+  Implementoren liefern DayWeather mit sunHoursToday >= 0, monoton wachsendem cumSunHours und soilMoisture in [0,1].
+*/
+public interface WeatherSource {
+    // CONTRACT: Postcondition: day == 0, cumSunHours == 0, nächstes Jahr der Quelle ausgewählt.
+    void startSeason();
+
+    // CONTRACT: Preconditions: startSeason() wurde gerufen. Postconditions: Snapshot des nächsten Tages.
+    DayWeather nextDay();
+
+    // Wiederverwendung (SimulationPool): Zustand wie frisch konstruiert, zufällige Quellen mit neuem seed.
+    // CONTRACT: Postcondition: folgende startSeason()/nextDay() liefern dasselbe wie eine neue Instanz mit seed.
+    // Quellen ohne Zufall (RecordedWeather) ignorieren seed.
+    void reset(long seed);
+}
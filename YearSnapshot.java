@@ -0,0 +1,91 @@
+// YearSnapshot.java
+
+import java.util.List;
+
+/*
+  Teil vom module simulation. Zustand einer Simulation nach einem Jahr (nach dem Winter):
+  Bienen, je Art Vigor, Samenansatz und SeedBank-Bestand. Immutable.
+  STYLE: immutable value object wie DayWeather; Arrays werden beim Bauen kopiert und nie herausgegeben.
+
+  CONTRACT: year zählt ab 1 (== Simulation.yearsDone() beim Bauen). stopReason ist null, solange der Lauf weitergeht,
+  sonst COMPLETED oder der Abbruchgrund; nach einer Extrapolation springt year auf Simulation.years().
+*/
+public final class YearSnapshot {
+    private final int year;
+    private final double bees;
+    private final double[] vigor;
+    private final double[] seedSet;
+    private final int[] seedBankStored;
+    private final StopReason stopReason;
+
+    private YearSnapshot(int year, double bees, double[] vigor, double[] seedSet, int[] seedBankStored, StopReason stopReason) {
+        this.year = year;
+        this.bees = bees;
+        this.vigor = vigor;
+        this.seedSet = seedSet;
+        this.seedBankStored = seedBankStored;
+        this.stopReason = stopReason;
+    }
+
+    // CONTRACT: Preconditions: bees, species != null. Postconditions: unabhängige Kopie des aktuellen Zustands.
+    static YearSnapshot of(int year, BeePopulation bees, List<PlantSpecies> species, StopReason stopReason) {
+        int n = species.size();
+        double[] v = new double[n], s = new double[n];
+        int[] stored = new int[n];
+        for (int i = 0; i < n; i++) {
+            PlantSpecies p = species.get(i);
+            v[i] = p.vigor();
+            s[i] = p.seedSet();
+            stored[i] = p.seedBank().getStored();
+        }
+        return new YearSnapshot(year, bees.population(), v, s, stored, stopReason);
+    }
+
+    public int year() {
+        return year;
+    }
+
+    public double bees() {
+        return bees;
+    }
+
+    public int speciesCount() {
+        return vigor.length;
+    }
+
+    public double vigor(int species) {
+        return vigor[species];
+    }
+
+    public double seedSet(int species) {
+        return seedSet[species];
+    }
+
+    public int seedBankStored(int species) {
+        return seedBankStored[species];
+    }
+
+    // CONTRACT: Postcondition: Mittel über alle Arten, 0 ohne Arten.
+    public double avgVigor() {
+        double sum = 0;
+        for (double v : vigor) sum += v;
+        return (vigor.length == 0) ? 0 : sum / vigor.length;
+    }
+
+    public long totalSeedBank() {
+        long sum = 0;
+        for (int s : seedBankStored) sum += s;
+        return sum;
+    }
+
+    // CONTRACT: Postcondition: null, solange die Simulation nach diesem Jahr weiterläuft.
+    public StopReason stopReason() {
+        return stopReason;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("year %d | bees=%.2f | avgVigor=%.2f | seedBank=%d%s", year, bees, avgVigor(), totalSeedBank(),
+                (stopReason == null) ? "" : " | " + stopReason);
+    }
+}
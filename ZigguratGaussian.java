@@ -0,0 +1,94 @@
+// ZigguratGaussian.java
+
+import java.util.SplittableRandom;
+
+/*
+  Teil vom module environment. Schneller N(0,1)-Sampler nach Marsaglia & Tsang (2000),
+  Ziggurat mit 128 Schichten. Ersetzt Random.nextGaussian (synchronized, Polar-Methode) für Bulk-Ziehungen.
+  STYLE: prozeduraler Sampler mit vorberechneten Tabellen (static, einmal pro JVM).
+
+  CONTRACT: Nicht thread-safe; eine Instanz pro Thread/Weather. Liefert exakt standardnormalverteilte Werte
+  (kein Approximationsfehler), aber andere Zahlenfolgen als java.util.Random.
+*/
+public final class ZigguratGaussian {
+    private static final int LAYERS = 128;
+    private static final double R = 3.442619855899;        // Start der Tail-Schicht
+    private static final double V = 9.91256303526217e-3;   // Fläche je Schicht
+    private static final double M1 = 2147483648.0;         // 2^31
+
+    private static final long[] KN = new long[LAYERS];
+    private static final double[] WN = new double[LAYERS];
+    private static final double[] FN = new double[LAYERS];
+
+    static {
+        double dn = R, tn = R;
+        double q = V / Math.exp(-0.5 * dn * dn);
+        KN[0] = (long) ((dn / q) * M1);
+        KN[1] = 0;
+        WN[0] = q / M1;
+        WN[LAYERS - 1] = dn / M1;
+        FN[0] = 1.0;
+        FN[LAYERS - 1] = Math.exp(-0.5 * dn * dn);
+        for (int i = LAYERS - 2; i >= 1; i--) {
+            dn = Math.sqrt(-2.0 * Math.log(V / dn + Math.exp(-0.5 * dn * dn)));
+            KN[i + 1] = (long) ((dn / tn) * M1);
+            tn = dn;
+            FN[i] = Math.exp(-0.5 * dn * dn);
+            WN[i] = dn / M1;
+        }
+    }
+
+    private SplittableRandom rng;
+
+    // CONTRACT: Postcondition: deterministische Folge für gleichen seed.
+    public ZigguratGaussian(long seed) {
+        this.rng = new SplittableRandom(seed);
+    }
+
+    // CONTRACT: Postcondition: gleiche Folge wie new ZigguratGaussian(seed).
+    public void reseed(long seed) {
+        this.rng = new SplittableRandom(seed);
+    }
+
+    // eine N(0,1)-Ziehung. Schneller Pfad (~98%): ein int, ein Vergleich, eine Multiplikation.
+    public double next() {
+        int hz = rng.nextInt();
+        int iz = hz & (LAYERS - 1);
+        if (Math.abs((long) hz) < KN[iz]) return hz * WN[iz];
+        return slowPath(hz, iz);
+    }
+
+    // Array [from, to) mit N(0,1) füllen.
+    // CONTRACT: Preconditions: 0 <= from <= to <= dst.length.
+    public void fill(double[] dst, int from, int to) {
+        for (int i = from; i < to; i++) dst[i] = next();
+    }
+
+    // Gleichverteilte Werte in [0,1) aus demselben Strom (für Regen usw.).
+    public void fillUniform(double[] dst, int from, int to) {
+        for (int i = from; i < to; i++) dst[i] = rng.nextDouble();
+    }
+
+    public double nextUniform() {
+        return rng.nextDouble();
+    }
+
+    // Keil- und Tail-Behandlung (Marsaglia & Tsang, "nfix").
+    private double slowPath(int hz, int iz) {
+        while (true) {
+            double x = hz * WN[iz];
+            if (iz == 0) {
+                double y;
+                do {
+                    x = -Math.log(1.0 - rng.nextDouble()) / R;
+                    y = -Math.log(1.0 - rng.nextDouble());
+                } while (y + y < x * x);
+                return hz > 0 ? R + x : -R - x;
+            }
+            if (FN[iz] + rng.nextDouble() * (FN[iz - 1] - FN[iz]) < Math.exp(-0.5 * x * x)) return x;
+            hz = rng.nextInt();
+            iz = hz & (LAYERS - 1);
+            if (Math.abs((long) hz) < KN[iz]) return hz * WN[iz];
+        }
+    }
+}